@@ -0,0 +1,37 @@
+-- 식당 좌표 geography 저장 컬럼 + GiST 인덱스 (1회성 마이그레이션, 애플리케이션 기동과 별도로 수동 실행)
+-- - 반경/거리순 조회가 행마다 geom::geography 로 변환하면 geometry GiST 인덱스를 쓰지 못하므로
+--   변환 결과를 생성 컬럼(geog)으로 저장하고 그 컬럼에 GiST 인덱스를 둔다
+-- - ST_DWithin(r.geog, ...) 반경 필터와 ORDER BY r.geog <-> 중심점 KNN 정렬이 인덱스를 사용
+-- - RestaurantRepository 반경/KNN 쿼리가 geog 를 쓰므로 해당 버전 배포 전에 한 번 실행
+--
+-- 실행 (트랜잭션으로 묶지 말 것: CREATE INDEX CONCURRENTLY 는 트랜잭션 블록 안에서 실행할 수 없음)
+--   docker cp 05_restaurant_geog.sql JDE-postgres-local:/tmp/05_restaurant_geog.sql
+--   docker exec -it JDE-postgres-local psql -U justdoeat -d justdoeat -v ON_ERROR_STOP=1 -f /tmp/05_restaurant_geog.sql
+--   (psql -1 / --single-transaction 옵션 사용 금지)
+--
+-- 주의
+-- - ADD COLUMN ... STORED 는 테이블 전체를 다시 쓰며 그동안 ACCESS EXCLUSIVE 잠금 (식당 조회도 대기)
+--   → 트래픽이 적은 시간에 실행, lock_timeout 으로 긴 쿼리 뒤에 잠금 대기열이 쌓이지 않게 함 (실패 시 재실행)
+-- - 인덱스는 CONCURRENTLY 로 만들어 조회/쓰기를 막지 않음
+-- - CONCURRENTLY 가 중간에 실패하면 INVALID 인덱스가 남고 IF NOT EXISTS 가 건너뛰므로,
+--   아래 확인 쿼리에서 indisvalid = false 이면 DROP INDEX CONCURRENTLY idx_restaurant_geog; 후 다시 실행
+-- - 두 문장 모두 IF NOT EXISTS 라 다시 실행해도 변경 없음
+-- - 인덱스 사용 여부는 RestaurantGeogIndexTest 가 EXPLAIN 으로 확인
+
+SET lock_timeout = '5s';
+
+ALTER TABLE restaurant
+    ADD COLUMN IF NOT EXISTS geog geography(Point, 4326)
+        GENERATED ALWAYS AS (geom::geography) STORED;
+
+RESET lock_timeout;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restaurant_geog ON restaurant USING GIST (geog);
+
+ANALYZE restaurant;
+
+-- 확인: indisvalid = t 이어야 함
+SELECT c.relname, i.indisvalid
+FROM pg_index i
+JOIN pg_class c ON c.oid = i.indexrelid
+WHERE c.relname = 'idx_restaurant_geog';
@@ -0,0 +1,36 @@
+// back/loadtest/feed.js
+// 개인 피드 첫 페이지 부하 테스트 (k6)
+// Author: Jang
+// Date: 2025-11-25
+//
+// - cursor 없이 첫 페이지만 요청 (algo=ml_v1 로 고정해 항상 점수 엔진 호출 경로를 사용)
+// - 피드 풀이 캐시되면 점수 엔진을 호출하지 않으므로 실행 전 redis 의 피드 풀 키를 비우고,
+//   사용자(토큰) 수를 VU 수 이상으로 준비
+// - TOKENS: 쉼표로 구분한 JWT 목록 (VU 별로 나눠 사용)
+// - k6 run -e BASE_URL=http://localhost:8080 -e TOKENS=a,b,c -e VUS=200 feed.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKENS = (__ENV.TOKENS || '').split(',').filter((t) => t.length > 0);
+
+export const options = {
+	scenarios: {
+		feed: {
+			executor: 'constant-vus',
+			vus: Number(__ENV.VUS || 200),
+			duration: __ENV.DURATION || '60s',
+		},
+	},
+	summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+	const token = TOKENS[(__VU - 1) % TOKENS.length];
+	const res = http.get(`${BASE_URL}/main/feed?algo=ml_v1`, {
+		headers: { Authorization: `Bearer ${token}` },
+		tags: { endpoint: 'feed' },
+	});
+	check(res, { 'status 200': (r) => r.status === 200 });
+}
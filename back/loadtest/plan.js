@@ -0,0 +1,48 @@
+// back/loadtest/plan.js
+// 약속 생성 부하 테스트 (k6, 그룹 점수 계산 포함)
+// Author: Jang
+// Date: 2025-11-25
+//
+// - POST /plans/{roomId} 는 후보 식당 그룹 점수를 점수 엔진(/score/group)으로 계산
+// - TOKEN: 방 멤버의 JWT, ROOM_ID: 약속을 만들 방 ID, PARTICIPANT_IDS: 쉼표로 구분한 참여자 ID
+// - k6 run -e BASE_URL=http://localhost:8080 -e TOKEN=... -e ROOM_ID=1 -e PARTICIPANT_IDS=2,3 -e VUS=50 plan.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const ROOM_ID = __ENV.ROOM_ID || '1';
+const PARTICIPANT_IDS = (__ENV.PARTICIPANT_IDS || '')
+	.split(',')
+	.filter((id) => id.length > 0)
+	.map(Number);
+
+export const options = {
+	scenarios: {
+		plan: {
+			executor: 'constant-vus',
+			vus: Number(__ENV.VUS || 50),
+			duration: __ENV.DURATION || '60s',
+		},
+	},
+	summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+	const body = JSON.stringify({
+		planName: `load-${__VU}`,
+		participantIds: PARTICIPANT_IDS,
+		centerLat: 37.500901,
+		centerLon: 127.028639,
+		radiusM: 1000,
+		startsAt: '2025-12-31T19:00:00',
+	});
+	const res = http.post(`${BASE_URL}/plans/${ROOM_ID}`, body, {
+		headers: {
+			Authorization: `Bearer ${__ENV.TOKEN}`,
+			'Content-Type': 'application/json',
+		},
+		tags: { endpoint: 'plan' },
+	});
+	check(res, { 'status 200': (r) => r.status === 200 });
+}
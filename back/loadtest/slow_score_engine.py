@@ -0,0 +1,103 @@
+# back/loadtest/slow_score_engine.py
+# 부하 테스트용 느린 점수 엔진 (FastAPI 대체 스텁)
+# Author: Jang
+# Date: 2025-11-25
+#
+# - /score/personal, /score/personal/batch, /score/group 을 JSON 으로만 응답 (바이너리 형식은 415)
+# - 모든 요청을 LATENCY_MS 만큼 지연 후 응답 (기본 200ms)
+# - 요청 본문은 Content-Length / chunked 모두 지원 (main-server 의 JDK HttpClient 는 chunked 로 보냄)
+# - 표준 라이브러리만 사용: python3 slow_score_engine.py --port 8000 --latency-ms 200
+
+import argparse
+import json
+import random
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+from urllib.parse import urlparse
+
+LATENCY_MS = 200
+
+
+def personal_result(req):
+    scores = [
+        {"restaurant_id": c["restaurant_id"], "score": round(random.random(), 4)}
+        for c in req.get("candidates", [])
+    ]
+    return {"scores": scores, "algo_version": "stub", "elapsed_ms": LATENCY_MS}
+
+
+def group_result(req):
+    members = req.get("members", [])
+    results = []
+    for c in req.get("candidates", []):
+        per_user = {str(m["user_id"]): round(random.random(), 4) for m in members}
+        group_score = sum(per_user.values()) / len(per_user) if per_user else 0.0
+        results.append({"restaurant_id": c["restaurant_id"], "per_user": per_user, "group_score": group_score})
+    return {"results": results, "algo_version": "stub", "elapsed_ms": LATENCY_MS}
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_POST(self):
+        body = self._read_body()
+        if "json" not in self.headers.get("Content-Type", ""):
+            self._send(415, {"detail": "json only"})
+            return
+
+        req = json.loads(body or b"{}")
+        path = urlparse(self.path).path
+        time.sleep(LATENCY_MS / 1000)
+        if path == "/score/personal":
+            self._send(200, personal_result(req))
+        elif path == "/score/personal/batch":
+            results = [personal_result(r) for r in req.get("requests", [])]
+            self._send(200, {"results": results, "elapsed_ms": LATENCY_MS})
+        elif path == "/score/group":
+            self._send(200, group_result(req))
+        else:
+            self._send(404, {"detail": "not found"})
+
+    def _read_body(self):
+        # JDK HttpClient(RestClient) 는 Content-Length 없이 chunked 로 보냄
+        if "chunked" not in self.headers.get("Transfer-Encoding", "").lower():
+            return self.rfile.read(int(self.headers.get("Content-Length", 0)))
+        chunks = []
+        while True:
+            size = int(self.rfile.readline().split(b";")[0], 16)
+            if size == 0:
+                # 마지막 청크 뒤 trailer 는 빈 줄까지 버림
+                while self.rfile.readline() not in (b"\r\n", b"\n", b""):
+                    pass
+                return b"".join(chunks)
+            chunks.append(self.rfile.read(size))
+            self.rfile.readline()
+
+    def _send(self, status, payload):
+        data = json.dumps(payload).encode()
+        self.send_response(status)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(data)))
+        self.end_headers()
+        self.wfile.write(data)
+
+    def log_message(self, format, *args):
+        pass
+
+
+class Server(ThreadingHTTPServer):
+    # 기본 listen backlog(5)로는 수백 개 연결이 한꺼번에 열릴 때 연결이 끊김
+    request_queue_size = 1024
+    daemon_threads = True
+
+
+if __name__ == "__main__":
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--port", type=int, default=8000)
+    parser.add_argument("--latency-ms", type=int, default=200)
+    args = parser.parse_args()
+    LATENCY_MS = args.latency_ms
+
+    server = Server(("0.0.0.0", args.port), Handler)
+    print(f"slow score engine: port={args.port}, latency={LATENCY_MS}ms")
+    server.serve_forever()
@@ -0,0 +1,37 @@
+# back/loadtest/summary.py
+# k6 요약(--summary-export) 파일을 README 결과 표의 행으로 변환
+# Author: Jang
+# Date: 2025-11-25
+#
+# - 파일마다 한 행: 이름 | 초당 처리량 | p50 | p95 | p99 | 실패율 (시간은 ms)
+# - 표준 라이브러리만 사용: python3 summary.py feed-thread.json feed-virtual.json
+
+import json
+import os
+import sys
+
+
+def row(path):
+    with open(path, encoding="utf-8") as f:
+        metrics = json.load(f)["metrics"]
+    reqs = metrics["http_reqs"]
+    duration = metrics["http_req_duration"]
+    failed = metrics.get("http_req_failed", {}).get("value", 0)
+    name = os.path.splitext(os.path.basename(path))[0]
+    return "| {} | {:.1f} | {:.1f} | {:.1f} | {:.1f} | {:.2%} |".format(
+        name, reqs["rate"], duration["p(50)"], duration["p(95)"], duration["p(99)"], failed
+    )
+
+
+def main():
+    if len(sys.argv) < 2:
+        print("usage: python3 summary.py <k6 summary json>...", file=sys.stderr)
+        sys.exit(1)
+    print("| 실행 | req/s | p50 (ms) | p95 (ms) | p99 (ms) | 실패율 |")
+    print("| --- | --- | --- | --- | --- | --- |")
+    for path in sys.argv[1:]:
+        print(row(path))
+
+
+if __name__ == "__main__":
+    main()
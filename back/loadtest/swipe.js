@@ -0,0 +1,41 @@
+// back/loadtest/swipe.js
+// 스와이프 쓰기 부하 테스트 (k6)
+// Author: Jang
+// Date: 2025-11-25
+//
+// - VU 마다 식당 ID 를 돌아가며 SELECT / HOLD / DISLIKE 스와이프 (상태 upsert + 태그 선호 upsert 경로)
+// - 태그가 많은 식당일수록 이전 구현(태그마다 upsert 1회)과 차이가 커지므로 RESTAURANT_IDS 에 태그가 있는 식당을 지정
+// - TOKENS: 쉼표로 구분한 JWT 목록 (VU 별로 나눠 사용), RESTAURANT_IDS: 쉼표로 구분한 식당 ID 목록
+// - k6 run -e BASE_URL=http://localhost:8080 -e TOKENS=a,b,c -e RESTAURANT_IDS=1,2,3 -e VUS=50 swipe.js
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKENS = (__ENV.TOKENS || '').split(',').filter((t) => t.length > 0);
+const RESTAURANT_IDS = (__ENV.RESTAURANT_IDS || '1').split(',').map(Number);
+const ACTIONS = ['SELECT', 'HOLD', 'DISLIKE'];
+
+export const options = {
+	scenarios: {
+		swipe: {
+			executor: 'constant-vus',
+			vus: Number(__ENV.VUS || 50),
+			duration: __ENV.DURATION || '60s',
+		},
+	},
+	summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+	const token = TOKENS[(__VU - 1) % TOKENS.length];
+	const body = JSON.stringify({
+		restaurantId: RESTAURANT_IDS[__ITER % RESTAURANT_IDS.length],
+		action: ACTIONS[__ITER % ACTIONS.length],
+	});
+	const res = http.post(`${BASE_URL}/main/feed/swipe`, body, {
+		headers: { Authorization: `Bearer ${token}`, 'Content-Type': 'application/json' },
+		tags: { endpoint: 'swipe' },
+	});
+	check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,79 @@
+package com.jde.mainserver.global.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 후보 거리 계산 기존 구현(LegacyHaversine, 박싱 좌표 한 건씩) vs GeoDistanceKernel 스칼라/Vector API 경로 비교.
+ * - 후보 수 200 ~ 5000 (약속 후보 조회 200 ~ 500, 반경 확장 시 수천)
+ * - vector 는 Vector API 경로가 없으면 건너뜀
+ * - 실행: ./gradlew jmh (vector 포함: ./gradlew jmh -PvectorGeo)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeoDistanceKernelBenchmark {
+
+	@Param({"200", "500", "1000", "5000"})
+	public int size;
+
+	private double lat;
+	private double lng;
+	private double[] lats;
+	private double[] lngs;
+	private List<Double> boxedLats;
+	private List<Double> boxedLngs;
+	private double[] out;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		double[][] batch = GeoDistanceKernelTest.randomBatch(new Random(42L), size);
+		lats = batch[0];
+		lngs = batch[1];
+		lat = batch[2][0];
+		lng = batch[2][1];
+		boxedLats = new ArrayList<>(size);
+		boxedLngs = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			boxedLats.add(lats[i]);
+			boxedLngs.add(lngs[i]);
+		}
+		out = new double[size];
+	}
+
+	@Benchmark
+	public List<Double> legacy() {
+		List<Double> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(LegacyHaversine.distanceMeters(lat, lng, boxedLats.get(i), boxedLngs.get(i)));
+		}
+		return result;
+	}
+
+	@Benchmark
+	public double[] scalar() {
+		GeoDistanceKernel.scalar(lat, lng, lats, lngs, size, out);
+		return out;
+	}
+
+	@Benchmark
+	public double[] vector() {
+		GeoDistanceKernel.Batch vector = GeoDistanceKernel.vectorBatch();
+		if (vector != null) {
+			vector.distances(lat, lng, lats, lngs, size, out);
+		}
+		return out;
+	}
+}
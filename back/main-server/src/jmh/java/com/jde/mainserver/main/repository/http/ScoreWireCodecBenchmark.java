@@ -0,0 +1,141 @@
+package com.jde.mainserver.main.repository.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jde.mainserver.main.converter.MainConverter;
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 점수 엔진 개인 점수 요청/응답 JSON(Map + Jackson) vs 바이너리(ScoreWireCodec) 비교.
+ * - 후보 50 ~ 200개, 후보당 태그 8개, 사용자 태그 30개, debug 없음
+ * - 본문 크기는 Setup 에서 출력, 실제 왕복 시간은 score.engine.request{protocol} 지표로 비교
+ * - 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoreWireCodecBenchmark {
+
+	private static final int TAGS_PER_CANDIDATE = 8;
+	private static final int USER_TAGS = 30;
+
+	@Param({"50", "200"})
+	public int candidates;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private PersonalScoreRequest req;
+	private byte[] jsonResponse;
+	private byte[] binaryResponse;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		Random random = new Random(42L);
+		Map<Long, PersonalScoreRequest.TagPreference> userPref = new LinkedHashMap<>();
+		for (long t = 1; t <= USER_TAGS; t++) {
+			userPref.put(t, new PersonalScoreRequest.TagPreference(random.nextFloat() * 6 - 3, random.nextFloat()));
+		}
+		List<PersonalScoreRequest.Candidate> cands = new ArrayList<>(candidates);
+		long[] ids = new long[candidates];
+		float[] scores = new float[candidates];
+		for (int i = 0; i < candidates; i++) {
+			Map<Long, PersonalScoreRequest.TagPreference> tags = new LinkedHashMap<>();
+			while (tags.size() < TAGS_PER_CANDIDATE) {
+				tags.put((long)random.nextInt(200), new PersonalScoreRequest.TagPreference(
+					random.nextFloat() * 2, random.nextFloat()));
+			}
+			ids[i] = 100_000L + i;
+			scores[i] = random.nextFloat();
+			cands.add(new PersonalScoreRequest.Candidate(ids[i], tags, random.nextFloat() * 3000, true, null,
+				random.nextBoolean() ? random.nextFloat() : null, random.nextBoolean(), null));
+		}
+		req = PersonalScoreRequest.of(1L, userPref, cands);
+
+		List<Map<String, Object>> jsonScores = new ArrayList<>(candidates);
+		for (int i = 0; i < candidates; i++) {
+			Map<String, Object> item = new HashMap<>();
+			item.put("restaurant_id", ids[i]);
+			item.put("score", (double)scores[i]);
+			item.put("debug", null);
+			jsonScores.add(item);
+		}
+		jsonResponse = objectMapper.writeValueAsBytes(Map.of(
+			"scores", jsonScores, "algo_version", "ml_v1", "elapsed_ms", 10));
+		binaryResponse = binaryResponse("ml_v1", ids, scores);
+
+		System.out.printf("%n[ScoreWireCodecBenchmark] candidates=%d request json=%dB binary=%dB, response json=%dB binary=%dB%n",
+			candidates, jsonRequest().length, binaryRequest().length, jsonResponse.length, binaryResponse.length);
+	}
+
+	@Benchmark
+	public byte[] jsonRequest() throws Exception {
+		Map<String, Object> body = MainConverter.convertToFastApiSchema(req);
+		body.put("debug", false);
+		return objectMapper.writeValueAsBytes(body);
+	}
+
+	@Benchmark
+	public byte[] binaryRequest() {
+		return ScoreWireCodec.encodePersonal(req, false);
+	}
+
+	/** ScoreEngineHttpClient.convertResponse 와 같은 방식 (Map 파싱 후 ScoredItem 변환) */
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public List<PersonalScoreResponse.ScoredItem> jsonResponse() throws Exception {
+		Map<String, Object> response = objectMapper.readValue(jsonResponse, Map.class);
+		List<Map<String, Object>> scores = (List<Map<String, Object>>)response.get("scores");
+		List<PersonalScoreResponse.ScoredItem> items = new ArrayList<>(scores.size());
+		for (Map<String, Object> m : scores) {
+			items.add(new PersonalScoreResponse.ScoredItem(
+				((Number)m.get("restaurant_id")).longValue(), ((Number)m.get("score")).doubleValue(), null));
+		}
+		return items;
+	}
+
+	@Benchmark
+	public List<PersonalScoreResponse.ScoredItem> binaryResponse() {
+		ScoreWireCodec.ScoreArrays arrays = ScoreWireCodec.decodePersonal(binaryResponse);
+		List<PersonalScoreResponse.ScoredItem> items = new ArrayList<>(arrays.restaurantIds().length);
+		for (int i = 0; i < arrays.restaurantIds().length; i++) {
+			items.add(new PersonalScoreResponse.ScoredItem(arrays.restaurantIds()[i], arrays.scores()[i], null));
+		}
+		return items;
+	}
+
+	private static byte[] binaryResponse(String algo, long[] ids, float[] scores) {
+		byte[] algoBytes = algo.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buf = ByteBuffer.allocate(8 + 4 + algoBytes.length + 4 + ids.length * 12 + 4)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		buf.putInt(ScoreWireCodec.RESPONSE_MAGIC).put((byte)ScoreWireCodec.VERSION).put((byte)algoBytes.length)
+			.putShort((short)0);
+		buf.putInt(10).put(algoBytes).putInt(ids.length);
+		for (long id : ids) {
+			buf.putLong(id);
+		}
+		for (float s : scores) {
+			buf.putFloat(s);
+		}
+		buf.putInt(0);
+		return buf.array();
+	}
+}
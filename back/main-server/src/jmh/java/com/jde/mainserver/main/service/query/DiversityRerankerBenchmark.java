@@ -0,0 +1,58 @@
+package com.jde.mainserver.main.service.query;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다양성 재배치 기존 구현(LegacyDiversityReranker) vs DiversityReranker 비교.
+ * - 풀 크기 100 ~ 1000, 배치 크기 10 (MainQueryServiceImpl.BATCH_SIZE)
+ * - 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiversityRerankerBenchmark {
+
+	private static final int BATCH_SIZE = 10;
+
+	@Param({"100", "250", "500", "1000"})
+	public int poolSize;
+
+	private List<LegacyDiversityReranker.Item> items;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		items = DiversityRerankerTest.randomPool(new Random(42L), poolSize);
+	}
+
+	@Benchmark
+	public int[] legacyPersonal() {
+		return LegacyDiversityReranker.reorderPersonal(items, BATCH_SIZE);
+	}
+
+	@Benchmark
+	public int[] rerankerPersonal() {
+		return DiversityRerankerTest.toReranker(items).reorderPersonal(BATCH_SIZE);
+	}
+
+	@Benchmark
+	public int[] legacyGuest() {
+		return LegacyDiversityReranker.reorderGuest(items, BATCH_SIZE);
+	}
+
+	@Benchmark
+	public int[] rerankerGuest() {
+		return DiversityRerankerTest.toReranker(items).reorderGuest(BATCH_SIZE);
+	}
+}
@@ -4,14 +4,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.locationtech.jts.geom.Point;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Service
 public class KakaoLocalService {
 
@@ -19,6 +19,21 @@ public class KakaoLocalService {
     @Value("${custom.kakao-api-key}")
     private String KAKAO_REST_API_KEY;
 
+    // 호출마다 클라이언트를 만들지 않고 연결을 재사용 (블로킹 호출이라 가상 스레드 모드에서도 그대로 사용)
+    private final RestClient restClient = createRestClient();
+
+    private static RestClient createRestClient() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(3))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(5));
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .build();
+    }
+
     public String getAddress(Point point) {
 
         String longitude = String.format("%.6f", point.getX());
@@ -28,21 +43,11 @@ public class KakaoLocalService {
                 .queryParam("x", longitude)
                 .queryParam("y", latitude);
 
-        HttpHeaders headers= new HttpHeaders();
-        headers.set("Authorization", "KakaoAK " + KAKAO_REST_API_KEY);
-
-        HttpEntity<?> entity = new HttpEntity<>(headers);
-
-        RestTemplate restTemplate = new RestTemplate();
-
-        ResponseEntity<String> response = restTemplate.exchange(
-                builder.toUriString(),
-                HttpMethod.GET,
-                entity,
-                String.class
-        );
-
-        return response.getBody();
+        return restClient.get()
+                .uri(builder.build().toUri())
+                .header("Authorization", "KakaoAK " + KAKAO_REST_API_KEY)
+                .retrieve()
+                .body(String.class);
     }
 
     public String getAddressName(Point point) {
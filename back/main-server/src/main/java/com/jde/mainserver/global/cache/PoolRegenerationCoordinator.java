@@ -0,0 +1,285 @@
+/**
+ * global/cache/PoolRegenerationCoordinator.java
+ * 캐시 풀 재생성 단일 실행(single-flight) 및 조기 갱신 조정기
+ * Author: Jang
+ * Date: 2025-11-23
+ *
+ * - 같은 키 재생성은 인스턴스 내에서 CompletableFuture 하나로 합치고,
+ *   인스턴스 간에는 Redis 임대 키({key}:lease, SET NX PX)를 가진 한 곳만 실행
+ * - 임대를 못 얻은 인스턴스는 임대가 풀릴 때까지 기다린 뒤 null 반환 (호출부는 Redis 에서 다시 읽음)
+ *   임대가 대기 시간 안에 풀리지 않거나 Redis 오류 시에는 직접 재생성
+ * - 임대를 얻은 뒤 키(PTTL)를 다시 확인해서 그 사이 다른 곳이 이미 채웠으면 재생성하지 않고 null
+ *   (regenerateIfMissing: 키가 있으면, 조기 갱신: 남은 TTL 이 판단 시점보다 늘었으면)
+ *   regenerate 는 키가 있어도 새로 만드는 경우(첫 피드 요청)용으로 확인하지 않음
+ * - 조기 갱신(XFetch): 남은 TTL 이 재생성 소요 시간 * beta * -ln(rand) 이하이면 백그라운드에서 미리 재생성
+ *   (TTL 이 줄어들수록 확률이 올라가므로 만료 전에 한 번 갱신되고, 요청은 만료된 키를 거의 만나지 않음)
+ * - 재생성 소요 시간은 키 종류(마지막 ':' 까지의 접두사)별 이동 평균으로 유지
+ */
+
+package com.jde.mainserver.global.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class PoolRegenerationCoordinator {
+
+	private static final String LEASE_SUFFIX = ":lease";
+	private static final long POLL_INTERVAL_MS = 50;
+	private static final double EWMA_ALPHA = 0.3;
+	private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+		"if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+		Long.class
+	);
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final Duration leaseTtl;
+	private final long waitTimeoutMs;
+	private final double beta;
+	private final ThreadPoolExecutor refreshExecutor;
+	private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final Map<String, Double> computeMillisByKind = new ConcurrentHashMap<>();
+
+	public PoolRegenerationCoordinator(
+		StringRedisTemplate stringRedisTemplate,
+		@Value("${pool.regeneration.lease-ms:30000}") long leaseMs,
+		@Value("${pool.regeneration.wait-ms:10000}") long waitMs,
+		@Value("${pool.regeneration.xfetch-beta:1.0}") double beta,
+		@Value("${pool.regeneration.refresh-threads:1}") int refreshThreads
+	) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.leaseTtl = Duration.ofMillis(leaseMs);
+		this.waitTimeoutMs = waitMs;
+		this.beta = beta;
+		this.refreshExecutor = new ThreadPoolExecutor(
+			refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(16),
+			r -> {
+				Thread t = new Thread(r, "pool-refresh");
+				t.setDaemon(true);
+				return t;
+			},
+			new ThreadPoolExecutor.AbortPolicy()
+		);
+	}
+
+	/**
+	 * 키 재생성 (키당 한 곳에서만 실행, 키가 이미 있어도 새로 만듦)
+	 *
+	 * @param key 캐시 키
+	 * @param loader 재생성 + 저장 후 결과 반환
+	 * @return 재생성 결과 (같은 인스턴스의 동시 요청은 같은 결과를 받음),
+	 *         다른 인스턴스가 재생성한 경우 null (호출부는 Redis 에서 다시 읽을 것)
+	 */
+	public <T> T regenerate(String key, Supplier<T> loader) {
+		return coalesce(key, loader, null);
+	}
+
+	/**
+	 * 캐시 miss 재생성 (키당 한 곳에서만 실행, 임대를 얻은 뒤 키가 이미 채워져 있으면 재생성하지 않음)
+	 *
+	 * @return 재생성 결과, 다른 곳이 이미 채웠거나 다른 인스턴스가 재생성한 경우 null (Redis 에서 다시 읽을 것)
+	 */
+	public <T> T regenerateIfMissing(String key, Supplier<T> loader) {
+		return coalesce(key, loader, 0L);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T coalesce(String key, Supplier<T> loader, Long freshAboveTtlMillis) {
+		CompletableFuture<Object> mine = new CompletableFuture<>();
+		CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+		if (existing != null) {
+			return (T)awaitLocal(key, existing);
+		}
+		try {
+			T value = runWithLease(key, loader, true, freshAboveTtlMillis);
+			mine.complete(value);
+			return value;
+		} catch (RuntimeException e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	/**
+	 * 조기 갱신 (XFetch): 확률에 걸리면 백그라운드에서 재생성
+	 *
+	 * @param key 캐시 키
+	 * @param remainingTtlMillis 남은 TTL (PTTL)
+	 * @param refresher 재생성 + 저장
+	 */
+	public void refreshEarlyIfDue(String key, long remainingTtlMillis, Runnable refresher) {
+		Double delta = computeMillisByKind.get(kindOf(key));
+		if (delta == null || remainingTtlMillis <= 0 || inFlight.containsKey(key)) {
+			return;
+		}
+		double threshold = -delta * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+		if (threshold < remainingTtlMillis) {
+			return;
+		}
+		try {
+			refreshExecutor.execute(() -> {
+				CompletableFuture<Object> mine = new CompletableFuture<>();
+				if (inFlight.putIfAbsent(key, mine) != null) {
+					return;
+				}
+				try {
+					// 로컬 대기자는 null 을 받고 Redis 에서 새 값을 다시 읽음
+					runWithLease(key, () -> {
+						refresher.run();
+						return null;
+					}, false, remainingTtlMillis);
+					mine.complete(null);
+				} catch (RuntimeException e) {
+					mine.complete(null);
+					log.warn("[PoolRegenerationCoordinator.refreshEarlyIfDue] 조기 갱신 실패: key={}, error={}",
+						key, e.getMessage());
+				} finally {
+					inFlight.remove(key, mine);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.debug("[PoolRegenerationCoordinator.refreshEarlyIfDue] 갱신 대기열 가득 참, 건너뜀: key={}", key);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		refreshExecutor.shutdownNow();
+	}
+
+	/**
+	 * 임대를 얻으면 실행, 못 얻으면 (waitForOwner 인 경우) 임대가 풀릴 때까지 대기 후 null
+	 *
+	 * @param freshAboveTtlMillis 임대를 얻은 뒤 키의 남은 TTL 이 이 값보다 크면(만료 없음 포함) 실행하지 않고 null
+	 *                            (null 이면 확인하지 않음)
+	 */
+	private <T> T runWithLease(String key, Supplier<T> loader, boolean waitForOwner, Long freshAboveTtlMillis) {
+		String leaseKey = key + LEASE_SUFFIX;
+		String token = UUID.randomUUID().toString();
+		Boolean acquired;
+		try {
+			acquired = stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, leaseTtl);
+		} catch (DataAccessException e) {
+			log.warn("[PoolRegenerationCoordinator.runWithLease] 임대 획득 실패, 직접 재생성: key={}, error={}",
+				key, e.getMessage());
+			return timed(key, loader);
+		}
+
+		if (Boolean.TRUE.equals(acquired)) {
+			try {
+				if (freshAboveTtlMillis != null && isFresh(key, freshAboveTtlMillis)) {
+					return null;
+				}
+				return timed(key, loader);
+			} finally {
+				release(leaseKey, token);
+			}
+		}
+		if (!waitForOwner) {
+			return null;
+		}
+		if (awaitRelease(leaseKey)) {
+			return null;
+		}
+		log.warn("[PoolRegenerationCoordinator.runWithLease] 임대 대기 시간 초과, 직접 재생성: key={}", key);
+		return timed(key, loader);
+	}
+
+	/** 키가 있고 남은 TTL 이 기준보다 큰지 (PTTL: -2 없음, -1 만료 없음, 확인 실패 시 false) */
+	private boolean isFresh(String key, long freshAboveTtlMillis) {
+		try {
+			Long pttl = stringRedisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+			return pttl != null && (pttl == -1 || pttl > freshAboveTtlMillis);
+		} catch (DataAccessException e) {
+			log.warn("[PoolRegenerationCoordinator.isFresh] 키 확인 실패, 재생성: key={}, error={}", key, e.getMessage());
+			return false;
+		}
+	}
+
+	private <T> T timed(String key, Supplier<T> loader) {
+		long started = System.nanoTime();
+		T value = loader.get();
+		double elapsedMs = (System.nanoTime() - started) / 1_000_000.0;
+		computeMillisByKind.merge(kindOf(key), elapsedMs,
+			(prev, cur) -> prev * (1 - EWMA_ALPHA) + cur * EWMA_ALPHA);
+		return value;
+	}
+
+	private void release(String leaseKey, String token) {
+		try {
+			stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+		} catch (DataAccessException e) {
+			// 해제 실패 시 임대 TTL 로 만료됨
+			log.warn("[PoolRegenerationCoordinator.release] 임대 해제 실패: key={}, error={}", leaseKey, e.getMessage());
+		}
+	}
+
+	/** 다른 인스턴스의 임대 해제 대기 (대기 시간 안에 풀리면 true) */
+	private boolean awaitRelease(String leaseKey) {
+		long deadline = System.currentTimeMillis() + waitTimeoutMs;
+		try {
+			while (System.currentTimeMillis() < deadline) {
+				if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(leaseKey))) {
+					return true;
+				}
+				Thread.sleep(POLL_INTERVAL_MS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (DataAccessException e) {
+			log.warn("[PoolRegenerationCoordinator.awaitRelease] 임대 확인 실패: key={}, error={}", leaseKey, e.getMessage());
+		}
+		return false;
+	}
+
+	/** 같은 인스턴스의 진행 중 재생성 결과 대기 (시간 초과 시 null) */
+	private Object awaitLocal(String key, CompletableFuture<Object> future) {
+		try {
+			return future.get(waitTimeoutMs + leaseTtl.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new CompletionException(e.getCause());
+		} catch (TimeoutException e) {
+			log.warn("[PoolRegenerationCoordinator.awaitLocal] 재생성 대기 시간 초과: key={}", key);
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/** 키 종류 (예: plan:pool:12 -> plan:pool:) */
+	private static String kindOf(String key) {
+		int idx = key.lastIndexOf(':');
+		return idx >= 0 ? key.substring(0, idx + 1) : key;
+	}
+}
@@ -0,0 +1,255 @@
+/**
+ * global/concurrent/ParallelLoader.java
+ * 서로 독립적인 조회를 가상 스레드에서 동시에 실행하는 fan-out 도우미
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - open(scope) 로 범위를 열고 fork 로 조회를 등록한 뒤 join 으로 모두 기다림
+ *   (try-with-resources 로 닫으면 끝나지 않은 조회는 취소)
+ * - 동시에 실행 중인 조회 수는 인스턴스 전체에서 max-concurrency 로 제한 (DB 커넥션 풀보다 작게),
+ *   허가를 못 받은 조회는 join 시점에 호출 스레드에서 직접 실행
+ * - 호출 스레드에 트랜잭션이 있으면 가상 스레드의 조회는 각자 읽기 전용 트랜잭션(REQUIRES_NEW)에서 실행
+ *   (호출 트랜잭션의 커넥션/영속성 컨텍스트는 다른 스레드에서 쓸 수 없음, 결과 엔티티는 준영속 상태)
+ *   - 요청 하나가 쓰는 커넥션은 최대 1 + 동시 조회 수, 인스턴스 전체 동시 조회는 max-concurrency 로 제한
+ *   - 커넥션을 얻지 못해 트랜잭션을 시작하지 못한 조회는 join 에서 호출 스레드(호출 트랜잭션)로 다시 실행
+ * - timeout-ms 는 첫 fork 시점부터 (호출 스레드 몫을 실행한 시간도 포함한 경과 시간)
+ * - 끝나는 순서대로 확인해서 하나라도 실패하거나 timeout-ms 를 넘기면 나머지를 취소하고
+ *   원래 예외(시간 초과는 IllegalStateException)를 던짐
+ * - 지표: parallel.load{scope, load, mode=forked|inline} (조회별 소요 시간)
+ */
+
+package com.jde.mainserver.global.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ParallelLoader {
+
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final long timeoutNanos;
+	private final Semaphore permits;
+	private final TransactionTemplate readOnlyTransaction;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public ParallelLoader(
+		MeterRegistry meterRegistry,
+		PlatformTransactionManager transactionManager,
+		@Value("${parallel-load.enabled:true}") boolean enabled,
+		@Value("${parallel-load.max-concurrency:8}") int maxConcurrency,
+		@Value("${parallel-load.timeout-ms:5000}") long timeoutMs
+	) {
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+		this.permits = new Semaphore(Math.max(maxConcurrency, 1));
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	/**
+	 * fan-out 범위 열기
+	 *
+	 * @param scope 지표 태그 (예: candidate, plan_candidate)
+	 */
+	public Scope open(String scope) {
+		return new Scope(scope, !enabled, TransactionSynchronizationManager.isActualTransactionActive());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private Timer timer(String scope, String load, String mode) {
+		return meterRegistry.timer("parallel.load", "scope", scope, "load", load, "mode", mode);
+	}
+
+	/** fork 결과 (join 이후에만 get 가능) */
+	public interface Fork<T> {
+		T get();
+	}
+
+	public final class Scope implements AutoCloseable {
+
+		private final String name;
+		private final boolean inline;
+		private final boolean transactional;
+		private final List<Task<?>> tasks = new ArrayList<>();
+		private final BlockingQueue<Task<?>> completed = new LinkedBlockingQueue<>();
+		private int forked = 0;
+		private long deadline;
+		private boolean joined = false;
+
+		private Scope(String name, boolean inline, boolean transactional) {
+			this.name = name;
+			this.inline = inline;
+			this.transactional = transactional;
+		}
+
+		/**
+		 * 조회 등록 (허가가 있으면 바로 가상 스레드에서 시작)
+		 *
+		 * @param load 지표 태그 (예: hours, tags)
+		 */
+		public <T> Fork<T> fork(String load, Supplier<T> loader) {
+			if (joined) {
+				throw new IllegalStateException("join 이후에는 fork 할 수 없습니다: scope=" + name);
+			}
+			Task<T> task = new Task<>(load, loader);
+			if (!inline && permits.tryAcquire()) {
+				Timer timer = timer(name, load, "forked");
+				Supplier<T> forkLoader = transactional ? () -> readOnlyTransaction.execute(status -> loader.get()) : loader;
+				if (forked == 0) {
+					deadline = System.nanoTime() + timeoutNanos;
+				}
+				try {
+					task.future = executor.submit(() -> {
+						try {
+							task.complete(timer.record(forkLoader));
+						} catch (Throwable t) {
+							task.fail(t);
+						} finally {
+							permits.release();
+							completed.add(task);
+						}
+					});
+				} catch (RuntimeException e) {
+					permits.release();
+					throw e;
+				}
+				forked++;
+			}
+			tasks.add(task);
+			return task;
+		}
+
+		/**
+		 * 등록한 조회를 모두 기다림 (호출 스레드 몫은 직접 실행)
+		 *
+		 * @throws IllegalStateException 전체 대기 시간(timeout-ms) 초과 또는 대기 중 인터럽트
+		 */
+		public void join() {
+			joined = true;
+			try {
+				for (Task<?> task : tasks) {
+					if (task.future == null) {
+						task.runInline(timer(name, task.load, "inline"));
+					}
+				}
+				for (int remaining = forked; remaining > 0; remaining--) {
+					Task<?> task = completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (task == null) {
+						cancelAll();
+						log.warn("[ParallelLoader.join] 병렬 조회 시간 초과: scope={}, timeoutMs={}",
+							name, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+						throw new IllegalStateException("병렬 조회 시간 초과: scope=" + name);
+					}
+					if (task.failure instanceof CannotCreateTransactionException e) {
+						log.warn("[ParallelLoader.join] 조회 트랜잭션 시작 실패, 호출 스레드에서 실행: scope={}, load={}, error={}",
+							name, task.load, e.getMessage());
+						task.runInline(timer(name, task.load, "inline"));
+						continue;
+					}
+					task.rethrowIfFailed();
+				}
+			} catch (InterruptedException e) {
+				cancelAll();
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("병렬 조회 대기 중 인터럽트: scope=" + name, e);
+			} catch (RuntimeException | Error e) {
+				cancelAll();
+				throw e;
+			}
+		}
+
+		/** join 하지 않았거나 실패한 경우 끝나지 않은 조회 취소 */
+		@Override
+		public void close() {
+			cancelAll();
+		}
+
+		private void cancelAll() {
+			for (Task<?> task : tasks) {
+				if (task.future != null) {
+					task.future.cancel(true);
+				}
+			}
+		}
+	}
+
+	private static final class Task<T> implements Fork<T> {
+
+		private final String load;
+		private final Supplier<T> loader;
+		private Future<?> future;
+		private volatile T value;
+		private volatile Throwable failure;
+		private volatile boolean done = false;
+
+		private Task(String load, Supplier<T> loader) {
+			this.load = load;
+			this.loader = loader;
+		}
+
+		private void runInline(Timer timer) {
+			failure = null;
+			complete(timer.record(loader));
+		}
+
+		private void complete(T result) {
+			value = result;
+			done = true;
+		}
+
+		private void fail(Throwable t) {
+			failure = t;
+		}
+
+		private void rethrowIfFailed() {
+			if (failure instanceof RuntimeException re) {
+				throw re;
+			}
+			if (failure instanceof Error err) {
+				throw err;
+			}
+			if (failure != null) {
+				throw new CompletionException(failure);
+			}
+		}
+
+		@Override
+		public T get() {
+			if (!done) {
+				throw new IllegalStateException("join 전에 결과를 읽을 수 없습니다: load=" + load);
+			}
+			return value;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * global/geo/GeoDistanceKernel.java
+ * 중심 좌표 하나와 좌표 배열 사이의 Haversine 거리 일괄 계산
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 위/경도를 primitive 배열(double[])로 받아 한 번에 계산 (박싱/Point 객체 생성 없음)
+ * - 중심 위도의 cos 은 배치당 한 번, 좌표당 삼각함수는 sin 2 + cos 1 + atan2 1 회
+ * - 기본은 스칼라 경로, Vector API 경로(VectorGeoDistance, src/vector/java)는 opt-in
+ *   (-PvectorGeo 로 빌드해 클래스가 포함되고, jdk.incubator.vector 모듈이 로드되어 있고(--add-modules),
+ *   한 번에 4 개 이상 처리할 수 있는 CPU 일 때만 사용, incubator 모듈이라 기본 빌드/실행에서는 경고를 내지 않도록 제외)
+ * - 좌표가 NaN(좌표 없음)이면 거리도 NaN
+ * - 기존 식당별 계산식과 같은 식(지구 반지름 6371000m, atan2 형태)이라 결과 차이는 부동소수점 오차 수준
+ */
+
+package com.jde.mainserver.global.geo;
+
+public final class GeoDistanceKernel {
+
+	public static final double EARTH_RADIUS_M = 6_371_000.0;
+
+	static final double DEG_TO_RAD = Math.PI / 180.0;
+
+	private static final String VECTOR_CLASS = "com.jde.mainserver.global.geo.VectorGeoDistance";
+
+	/** Vector API 경로 (없으면 null) */
+	private static final Batch VECTOR = loadVector();
+
+	private GeoDistanceKernel() {
+	}
+
+	/** Vector API 경로 사용 여부 */
+	public static boolean vectorized() {
+		return VECTOR != null;
+	}
+
+	/** Vector API 경로 구현 (테스트/벤치마크에서 직접 비교용, 없으면 null) */
+	static Batch vectorBatch() {
+		return VECTOR;
+	}
+
+	/** 두 지점 간 거리 (미터) */
+	public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+		double sinHalfDLat = Math.sin((lat2 - lat1) * DEG_TO_RAD * 0.5);
+		double sinHalfDLng = Math.sin((lng2 - lng1) * DEG_TO_RAD * 0.5);
+		double a = sinHalfDLat * sinHalfDLat
+			+ Math.cos(lat1 * DEG_TO_RAD) * Math.cos(lat2 * DEG_TO_RAD) * sinHalfDLng * sinHalfDLng;
+		return 2 * EARTH_RADIUS_M * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+	}
+
+	/**
+	 * 중심에서 각 좌표까지 거리 (미터)
+	 *
+	 * @return lats 와 같은 길이의 거리 배열
+	 */
+	public static double[] distancesMeters(double lat, double lng, double[] lats, double[] lngs) {
+		double[] out = new double[lats.length];
+		distancesMeters(lat, lng, lats, lngs, lats.length, out);
+		return out;
+	}
+
+	/**
+	 * 중심에서 앞 length 개 좌표까지 거리를 out 에 기록 (미터)
+	 */
+	public static void distancesMeters(double lat, double lng, double[] lats, double[] lngs, int length,
+		double[] out) {
+		if (length > lats.length || length > lngs.length || length > out.length) {
+			throw new IllegalArgumentException("length 가 배열 크기보다 큽니다: " + length);
+		}
+		if (VECTOR != null) {
+			VECTOR.distances(lat, lng, lats, lngs, length, out);
+		} else {
+			scalar(lat, lng, lats, lngs, length, out);
+		}
+	}
+
+	/** 스칼라 경로 (테스트/벤치마크에서 직접 비교용) */
+	static void scalar(double lat, double lng, double[] lats, double[] lngs, int length, double[] out) {
+		double cosLat = Math.cos(lat * DEG_TO_RAD);
+		for (int i = 0; i < length; i++) {
+			double sinHalfDLat = Math.sin((lats[i] - lat) * DEG_TO_RAD * 0.5);
+			double sinHalfDLng = Math.sin((lngs[i] - lng) * DEG_TO_RAD * 0.5);
+			double a = sinHalfDLat * sinHalfDLat
+				+ cosLat * Math.cos(lats[i] * DEG_TO_RAD) * sinHalfDLng * sinHalfDLng;
+			out[i] = 2 * EARTH_RADIUS_M * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+		}
+	}
+
+	// 클래스가 빌드에 없거나 모듈이 없으면 스칼라 경로 (모듈 없이 VectorGeoDistance 를 로딩하면 NoClassDefFoundError)
+	private static Batch loadVector() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return null;
+		}
+		try {
+			Batch batch = (Batch)Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+			return batch.lanes() >= 4 ? batch : null;
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/** 일괄 거리 계산 구현 (Vector API 경로가 구현) */
+	interface Batch {
+
+		/** 한 번에 처리하는 좌표 수 */
+		int lanes();
+
+		void distances(double lat, double lng, double[] lats, double[] lngs, int length, double[] out);
+	}
+}
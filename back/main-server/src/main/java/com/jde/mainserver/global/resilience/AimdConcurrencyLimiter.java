@@ -0,0 +1,72 @@
+/**
+ * global/resilience/AimdConcurrencyLimiter.java
+ * AIMD 동시 실행 수 제한
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - 동시 실행 수가 limit 이상이면 대기 없이 거절 (호출 스레드가 느린 외부 호출에 묶이지 않도록)
+ * - 정상 완료: 제한의 절반 이상을 쓰고 있을 때만 limit + 1 (여유가 있는데 늘리지 않음)
+ * - 실패/느린 완료(drop): limit * backoffRatio (minLimit 이상)
+ */
+
+package com.jde.mainserver.global.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class AimdConcurrencyLimiter {
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoffRatio;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile int limit;
+
+	public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+		this.minLimit = Math.max(minLimit, 1);
+		this.maxLimit = Math.max(maxLimit, this.minLimit);
+		this.backoffRatio = backoffRatio;
+		this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+	}
+
+	public int limit() {
+		return limit;
+	}
+
+	public int inFlight() {
+		return inFlight.get();
+	}
+
+	/** 실행 허가 (limit 이상이면 false) */
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= limit) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/** 실행하지 않고 허가 반환 (limit 조정 없음) */
+	public void cancel() {
+		inFlight.decrementAndGet();
+	}
+
+	/**
+	 * 실행 완료 후 허가 반환 및 limit 조정
+	 *
+	 * @param dropped 실패 또는 느린 완료 여부
+	 */
+	public void release(boolean dropped) {
+		int current = inFlight.getAndDecrement();
+		synchronized (this) {
+			if (dropped) {
+				limit = Math.max(minLimit, (int)(limit * backoffRatio));
+			} else if (current * 2 >= limit) {
+				limit = Math.min(maxLimit, limit + 1);
+			}
+		}
+	}
+}
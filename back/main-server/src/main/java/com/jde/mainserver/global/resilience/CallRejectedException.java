@@ -0,0 +1,34 @@
+/**
+ * global/resilience/CallRejectedException.java
+ * ResilienceGuard 가 외부 호출을 실행하지 않고 거절했을 때의 예외
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - reason: circuit_open (서킷 열림) / concurrency_limit (동시 실행 제한 초과)
+ * - 호출부는 대체 결과를 만들 수 있으면 이 예외만 잡아 폴백 (스택 트레이스 생략)
+ */
+
+package com.jde.mainserver.global.resilience;
+
+public class CallRejectedException extends RuntimeException {
+
+	public static final String REASON_CIRCUIT_OPEN = "circuit_open";
+	public static final String REASON_CONCURRENCY_LIMIT = "concurrency_limit";
+
+	private final String guard;
+	private final String reason;
+
+	public CallRejectedException(String guard, String reason) {
+		super(guard + " 호출 거절: " + reason, null, false, false);
+		this.guard = guard;
+		this.reason = reason;
+	}
+
+	public String getGuard() {
+		return guard;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+}
@@ -0,0 +1,140 @@
+/**
+ * global/resilience/CircuitBreaker.java
+ * 호출 수 기준 슬라이딩 윈도우 서킷 브레이커
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - CLOSED: 최근 windowSize 개 호출 중 실패(느린 호출 포함) 비율이 failureRateThreshold 이상이면 OPEN
+ *   (minimumCalls 개 미만이면 판단하지 않음)
+ * - OPEN: openDuration 동안 모든 호출 거절, 지나면 HALF_OPEN
+ * - HALF_OPEN: halfOpenCalls 개만 시험 호출 허용, 모두 성공하면 CLOSED (윈도우 초기화), 하나라도 실패하면 다시 OPEN
+ * - 상태 전환 시 onTransition(이전 상태, 새 상태) 호출 (락 안에서 호출되므로 가벼운 작업만)
+ */
+
+package com.jde.mainserver.global.resilience;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+public final class CircuitBreaker {
+
+	public enum State {
+		CLOSED, HALF_OPEN, OPEN
+	}
+
+	private final int windowSize;
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final long openNanos;
+	private final int halfOpenCalls;
+	private final LongSupplier nanoClock;
+	private final BiConsumer<State, State> onTransition;
+
+	// 최근 호출 결과 (원형 버퍼, true = 실패)
+	private final boolean[] outcomes;
+	private int head = 0;
+	private int count = 0;
+	private int failures = 0;
+
+	private volatile State state = State.CLOSED;
+	private long openedAtNanos;
+	private int halfOpenPermits;
+	private int halfOpenSuccesses;
+
+	public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+		int halfOpenCalls, BiConsumer<State, State> onTransition) {
+		this(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls, System::nanoTime,
+			onTransition);
+	}
+
+	CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+		int halfOpenCalls, LongSupplier nanoClock, BiConsumer<State, State> onTransition) {
+		this.windowSize = Math.max(windowSize, 1);
+		this.minimumCalls = Math.min(Math.max(minimumCalls, 1), this.windowSize);
+		this.failureRateThreshold = failureRateThreshold;
+		this.openNanos = openDuration.toNanos();
+		this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+		this.nanoClock = nanoClock;
+		this.onTransition = onTransition != null ? onTransition : (from, to) -> {
+		};
+		this.outcomes = new boolean[this.windowSize];
+	}
+
+	public State state() {
+		return state;
+	}
+
+	/** 호출 허용 여부 (OPEN 이 끝났으면 HALF_OPEN 으로 전환하고 시험 호출 허가를 하나 사용) */
+	public synchronized boolean tryAcquire() {
+		if (state == State.OPEN) {
+			if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+				return false;
+			}
+			halfOpenPermits = halfOpenCalls;
+			halfOpenSuccesses = 0;
+			transition(State.HALF_OPEN);
+		}
+		if (state == State.HALF_OPEN) {
+			if (halfOpenPermits == 0) {
+				return false;
+			}
+			halfOpenPermits--;
+		}
+		return true;
+	}
+
+	/** tryAcquire 로 허가받은 호출 결과 기록 (failure: 예외 또는 느린 호출) */
+	public synchronized void record(boolean failure) {
+		switch (state) {
+			case OPEN -> {
+				// 열리기 전에 시작된 호출의 늦은 결과는 무시
+			}
+			case HALF_OPEN -> {
+				if (failure) {
+					open();
+				} else if (++halfOpenSuccesses >= halfOpenCalls) {
+					resetWindow();
+					transition(State.CLOSED);
+				}
+			}
+			case CLOSED -> {
+				if (count == windowSize) {
+					if (outcomes[head]) {
+						failures--;
+					}
+				} else {
+					count++;
+				}
+				outcomes[head] = failure;
+				head = (head + 1) % windowSize;
+				if (failure) {
+					failures++;
+				}
+				if (count >= minimumCalls && (double)failures / count >= failureRateThreshold) {
+					open();
+				}
+			}
+		}
+	}
+
+	private void open() {
+		openedAtNanos = nanoClock.getAsLong();
+		transition(State.OPEN);
+	}
+
+	private void resetWindow() {
+		head = 0;
+		count = 0;
+		failures = 0;
+	}
+
+	private void transition(State to) {
+		State from = state;
+		if (from == to) {
+			return;
+		}
+		state = to;
+		onTransition.accept(from, to);
+	}
+}
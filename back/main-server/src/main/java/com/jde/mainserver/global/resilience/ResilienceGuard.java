@@ -0,0 +1,153 @@
+/**
+ * global/resilience/ResilienceGuard.java
+ * 외부 호출 보호 (서킷 브레이커 + AIMD 동시 실행 제한)
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - 동시 실행 제한 → 서킷 순서로 허가를 받고, 하나라도 거절하면 호출하지 않고 CallRejectedException
+ * - 예외 또는 slowCall 이상 걸린 호출은 서킷에는 실패, 동시 실행 제한에는 drop 으로 기록
+ * - enabled=false 면 그대로 실행 (지표만 등록)
+ * - 지표 (guard 태그 = 이름): resilience.circuit.state (0 CLOSED / 1 HALF_OPEN / 2 OPEN),
+ *   resilience.circuit.transition{to}, resilience.rejected{reason},
+ *   resilience.concurrency.limit, resilience.concurrency.inflight
+ */
+
+package com.jde.mainserver.global.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Slf4j
+public final class ResilienceGuard {
+
+	private final String name;
+	private final boolean enabled;
+	private final long slowCallNanos;
+	private final CircuitBreaker circuitBreaker;
+	private final AimdConcurrencyLimiter limiter;
+	private final Map<CircuitBreaker.State, Counter> transitionCounters = new EnumMap<>(CircuitBreaker.State.class);
+	private final Counter circuitOpenRejections;
+	private final Counter limitRejections;
+
+	public ResilienceGuard(String name, Settings settings, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.enabled = settings.enabled();
+		this.slowCallNanos = settings.slowCall().toNanos();
+		for (CircuitBreaker.State s : CircuitBreaker.State.values()) {
+			transitionCounters.put(s, Counter.builder("resilience.circuit.transition")
+				.tag("guard", name)
+				.tag("to", s.name().toLowerCase())
+				.register(meterRegistry));
+		}
+		this.circuitBreaker = new CircuitBreaker(
+			settings.windowSize(),
+			settings.minimumCalls(),
+			settings.failureRateThreshold(),
+			settings.openDuration(),
+			settings.halfOpenCalls(),
+			this::onTransition
+		);
+		this.limiter = new AimdConcurrencyLimiter(
+			settings.initialLimit(), settings.minLimit(), settings.maxLimit(), settings.backoffRatio());
+		this.circuitOpenRejections = Counter.builder("resilience.rejected")
+			.tag("guard", name).tag("reason", CallRejectedException.REASON_CIRCUIT_OPEN)
+			.register(meterRegistry);
+		this.limitRejections = Counter.builder("resilience.rejected")
+			.tag("guard", name).tag("reason", CallRejectedException.REASON_CONCURRENCY_LIMIT)
+			.register(meterRegistry);
+		Gauge.builder("resilience.circuit.state", circuitBreaker, cb -> cb.state().ordinal())
+			.tag("guard", name)
+			.register(meterRegistry);
+		Gauge.builder("resilience.concurrency.limit", limiter, AimdConcurrencyLimiter::limit)
+			.tag("guard", name)
+			.register(meterRegistry);
+		Gauge.builder("resilience.concurrency.inflight", limiter, AimdConcurrencyLimiter::inFlight)
+			.tag("guard", name)
+			.register(meterRegistry);
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public CircuitBreaker.State state() {
+		return circuitBreaker.state();
+	}
+
+	/**
+	 * 보호된 호출 실행
+	 *
+	 * @throws CallRejectedException 서킷이 열려 있거나 동시 실행 제한을 넘은 경우 (call 은 실행되지 않음)
+	 */
+	public <T> T execute(Supplier<T> call) {
+		if (!enabled) {
+			return call.get();
+		}
+		if (!limiter.tryAcquire()) {
+			limitRejections.increment();
+			throw new CallRejectedException(name, CallRejectedException.REASON_CONCURRENCY_LIMIT);
+		}
+		if (!circuitBreaker.tryAcquire()) {
+			limiter.cancel();
+			circuitOpenRejections.increment();
+			throw new CallRejectedException(name, CallRejectedException.REASON_CIRCUIT_OPEN);
+		}
+		long started = System.nanoTime();
+		boolean failed = true;
+		try {
+			T result = call.get();
+			failed = false;
+			return result;
+		} finally {
+			boolean dropped = failed || System.nanoTime() - started > slowCallNanos;
+			circuitBreaker.record(dropped);
+			limiter.release(dropped);
+		}
+	}
+
+	private void onTransition(CircuitBreaker.State from, CircuitBreaker.State to) {
+		transitionCounters.get(to).increment();
+		if (to == CircuitBreaker.State.OPEN) {
+			log.warn("[ResilienceGuard.onTransition] 서킷 열림: guard={}, from={}, limit={}", name, from, limiter.limit());
+		} else {
+			log.info("[ResilienceGuard.onTransition] 서킷 상태 전환: guard={}, {} -> {}", name, from, to);
+		}
+	}
+
+	/**
+	 * 보호 설정
+	 *
+	 * @param enabled false 면 보호 없이 실행
+	 * @param slowCall 이 시간 이상 걸린 호출은 실패로 취급
+	 * @param windowSize 실패율 계산 호출 수
+	 * @param minimumCalls 실패율을 판단하기 위한 최소 호출 수
+	 * @param failureRateThreshold 서킷을 여는 실패율 (0~1)
+	 * @param openDuration 서킷 열림 유지 시간
+	 * @param halfOpenCalls HALF_OPEN 시험 호출 수
+	 * @param initialLimit 초기 동시 실행 제한
+	 * @param minLimit 최소 동시 실행 제한
+	 * @param maxLimit 최대 동시 실행 제한
+	 * @param backoffRatio drop 시 제한 감소 비율
+	 */
+	public record Settings(
+		boolean enabled,
+		Duration slowCall,
+		int windowSize,
+		int minimumCalls,
+		double failureRateThreshold,
+		Duration openDuration,
+		int halfOpenCalls,
+		int initialLimit,
+		int minLimit,
+		int maxLimit,
+		double backoffRatio
+	) {
+	}
+}
@@ -0,0 +1,262 @@
+/**
+ * main/converter/FeedItemJsonSerializer.java
+ * 피드 식당 항목(FeedResponse.RestaurantItem) JSON 직렬화 (정적 부분 사전 인코딩 캐시)
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 필드 목록/순서/이름은 RestaurantItem 의 Jackson 기본 bean 직렬화기(BeanSerializerFactory)에서 가져옴
+ *   (record 에 필드가 추가/변경되어도 기본 직렬화와 같은 JSON, @JsonIgnore 필드 제외)
+ * - 요청마다 바뀌는 필드(DYNAMIC: restaurant_id, distance_m, is_open, bookmarked, debug)만 매번 직렬화하고,
+ *   그 사이의 나머지 필드(카카오 소개/이미지/메뉴 JSONB 포함)는 연속 구간마다 한 번 직렬화해
+ *   UTF-8 바이트(SerializedString)로 보관한 뒤 응답 작성 시 그대로 복사
+ * - 캐시 키는 식당 ID, 정적 필드 값(영업시간, JSONB 포함)을 함께 보관해 equals 로 비교하고 다르면 다시 직렬화해서 교체
+ *   (updated_at 은 JPA 쓰기에서만 바뀌고 영업시간은 별도 테이블이라 버전 대신 값 자체를 비교, 식당 ID가 없으면 캐시하지 않음)
+ * - 필드 구성과 정적 부분은 응답을 쓰는 ObjectMapper 설정(포함 규칙 등) 그대로 직렬화
+ *   (Spring Boot ObjectMapper 에만 등록, 필드 구성은 처음 직렬화할 때 한 번 계산)
+ * - 최대 max-entries 개 (LRU 제거)
+ * - 지표: feed.fragment.requests{result=hit|miss|bypass}
+ */
+
+package com.jde.mainserver.main.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.jde.mainserver.main.web.dto.response.FeedResponse.RestaurantItem;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@JsonComponent
+public class FeedItemJsonSerializer extends JsonSerializer<RestaurantItem> {
+
+	/** 요청마다 바뀌는 필드 (첫 필드는 이 중 하나여야 함, 정적 구간 앞 쉼표를 붙이기 위해) */
+	static final Set<String> DYNAMIC = Set.of("restaurant_id", "distance_m", "is_open", "bookmarked", "debug");
+
+	private final boolean enabled;
+	private final Map<Long, Fragment> fragments;
+	private final Counter hit;
+	private final Counter miss;
+	private final Counter bypass;
+
+	private volatile Layout layout;
+
+	/** @WebMvcTest 등 MeterRegistry 가 없는 컨텍스트에서도 로드되도록 (@JsonComponent 는 슬라이스에도 포함) */
+	@Autowired
+	public FeedItemJsonSerializer(
+		ObjectProvider<MeterRegistry> meterRegistry,
+		@Value("${feed.fragment-cache.enabled:true}") boolean enabled,
+		@Value("${feed.fragment-cache.max-entries:20000}") int maxEntries
+	) {
+		this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), enabled, maxEntries);
+	}
+
+	FeedItemJsonSerializer(
+		MeterRegistry meterRegistry,
+		@Value("${feed.fragment-cache.enabled:true}") boolean enabled,
+		@Value("${feed.fragment-cache.max-entries:20000}") int maxEntries
+	) {
+		this.enabled = enabled;
+		int capacity = Math.max(maxEntries, 1);
+		this.fragments = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Fragment> eldest) {
+				return size() > capacity;
+			}
+		});
+		this.hit = counter(meterRegistry, "hit");
+		this.miss = counter(meterRegistry, "miss");
+		this.bypass = counter(meterRegistry, "bypass");
+	}
+
+	@Override
+	public void serialize(RestaurantItem item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		Layout layout = layout(provider);
+		gen.writeStartObject(item);
+		SerializedString[] runs = fragment(item, layout, gen.getCodec(), provider);
+		for (Segment segment : layout.segments()) {
+			if (runs == null || segment.dynamic() != null) {
+				for (PropertyWriter property : segment.properties()) {
+					write(property, item, gen, provider);
+				}
+			} else if (runs[segment.run()].charLength() > 0) {
+				gen.writeRaw(runs[segment.run()]);
+			}
+		}
+		gen.writeEndObject();
+	}
+
+	/** 캐시된 항목 수 */
+	int size() {
+		return fragments.size();
+	}
+
+	// 정적 구간별 JSON (캐시하지 않는 항목이면 null, 모든 필드를 그대로 직렬화)
+	private SerializedString[] fragment(RestaurantItem item, Layout layout, ObjectCodec codec,
+		SerializerProvider provider) throws IOException {
+		Long restaurantId = item.restaurantId();
+		if (!enabled || restaurantId == null) {
+			bypass.increment();
+			return null;
+		}
+		Object[] values = layout.staticValues(item);
+		Fragment cached = fragments.get(restaurantId);
+		if (cached != null && Arrays.equals(cached.values(), values)) {
+			hit.increment();
+			return cached.runs();
+		}
+		miss.increment();
+		SerializedString[] runs = new SerializedString[layout.runCount()];
+		for (Segment segment : layout.segments()) {
+			if (segment.dynamic() == null) {
+				runs[segment.run()] = encode(item, segment.properties(), codec, provider);
+			}
+		}
+		fragments.put(restaurantId, new Fragment(values, runs));
+		return runs;
+	}
+
+	/**
+	 * 정적 구간 직렬화 (",\"kakao_id\":...,\"hours\":[...]", 앞 필드 뒤에 이어 붙는 형태, 모두 생략되면 빈 문자열)
+	 */
+	static SerializedString encode(RestaurantItem item, List<PropertyWriter> properties, ObjectCodec codec,
+		SerializerProvider provider) throws IOException {
+		StringWriter writer = new StringWriter(1024);
+		try (JsonGenerator gen = codec.getFactory().createGenerator(writer)) {
+			gen.setCodec(codec);
+			gen.writeStartObject();
+			for (PropertyWriter property : properties) {
+				write(property, item, gen, provider);
+			}
+			gen.writeEndObject();
+		}
+		// 바깥 중괄호 대신 앞 필드와 구분하는 쉼표
+		String object = writer.toString();
+		String fields = object.substring(1, object.length() - 1);
+		SerializedString json = new SerializedString(fields.isEmpty() ? "" : "," + fields);
+		json.asUnquotedUTF8(); // UTF-8 바이트를 미리 만들어 두고 응답 작성 시에는 복사만
+		return json;
+	}
+
+	private Layout layout(SerializerProvider provider) throws JsonMappingException {
+		Layout current = layout;
+		if (current == null) {
+			current = Layout.of(provider);
+			layout = current;
+		}
+		return current;
+	}
+
+	private static void write(PropertyWriter property, RestaurantItem item, JsonGenerator gen,
+		SerializerProvider provider) throws IOException {
+		try {
+			property.serializeAsField(item, gen, provider);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw JsonMappingException.from(gen, e.getMessage(), e);
+		}
+	}
+
+	private static Counter counter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("feed.fragment.requests")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * 기본 bean 직렬화기의 출력 순서대로 나눈 필드 구간
+	 * - 요청별 필드는 하나씩, 그 사이의 연속된 정적 필드는 한 구간 (run = 정적 구간 번호)
+	 */
+	record Layout(List<Segment> segments, int runCount) {
+
+		/** 정적 필드 값 (출력 순서, 캐시 항목과 비교하는 키) */
+		Object[] staticValues(RestaurantItem item) throws IOException {
+			List<Object> values = new ArrayList<>();
+			for (Segment segment : segments) {
+				if (segment.dynamic() != null) {
+					continue;
+				}
+				for (PropertyWriter property : segment.properties()) {
+					values.add(value(property, item));
+				}
+			}
+			return values.toArray();
+		}
+
+		private static Object value(PropertyWriter property, RestaurantItem item) throws IOException {
+			if (!(property instanceof BeanPropertyWriter writer)) {
+				throw new IllegalStateException("값을 읽을 수 없는 필드: " + property.getName());
+			}
+			try {
+				return writer.get(item);
+			} catch (Exception e) {
+				throw new IOException("필드 값 읽기 실패: " + property.getName(), e);
+			}
+		}
+
+		static Layout of(SerializerProvider provider) throws JsonMappingException {
+			// 이 클래스가 등록된 ObjectMapper 의 설정으로 만든 기본 직렬화기 (사용자 정의 직렬화기 제외)
+			JsonSerializer<Object> bean = BeanSerializerFactory.instance.createSerializer(
+				provider, provider.constructType(RestaurantItem.class));
+			if (bean instanceof ResolvableSerializer resolvable) {
+				resolvable.resolve(provider);
+			}
+			List<PropertyWriter> properties = new ArrayList<>();
+			bean.properties().forEachRemaining(properties::add);
+			if (properties.isEmpty() || !DYNAMIC.contains(properties.get(0).getName())) {
+				throw new IllegalStateException("RestaurantItem 의 첫 필드가 요청별 필드가 아님: " + properties);
+			}
+
+			List<Segment> segments = new ArrayList<>();
+			List<PropertyWriter> run = new ArrayList<>();
+			int runCount = 0;
+			for (PropertyWriter property : properties) {
+				if (!DYNAMIC.contains(property.getName())) {
+					run.add(property);
+					continue;
+				}
+				if (!run.isEmpty()) {
+					segments.add(new Segment(null, List.copyOf(run), runCount++));
+					run.clear();
+				}
+				segments.add(new Segment(property, List.of(property), -1));
+			}
+			if (!run.isEmpty()) {
+				segments.add(new Segment(null, List.copyOf(run), runCount++));
+			}
+			return new Layout(List.copyOf(segments), runCount);
+		}
+	}
+
+	/** 필드 구간 (dynamic 이 있으면 요청별 필드 하나, 없으면 정적 구간) */
+	record Segment(PropertyWriter dynamic, List<PropertyWriter> properties, int run) {
+	}
+
+	/** 캐시 항목 (정적 필드 값, 정적 구간별 JSON) */
+	private record Fragment(Object[] values, SerializedString[] runs) {
+	}
+}
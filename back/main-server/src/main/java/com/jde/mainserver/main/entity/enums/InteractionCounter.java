@@ -0,0 +1,53 @@
+/**
+ * main/entity/enums/InteractionCounter.java
+ * 횟수 기반 상호작용(상세 조회 / 공유) 선호 증분 규칙 enum
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 기존 횟수 0 이면 firstDelta, repeatMax 이하이면 repeatDelta, 그 이후 0
+ * - 증분이 0 보다 크면 태그 선호에 증분 x tagScoreRatio / tagConfRatio 반영
+ */
+
+package com.jde.mainserver.main.entity.enums;
+
+import java.math.BigDecimal;
+
+public enum InteractionCounter {
+    VIEW(new BigDecimal("0.10"), new BigDecimal("0.03"), 2, new BigDecimal("0.5"), new BigDecimal("0.3")),
+    SHARE(new BigDecimal("0.3"), new BigDecimal("0.1"), 2, new BigDecimal("0.8"), new BigDecimal("0.6"));
+
+    private final BigDecimal firstDelta;
+    private final BigDecimal repeatDelta;
+    private final int repeatMax;
+    private final BigDecimal tagScoreRatio;
+    private final BigDecimal tagConfRatio;
+
+    InteractionCounter(BigDecimal firstDelta, BigDecimal repeatDelta, int repeatMax,
+        BigDecimal tagScoreRatio, BigDecimal tagConfRatio) {
+        this.firstDelta = firstDelta;
+        this.repeatDelta = repeatDelta;
+        this.repeatMax = repeatMax;
+        this.tagScoreRatio = tagScoreRatio;
+        this.tagConfRatio = tagConfRatio;
+    }
+
+    public BigDecimal getFirstDelta() {
+        return firstDelta;
+    }
+
+    public BigDecimal getRepeatDelta() {
+        return repeatDelta;
+    }
+
+    public int getRepeatMax() {
+        return repeatMax;
+    }
+
+    public BigDecimal getTagScoreRatio() {
+        return tagScoreRatio;
+    }
+
+    public BigDecimal getTagConfRatio() {
+        return tagConfRatio;
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * main/entity/enums/UserSegment.java
+ * 피드 사용자 구분 enum
+ * Author: Jang
+ * Date: 2025-11-25
+ */
+
+package com.jde.mainserver.main.entity.enums;
+
+public enum UserSegment {
+    GUEST, NEW, EXISTING
+}
@@ -3,29 +3,36 @@
  * 후보 식당 조회 Repository
  * Author: Jang
  * Date: 2025-11-04
+ *
+ * - 반경 조회로 식당 ID 가 정해지면 사용자 상태 / 영업시간 / 태그 조회를 ParallelLoader 로 동시에 실행
+ *   (사용자 상태 필터링은 조회가 모두 끝난 뒤 적용)
+ * - 영업 여부는 카탈로그 스냅샷의 컴파일된 주간 구간표로 판정 (스냅샷에 없는 식당만 영업시간 DB 조회)
  */
 
 package com.jde.mainserver.main.repository;
 
+import com.jde.mainserver.global.concurrent.ParallelLoader;
 import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
-import com.jde.mainserver.restaurants.entity.Restaurant;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalog;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalogSnapshot;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurant;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurantCursor;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurantSearch;
 import com.jde.mainserver.restaurants.entity.RestaurantHour;
 import com.jde.mainserver.restaurants.entity.RestaurantTag;
 import com.jde.mainserver.restaurants.repository.RestaurantHourRepository;
-import com.jde.mainserver.restaurants.repository.RestaurantRepository;
 import com.jde.mainserver.restaurants.repository.RestaurantTagRepository;
+import com.jde.mainserver.restaurants.service.OpenStatusUtil;
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
 import com.jde.mainserver.main.entity.UserRestaurantState;
 import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
 
-import org.locationtech.jts.geom.Point;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -36,28 +43,33 @@ public class CandidateRepository {
 	private static final int DEFAULT_MAX_CANDIDATES = 200; // 후보 수 증가 (pref_score 반영을 위해)
 	private static final int MAX_RADIUS_SEARCH = 200; // 반경 검색 시 최대 개수
 	private static final double PREF_SCORE_THRESHOLD = -0.8; // 선호 점수 임계값 (이하 제외)
-	private static final int EARTH_RADIUS_M = 6371000; // 지구 반지름 (미터)
 
 	// 기본 위치: 서울 강남구 테헤란로 212
 	private static final double DEFAULT_LAT = 37.5012767241426; // 위도
 	private static final double DEFAULT_LNG = 127.039600248343; // 경도
 	private static final double DEFAULT_RADIUS_M = 5000.0; // 기본 반경 5km
 
-	private final RestaurantRepository restaurantRepository;
 	private final RestaurantHourRepository restaurantHourRepository;
 	private final RestaurantTagRepository restaurantTagRepository;
 	private final UserRestaurantStateRepository userRestaurantStateRepository;
+	private final RestaurantCatalog restaurantCatalog;
+	private final NearbyRestaurantSearch nearbyRestaurantSearch;
+	private final ParallelLoader parallelLoader;
 
 	public CandidateRepository(
-		RestaurantRepository restaurantRepository,
 		RestaurantHourRepository restaurantHourRepository,
 		RestaurantTagRepository restaurantTagRepository,
-		UserRestaurantStateRepository userRestaurantStateRepository
+		UserRestaurantStateRepository userRestaurantStateRepository,
+		RestaurantCatalog restaurantCatalog,
+		NearbyRestaurantSearch nearbyRestaurantSearch,
+		ParallelLoader parallelLoader
 	) {
-		this.restaurantRepository = restaurantRepository;
 		this.restaurantHourRepository = restaurantHourRepository;
 		this.restaurantTagRepository = restaurantTagRepository;
 		this.userRestaurantStateRepository = userRestaurantStateRepository;
+		this.restaurantCatalog = restaurantCatalog;
+		this.nearbyRestaurantSearch = nearbyRestaurantSearch;
+		this.parallelLoader = parallelLoader;
 	}
 
 	/**
@@ -78,57 +90,78 @@ public class CandidateRepository {
 	public List<PersonalScoreRequest.Candidate> getCandidates(Long userId, Map<String, Object> context) {
 		// 1. 파라미터 추출 (없으면 기본값 사용)
 		final int maxCandidates = getInt(context, "maxCandidates", DEFAULT_MAX_CANDIDATES);
+		final Double radiusM = getDouble(context, "radiusM", DEFAULT_RADIUS_M);
+
+		// 2~4. 단일 링(중심 ~ radiusM) 조회 후 변환
+		return getCandidatesInRing(userId, openCursor(context), radiusM, maxCandidates);
+	}
+
+	/**
+	 * 반경 링 확장 커서 생성 (context 의 lat, lng 사용 - 없으면 기본 위치)
+	 */
+	public NearbyRestaurantCursor openCursor(Map<String, Object> context) {
 		final Double userLat = getDouble(context, "lat", DEFAULT_LAT);
 		final Double userLng = getDouble(context, "lng", DEFAULT_LNG);
-		final Double radiusM = getDouble(context, "radiusM", DEFAULT_RADIUS_M);
+		return nearbyRestaurantSearch.open(userLat, userLng);
+	}
 
-		// 2. 식당 조회: 반경 검색 우선, 없으면 일반 페이징
-		final List<Restaurant> restaurants = fetchRestaurants(userLat, userLng, radiusM, maxCandidates);
+	/**
+	 * 커서의 다음 링(이전 위치 ~ radiusM)에 새로 들어온 식당만 후보로 변환
+	 * - 이미 이전 링에서 반환된 식당은 다시 조회/필터링하지 않음
+	 * - 커서 누적 조회 수는 min(maxCandidates, 200) 으로 제한
+	 *
+	 * @return 이번 링의 후보 리스트 (거리순)
+	 */
+	public List<PersonalScoreRequest.Candidate> getCandidatesInRing(Long userId, NearbyRestaurantCursor cursor,
+		double radiusM, int maxCandidates) {
+		// 식당 조회 (반경 검색, 거리순 정렬) - 가변 리스트로 변환 (필터링을 위해)
+		final List<NearbyRestaurant> restaurants = new ArrayList<>(
+			cursor.expand(radiusM, Math.min(maxCandidates, MAX_RADIUS_SEARCH))
+		);
 		if (restaurants.isEmpty()) {
 			return Collections.emptyList();
 		}
 
-		// 3. 사용자 상태 로딩 및 필터링 (userId가 null이면 생략)
-		List<Long> restaurantIds = restaurants.stream().map(Restaurant::getId).toList();
-		Map<Long, UserRestaurantState> stateMap = userId != null
-			? loadUserStates(userId, restaurantIds)
-			: Collections.emptyMap();
+		// 벌크 로딩: 사용자 상태(userId가 null이면 생략), 영업시간, 태그를 동시에 조회
+		// (영업시간/태그는 필터링 전 ID 기준이라 제외될 식당 몫까지 읽지만 왕복은 한 번)
+		final List<Long> loadIds = restaurants.stream().map(NearbyRestaurant::restaurantId).toList();
+		final RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		Map<Long, UserRestaurantState> stateMap;
+		Map<Long, List<RestaurantHour>> hoursMap;
+		Map<Long, Map<Long, PersonalScoreRequest.TagPreference>> tagsByRestaurant;
+		try (ParallelLoader.Scope scope = parallelLoader.open("candidate")) {
+			ParallelLoader.Fork<Map<Long, UserRestaurantState>> states = userId != null
+				? scope.fork("user_states", () -> loadUserStates(userId, loadIds))
+				: null;
+			ParallelLoader.Fork<Map<Long, List<RestaurantHour>>> hours =
+				scope.fork("hours", () -> loadRestaurantHours(loadIds, catalog));
+			ParallelLoader.Fork<Map<Long, Map<Long, PersonalScoreRequest.TagPreference>>> tags =
+				scope.fork("tags", () -> loadRestaurantTags(loadIds, catalog));
+			scope.join();
+			stateMap = states != null ? states.get() : Collections.emptyMap();
+			hoursMap = hours.get();
+			tagsByRestaurant = tags.get();
+		}
 
+		// 사용자 선호도 기반 필터링
 		if (userId != null) {
 			filterByUserPreference(restaurants, stateMap);
 		}
 
 		// 필터링 후 재계산
-		restaurantIds = restaurants.stream().map(Restaurant::getId).toList();
+		List<Long> restaurantIds = restaurants.stream().map(NearbyRestaurant::restaurantId).toList();
 		if (restaurantIds.isEmpty()) {
 			return Collections.emptyList();
 		}
 
-		// 4. 벌크 로딩: 영업시간, 태그
-		Map<Long, List<RestaurantHour>> hoursMap = loadRestaurantHours(restaurantIds);
-		Map<Long, List<RestaurantTag>> tagsByRestaurant = loadRestaurantTags(restaurantIds);
-		
 		// 태그 로딩 확인 (문제가 있을 때만 경고)
 		long restaurantsWithTags = tagsByRestaurant.values().stream().filter(tags -> !tags.isEmpty()).count();
 		if (restaurantsWithTags == 0 && !restaurantIds.isEmpty()) {
 			log.warn("[CandidateRepository] 태그가 있는 식당이 없음: restaurantIds={}", restaurantIds.size());
 		}
 
-		// 5. Candidate 변환
-		return convertToCandidates(restaurants, stateMap, hoursMap, tagsByRestaurant, userLat, userLng);
-	}
-
-	/**
-	 * 식당 조회 (반경 기반 검색, 거리순 정렬)
-	 */
-	private List<Restaurant> fetchRestaurants(Double userLat, Double userLng, Double radiusM, int maxCandidates) {
-		// 반경 기반 검색 (거리순 정렬)
-		Pageable pageable = PageRequest.of(0, Math.min(maxCandidates, MAX_RADIUS_SEARCH));
-		Page<Restaurant> page = restaurantRepository.findNearestWithinMeters(
-			userLng, userLat, radiusM, pageable
-		);
-		// 가변 리스트로 변환 (필터링을 위해)
-		return new ArrayList<>(page.getContent());
+		// Candidate 변환
+		return convertToCandidates(restaurants, stateMap, catalog, hoursMap, tagsByRestaurant);
 	}
 
 	/**
@@ -148,11 +181,11 @@ public class CandidateRepository {
 	 * - 쿨다운 기간 내인 식당 (cooldownUntil > 현재 시각)
 	 * - 선호 점수가 -0.8 이하인 식당
 	 */
-	private void filterByUserPreference(List<Restaurant> restaurants, Map<Long, UserRestaurantState> stateMap) {
+	private void filterByUserPreference(List<NearbyRestaurant> restaurants, Map<Long, UserRestaurantState> stateMap) {
 		java.time.Instant now = java.time.Instant.now();
 
 		restaurants.removeIf(r -> {
-			UserRestaurantState state = stateMap.get(r.getId());
+			UserRestaurantState state = stateMap.get(r.restaurantId());
 			if (state == null) {
 				return false; // 상태가 없으면 포함
 			}
@@ -170,72 +203,105 @@ public class CandidateRepository {
 	}
 
 	/**
-	 * 식당별 영업시간 벌크 로딩
+	 * 식당별 영업시간 벌크 로딩 (카탈로그 스냅샷에 없는 식당만, 스냅샷 식당은 구간표 사용)
 	 */
-	private Map<Long, List<RestaurantHour>> loadRestaurantHours(List<Long> restaurantIds) {
+	private Map<Long, List<RestaurantHour>> loadRestaurantHours(List<Long> restaurantIds,
+		RestaurantCatalogSnapshot catalog) {
+		List<Long> missing = restaurantIds.stream().filter(id -> !catalog.contains(id)).toList();
+		if (missing.isEmpty()) {
+			return Collections.emptyMap();
+		}
 		return restaurantHourRepository
-			.findByRestaurant_IdIn(restaurantIds)
+			.findByRestaurant_IdIn(missing)
 			.stream()
 			.collect(Collectors.groupingBy(h -> h.getRestaurant().getId()));
 	}
 
 	/**
-	 * 식당별 태그 벌크 로딩
+	 * 식당별 태그 벌크 로딩 (카탈로그 스냅샷 우선, 스냅샷에 없는 식당만 DB 조회)
+	 * (restaurant_tag.weight, confidence 사용, 영업시간/변환과 같은 스냅샷)
 	 */
-	private Map<Long, List<RestaurantTag>> loadRestaurantTags(List<Long> restaurantIds) {
+	private Map<Long, Map<Long, PersonalScoreRequest.TagPreference>> loadRestaurantTags(List<Long> restaurantIds,
+		RestaurantCatalogSnapshot catalog) {
 		if (restaurantIds.isEmpty()) {
 			return Collections.emptyMap();
 		}
-		List<RestaurantTag> allTags = restaurantTagRepository.findByRestaurantIdIn(restaurantIds);
-		return allTags.stream()
-			.collect(Collectors.groupingBy(RestaurantTag::getRestaurantId));
+		Map<Long, Map<Long, PersonalScoreRequest.TagPreference>> result = new HashMap<>();
+		List<Long> missing = new ArrayList<>();
+		for (Long id : restaurantIds) {
+			int ord = catalog.ordinalOf(id);
+			if (ord < 0) {
+				missing.add(id);
+				continue;
+			}
+			int start = catalog.tagStart(ord);
+			int end = catalog.tagEnd(ord);
+			if (start == end) {
+				continue;
+			}
+			Map<Long, PersonalScoreRequest.TagPreference> tagPref = new HashMap<>();
+			for (int row = start; row < end; row++) {
+				tagPref.put(catalog.tagId(row), new PersonalScoreRequest.TagPreference(
+					catalog.tagWeight(row),
+					catalog.tagConfidence(row)
+				));
+			}
+			result.put(id, tagPref);
+		}
+		if (!missing.isEmpty()) {
+			restaurantTagRepository.findByRestaurantIdIn(missing).stream()
+				.collect(Collectors.groupingBy(RestaurantTag::getRestaurantId))
+				.forEach((id, tags) -> result.put(id, buildTagPreferenceMap(tags)));
+		}
+		return result;
 	}
 
 	/**
-	 * Restaurant 엔티티를 Candidate DTO로 변환
+	 * 반경 검색 결과를 Candidate DTO로 변환
 	 */
 	private List<PersonalScoreRequest.Candidate> convertToCandidates(
-		List<Restaurant> restaurants,
+		List<NearbyRestaurant> restaurants,
 		Map<Long, UserRestaurantState> stateMap,
+		RestaurantCatalogSnapshot catalog,
 		Map<Long, List<RestaurantHour>> hoursMap,
-		Map<Long, List<RestaurantTag>> tagsByRestaurant,
-		Double userLat,
-		Double userLng
+		Map<Long, Map<Long, PersonalScoreRequest.TagPreference>> tagsByRestaurant
 	) {
 		final boolean[] isFirst = {true};
+		// 기준 시각은 변환 한 번에 한 번만 계산
+		final int secondOfWeek = WeeklySchedule.secondOfWeek(ZonedDateTime.now(OpenStatusUtil.SEOUL), OpenStatusUtil.SEOUL);
 		return restaurants.stream().map(r -> {
-			// 거리 계산 (사용자 위치가 있는 경우)
-			Float distanceM = calculateDistance(userLat, userLng, r.getGeom());
+			// 거리 (반경 검색 시 계산된 값)
+			Float distanceM = (float)r.distanceM();
 
 			// 영업 상태 계산
-			Boolean isOpen = calculateOpenStatus(r.getId(), hoursMap);
+			Boolean isOpen = calculateOpenStatus(r.restaurantId(), catalog, secondOfWeek, hoursMap);
 
 			// 가격대: enum name 그대로 전달 ("LOW", "MEDIUM", "HIGH", "PREMIUM")
-			String priceRange = r.getPriceRange() != null ? r.getPriceRange().name() : null;
+			String priceRange = r.priceRange();
 
 			// 태그 선호도 맵 (restaurant_tag.weight, confidence 사용)
-			List<RestaurantTag> restaurantTags = tagsByRestaurant.getOrDefault(r.getId(), Collections.emptyList());
-			Map<Long, PersonalScoreRequest.TagPreference> tagPref = buildTagPreferenceMap(restaurantTags);
+			Map<Long, PersonalScoreRequest.TagPreference> tagPref = tagsByRestaurant.getOrDefault(
+				r.restaurantId(), Collections.emptyMap());
 			
 			// 첫 번째 후보 확인 (문제가 있을 때만 로깅)
 			if (isFirst[0]) {
 				isFirst[0] = false;
 				// 태그가 없으면 DEBUG 레벨로만 로깅
-				if (restaurantTags.isEmpty()) {
-					log.debug("[CandidateRepository] 첫 번째 후보 태그 없음: restaurant_id={}", r.getId());
+				if (tagPref.isEmpty()) {
+					log.debug("[CandidateRepository] 첫 번째 후보 태그 없음: restaurant_id={}", r.restaurantId());
 				}
 			}
 
 			// 개인 선호 점수 (UserRestaurantState.pref_score)
-			Float prefScore = extractPrefScore(stateMap.get(r.getId()));
+			Float prefScore = extractPrefScore(stateMap.get(r.restaurantId()));
 
 			// 상호작용 및 행동 부스트 계산
-			UserRestaurantState state = stateMap.get(r.getId());
+			UserRestaurantState state = stateMap.get(r.restaurantId());
 			Boolean hasInteractionRecent = calculateHasInteractionRecent(state);
 			Float engagementBoost = calculateEngagementBoost(state);
 
 			return new PersonalScoreRequest.Candidate(
-				r.getId(),
+				r.restaurantId(),
 				tagPref,
 				distanceM,
 				isOpen,
@@ -248,40 +314,17 @@ public class CandidateRepository {
 	}
 
 	/**
-	 * 두 지점 간 거리 계산 (Haversine 공식, 미터 단위)
-	 *
-	 * @param userLat 사용자 위도
-	 * @param userLng 사용자 경도
-	 * @param restaurantPoint 식당 좌표 (Point: x=경도, y=위도)
-	 * @return 거리(미터), 계산 불가 시 null
-	 */
-	private Float calculateDistance(Double userLat, Double userLng, Point restaurantPoint) {
-		if (userLat == null || userLng == null || restaurantPoint == null) {
-			return null;
-		}
-
-		double lat2 = restaurantPoint.getY(); // 위도
-		double lng2 = restaurantPoint.getX(); // 경도
-
-		double dLat = Math.toRadians(lat2 - userLat);
-		double dLng = Math.toRadians(lng2 - userLng);
-
-		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-			+ Math.cos(Math.toRadians(userLat)) * Math.cos(Math.toRadians(lat2))
-			* Math.sin(dLng / 2) * Math.sin(dLng / 2);
-
-		double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-		return (float)(EARTH_RADIUS_M * c);
-	}
-
-	/**
-	 * 영업 상태 계산 (OpenStatusUtil 사용)
+	 * 영업 상태 계산 (스냅샷 식당은 컴파일된 구간표, 그 외는 OpenStatusUtil)
 	 */
-	private Boolean calculateOpenStatus(Long restaurantId, Map<Long, List<RestaurantHour>> hoursMap) {
+	private Boolean calculateOpenStatus(Long restaurantId, RestaurantCatalogSnapshot catalog, int secondOfWeek,
+		Map<Long, List<RestaurantHour>> hoursMap) {
 		try {
+			int ord = catalog.ordinalOf(restaurantId);
+			if (ord >= 0) {
+				return catalog.schedule(ord).statusAt(secondOfWeek) == OpenStatus.OPEN;
+			}
 			List<RestaurantHour> hours = hoursMap.getOrDefault(restaurantId, Collections.emptyList());
-			OpenStatus status = com.jde.mainserver.restaurants.service.OpenStatusUtil
-				.calcStatus(hours, java.time.ZoneId.of("Asia/Seoul"));
+			OpenStatus status = OpenStatusUtil.calcStatus(hours, OpenStatusUtil.SEOUL);
 			return status == OpenStatus.OPEN;
 		} catch (Exception e) {
 			// 영업시간 계산 실패 시 안전하게 false 반환
@@ -0,0 +1,34 @@
+/**
+ * main/repository/ScoringEngine.java
+ * 개인 점수 계산 엔진
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - remote: FastAPI 점수 엔진 (PersonalScoreBatcher → ScoreEngineHttpClient, 모든 알고리즘)
+ * - local: JVM 내부 규칙 기반 계산 (CbfV12ScoringEngine, cbf_v1.2 만)
+ * - 어떤 엔진을 쓸지는 ScoringEngineSelector 가 설정/요청별로 결정
+ */
+
+package com.jde.mainserver.main.repository;
+
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+
+public interface ScoringEngine {
+
+	/** 엔진 이름 ("remote" / "local", 응답 debug 의 engine 값) */
+	String name();
+
+	/** 해당 알고리즘 계산 가능 여부 */
+	boolean supports(String algo);
+
+	/**
+	 * 개인 점수 계산 (후보 입력 순서 그대로 반환)
+	 *
+	 * @param req 개인화 점수 계산 요청
+	 * @param algo 알고리즘 버전 ("cbf_v1.2" 또는 "ml_v1")
+	 * @param debug 점수 구성요소(ScoredItem.reasons) 포함 여부
+	 * @return 점수 계산 결과
+	 */
+	PersonalScoreResponse score(PersonalScoreRequest req, String algo, boolean debug);
+}
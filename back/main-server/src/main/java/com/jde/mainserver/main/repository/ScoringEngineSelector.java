@@ -0,0 +1,97 @@
+/**
+ * main/repository/ScoringEngineSelector.java
+ * 개인 점수 계산 엔진 선택
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - 알고리즘: 요청 ctx 의 "algo" (ml_v1 / cbf_v1.2) → 없거나 모르는 값이면 score.engine.algo
+ * - 엔진: local-enabled 이고 JVM 내부 엔진이 해당 알고리즘을 지원하면 local, 아니면 remote (FastAPI)
+ *   (cbf_v1.2 는 피드 재생성 시 네트워크 호출 없이 계산, ml_v1 은 항상 FastAPI)
+ * - remote 엔진 결과는 ScoreResultCache 를 거침 (같은 입력이면 FastAPI 호출 생략, local 은 계산이 더 싸서 캐시하지 않음)
+ * - 지표: score.personal{engine, algo} (엔진별 계산 시간, 캐시 hit 제외)
+ */
+
+package com.jde.mainserver.main.repository;
+
+import com.jde.mainserver.main.repository.http.PersonalScoreBatcher;
+import com.jde.mainserver.main.repository.local.CbfV12ScoringEngine;
+import com.jde.mainserver.main.repository.redis.ScoreResultCache;
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ScoringEngineSelector {
+
+	private static final Set<String> KNOWN_ALGOS = Set.of("ml_v1", CbfV12ScoringEngine.ALGO_VERSION);
+
+	private final ScoringEngine remote;
+	private final ScoringEngine local;
+	private final ScoreResultCache scoreResultCache;
+	private final MeterRegistry meterRegistry;
+	private final String defaultAlgo;
+	private final boolean localEnabled;
+
+	public ScoringEngineSelector(
+		PersonalScoreBatcher personalScoreBatcher,
+		CbfV12ScoringEngine cbfV12ScoringEngine,
+		ScoreResultCache scoreResultCache,
+		MeterRegistry meterRegistry,
+		@Value("${score.engine.algo:ml_v1}") String defaultAlgo,
+		@Value("${score.engine.local-enabled:true}") boolean localEnabled
+	) {
+		this.remote = personalScoreBatcher;
+		this.local = cbfV12ScoringEngine;
+		this.scoreResultCache = scoreResultCache;
+		this.meterRegistry = meterRegistry;
+		this.defaultAlgo = KNOWN_ALGOS.contains(defaultAlgo) ? defaultAlgo : "ml_v1";
+		this.localEnabled = localEnabled;
+	}
+
+	/**
+	 * 개인 점수 계산 (알고리즘/엔진 선택 후 위임)
+	 *
+	 * @param req 개인화 점수 계산 요청
+	 * @param ctx 요청 컨텍스트 ("algo" 가 있으면 요청별 알고리즘으로 사용, null 가능)
+	 * @param debug 점수 구성요소(ScoredItem.reasons) 포함 여부
+	 * @return 점수 계산 결과 (후보 입력 순서)
+	 */
+	public PersonalScoreResponse score(PersonalScoreRequest req, Map<String, Object> ctx, boolean debug) {
+		String algo = resolveAlgo(ctx != null ? ctx.get("algo") : null);
+		ScoringEngine engine = select(algo);
+		if (engine == remote) {
+			return scoreResultCache.personal(req, algo, debug, () -> timed(engine, req, algo, debug));
+		}
+		return timed(engine, req, algo, debug);
+	}
+
+	private PersonalScoreResponse timed(ScoringEngine engine, PersonalScoreRequest req, String algo, boolean debug) {
+		long started = System.nanoTime();
+		PersonalScoreResponse res = engine.score(req, algo, debug);
+		Timer.builder("score.personal")
+			.tag("engine", engine.name())
+			.tag("algo", algo)
+			.register(meterRegistry)
+			.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+		return res;
+	}
+
+	/** 알고리즘에 맞는 엔진 (local 비활성/미지원이면 remote) */
+	ScoringEngine select(String algo) {
+		return localEnabled && local.supports(algo) ? local : remote;
+	}
+
+	/** 요청 알고리즘 확인 (없거나 모르는 값이면 기본 알고리즘) */
+	String resolveAlgo(Object requested) {
+		return requested instanceof String s && KNOWN_ALGOS.contains(s) ? s : defaultAlgo;
+	}
+}
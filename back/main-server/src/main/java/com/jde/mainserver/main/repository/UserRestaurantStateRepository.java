@@ -11,7 +11,6 @@ import com.jde.mainserver.main.entity.UserRestaurantState;
 import com.jde.mainserver.main.entity.UserRestaurantState.Key;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,58 +19,165 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRestaurantStateRepository extends JpaRepository<UserRestaurantState, Key> {
 
 	/**
-	 * 상태 기본 필드 upsert (PostgreSQL ON CONFLICT)
+	 * 스와이프 반영 (한 문장: 식당 확인 + 이벤트 저장 + 상태 upsert + 식당 태그 선호 일괄 upsert)
 	 *
-	 * 스와이프 액션(SELECT/DISLIKE/HOLD) 반영용으로 최소 컬럼만 갱신
-	 * - 동시성 안전: ON CONFLICT로 race condition 방지
-	 * - 선호 점수 범위 제한: -10.000 ~ +10.000
-	 * - 신규 생성 시: view_count=0, share_count=0, pref_score=prefInit
-	 * - 업데이트 시: pref_score += prefDelta (범위 내에서)
+	 * - 식당이 없으면 아무것도 쓰지 않고 빈 결과
+	 * - logEvent = false 이면 이벤트는 저장하지 않음 (InteractionWriteBuffer 가 모아서 저장)
+	 * - 선호 점수 범위 제한: -10.000 ~ +10.000 (신규 생성 시 pref_score = 증분)
+	 * - 직전 스와이프가 recentSince 이후 SELECT 이면 recentPrefDelta, 아니면 prefDelta 적용
 	 * - DISLIKE 시: cooldownUntil 설정 (null이면 설정하지 않음)
+	 * - 태그 선호: restaurant_tag 의 모든 태그에 upsertIncrement 와 같은 클램프 (score -3.00 ~ +3.00, confidence ~ 1.00)
 	 *
-	 * @param userId 사용자 ID
-	 * @param restaurantId 식당 ID
-	 * @param isSaved 저장 여부
-	 * @param lastSwipe 최근 스와이프 액션 (HOLD/DISLIKE/SELECT)
-	 * @param lastSwipeAt 최근 스와이프 시각
-	 * @param prefInit 신규 생성 시 초기 선호 점수
-	 * @param prefDelta 업데이트 시 선호 점수 증분
-	 * @param updateSaved is_saved 필드 업데이트 여부
+	 * @param action 스와이프 액션 (HOLD/DISLIKE/SELECT)
+	 * @param logEvent 이벤트 저장 여부
+	 * @param now 스와이프 시각
+	 * @param recentSince 최근 SELECT 판단 기준 시각
+	 * @param prefDelta 선호 점수 증분
+	 * @param recentPrefDelta 최근 SELECT 가 있을 때의 선호 점수 증분
 	 * @param cooldownUntil 쿨다운 종료 시각 (DISLIKE 시 설정, null 가능)
-	 * @return 영향받은 행 수 (1 또는 0)
+	 * @param tagDeltaScore 태그 점수 증분 (신규 생성 시 초기값)
+	 * @param tagDeltaConf 태그 신뢰도 증분 (신규 생성 시 초기값)
+	 * @return 반영 결과 (식당이 없으면 empty)
+	 */
+	@Query(value = """
+		WITH r AS (
+			SELECT restaurant_id FROM restaurant WHERE restaurant_id = :restaurantId
+		),
+		d AS (
+			SELECT CASE
+				WHEN s.last_swipe = 'SELECT' AND s.last_swipe_at > :recentSince THEN :recentPrefDelta
+				ELSE :prefDelta
+			END AS pref_delta
+			FROM r
+			LEFT JOIN user_restaurant_state s
+				ON s.user_id = :userId AND s.restaurant_id = r.restaurant_id
+		),
+		ev AS (
+			INSERT INTO user_restaurant_event (user_id, restaurant_id, event_type, created_at, updated_at)
+			SELECT :userId, r.restaurant_id, :action, now(), now() FROM r
+			WHERE :logEvent
+		),
+		st AS (
+			INSERT INTO user_restaurant_state (
+				user_id, restaurant_id, is_saved, last_swipe, last_swipe_at,
+				cooldown_until, view_count, share_count, pref_score, created_at, updated_at
+			)
+			SELECT :userId, :restaurantId, false, :action, :now, :cooldownUntil, 0, 0, d.pref_delta, now(), now()
+			FROM d
+			ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
+				last_swipe = EXCLUDED.last_swipe,
+				last_swipe_at = EXCLUDED.last_swipe_at,
+				cooldown_until = COALESCE(:cooldownUntil, user_restaurant_state.cooldown_until),
+				pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + (SELECT pref_delta FROM d), 10.000), -10.000),
+				updated_at = now()
+			RETURNING pref_score
+		),
+		tp AS (
+			INSERT INTO user_tag_pref (user_id, tag_id, score, confidence, created_at, updated_at)
+			SELECT :userId, rt.tag_id, :tagDeltaScore, :tagDeltaConf, now(), now()
+			FROM restaurant_tag rt
+			JOIN r ON r.restaurant_id = rt.restaurant_id
+			ON CONFLICT (user_id, tag_id) DO UPDATE SET
+				score = GREATEST(LEAST(user_tag_pref.score + :tagDeltaScore, 3.00), -3.00),
+				confidence = LEAST(user_tag_pref.confidence + :tagDeltaConf, 1.00),
+				updated_at = now()
+			RETURNING tag_id
+		)
+		SELECT
+			true AS "applied",
+			(SELECT pref_score FROM st) AS "prefScore",
+			(SELECT pref_delta FROM d) AS "prefDelta",
+			CAST(:tagDeltaScore AS numeric) AS "tagDeltaScore",
+			CAST(:tagDeltaConf AS numeric) AS "tagDeltaConf",
+			(SELECT string_agg(CAST(tag_id AS text), ',') FROM tp) AS "tagIds"
+		FROM r
+		""", nativeQuery = true)
+	Optional<InteractionResult> recordSwipe(
+		@Param("userId") Long userId,
+		@Param("restaurantId") Long restaurantId,
+		@Param("action") String action,
+		@Param("logEvent") boolean logEvent,
+		@Param("now") Instant now,
+		@Param("recentSince") Instant recentSince,
+		@Param("prefDelta") BigDecimal prefDelta,
+		@Param("recentPrefDelta") BigDecimal recentPrefDelta,
+		@Param("cooldownUntil") Instant cooldownUntil,
+		@Param("tagDeltaScore") BigDecimal tagDeltaScore,
+		@Param("tagDeltaConf") BigDecimal tagDeltaConf
+	);
+
+	/**
+	 * 즐겨찾기 추가/해제 반영 (한 문장: 식당 확인 + 상태 upsert + 식당 태그 선호 일괄 upsert)
+	 *
+	 * - 식당이 없으면 빈 결과, 이미 같은 is_saved 이면 쓰지 않고 applied = false
+	 * - last_swipe / cooldown_until 은 유지, last_swipe_at 이 없으면 now
+	 * - 선호 점수/태그 선호 클램프는 recordSwipe 와 동일
+	 *
+	 * @param isSaved 즐겨찾기 추가(true) 또는 해제(false)
+	 * @param now 요청 시각
+	 * @param prefDelta 선호 점수 증분
+	 * @param tagDeltaScore 태그 점수 증분 (신규 생성 시 초기값)
+	 * @param tagDeltaConf 태그 신뢰도 증분 (신규 생성 시 초기값)
+	 * @return 반영 결과 (식당이 없으면 empty)
 	 */
-	@Modifying
 	@Query(value = """
-		INSERT INTO user_restaurant_state (
-			user_id, restaurant_id, is_saved, last_swipe, last_swipe_at,
-			cooldown_until, view_count, share_count, pref_score, created_at, updated_at
-		) VALUES (
-			:userId, :restaurantId, :isSaved, :lastSwipe, :lastSwipeAt,
-			:cooldownUntil, 0, 0, :prefInit, now(), now()
+		WITH r AS (
+			SELECT restaurant_id FROM restaurant WHERE restaurant_id = :restaurantId
+		),
+		d AS (
+			SELECT r.restaurant_id
+			FROM r
+			LEFT JOIN user_restaurant_state s
+				ON s.user_id = :userId AND s.restaurant_id = r.restaurant_id
+			WHERE COALESCE(s.is_saved, false) <> :isSaved
+		),
+		st AS (
+			INSERT INTO user_restaurant_state (
+				user_id, restaurant_id, is_saved, last_swipe_at, view_count, share_count, pref_score, created_at, updated_at
+			)
+			SELECT :userId, d.restaurant_id, :isSaved, :now, 0, 0, :prefDelta, now(), now()
+			FROM d
+			ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
+				is_saved = EXCLUDED.is_saved,
+				last_swipe_at = COALESCE(user_restaurant_state.last_swipe_at, EXCLUDED.last_swipe_at),
+				pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + :prefDelta, 10.000), -10.000),
+				updated_at = now()
+			RETURNING pref_score
+		),
+		tp AS (
+			INSERT INTO user_tag_pref (user_id, tag_id, score, confidence, created_at, updated_at)
+			SELECT :userId, rt.tag_id, :tagDeltaScore, :tagDeltaConf, now(), now()
+			FROM restaurant_tag rt
+			JOIN d ON d.restaurant_id = rt.restaurant_id
+			ON CONFLICT (user_id, tag_id) DO UPDATE SET
+				score = GREATEST(LEAST(user_tag_pref.score + :tagDeltaScore, 3.00), -3.00),
+				confidence = LEAST(user_tag_pref.confidence + :tagDeltaConf, 1.00),
+				updated_at = now()
+			RETURNING tag_id
 		)
-		ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
-			is_saved = CASE WHEN :updateSaved THEN EXCLUDED.is_saved ELSE user_restaurant_state.is_saved END,
-			last_swipe = EXCLUDED.last_swipe,
-			last_swipe_at = EXCLUDED.last_swipe_at,
-			cooldown_until = COALESCE(:cooldownUntil, user_restaurant_state.cooldown_until),
-			pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + :prefDelta, 10.000), -10.000),
-			updated_at = now()
+		SELECT
+			EXISTS (SELECT 1 FROM d) AS "applied",
+			(SELECT pref_score FROM st) AS "prefScore",
+			CAST(:prefDelta AS numeric) AS "prefDelta",
+			CAST(:tagDeltaScore AS numeric) AS "tagDeltaScore",
+			CAST(:tagDeltaConf AS numeric) AS "tagDeltaConf",
+			(SELECT string_agg(CAST(tag_id AS text), ',') FROM tp) AS "tagIds"
+		FROM r
 		""", nativeQuery = true)
-	int upsertBasic(
+	Optional<InteractionResult> recordBookmark(
 		@Param("userId") Long userId,
 		@Param("restaurantId") Long restaurantId,
 		@Param("isSaved") boolean isSaved,
-		@Param("lastSwipe") String lastSwipe,
-		@Param("lastSwipeAt") Instant lastSwipeAt,
-		@Param("prefInit") BigDecimal prefInit,
+		@Param("now") Instant now,
 		@Param("prefDelta") BigDecimal prefDelta,
-		@Param("updateSaved") boolean updateSaved,
-		@Param("cooldownUntil") Instant cooldownUntil
+		@Param("tagDeltaScore") BigDecimal tagDeltaScore,
+		@Param("tagDeltaConf") BigDecimal tagDeltaConf
 	);
 
 	/**
@@ -89,99 +195,241 @@ public interface UserRestaurantStateRepository extends JpaRepository<UserRestaur
 	);
 
 	/**
-	 * 상세 조회 처리 (view_count 증가 및 선호 점수 업데이트)
+	 * 여러 사용자의 여러 식당 상태 벌크 조회
 	 *
-	 * - 첫 상세 조회: +0.10
-	 * - 2~3회 재조회: 회당 +0.03씩 추가
-	 * - 최대 가산 한도: +0.20
+	 * 약속 후보의 참여자별 선호 점수 조회에 사용 (참여자 수만큼 나눠 조회하지 않도록)
 	 *
-	 * @param userId 사용자 ID
-	 * @param restaurantId 식당 ID
-	 * @param prefDelta 선호 점수 증분
-	 * @return 영향받은 행 수
+	 * @param userIds 사용자 ID 리스트
+	 * @param restaurantIds 식당 ID 리스트
+	 * @return 해당 사용자들의 식당 상태 리스트
+	 */
+	List<UserRestaurantState> findById_UserIdInAndId_RestaurantIdIn(
+		Collection<Long> userIds,
+		Collection<Long> restaurantIds
+	);
+
+	/**
+	 * 상세 조회 반영 (한 문장: 식당 확인 + view_count 증가/선호 점수 upsert + 식당 태그 선호 일괄 upsert)
+	 *
+	 * - 식당이 없으면 빈 결과
+	 * - 증분은 현재 view_count 로 결정: 0회 firstDelta, repeatMax 회 이하 repeatDelta, 그 이후 0
+	 * - 증분이 0 보다 크면 태그 선호에 증분 x tagScoreRatio / tagConfRatio 를 반올림 없이 더함
+	 *   (클램프는 upsertIncrement 와 동일)
+	 *
+	 * @param firstDelta 첫 상세 조회 선호 점수 증분
+	 * @param repeatDelta 재조회 선호 점수 증분
+	 * @param repeatMax 재조회 증분을 주는 최대 기존 조회 횟수
+	 * @param tagScoreRatio 태그 점수 증분 비율
+	 * @param tagConfRatio 태그 신뢰도 증분 비율
+	 * @return 반영 결과 (식당이 없으면 empty)
 	 */
-	@Modifying(clearAutomatically = true, flushAutomatically = true)
 	@Query(value = """
-		INSERT INTO user_restaurant_state (
-			user_id, restaurant_id, is_saved, view_count, share_count, pref_score, created_at, updated_at
-		) VALUES (
-			:userId, :restaurantId, false, 1, 0, :prefDelta, now(), now()
+		WITH r AS (
+			SELECT restaurant_id FROM restaurant WHERE restaurant_id = :restaurantId
+		),
+		d AS (
+			SELECT
+				x.pref_delta,
+				x.pref_delta * :tagScoreRatio AS tag_score,
+				x.pref_delta * :tagConfRatio AS tag_conf
+			FROM (
+				SELECT CASE
+					WHEN COALESCE(s.view_count, 0) = 0 THEN :firstDelta
+					WHEN s.view_count <= :repeatMax THEN :repeatDelta
+					ELSE 0
+				END AS pref_delta
+				FROM r
+				LEFT JOIN user_restaurant_state s
+					ON s.user_id = :userId AND s.restaurant_id = r.restaurant_id
+			) x
+		),
+		st AS (
+			INSERT INTO user_restaurant_state (
+				user_id, restaurant_id, is_saved, view_count, share_count, pref_score, created_at, updated_at
+			)
+			SELECT :userId, :restaurantId, false, 1, 0, d.pref_delta, now(), now()
+			FROM d
+			ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
+				view_count = user_restaurant_state.view_count + 1,
+				pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + (SELECT pref_delta FROM d), 10.000), -10.000),
+				updated_at = now()
+			RETURNING pref_score
+		),
+		tp AS (
+			INSERT INTO user_tag_pref (user_id, tag_id, score, confidence, created_at, updated_at)
+			SELECT :userId, rt.tag_id, d.tag_score, d.tag_conf, now(), now()
+			FROM restaurant_tag rt
+			JOIN d ON d.pref_delta > 0
+			WHERE rt.restaurant_id = :restaurantId
+			ON CONFLICT (user_id, tag_id) DO UPDATE SET
+				score = GREATEST(LEAST(user_tag_pref.score + (SELECT tag_score FROM d), 3.00), -3.00),
+				confidence = LEAST(user_tag_pref.confidence + (SELECT tag_conf FROM d), 1.00),
+				updated_at = now()
+			RETURNING tag_id
 		)
-		ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
-			view_count = user_restaurant_state.view_count + 1,
-			pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + :prefDelta, 10.000), -10.000),
-			updated_at = now()
+		SELECT
+			true AS "applied",
+			(SELECT pref_score FROM st) AS "prefScore",
+			d.pref_delta AS "prefDelta",
+			d.tag_score AS "tagDeltaScore",
+			d.tag_conf AS "tagDeltaConf",
+			(SELECT string_agg(CAST(tag_id AS text), ',') FROM tp) AS "tagIds"
+		FROM d
 		""", nativeQuery = true)
-	int upsertView(
+	Optional<InteractionResult> recordView(
 		@Param("userId") Long userId,
 		@Param("restaurantId") Long restaurantId,
-		@Param("prefDelta") BigDecimal prefDelta
+		@Param("firstDelta") BigDecimal firstDelta,
+		@Param("repeatDelta") BigDecimal repeatDelta,
+		@Param("repeatMax") int repeatMax,
+		@Param("tagScoreRatio") BigDecimal tagScoreRatio,
+		@Param("tagConfRatio") BigDecimal tagConfRatio
 	);
 
 	/**
-	 * 공유 처리 (share_count 증가 및 선호 점수 업데이트)
+	 * 공유 반영 (한 문장: 식당 확인 + share_count 증가/선호 점수 upsert + 식당 태그 선호 일괄 upsert)
 	 *
-	 * - 첫 공유: +0.6
-	 * - 추가 공유: 회당 +0.1
-	 * - 최대 가산 한도: +0.8
+	 * - 식당이 없으면 빈 결과
+	 * - 증분은 현재 share_count 로 결정: 0회 firstDelta, repeatMax 회 이하 repeatDelta, 그 이후 0
+	 * - 증분이 0 보다 크면 태그 선호에 증분 x tagScoreRatio / tagConfRatio 를 반올림 없이 더함
+	 *   (클램프는 upsertIncrement 와 동일)
 	 *
-	 * @param userId 사용자 ID
-	 * @param restaurantId 식당 ID
-	 * @param prefDelta 선호 점수 증분
-	 * @return 영향받은 행 수
+	 * @param firstDelta 첫 공유 선호 점수 증분
+	 * @param repeatDelta 재공유 선호 점수 증분
+	 * @param repeatMax 재공유 증분을 주는 최대 기존 공유 횟수
+	 * @param tagScoreRatio 태그 점수 증분 비율
+	 * @param tagConfRatio 태그 신뢰도 증분 비율
+	 * @return 반영 결과 (식당이 없으면 empty)
 	 */
-	@Modifying(clearAutomatically = true, flushAutomatically = true)
 	@Query(value = """
-		INSERT INTO user_restaurant_state (
-			user_id, restaurant_id, is_saved, view_count, share_count, pref_score, created_at, updated_at
-		) VALUES (
-			:userId, :restaurantId, false, 0, 1, :prefDelta, now(), now()
+		WITH r AS (
+			SELECT restaurant_id FROM restaurant WHERE restaurant_id = :restaurantId
+		),
+		d AS (
+			SELECT
+				x.pref_delta,
+				x.pref_delta * :tagScoreRatio AS tag_score,
+				x.pref_delta * :tagConfRatio AS tag_conf
+			FROM (
+				SELECT CASE
+					WHEN COALESCE(s.share_count, 0) = 0 THEN :firstDelta
+					WHEN s.share_count <= :repeatMax THEN :repeatDelta
+					ELSE 0
+				END AS pref_delta
+				FROM r
+				LEFT JOIN user_restaurant_state s
+					ON s.user_id = :userId AND s.restaurant_id = r.restaurant_id
+			) x
+		),
+		st AS (
+			INSERT INTO user_restaurant_state (
+				user_id, restaurant_id, is_saved, view_count, share_count, pref_score, created_at, updated_at
+			)
+			SELECT :userId, :restaurantId, false, 0, 1, d.pref_delta, now(), now()
+			FROM d
+			ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
+				share_count = user_restaurant_state.share_count + 1,
+				pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + (SELECT pref_delta FROM d), 10.000), -10.000),
+				updated_at = now()
+			RETURNING pref_score
+		),
+		tp AS (
+			INSERT INTO user_tag_pref (user_id, tag_id, score, confidence, created_at, updated_at)
+			SELECT :userId, rt.tag_id, d.tag_score, d.tag_conf, now(), now()
+			FROM restaurant_tag rt
+			JOIN d ON d.pref_delta > 0
+			WHERE rt.restaurant_id = :restaurantId
+			ON CONFLICT (user_id, tag_id) DO UPDATE SET
+				score = GREATEST(LEAST(user_tag_pref.score + (SELECT tag_score FROM d), 3.00), -3.00),
+				confidence = LEAST(user_tag_pref.confidence + (SELECT tag_conf FROM d), 1.00),
+				updated_at = now()
+			RETURNING tag_id
 		)
-		ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
-			share_count = user_restaurant_state.share_count + 1,
-			pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + :prefDelta, 10.000), -10.000),
-			updated_at = now()
+		SELECT
+			true AS "applied",
+			(SELECT pref_score FROM st) AS "prefScore",
+			d.pref_delta AS "prefDelta",
+			d.tag_score AS "tagDeltaScore",
+			d.tag_conf AS "tagDeltaConf",
+			(SELECT string_agg(CAST(tag_id AS text), ',') FROM tp) AS "tagIds"
+		FROM d
 		""", nativeQuery = true)
-	int upsertShare(
+	Optional<InteractionResult> recordShare(
 		@Param("userId") Long userId,
 		@Param("restaurantId") Long restaurantId,
-		@Param("prefDelta") BigDecimal prefDelta
+		@Param("firstDelta") BigDecimal firstDelta,
+		@Param("repeatDelta") BigDecimal repeatDelta,
+		@Param("repeatMax") int repeatMax,
+		@Param("tagScoreRatio") BigDecimal tagScoreRatio,
+		@Param("tagConfRatio") BigDecimal tagConfRatio
 	);
 
 	/**
-	 * 방문 피드백 처리 (is_visited 업데이트 및 선호 점수 조정)
+	 * 방문 피드백 반영 (한 문장: 식당 확인 + 상태 upsert + 식당 태그 선호 일괄 upsert)
 	 *
-	 * - 방문 안 함: is_visited = false, 점수 변화 없음
+	 * - 식당이 없으면 빈 결과
+	 * - 방문 안 함: is_visited = false, 점수 변화 없음 (prefDelta = 0, applyTags = false)
 	 * - 방문 + 좋았어요: pref_score += 1.0, 태그 score += 0.20, confidence += 0.20
 	 * - 방문 + 그냥 그랬어요: pref_score += 0.1, 태그 score += 0.02
 	 * - 방문 + 별로였어요: pref_score += -1.0, cooldown_until = now + 30일, 태그 score -= 0.20, confidence += 0.20
+	 *   (상태가 없던 식당도 쿨다운을 함께 INSERT, 쿨다운이 없는 피드백은 기존 쿨다운 유지)
 	 *
-	 * @param userId 사용자 ID
-	 * @param restaurantId 식당 ID
 	 * @param isVisited 방문 여부
 	 * @param prefDelta 선호 점수 증분
 	 * @param cooldownUntil 쿨다운 종료 시각 (별로였어요일 경우 30일 후)
-	 * @return 영향받은 행 수
+	 * @param applyTags 태그 선호 반영 여부
+	 * @param tagDeltaScore 태그 점수 증분 (신규 생성 시 초기값)
+	 * @param tagDeltaConf 태그 신뢰도 증분 (신규 생성 시 초기값)
+	 * @return 반영 결과 (식당이 없으면 empty)
 	 */
-	@Modifying
 	@Query(value = """
-		INSERT INTO user_restaurant_state (
-			user_id, restaurant_id, is_saved, view_count, share_count, pref_score, is_visited, created_at, updated_at
-		) VALUES (
-			:userId, :restaurantId, false, 0, 0, :prefDelta, :isVisited, now(), now()
+		WITH r AS (
+			SELECT restaurant_id FROM restaurant WHERE restaurant_id = :restaurantId
+		),
+		st AS (
+			INSERT INTO user_restaurant_state (
+				user_id, restaurant_id, is_saved, view_count, share_count, pref_score, is_visited, cooldown_until,
+				created_at, updated_at
+			)
+			SELECT :userId, r.restaurant_id, false, 0, 0, :prefDelta, :isVisited, :cooldownUntil, now(), now()
+			FROM r
+			ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
+				is_visited = EXCLUDED.is_visited,
+				pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + :prefDelta, 10.000), -10.000),
+				cooldown_until = COALESCE(:cooldownUntil, user_restaurant_state.cooldown_until),
+				updated_at = now()
+			RETURNING pref_score
+		),
+		tp AS (
+			INSERT INTO user_tag_pref (user_id, tag_id, score, confidence, created_at, updated_at)
+			SELECT :userId, rt.tag_id, :tagDeltaScore, :tagDeltaConf, now(), now()
+			FROM restaurant_tag rt
+			JOIN r ON r.restaurant_id = rt.restaurant_id
+			WHERE :applyTags
+			ON CONFLICT (user_id, tag_id) DO UPDATE SET
+				score = GREATEST(LEAST(user_tag_pref.score + :tagDeltaScore, 3.00), -3.00),
+				confidence = LEAST(user_tag_pref.confidence + :tagDeltaConf, 1.00),
+				updated_at = now()
+			RETURNING tag_id
 		)
-		ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
-			is_visited = :isVisited,
-			pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + :prefDelta, 10.000), -10.000),
-			cooldown_until = COALESCE(:cooldownUntil, user_restaurant_state.cooldown_until),
-			updated_at = now()
+		SELECT
+			true AS "applied",
+			(SELECT pref_score FROM st) AS "prefScore",
+			CAST(:prefDelta AS numeric) AS "prefDelta",
+			CAST(:tagDeltaScore AS numeric) AS "tagDeltaScore",
+			CAST(:tagDeltaConf AS numeric) AS "tagDeltaConf",
+			(SELECT string_agg(CAST(tag_id AS text), ',') FROM tp) AS "tagIds"
+		FROM r
 		""", nativeQuery = true)
-	int upsertVisitFeedback(
+	Optional<InteractionResult> recordVisitFeedback(
 		@Param("userId") Long userId,
 		@Param("restaurantId") Long restaurantId,
-		@Param("isVisited") Boolean isVisited,
+		@Param("isVisited") boolean isVisited,
 		@Param("prefDelta") BigDecimal prefDelta,
-		@Param("cooldownUntil") Instant cooldownUntil
+		@Param("cooldownUntil") Instant cooldownUntil,
+		@Param("applyTags") boolean applyTags,
+		@Param("tagDeltaScore") BigDecimal tagDeltaScore,
+		@Param("tagDeltaConf") BigDecimal tagDeltaConf
 	);
 
 	/**
@@ -205,22 +453,19 @@ public interface UserRestaurantStateRepository extends JpaRepository<UserRestaur
 		return findLastSelectedByUserId(userId, com.jde.mainserver.main.entity.enums.SwipeAction.SELECT);
 	}
 
+	/**
+	 * pref_score 가 prefScore 가 아닌 식당 존재 여부 (첫 행에서 멈춤, 전체 COUNT 없음)
+	 */
+	boolean existsById_UserIdAndPrefScoreNot(Long userId, BigDecimal prefScore);
+
 	/**
 	 * 사용자가 pref_score를 가진 식당이 있는지 확인
 	 *
 	 * @param userId 사용자 ID
 	 * @return pref_score가 있는 식당이 하나라도 있으면 true
 	 */
-	@Query("""
-		SELECT COUNT(urs)
-		FROM UserRestaurantState urs
-		WHERE urs.id.userId = :userId
-		AND urs.prefScore <> 0
-		""")
-	long countByUserIdAndPrefScoreNotZero(@Param("userId") Long userId);
-
 	default boolean existsByUserIdAndPrefScoreNotZero(Long userId) {
-		return countByUserIdAndPrefScoreNotZero(userId) > 0;
+		return existsById_UserIdAndPrefScoreNot(userId, BigDecimal.ZERO);
 	}
 
 	/**
@@ -235,4 +480,22 @@ public interface UserRestaurantStateRepository extends JpaRepository<UserRestaur
 		AND urs.isSaved = true
 		""")
 	List<Long> findSavedRestaurantIdsByUserId(@Param("userId") Long userId);
+
+	/**
+	 * 상호작용 쓰기 결과 (record* 쿼리 공통)
+	 */
+	interface InteractionResult {
+		/** 상태를 썼는지 (즐겨찾기가 이미 같은 상태이면 false) */
+		Boolean getApplied();
+		/** 반영 후 pref_score (쓰지 않았으면 null) */
+		BigDecimal getPrefScore();
+		/** 적용한 선호 점수 증분 */
+		BigDecimal getPrefDelta();
+		/** 적용한 태그 점수 증분 */
+		BigDecimal getTagDeltaScore();
+		/** 적용한 태그 신뢰도 증분 */
+		BigDecimal getTagDeltaConf();
+		/** upsert 한 태그 ID (쉼표 구분, 없으면 null) */
+		String getTagIds();
+	}
 }
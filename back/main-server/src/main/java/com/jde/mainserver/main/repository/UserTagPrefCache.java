@@ -0,0 +1,259 @@
+/**
+ * main/repository/UserTagPrefCache.java
+ * 사용자 태그 선호(user_tag_pref) 인스턴스 메모리 캐시 (write-through)
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 사용자별 태그 ID 정렬 배열 + 점수/신뢰도(1/100 단위 short, DB numeric scale 2 와 동일) 배열로 보관
+ *   (피드/약속 요청마다 UserTagPref 엔티티와 BigDecimal 을 다시 만들지 않음)
+ * - 인스턴스 간 일관성: 항목마다 적재 시점의 선호 버전(UserTagPrefVersionRepository)을 함께 보관하고,
+ *   조회 시 Redis 의 현재 버전과 다르면 DB 에서 다시 적재
+ * - write-through: upsertIncrement / deleteByUserId 호출부가 recordIncrement / recordReplace 로 알리면
+ *   커밋 후 버전을 올리고, 이 인스턴스 항목이 바로 이전 버전이면 같은 증분(DB 와 같은 클램프/반올림)을 적용해 새 버전으로 교체
+ *   (그 사이 다른 쓰기가 있었거나 트랜잭션 중 다시 적재된 항목이면 제거 후 다음 조회에서 적재)
+ * - 최대 max-entries 명 (LRU 제거), ttl-ms 가 지나면 버전이 같아도 다시 적재 (버전 증가 실패 대비)
+ * - Redis 오류로 버전을 모르면 캐시를 건너뛰고 DB 조회
+ * - 지표: tagpref.cache.requests{result=hit|miss|bypass}
+ */
+
+package com.jde.mainserver.main.repository;
+
+import com.jde.mainserver.main.entity.UserTagPref;
+import com.jde.mainserver.main.repository.redis.UserTagPrefVersionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+@Component
+public class UserTagPrefCache {
+
+	private static final BigDecimal SCORE_MIN = new BigDecimal("-3.00");
+	private static final BigDecimal SCORE_MAX = new BigDecimal("3.00");
+	private static final BigDecimal CONF_MAX = new BigDecimal("1.00");
+	private static final int SCALE = 2;
+	private static final long NO_VERSION = -1L;
+
+	private final UserTagPrefRepository userTagPrefRepository;
+	private final UserTagPrefVersionRepository userTagPrefVersionRepository;
+	private final boolean enabled;
+	private final long ttlNanos;
+	private final Map<Long, TagPrefs> entries;
+	private final Counter hit;
+	private final Counter miss;
+	private final Counter bypass;
+
+	public UserTagPrefCache(
+		UserTagPrefRepository userTagPrefRepository,
+		UserTagPrefVersionRepository userTagPrefVersionRepository,
+		MeterRegistry meterRegistry,
+		@Value("${tag-pref.cache.enabled:true}") boolean enabled,
+		@Value("${tag-pref.cache.max-entries:10000}") int maxEntries,
+		@Value("${tag-pref.cache.ttl-ms:600000}") long ttlMs
+	) {
+		this.userTagPrefRepository = userTagPrefRepository;
+		this.userTagPrefVersionRepository = userTagPrefVersionRepository;
+		this.enabled = enabled;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+		int capacity = Math.max(maxEntries, 1);
+		this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, TagPrefs> eldest) {
+				return size() > capacity;
+			}
+		});
+		this.hit = counter(meterRegistry, "hit");
+		this.miss = counter(meterRegistry, "miss");
+		this.bypass = counter(meterRegistry, "bypass");
+	}
+
+	/**
+	 * 사용자 태그 선호 조회
+	 *
+	 * @return 태그 ID 순서의 선호 (없으면 빈 값, null 아님)
+	 */
+	public TagPrefs get(Long userId) {
+		Long version = enabled ? userTagPrefVersionRepository.current(userId) : null;
+		if (version == null) {
+			bypass.increment();
+			return load(userId, NO_VERSION);
+		}
+		TagPrefs cached = entries.get(userId);
+		if (cached != null && cached.version == version && System.nanoTime() - cached.loadedAt < ttlNanos) {
+			hit.increment();
+			return cached;
+		}
+		miss.increment();
+		TagPrefs loaded = load(userId, version);
+		entries.put(userId, loaded);
+		return loaded;
+	}
+
+	/**
+	 * upsertIncrement 반영 알림 (같은 인자로 호출, 커밋 후 버전 증가 + 이 인스턴스 항목에 증분 적용)
+	 */
+	public void recordIncrement(Long userId, Collection<Long> tagIds,
+		BigDecimal initScore, BigDecimal initConf, BigDecimal deltaScore, BigDecimal deltaConf) {
+		long[] ids = tagIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+		publishAfterCommit(userId, prefs -> prefs.withIncrement(ids, initScore, initConf, deltaScore, deltaConf));
+	}
+
+	/**
+	 * 선호 재생성(deleteByUserId 후 재삽입) 알림 (커밋 후 버전 증가 + 이 인스턴스 항목 제거)
+	 */
+	public void recordReplace(Long userId) {
+		publishAfterCommit(userId, null);
+	}
+
+	private void publishAfterCommit(Long userId, UnaryOperator<TagPrefs> update) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			// 트랜잭션 밖의 쓰기는 이미 반영됐으므로 지금 보이는 항목이 쓰기 이전 값인지 알 수 없음
+			publish(userId, null, null);
+			return;
+		}
+		// 커밋 전에 있던 항목만 증분 적용 대상 (커밋 전 항목에는 이번 쓰기가 들어 있을 수 없음)
+		TagPrefs seen = entries.get(userId);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publish(userId, seen, update);
+			}
+		});
+	}
+
+	private void publish(Long userId, TagPrefs seen, UnaryOperator<TagPrefs> update) {
+		Long version = userTagPrefVersionRepository.bump(userId);
+		if (version == null || seen == null || update == null || seen.version != version - 1) {
+			entries.remove(userId);
+			return;
+		}
+		TagPrefs updated = update.apply(seen).withVersion(version);
+		if (!entries.replace(userId, seen, updated)) {
+			entries.remove(userId);
+		}
+	}
+
+	private TagPrefs load(Long userId, long version) {
+		List<UserTagPref> rows = userTagPrefRepository.findByUserId(userId);
+		UserTagPref[] sorted = rows.toArray(new UserTagPref[0]);
+		Arrays.sort(sorted, (a, b) -> Long.compare(a.getTagId(), b.getTagId()));
+		long[] tagIds = new long[sorted.length];
+		short[] scores = new short[sorted.length];
+		short[] confidences = new short[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			tagIds[i] = sorted[i].getTagId();
+			scores[i] = hundredths(sorted[i].getScore());
+			confidences[i] = hundredths(sorted[i].getConfidence());
+		}
+		return new TagPrefs(version, System.nanoTime(), tagIds, scores, confidences);
+	}
+
+	private static short hundredths(BigDecimal value) {
+		return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().shortValueExact();
+	}
+
+	private static Counter counter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("tagpref.cache.requests")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	/** 한 사용자의 태그 선호 (불변, 태그 ID 오름차순) */
+	public static final class TagPrefs {
+
+		private final long version;
+		private final long loadedAt;
+		private final long[] tagIds;
+		private final short[] scores;
+		private final short[] confidences;
+
+		TagPrefs(long version, long loadedAt, long[] tagIds, short[] scores, short[] confidences) {
+			this.version = version;
+			this.loadedAt = loadedAt;
+			this.tagIds = tagIds;
+			this.scores = scores;
+			this.confidences = confidences;
+		}
+
+		public int size() {
+			return tagIds.length;
+		}
+
+		public boolean isEmpty() {
+			return tagIds.length == 0;
+		}
+
+		public long tagId(int i) {
+			return tagIds[i];
+		}
+
+		/** 선호 점수 (-3.00 ~ +3.00) */
+		public float score(int i) {
+			return scores[i] / 100f;
+		}
+
+		/** 신뢰도 (0.00 ~ 1.00) */
+		public float confidence(int i) {
+			return confidences[i] / 100f;
+		}
+
+		private TagPrefs withVersion(long newVersion) {
+			return new TagPrefs(newVersion, loadedAt, tagIds, scores, confidences);
+		}
+
+		/**
+		 * upsertIncrement 와 같은 계산 (없는 태그는 init 값, 있는 태그는 증분 후 클램프, scale 2 반올림)
+		 *
+		 * @param ids 오름차순, 중복 없는 태그 ID
+		 */
+		TagPrefs withIncrement(long[] ids, BigDecimal initScore, BigDecimal initConf,
+			BigDecimal deltaScore, BigDecimal deltaConf) {
+			int capacity = tagIds.length + ids.length;
+			long[] nextIds = new long[capacity];
+			short[] nextScores = new short[capacity];
+			short[] nextConfidences = new short[capacity];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < tagIds.length || j < ids.length) {
+				if (j == ids.length || (i < tagIds.length && tagIds[i] < ids[j])) {
+					nextIds[n] = tagIds[i];
+					nextScores[n] = scores[i];
+					nextConfidences[n] = confidences[i];
+					i++;
+				} else if (i == tagIds.length || ids[j] < tagIds[i]) {
+					nextIds[n] = ids[j];
+					nextScores[n] = hundredths(initScore);
+					nextConfidences[n] = hundredths(initConf);
+					j++;
+				} else {
+					BigDecimal score = BigDecimal.valueOf(scores[i], SCALE).add(deltaScore).min(SCORE_MAX).max(SCORE_MIN);
+					BigDecimal confidence = BigDecimal.valueOf(confidences[i], SCALE).add(deltaConf).min(CONF_MAX);
+					nextIds[n] = tagIds[i];
+					nextScores[n] = hundredths(score);
+					nextConfidences[n] = hundredths(confidence);
+					i++;
+					j++;
+				}
+				n++;
+			}
+			return new TagPrefs(version, loadedAt,
+				Arrays.copyOf(nextIds, n), Arrays.copyOf(nextScores, n), Arrays.copyOf(nextConfidences, n));
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * main/repository/buffer/InteractionJournal.java
+ * 상호작용 write-behind 버퍼의 로컬 append-only 저널
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 세그먼트 파일(journal-{seq}.log)에 기록 한 줄씩 추가, flush 시작 시 rotate 로 새 세그먼트로 전환
+ * - DB 반영이 끝나면 deleteUpTo 로 반영한 세그먼트까지 삭제 (실패 시 남겨 두고 다음 성공 때 함께 삭제)
+ * - 기동 시 이전 프로세스가 남긴 세그먼트는 readExisting 으로 다시 읽어 버퍼에 적재
+ * - fsync=true 이면 추가마다 디스크 동기화 (기본은 OS 버퍼까지, 프로세스 비정상 종료에는 안전)
+ */
+
+package com.jde.mainserver.main.repository.buffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+final class InteractionJournal implements Closeable {
+
+	private static final String FILE_PREFIX = "journal-";
+	private static final String FILE_SUFFIX = ".log";
+
+	private final Path directory;
+	private final boolean fsync;
+	private final List<Path> existing;
+	private long sequence;
+	private FileChannel channel;
+
+	InteractionJournal(Path directory, boolean fsync) throws IOException {
+		Files.createDirectories(directory);
+		this.directory = directory;
+		this.fsync = fsync;
+		this.existing = segments();
+		this.sequence = existing.isEmpty() ? 0 : sequenceOf(existing.get(existing.size() - 1));
+		open(++sequence);
+	}
+
+	/** 이전 프로세스가 남긴 기록 (세그먼트 순서) */
+	List<String> readExisting() throws IOException {
+		List<String> records = new ArrayList<>();
+		for (Path segment : existing) {
+			records.addAll(Files.readAllLines(segment, StandardCharsets.UTF_8));
+		}
+		return records;
+	}
+
+	void append(String record) throws IOException {
+		ByteBuffer buffer = StandardCharsets.UTF_8.encode(record + "\n");
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		if (fsync) {
+			channel.force(false);
+		}
+	}
+
+	/**
+	 * 새 세그먼트로 전환
+	 *
+	 * @return 닫은 세그먼트 번호 (이 번호까지의 기록이 전환 전 기록)
+	 */
+	long rotate() throws IOException {
+		long closed = sequence;
+		channel.close();
+		open(++sequence);
+		return closed;
+	}
+
+	/** upTo 번호 이하의 세그먼트 삭제 (이전 프로세스가 남긴 세그먼트 포함) */
+	void deleteUpTo(long upTo) throws IOException {
+		for (Path segment : segments()) {
+			if (sequenceOf(segment) <= upTo) {
+				Files.deleteIfExists(segment);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void open(long seq) throws IOException {
+		channel = FileChannel.open(directory.resolve(FILE_PREFIX + seq + FILE_SUFFIX),
+			StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	private List<Path> segments() throws IOException {
+		List<Path> found = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+			for (Path f : files) {
+				if (sequenceOf(f) > 0) {
+					found.add(f);
+				}
+			}
+		}
+		found.sort(Comparator.comparingLong(InteractionJournal::sequenceOf));
+		return found;
+	}
+
+	private static long sequenceOf(Path segment) {
+		String name = segment.getFileName().toString();
+		try {
+			return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,563 @@
+/**
+ * main/repository/buffer/InteractionWriteBuffer.java
+ * 상호작용 쓰기 write-behind 버퍼 (스와이프 이벤트 / 상세 조회·공유 횟수)
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - opt-in (interaction.write-behind.enabled), 꺼져 있거나 가득 차면 offerCounter 는 false 를 반환하고 호출부가 바로 DB 에 기록
+ *   (스와이프 이벤트는 버퍼가 새 트랜잭션에서 바로 기록)
+ * - 받은 기록은 먼저 로컬 저널(InteractionJournal)에 추가한 뒤 메모리 버퍼에 반영 (기동 시 남은 저널을 다시 적재)
+ * - 상세 조회/공유는 (사용자, 식당)별 횟수로 합쳐 보관, 이벤트는 순서대로 보관
+ * - flush-interval-ms 마다 별도 트랜잭션에서 다중 행 INSERT / upsert 로 반영
+ *   - 선호 증분은 기존 횟수와 합친 횟수로 InteractionCounter 구간을 합산 (한 건씩 반영한 것과 같은 값, 태그 반올림만 합산 후 1회)
+ *   - 선호가 바뀐 사용자는 커밋 후 기존 회원 기록 + 태그 선호 캐시 무효화
+ * - 스와이프 이벤트는 호출 트랜잭션 커밋 후 보관 (offerEventAfterCommit, 롤백된 스와이프의 이벤트가 남지 않도록)
+ * - 자기 쓰기 읽기: 사용자 상태/선호를 읽는 경로는 flushPending(userId) 호출
+ *   - 그 사용자들의 상세 조회/공유 횟수만 꺼내 반영하고 나머지는 주기 반영에 맡김
+ *   - 저널에는 원래 기록이 남으므로 반영한 횟수만큼 상쇄 기록(F)을 추가 (재적재 시 중복 반영 방지)
+ *   - 버퍼는 인스턴스 로컬이므로 다른 인스턴스에서는 최대 flush-interval-ms 만큼 늦게 보일 수 있음
+ * - 반영 후 저널 삭제 전에 종료되면 재기동 시 한 번 더 반영될 수 있음 (최소 1회 반영)
+ * - 지표: interaction.buffer.pending (보관 중인 항목 수), interaction.buffer.rejected (가득 참/저널 실패로 거절)
+ */
+
+package com.jde.mainserver.main.repository.buffer;
+
+import com.jde.mainserver.main.entity.enums.InteractionCounter;
+import com.jde.mainserver.main.entity.enums.SwipeAction;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
+import com.jde.mainserver.main.repository.redis.UserSegmentRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class InteractionWriteBuffer {
+
+	private static final int EVENT_CHUNK = 1000;
+	private static final int COUNTER_CHUNK = 500;
+	private static final String EVENT_ROW = "(CAST(? AS bigint), CAST(? AS bigint), CAST(? AS varchar), CAST(? AS timestamptz))";
+	private static final String COUNTER_ROW = "(CAST(? AS bigint), CAST(? AS bigint), CAST(? AS integer), CAST(? AS integer))";
+
+	private static final String EVENT_SQL = """
+		INSERT INTO user_restaurant_event (user_id, restaurant_id, event_type, created_at, updated_at)
+		SELECT v.user_id, v.restaurant_id, v.event_type, v.created_at, v.created_at
+		FROM (VALUES %s) AS v (user_id, restaurant_id, event_type, created_at)
+		JOIN restaurant r ON r.restaurant_id = v.restaurant_id
+		""";
+
+	/**
+	 * 횟수 upsert + 선호 증분 (구간 합산) + 태그 선호 upsert, 선호가 바뀐 사용자 ID 반환
+	 * - 기존 횟수 c, 이번 횟수 n: (c = 0 이면 first) + repeat x (c..c+n-1 중 1 ~ repeatMax 에 드는 개수)
+	 * - 같은 사용자의 여러 식당이 같은 태그를 가질 수 있으므로 (사용자, 태그)별로 합산해 upsert
+	 */
+	private static final String COUNTER_SQL = """
+		WITH b (user_id, restaurant_id, views, shares) AS (
+			VALUES %s
+		),
+		x AS (
+			SELECT b.user_id, b.restaurant_id, b.views, b.shares,
+				CASE WHEN b.views = 0 THEN 0 ELSE
+					(CASE WHEN COALESCE(s.view_count, 0) = 0 THEN {VIEW_FIRST} ELSE 0 END)
+					+ {VIEW_REPEAT} * GREATEST(0, LEAST(COALESCE(s.view_count, 0) + b.views - 1, {VIEW_MAX})
+						- GREATEST(COALESCE(s.view_count, 0), 1) + 1)
+				END AS view_delta,
+				CASE WHEN b.shares = 0 THEN 0 ELSE
+					(CASE WHEN COALESCE(s.share_count, 0) = 0 THEN {SHARE_FIRST} ELSE 0 END)
+					+ {SHARE_REPEAT} * GREATEST(0, LEAST(COALESCE(s.share_count, 0) + b.shares - 1, {SHARE_MAX})
+						- GREATEST(COALESCE(s.share_count, 0), 1) + 1)
+				END AS share_delta
+			FROM b
+			JOIN restaurant r ON r.restaurant_id = b.restaurant_id
+			LEFT JOIN user_restaurant_state s
+				ON s.user_id = b.user_id AND s.restaurant_id = b.restaurant_id
+		),
+		d AS (
+			SELECT user_id, restaurant_id, views, shares,
+				view_delta + share_delta AS pref_delta,
+				view_delta * {VIEW_TAG_SCORE} + share_delta * {SHARE_TAG_SCORE} AS tag_score,
+				view_delta * {VIEW_TAG_CONF} + share_delta * {SHARE_TAG_CONF} AS tag_conf
+			FROM x
+		),
+		st AS (
+			INSERT INTO user_restaurant_state (
+				user_id, restaurant_id, is_saved, view_count, share_count, pref_score, created_at, updated_at
+			)
+			SELECT user_id, restaurant_id, false, views, shares, pref_delta, now(), now()
+			FROM d
+			ON CONFLICT (user_id, restaurant_id) DO UPDATE SET
+				view_count = user_restaurant_state.view_count + EXCLUDED.view_count,
+				share_count = user_restaurant_state.share_count + EXCLUDED.share_count,
+				pref_score = GREATEST(LEAST(user_restaurant_state.pref_score + EXCLUDED.pref_score, 10.000), -10.000),
+				updated_at = now()
+		),
+		t AS (
+			SELECT d.user_id, rt.tag_id, SUM(d.tag_score) AS score, SUM(d.tag_conf) AS conf
+			FROM d
+			JOIN restaurant_tag rt ON rt.restaurant_id = d.restaurant_id
+			WHERE d.pref_delta > 0
+			GROUP BY d.user_id, rt.tag_id
+		),
+		tp AS (
+			INSERT INTO user_tag_pref (user_id, tag_id, score, confidence, created_at, updated_at)
+			SELECT user_id, tag_id, score, conf, now(), now()
+			FROM t
+			ON CONFLICT (user_id, tag_id) DO UPDATE SET
+				score = GREATEST(LEAST(user_tag_pref.score + (
+					SELECT t.score FROM t WHERE t.user_id = user_tag_pref.user_id AND t.tag_id = user_tag_pref.tag_id
+				), 3.00), -3.00),
+				confidence = LEAST(user_tag_pref.confidence + (
+					SELECT t.conf FROM t WHERE t.user_id = user_tag_pref.user_id AND t.tag_id = user_tag_pref.tag_id
+				), 1.00),
+				updated_at = now()
+		)
+		SELECT DISTINCT user_id FROM d WHERE pref_delta <> 0
+		"""
+		.replace("{VIEW_FIRST}", InteractionCounter.VIEW.getFirstDelta().toPlainString())
+		.replace("{VIEW_REPEAT}", InteractionCounter.VIEW.getRepeatDelta().toPlainString())
+		.replace("{VIEW_MAX}", String.valueOf(InteractionCounter.VIEW.getRepeatMax()))
+		.replace("{VIEW_TAG_SCORE}", InteractionCounter.VIEW.getTagScoreRatio().toPlainString())
+		.replace("{VIEW_TAG_CONF}", InteractionCounter.VIEW.getTagConfRatio().toPlainString())
+		.replace("{SHARE_FIRST}", InteractionCounter.SHARE.getFirstDelta().toPlainString())
+		.replace("{SHARE_REPEAT}", InteractionCounter.SHARE.getRepeatDelta().toPlainString())
+		.replace("{SHARE_MAX}", String.valueOf(InteractionCounter.SHARE.getRepeatMax()))
+		.replace("{SHARE_TAG_SCORE}", InteractionCounter.SHARE.getTagScoreRatio().toPlainString())
+		.replace("{SHARE_TAG_CONF}", InteractionCounter.SHARE.getTagConfRatio().toPlainString());
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final UserTagPrefCache userTagPrefCache;
+	private final UserSegmentRepository userSegmentRepository;
+	private final int maxEntries;
+	private final InteractionJournal journal;
+	private final boolean enabled;
+	private final Object lock = new Object();
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final Counter rejected;
+
+	private Batch current = new Batch();
+	private Batch inFlight;
+
+	public InteractionWriteBuffer(
+		JdbcTemplate jdbcTemplate,
+		PlatformTransactionManager transactionManager,
+		UserTagPrefCache userTagPrefCache,
+		UserSegmentRepository userSegmentRepository,
+		MeterRegistry meterRegistry,
+		@Value("${interaction.write-behind.enabled:false}") boolean enabled,
+		@Value("${interaction.write-behind.max-entries:10000}") int maxEntries,
+		@Value("${interaction.write-behind.journal-dir:${java.io.tmpdir}/jde-interaction-journal}") String journalDir,
+		@Value("${interaction.write-behind.fsync:false}") boolean fsync
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		// 읽기 전용 트랜잭션 안에서 flushPending 이 호출돼도 쓸 수 있도록 항상 새 트랜잭션
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.userTagPrefCache = userTagPrefCache;
+		this.userSegmentRepository = userSegmentRepository;
+		this.maxEntries = Math.max(maxEntries, 1);
+		this.journal = enabled ? openJournal(journalDir, fsync) : null;
+		this.enabled = journal != null;
+		this.rejected = Counter.builder("interaction.buffer.rejected").register(meterRegistry);
+		Gauge.builder("interaction.buffer.pending", this, InteractionWriteBuffer::pendingSize).register(meterRegistry);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 스와이프 이벤트 보관 (트랜잭션 안이면 커밋 후, 아니면 즉시)
+	 * - 꺼져 있거나 가득 차면 새 트랜잭션에서 바로 기록
+	 */
+	public void offerEventAfterCommit(Long userId, Long restaurantId, SwipeAction action, Instant at) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					offerEvent(userId, restaurantId, action, at);
+				}
+			});
+			return;
+		}
+		offerEvent(userId, restaurantId, action, at);
+	}
+
+	/**
+	 * 상세 조회/공유 1회 보관
+	 *
+	 * @return 보관했으면 true (false 이면 호출부가 바로 기록)
+	 */
+	public boolean offerCounter(Long userId, Long restaurantId, InteractionCounter counter) {
+		return offer(Batch.counterRecord(userId, restaurantId, counter));
+	}
+
+	/** 사용자의 보관 중인 상세 조회/공유가 있으면 먼저 반영 (진행 중인 반영도 끝날 때까지 대기) */
+	public void flushPending(Long userId) {
+		if (userId != null) {
+			flushPending(List.of(userId));
+		}
+	}
+
+	/** 사용자들의 보관 중인 상세 조회/공유만 꺼내 반영 (다른 기록은 주기 반영에 맡김) */
+	public void flushPending(Collection<Long> userIds) {
+		if (!enabled || userIds.isEmpty()) {
+			return;
+		}
+		synchronized (lock) {
+			boolean pending = userIds.stream().anyMatch(userId ->
+				current.hasCounter(userId) || (inFlight != null && inFlight.hasCounter(userId)));
+			if (!pending) {
+				return;
+			}
+		}
+		flushLock.lock();
+		try {
+			Batch batch;
+			synchronized (lock) {
+				batch = current.takeCounters(userIds);
+				if (batch.isEmpty()) {
+					return;
+				}
+				inFlight = batch;
+			}
+			try {
+				write(batch);
+			} catch (RuntimeException e) {
+				// 저널에 원래 기록이 남아 있으므로 버퍼에만 되돌림
+				log.warn("[InteractionWriteBuffer.flushPending] 반영 실패: size={}, error={}", batch.size(), e.getMessage());
+				synchronized (lock) {
+					current.merge(batch);
+				}
+				return;
+			} finally {
+				synchronized (lock) {
+					inFlight = null;
+				}
+			}
+			synchronized (lock) {
+				try {
+					for (Map.Entry<CounterKey, int[]> c : batch.counters.entrySet()) {
+						journal.append(Batch.flushedRecord(c.getKey(), c.getValue()));
+					}
+				} catch (IOException e) {
+					log.warn("[InteractionWriteBuffer.flushPending] 상쇄 기록 실패, 재기동 시 중복 반영될 수 있음: error={}",
+						e.getMessage());
+				}
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/** 보관 중인 기록 전체 반영 (동시 반영은 하나씩) */
+	@Scheduled(
+		fixedDelayString = "${interaction.write-behind.flush-interval-ms:1000}",
+		initialDelayString = "${interaction.write-behind.flush-interval-ms:1000}"
+	)
+	public void flush() {
+		if (!enabled) {
+			return;
+		}
+		flushLock.lock();
+		try {
+			Batch batch;
+			long segment;
+			synchronized (lock) {
+				if (current.isEmpty()) {
+					return;
+				}
+				try {
+					segment = journal.rotate();
+				} catch (IOException e) {
+					log.warn("[InteractionWriteBuffer.flush] 저널 전환 실패: error={}", e.getMessage());
+					return;
+				}
+				batch = current;
+				current = new Batch();
+				inFlight = batch;
+			}
+			try {
+				write(batch);
+				journal.deleteUpTo(segment);
+			} catch (IOException e) {
+				log.warn("[InteractionWriteBuffer.flush] 저널 삭제 실패: segment={}, error={}", segment, e.getMessage());
+			} catch (RuntimeException e) {
+				// 저널은 남겨 두고 다음 주기에 다시 반영
+				log.warn("[InteractionWriteBuffer.flush] 반영 실패: size={}, error={}", batch.size(), e.getMessage());
+				synchronized (lock) {
+					current.merge(batch);
+				}
+			} finally {
+				synchronized (lock) {
+					inFlight = null;
+				}
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (!enabled) {
+			return;
+		}
+		flush();
+		try {
+			journal.close();
+		} catch (IOException e) {
+			log.debug("[InteractionWriteBuffer.shutdown] 저널 닫기 실패: {}", e.getMessage());
+		}
+	}
+
+	private boolean offer(String record) {
+		if (!enabled) {
+			return false;
+		}
+		synchronized (lock) {
+			if (current.size() >= maxEntries && !current.absorbs(record)) {
+				rejected.increment();
+				return false;
+			}
+			try {
+				journal.append(record);
+			} catch (IOException e) {
+				log.warn("[InteractionWriteBuffer.offer] 저널 기록 실패: error={}", e.getMessage());
+				rejected.increment();
+				return false;
+			}
+			current.apply(record);
+			return true;
+		}
+	}
+
+	private void offerEvent(Long userId, Long restaurantId, SwipeAction action, Instant at) {
+		if (offer(Batch.eventRecord(userId, restaurantId, action.name(), at.toEpochMilli()))) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status ->
+				insertEvents(List.of(new Event(userId, restaurantId, action.name(), at.toEpochMilli()))));
+		} catch (RuntimeException e) {
+			// 스와이프 상태는 이미 커밋됨, 이벤트 행만 빠짐
+			log.warn("[InteractionWriteBuffer.offerEvent] 이벤트 기록 실패: userId={}, restaurantId={}, error={}",
+				userId, restaurantId, e.getMessage());
+		}
+	}
+
+	private void write(Batch batch) {
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int from = 0; from < batch.events.size(); from += EVENT_CHUNK) {
+				insertEvents(batch.events.subList(from, Math.min(from + EVENT_CHUNK, batch.events.size())));
+			}
+			List<Map.Entry<CounterKey, int[]>> counters = new ArrayList<>(batch.counters.entrySet());
+			Set<Long> changedUsers = new HashSet<>();
+			for (int from = 0; from < counters.size(); from += COUNTER_CHUNK) {
+				changedUsers.addAll(upsertCounters(counters.subList(from, Math.min(from + COUNTER_CHUNK, counters.size()))));
+			}
+			for (Long userId : changedUsers) {
+				userSegmentRepository.markExistingAfterCommit(userId);
+				userTagPrefCache.recordReplace(userId);
+			}
+		});
+	}
+
+	private void insertEvents(List<Event> events) {
+		List<Object> args = new ArrayList<>(events.size() * 4);
+		for (Event e : events) {
+			args.add(e.userId());
+			args.add(e.restaurantId());
+			args.add(e.action());
+			args.add(Timestamp.from(Instant.ofEpochMilli(e.epochMillis())));
+		}
+		jdbcTemplate.update(EVENT_SQL.formatted(rows(EVENT_ROW, events.size())), args.toArray());
+	}
+
+	private List<Long> upsertCounters(List<Map.Entry<CounterKey, int[]>> counters) {
+		List<Object> args = new ArrayList<>(counters.size() * 4);
+		for (Map.Entry<CounterKey, int[]> c : counters) {
+			args.add(c.getKey().userId());
+			args.add(c.getKey().restaurantId());
+			args.add(c.getValue()[0]);
+			args.add(c.getValue()[1]);
+		}
+		return jdbcTemplate.queryForList(COUNTER_SQL.formatted(rows(COUNTER_ROW, counters.size())), Long.class, args.toArray());
+	}
+
+	private static String rows(String row, int count) {
+		return String.join(", ", Collections.nCopies(count, row));
+	}
+
+	private int pendingSize() {
+		synchronized (lock) {
+			return current.size();
+		}
+	}
+
+	private InteractionJournal openJournal(String journalDir, boolean fsync) {
+		try {
+			InteractionJournal opened = new InteractionJournal(Paths.get(journalDir), fsync);
+			int replayed = 0;
+			for (String record : opened.readExisting()) {
+				if (current.apply(record)) {
+					replayed++;
+				}
+			}
+			if (replayed > 0) {
+				log.info("[InteractionWriteBuffer.openJournal] 이전 저널 재적재: records={}", replayed);
+			}
+			return opened;
+		} catch (IOException e) {
+			log.warn("[InteractionWriteBuffer.openJournal] 저널을 열 수 없어 write-behind 사용 안 함: dir={}, error={}",
+				journalDir, e.getMessage());
+			return null;
+		}
+	}
+
+	record CounterKey(long userId, long restaurantId) {
+	}
+
+	record Event(long userId, long restaurantId, String action, long epochMillis) {
+	}
+
+	/**
+	 * 반영 전 기록 묶음 (저널 한 줄 = 기록 하나)
+	 * - E,{userId},{restaurantId},{action},{epochMillis} : 스와이프 이벤트
+	 * - V,{userId},{restaurantId} / S,{userId},{restaurantId} : 상세 조회 / 공유 1회
+	 * - F,{userId},{restaurantId},{views},{shares} : flushPending 으로 먼저 반영한 횟수 (앞선 기록에서 상쇄)
+	 */
+	static final class Batch {
+
+		final List<Event> events = new ArrayList<>();
+		final Map<CounterKey, int[]> counters = new LinkedHashMap<>();
+		private final Set<Long> counterUsers = new HashSet<>();
+
+		static String eventRecord(long userId, long restaurantId, String action, long epochMillis) {
+			return "E," + userId + "," + restaurantId + "," + action + "," + epochMillis;
+		}
+
+		static String counterRecord(long userId, long restaurantId, InteractionCounter counter) {
+			return (counter == InteractionCounter.VIEW ? "V," : "S,") + userId + "," + restaurantId;
+		}
+
+		static String flushedRecord(CounterKey key, int[] counts) {
+			return "F," + key.userId() + "," + key.restaurantId() + "," + counts[0] + "," + counts[1];
+		}
+
+		/** 기록 반영 (읽을 수 없는 줄이면 false, 저널 끝의 잘린 줄 등) */
+		boolean apply(String record) {
+			String[] f = record.split(",");
+			try {
+				if (f.length == 5 && "E".equals(f[0])) {
+					events.add(new Event(Long.parseLong(f[1]), Long.parseLong(f[2]), f[3], Long.parseLong(f[4])));
+					return true;
+				}
+				if (f.length == 3 && ("V".equals(f[0]) || "S".equals(f[0]))) {
+					long userId = Long.parseLong(f[1]);
+					int[] counts = counters.computeIfAbsent(new CounterKey(userId, Long.parseLong(f[2])), k -> new int[2]);
+					counts["V".equals(f[0]) ? 0 : 1]++;
+					counterUsers.add(userId);
+					return true;
+				}
+				if (f.length == 5 && "F".equals(f[0])) {
+					subtract(new CounterKey(Long.parseLong(f[1]), Long.parseLong(f[2])),
+						Integer.parseInt(f[3]), Integer.parseInt(f[4]));
+					return true;
+				}
+			} catch (NumberFormatException e) {
+				// 아래에서 false
+			}
+			return false;
+		}
+
+		/** 이미 있는 (사용자, 식당) 횟수에 합쳐지는 기록이면 true (항목 수가 늘지 않음) */
+		boolean absorbs(String record) {
+			String[] f = record.split(",");
+			return f.length == 3 && counters.containsKey(new CounterKey(Long.parseLong(f[1]), Long.parseLong(f[2])));
+		}
+
+		/** 사용자들의 상세 조회/공유 횟수를 꺼낸 묶음 (이 묶음에서는 제거) */
+		Batch takeCounters(Collection<Long> userIds) {
+			Batch taken = new Batch();
+			for (Long userId : userIds) {
+				if (!counterUsers.remove(userId)) {
+					continue;
+				}
+				taken.counterUsers.add(userId);
+				counters.entrySet().removeIf(c -> {
+					if (c.getKey().userId() != userId) {
+						return false;
+					}
+					taken.counters.put(c.getKey(), c.getValue());
+					return true;
+				});
+			}
+			return taken;
+		}
+
+		void merge(Batch other) {
+			events.addAll(0, other.events);
+			other.counters.forEach((key, counts) -> {
+				int[] mine = counters.computeIfAbsent(key, k -> new int[2]);
+				mine[0] += counts[0];
+				mine[1] += counts[1];
+			});
+			counterUsers.addAll(other.counterUsers);
+		}
+
+		private void subtract(CounterKey key, int views, int shares) {
+			int[] counts = counters.get(key);
+			if (counts == null) {
+				return;
+			}
+			counts[0] = Math.max(counts[0] - views, 0);
+			counts[1] = Math.max(counts[1] - shares, 0);
+			if (counts[0] == 0 && counts[1] == 0) {
+				counters.remove(key);
+				if (counters.keySet().stream().noneMatch(k -> k.userId() == key.userId())) {
+					counterUsers.remove(key.userId());
+				}
+			}
+		}
+
+		boolean hasCounter(Long userId) {
+			return counterUsers.contains(userId);
+		}
+
+		int size() {
+			return events.size() + counters.size();
+		}
+
+		boolean isEmpty() {
+			return size() == 0;
+		}
+	}
+}
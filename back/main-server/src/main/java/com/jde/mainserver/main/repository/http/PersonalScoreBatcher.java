@@ -0,0 +1,324 @@
+/**
+ * main/repository/http/PersonalScoreBatcher.java
+ * 개인 점수 요청 마이크로 배칭 (opt-in)
+ * Author: Jang
+ * Date: 2025-11-23
+ *
+ * - 동시에 들어온 개인 점수 요청을 window-ms 동안(또는 max-size 개까지) 모아 /score/personal/batch 로 한 번에 전송
+ *   (algo/debug 가 같은 요청끼리 묶음)
+ * - 결과는 요청 순서대로 각 호출자에게 나눠 전달 (호출자는 기존 score() 와 동일하게 블로킹)
+ * - 모으는 스레드 1개 + 전송 스레드 max-in-flight 개 (전송이 밀리면 모으는 스레드가 직접 전송하여 자연스럽게 배압)
+ * - 배치 전송이 실패하면 묶인 호출자 모두에게 같은 예외를 전달 (단건으로 다시 보내지 않음)
+ *   - 엔진이 실패 중일 때 배치 1건 실패가 단건 N 건 재전송으로 늘어나지 않도록 (CallRejectedException 포함)
+ * - 엔진 개별 실패(해당 항목만 null)/대기 큐 가득 참 시 해당 호출자만 단건 score() 로 폴백
+ * - 지표: score.batch.size (배치 크기 분포), score.batch.latency{size} (배치 크기 구간별 왕복 시간),
+ *   score.batch.wait (배치에 실리기까지 대기 시간), score.batch.failed (배치 실패로 실패 처리한 요청 수),
+ *   score.batch.fallback{reason}
+ * - ScoringEngine 의 remote 구현 (배칭 비활성 시에도 FastAPI 단건 호출)
+ */
+
+package com.jde.mainserver.main.repository.http;
+
+import com.jde.mainserver.global.resilience.CallRejectedException;
+import com.jde.mainserver.main.repository.ScoringEngine;
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class PersonalScoreBatcher implements ScoringEngine {
+
+	public static final String ENGINE_NAME = "remote";
+
+	private static final String[] SIZE_BUCKETS = {"1", "2-4", "5-8", "9-16", "17+"};
+
+	private final ScoreEngineHttpClient scoreEngineHttpClient;
+	private final boolean enabled;
+	private final long windowNanos;
+	private final int maxSize;
+	private final long callerTimeoutMs;
+	private final LinkedBlockingQueue<Pending> queue;
+	private final ThreadPoolExecutor sender;
+	private final Thread dispatcher;
+	private volatile boolean running = true;
+
+	private final DistributionSummary batchSize;
+	private final Timer[] latencyBySize = new Timer[SIZE_BUCKETS.length];
+	private final Timer waitTimer;
+	private final Counter batchFailedCounter;
+	private final Counter itemFailedCounter;
+	private final Counter queueFullCounter;
+
+	public PersonalScoreBatcher(
+		ScoreEngineHttpClient scoreEngineHttpClient,
+		MeterRegistry meterRegistry,
+		@Value("${score.batch.enabled:false}") boolean enabled,
+		@Value("${score.batch.window-ms:5}") long windowMs,
+		@Value("${score.batch.max-size:16}") int maxSize,
+		@Value("${score.batch.max-in-flight:4}") int maxInFlight,
+		@Value("${score.batch.queue-capacity:256}") int queueCapacity,
+		@Value("${score.batch.caller-timeout-ms:35000}") long callerTimeoutMs
+	) {
+		this.scoreEngineHttpClient = scoreEngineHttpClient;
+		this.enabled = enabled;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMs, 0L));
+		this.maxSize = Math.max(maxSize, 1);
+		this.callerTimeoutMs = callerTimeoutMs;
+		this.queue = new LinkedBlockingQueue<>(Math.max(queueCapacity, 1));
+
+		AtomicInteger threadSeq = new AtomicInteger();
+		int inFlight = Math.max(maxInFlight, 1);
+		this.sender = new ThreadPoolExecutor(
+			inFlight, inFlight, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(inFlight),
+			r -> {
+				Thread t = new Thread(r, "score-batch-send-" + threadSeq.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			},
+			new ThreadPoolExecutor.CallerRunsPolicy()
+		);
+
+		this.batchSize = DistributionSummary.builder("score.batch.size")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		for (int i = 0; i < SIZE_BUCKETS.length; i++) {
+			latencyBySize[i] = Timer.builder("score.batch.latency")
+				.tag("size", SIZE_BUCKETS[i])
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		}
+		this.waitTimer = Timer.builder("score.batch.wait").publishPercentileHistogram().register(meterRegistry);
+		this.batchFailedCounter = Counter.builder("score.batch.failed").register(meterRegistry);
+		this.itemFailedCounter = Counter.builder("score.batch.fallback").tag("reason", "item_failed").register(meterRegistry);
+		this.queueFullCounter = Counter.builder("score.batch.fallback").tag("reason", "queue_full").register(meterRegistry);
+
+		this.dispatcher = new Thread(this::dispatchLoop, "score-batch-dispatch");
+		this.dispatcher.setDaemon(true);
+		if (enabled) {
+			this.dispatcher.start();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public String name() {
+		return ENGINE_NAME;
+	}
+
+	/** FastAPI 는 모든 알고리즘 처리 (ml_v1 모델이 없으면 엔진에서 cbf_v1.2 로 대체) */
+	@Override
+	public boolean supports(String algo) {
+		return true;
+	}
+
+	/**
+	 * 개인 점수 계산 (비활성 시 ScoreEngineHttpClient.score 와 동일)
+	 *
+	 * @param req 개인화 점수 계산 요청
+	 * @param algo 알고리즘 버전 ("cbf_v1.2" 또는 "ml_v1")
+	 * @param debug 점수 구성요소(ScoredItem.reasons) 포함 여부
+	 * @return 점수 계산 결과
+	 */
+	@Override
+	public PersonalScoreResponse score(PersonalScoreRequest req, String algo, boolean debug) {
+		if (!enabled || !running) {
+			return scoreEngineHttpClient.score(req, algo, debug);
+		}
+		Pending pending = new Pending(req, algo, debug);
+		if (!queue.offer(pending)) {
+			queueFullCounter.increment();
+			return scoreEngineHttpClient.score(req, algo, debug);
+		}
+		try {
+			return pending.future.get(callerTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof FallbackSignal) {
+				return scoreEngineHttpClient.score(req, algo, debug);
+			}
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new RuntimeException("FastAPI 점수 계산 실패: " + e.getCause().getMessage(), e.getCause());
+		} catch (TimeoutException e) {
+			throw new RuntimeException("FastAPI 배치 점수 응답 대기 시간 초과: " + callerTimeoutMs + "ms", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("FastAPI 배치 점수 응답 대기 중 인터럽트", e);
+		}
+	}
+
+	/** 첫 요청 도착 후 window 가 지나거나 maxSize 가 차면 전송 */
+	private void dispatchLoop() {
+		List<Pending> drained = new ArrayList<>(maxSize);
+		while (running) {
+			try {
+				Pending first = queue.poll(1, TimeUnit.SECONDS);
+				if (first == null) {
+					continue;
+				}
+				drained.add(first);
+				long deadline = first.enqueuedNanos + windowNanos;
+				while (drained.size() < maxSize) {
+					long remaining = deadline - System.nanoTime();
+					Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+					if (next == null) {
+						break;
+					}
+					drained.add(next);
+				}
+				flush(drained);
+				drained = new ArrayList<>(maxSize);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (Exception e) {
+				log.warn("[PersonalScoreBatcher.dispatchLoop] 배치 전송 준비 실패: {}", e.getMessage());
+				drained.forEach(p -> p.future.completeExceptionally(new FallbackSignal()));
+				drained = new ArrayList<>(maxSize);
+			}
+		}
+		drained.forEach(p -> p.future.completeExceptionally(new FallbackSignal()));
+	}
+
+	/** 알고리즘/debug 별로 나눠 전송 스레드에 넘김 */
+	private void flush(List<Pending> drained) {
+		long now = System.nanoTime();
+		Map<String, List<Pending>> byKey = new LinkedHashMap<>();
+		for (Pending p : drained) {
+			waitTimer.record(now - p.enqueuedNanos, TimeUnit.NANOSECONDS);
+			byKey.computeIfAbsent(p.algo + (p.debug ? ":debug" : ""), k -> new ArrayList<>()).add(p);
+		}
+		for (List<Pending> group : byKey.values()) {
+			if (sender.isShutdown()) {
+				group.forEach(p -> p.future.completeExceptionally(new FallbackSignal()));
+				continue;
+			}
+			sender.execute(() -> send(group));
+		}
+	}
+
+	private void send(List<Pending> group) {
+		String algo = group.get(0).algo;
+		boolean debug = group.get(0).debug;
+		long started = System.nanoTime();
+		if (group.size() == 1) {
+			// 단건은 기존 엔드포인트 사용 (실패 시 단건 재호출 없이 그대로 전달)
+			Pending only = group.get(0);
+			try {
+				only.future.complete(scoreEngineHttpClient.score(only.req, algo, debug));
+			} catch (RuntimeException e) {
+				only.future.completeExceptionally(e);
+			}
+			record(1, started);
+			return;
+		}
+
+		List<PersonalScoreRequest> reqs = new ArrayList<>(group.size());
+		for (Pending p : group) {
+			reqs.add(p.req);
+		}
+		List<PersonalScoreResponse> results;
+		try {
+			results = scoreEngineHttpClient.scoreBatch(reqs, algo, debug);
+		} catch (RuntimeException e) {
+			// 서킷 열림/동시 실행 제한/엔진 실패 모두 호출자에게 그대로 전달 (단건 재전송 없음)
+			if (!(e instanceof CallRejectedException)) {
+				log.warn("[PersonalScoreBatcher.send] 배치 전송 실패: batchSize={}, error={}", group.size(), e.getMessage());
+			}
+			batchFailedCounter.increment(group.size());
+			group.forEach(p -> p.future.completeExceptionally(e));
+			return;
+		}
+		record(group.size(), started);
+		for (int i = 0; i < group.size(); i++) {
+			PersonalScoreResponse res = results.get(i);
+			if (res == null) {
+				itemFailedCounter.increment();
+				group.get(i).future.completeExceptionally(new FallbackSignal());
+			} else {
+				group.get(i).future.complete(res);
+			}
+		}
+	}
+
+	private void record(int size, long startedNanos) {
+		batchSize.record(size);
+		latencyBySize[sizeBucket(size)].record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	static int sizeBucket(int size) {
+		if (size <= 1) {
+			return 0;
+		}
+		if (size <= 4) {
+			return 1;
+		}
+		if (size <= 8) {
+			return 2;
+		}
+		if (size <= 16) {
+			return 3;
+		}
+		return 4;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		running = false;
+		dispatcher.interrupt();
+		sender.shutdown();
+		Pending p;
+		while ((p = queue.poll()) != null) {
+			p.future.completeExceptionally(new FallbackSignal());
+		}
+	}
+
+	/** 배치 대기 중인 요청 1건 */
+	private static final class Pending {
+		private final PersonalScoreRequest req;
+		private final String algo;
+		private final boolean debug;
+		private final long enqueuedNanos = System.nanoTime();
+		private final CompletableFuture<PersonalScoreResponse> future = new CompletableFuture<>();
+
+		private Pending(PersonalScoreRequest req, String algo, boolean debug) {
+			this.req = req;
+			this.algo = algo != null ? algo : "ml_v1";
+			this.debug = debug;
+		}
+	}
+
+	/** 호출자가 단건 score() 로 다시 요청해야 함을 알리는 신호 (스택 트레이스 생략) */
+	private static final class FallbackSignal extends RuntimeException {
+		private FallbackSignal() {
+			super("fallback", null, false, false);
+		}
+	}
+}
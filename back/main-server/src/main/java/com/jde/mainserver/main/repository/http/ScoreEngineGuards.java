@@ -0,0 +1,70 @@
+/**
+ * main/repository/http/ScoreEngineGuards.java
+ * FastAPI 점수 엔진 호출 보호 설정 (개인 / 그룹 별도 예산)
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - personal: /score/personal, /score/personal/batch (ResilienceGuard "score.personal")
+ * - group: /score/group (ResilienceGuard "score.group")
+ * - 서킷 판단 기준(윈도우/실패율/열림 시간)은 공통, 느린 호출 기준과 동시 실행 제한은 예산별
+ *   (그룹 점수는 멤버 수만큼 계산하므로 느린 호출 기준이 더 길고 동시 실행 수는 더 적음)
+ */
+
+package com.jde.mainserver.main.repository.http;
+
+import com.jde.mainserver.global.resilience.ResilienceGuard;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class ScoreEngineGuards {
+
+	private static final int MIN_LIMIT = 1;
+	private static final double BACKOFF_RATIO = 0.9;
+
+	private final ResilienceGuard personal;
+	private final ResilienceGuard group;
+
+	public ScoreEngineGuards(
+		MeterRegistry meterRegistry,
+		@Value("${score.guard.enabled:true}") boolean enabled,
+		@Value("${score.guard.window-size:20}") int windowSize,
+		@Value("${score.guard.minimum-calls:10}") int minimumCalls,
+		@Value("${score.guard.failure-rate-threshold:0.5}") double failureRateThreshold,
+		@Value("${score.guard.open-ms:10000}") long openMs,
+		@Value("${score.guard.half-open-calls:3}") int halfOpenCalls,
+		@Value("${score.guard.personal.slow-call-ms:3000}") long personalSlowCallMs,
+		@Value("${score.guard.personal.initial-limit:16}") int personalInitialLimit,
+		@Value("${score.guard.personal.max-limit:64}") int personalMaxLimit,
+		@Value("${score.guard.group.slow-call-ms:10000}") long groupSlowCallMs,
+		@Value("${score.guard.group.initial-limit:4}") int groupInitialLimit,
+		@Value("${score.guard.group.max-limit:16}") int groupMaxLimit
+	) {
+		this.personal = new ResilienceGuard("score.personal", new ResilienceGuard.Settings(
+			enabled, Duration.ofMillis(personalSlowCallMs), windowSize, minimumCalls, failureRateThreshold,
+			Duration.ofMillis(openMs), halfOpenCalls, personalInitialLimit, MIN_LIMIT, personalMaxLimit, BACKOFF_RATIO
+		), meterRegistry);
+		this.group = new ResilienceGuard("score.group", new ResilienceGuard.Settings(
+			enabled, Duration.ofMillis(groupSlowCallMs), windowSize, minimumCalls, failureRateThreshold,
+			Duration.ofMillis(openMs), halfOpenCalls, groupInitialLimit, MIN_LIMIT, groupMaxLimit, BACKOFF_RATIO
+		), meterRegistry);
+	}
+
+	/** 보호 없이 실행하는 설정 (단위 테스트용) */
+	static ScoreEngineGuards disabled(MeterRegistry meterRegistry) {
+		return new ScoreEngineGuards(meterRegistry, false, 20, 10, 0.5, 10_000, 3, 3_000, 16, 64, 10_000, 4, 16);
+	}
+
+	public ResilienceGuard personal() {
+		return personal;
+	}
+
+	public ResilienceGuard group() {
+		return group;
+	}
+}
@@ -3,31 +3,55 @@
  * FastAPI 점수 엔진 HTTP 클라이언트 (외부 API 데이터 접근)
  * Author: Jang
  * Date: 2025-11-04
+ *
+ * - 개인 점수는 score.api.binary-enabled 시 바이너리 와이어 포맷(ScoreWireCodec)으로 요청
+ *   엔진이 형식을 받지 못하면(415/406) JSON 으로 다시 보내고 binary-retry-ms 동안 JSON 만 사용
+ *   본문 형식 오류(400, 엔진 WireFormatError)는 해당 요청만 JSON 으로 다시 보냄 (바이너리 사용은 유지)
+ * - 바이너리 응답도 PersonalScoreResponse(ScoredItem 목록)로 변환해 반환
+ *   (랭킹/캐시/배처가 모두 ScoredItem 기준이라 배열은 이 클래스 안에서만 사용)
+ * - 지표: score.engine.request{endpoint, protocol} (왕복 시간), score.engine.payload.bytes{protocol, direction} (바이너리 본문 크기)
+ * - 개인/그룹 호출은 ScoreEngineGuards 의 서킷 브레이커 + 동시 실행 제한을 거침
+ *   (서킷 열림/제한 초과 시 요청하지 않고 CallRejectedException, 재시도 포함 전체 호출 시간을 기준으로 판단)
+ * - 블로킹 RestClient + JDK HttpClient 로 호출 (가상 스레드 모드에서 캐리어 스레드를 점유하지 않도록 Reactor block() 미사용)
+ *   실패 시 1초 후 1회 재시도 (바이너리 형식 미지원 응답은 재시도하지 않음)
  */
 
 package com.jde.mainserver.main.repository.http;
 
+import com.jde.mainserver.global.resilience.CallRejectedException;
 import com.jde.mainserver.main.converter.MainConverter;
 import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
 import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
 import com.jde.mainserver.plan.web.dto.request.GroupScoreReqeust;
 import com.jde.mainserver.plan.web.dto.response.GroupScoreResponse;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-
-import reactor.netty.http.client.HttpClient;
-import reactor.util.retry.Retry;
-import io.netty.channel.ChannelOption;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,59 +59,136 @@ import java.util.stream.Collectors;
 public class ScoreEngineHttpClient {
 
 	private static final String SCORE_ENDPOINT_PERSONAL = "/score/personal";
+	private static final String SCORE_ENDPOINT_PERSONAL_BATCH = "/score/personal/batch";
 	private static final String SCORE_ENDPOINT_GROUP = "/score/group";
 	private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
 	private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(30); // 그룹 점수 계산은 시간이 더 걸릴 수 있음
 	private static final int MAX_RETRIES = 1; // 재시도 횟수 감소 (빠른 실패)
-
-	private final WebClient webClient;
+	private static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+
+	private static final MediaType WIRE_MEDIA_TYPE = MediaType.parseMediaType(ScoreWireCodec.CONTENT_TYPE);
+	private static final TypeReference<List<Map<String, Object>>> DEBUG_LIST_TYPE = new TypeReference<>() {
+	};
+
+	private final RestClient restClient;
+	private final ObjectMapper objectMapper;
+	private final ScoreEngineGuards scoreEngineGuards;
+	private final boolean binaryEnabled;
+	private final long binaryRetryNanos;
+	private volatile long binaryDisabledUntilNanos;
+	private volatile boolean binaryDisabled = false;
+
+	private final Timer personalJsonTimer;
+	private final Timer personalBinaryTimer;
+	private final Timer batchJsonTimer;
+	private final Timer batchBinaryTimer;
+	private final DistributionSummary binaryRequestBytes;
+	private final DistributionSummary binaryResponseBytes;
 
 	public ScoreEngineHttpClient(
-		@Value("${score.api.base:http://localhost:8000}") String baseUrl
+		ObjectMapper objectMapper,
+		MeterRegistry meterRegistry,
+		ScoreEngineGuards scoreEngineGuards,
+		@Value("${score.api.base:http://localhost:8000}") String baseUrl,
+		@Value("${score.api.binary-enabled:false}") boolean binaryEnabled,
+		@Value("${score.api.binary-retry-ms:300000}") long binaryRetryMs
 	) {
-		HttpClient httpClient = HttpClient.create()
-			.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int)CONNECT_TIMEOUT.toMillis())
-			.responseTimeout(RESPONSE_TIMEOUT)
-			.compress(true);
+		this.objectMapper = objectMapper;
+		this.scoreEngineGuards = scoreEngineGuards;
+		this.binaryEnabled = binaryEnabled;
+		this.binaryRetryNanos = Duration.ofMillis(binaryRetryMs).toNanos();
+		this.personalJsonTimer = requestTimer(meterRegistry, "personal", "json");
+		this.personalBinaryTimer = requestTimer(meterRegistry, "personal", "binary");
+		this.batchJsonTimer = requestTimer(meterRegistry, "personal_batch", "json");
+		this.batchBinaryTimer = requestTimer(meterRegistry, "personal_batch", "binary");
+		this.binaryRequestBytes = DistributionSummary.builder("score.engine.payload.bytes")
+			.tag("protocol", "binary").tag("direction", "request")
+			.register(meterRegistry);
+		this.binaryResponseBytes = DistributionSummary.builder("score.engine.payload.bytes")
+			.tag("protocol", "binary").tag("direction", "response")
+			.register(meterRegistry);
+
+		// JDK HttpClient 는 연결을 재사용하며 동시 요청 수 제한이 없음 (동시 실행 수는 ScoreEngineGuards 가 제한)
+		HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(CONNECT_TIMEOUT)
+			.build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(RESPONSE_TIMEOUT);
 
-		this.webClient = WebClient.builder()
+		this.restClient = RestClient.builder()
 			.baseUrl(baseUrl)
-			.clientConnector(new ReactorClientHttpConnector(httpClient))
+			.requestFactory(requestFactory)
 			.build();
 	}
 
 	/**
-	 * FastAPI 점수 엔진에 점수 계산 요청
+	 * FastAPI 점수 엔진에 점수 계산 요청 (점수 구성요소 포함)
 	 *
 	 * @param req 개인화 점수 계산 요청 (유저/후보 식당/태그 등 정보 포함)
 	 * @param algo 알고리즘 버전 ("cbf_v1.2" 또는 "ml_v1", 기본값: "ml_v1")
 	 * @return 점수 계산 결과 (식당별 점수 + 디버그 메타 정보)
 	 */
 	public PersonalScoreResponse score(PersonalScoreRequest req, String algo) {
+		return score(req, algo, true);
+	}
+
+	/**
+	 * FastAPI 점수 엔진에 점수 계산 요청
+	 *
+	 * @param req 개인화 점수 계산 요청 (유저/후보 식당/태그 등 정보 포함)
+	 * @param algo 알고리즘 버전 ("cbf_v1.2" 또는 "ml_v1", 기본값: "ml_v1")
+	 * @param debug 점수 구성요소(ScoredItem.reasons) 포함 여부
+	 * @return 점수 계산 결과 (식당별 점수 + 디버그 메타 정보)
+	 * @throws CallRejectedException 개인 점수 서킷이 열려 있거나 동시 실행 제한을 넘은 경우
+	 */
+	public PersonalScoreResponse score(PersonalScoreRequest req, String algo, boolean debug) {
+		return scoreEngineGuards.personal().execute(() -> requestPersonal(req, algo, debug));
+	}
+
+	private PersonalScoreResponse requestPersonal(PersonalScoreRequest req, String algo, boolean debug) {
+		// algo 파라미터 추가 (기본값: ml_v1)
+		String algoParam = algo != null ? algo : "ml_v1";
+		if (isBinaryAvailable()) {
+			try {
+				long started = System.nanoTime();
+				byte[] payload = ScoreWireCodec.encodePersonal(req, debug);
+				byte[] body = postBinary(SCORE_ENDPOINT_PERSONAL, algoParam, payload);
+				PersonalScoreResponse res = toResponse(ScoreWireCodec.decodePersonal(body));
+				personalBinaryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+				return res;
+			} catch (RestClientResponseException e) {
+				if (isUnsupportedWire(e)) {
+					disableBinary(e);
+				} else if (isRejectedPayload(e)) {
+					log.warn("[ScoreEngineHttpClient.requestPersonal] 바이너리 본문 거부, JSON 으로 재요청: userId={}, error={}",
+						req.userId(), e.getResponseBodyAsString());
+				} else {
+					log.error("FastAPI 점수 계산 실패: userId={}, error={}, message={}",
+						req.userId(), e.getClass().getSimpleName(), e.getMessage(), e);
+					throw new RuntimeException("FastAPI 점수 계산 실패: " + e.getMessage(), e);
+				}
+			} catch (RuntimeException e) {
+				log.error("FastAPI 점수 계산 실패: userId={}, error={}, message={}",
+					req.userId(), e.getClass().getSimpleName(), e.getMessage(), e);
+				throw new RuntimeException("FastAPI 점수 계산 실패: " + e.getMessage(), e);
+			}
+		}
+
 		try {
+			long started = System.nanoTime();
 			Map<String, Object> fastApiReq = MainConverter.convertToFastApiSchema(req);
-			
-			// algo 파라미터 추가 (기본값: ml_v1)
-			String algoParam = algo != null ? algo : "ml_v1";
+			fastApiReq.put("debug", debug);
 
-			@SuppressWarnings("unchecked")
-			Map<String, Object> response = webClient.post()
-				.uri(uriBuilder -> uriBuilder
-					.path(SCORE_ENDPOINT_PERSONAL)
-					.queryParam("algo", algoParam)
-					.build())
-				.bodyValue(fastApiReq)
-				.retrieve()
-				.bodyToMono(Map.class)
-				.retryWhen(Retry.backoff(MAX_RETRIES, Duration.ofSeconds(1)))
-				.timeout(RESPONSE_TIMEOUT)
-				.block();
+			Map<String, Object> response = postJson(SCORE_ENDPOINT_PERSONAL, algoParam, fastApiReq);
 
 			if (response == null) {
 				throw new RuntimeException("FastAPI 응답이 null입니다");
 			}
 
-			return convertResponse(response);
+			PersonalScoreResponse res = convertResponse(response);
+			personalJsonTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+			return res;
 
 		} catch (Exception e) {
 			log.error("FastAPI 점수 계산 실패: userId={}, error={}, message={}",
@@ -96,6 +197,236 @@ public class ScoreEngineHttpClient {
 		}
 	}
 
+	/**
+	 * FastAPI 점수 엔진에 여러 사용자의 점수 계산을 한 번에 요청 (PersonalScoreBatcher 용)
+	 *
+	 * 요청: { "requests": [ {/score/personal 요청}, ... ] }
+	 * 응답: { "results": [ {/score/personal 응답} 또는 { "error": "..." }, ... ], "elapsed_ms": 40 }
+	 *
+	 * @param reqs 개인화 점수 계산 요청 목록
+	 * @param algo 알고리즘 버전 ("cbf_v1.2" 또는 "ml_v1", 기본값: "ml_v1")
+	 * @param debug 점수 구성요소(ScoredItem.reasons) 포함 여부
+	 * @return 요청과 같은 순서의 결과 목록 (엔진에서 개별 실패한 항목은 null)
+	 * @throws CallRejectedException 개인 점수 서킷이 열려 있거나 동시 실행 제한을 넘은 경우
+	 */
+	public List<PersonalScoreResponse> scoreBatch(List<PersonalScoreRequest> reqs, String algo, boolean debug) {
+		return scoreEngineGuards.personal().execute(() -> requestPersonalBatch(reqs, algo, debug));
+	}
+
+	private List<PersonalScoreResponse> requestPersonalBatch(List<PersonalScoreRequest> reqs, String algo,
+		boolean debug) {
+		String algoParam = algo != null ? algo : "ml_v1";
+		if (isBinaryAvailable()) {
+			try {
+				long started = System.nanoTime();
+				byte[] payload = ScoreWireCodec.encodePersonalBatch(reqs, debug);
+				byte[] body = postBinary(SCORE_ENDPOINT_PERSONAL_BATCH, algoParam, payload);
+				List<ScoreWireCodec.ScoreArrays> decoded = ScoreWireCodec.decodePersonalBatch(body);
+				if (decoded.size() != reqs.size()) {
+					throw new IllegalStateException(
+						"배치 응답 개수 불일치: requests=" + reqs.size() + ", results=" + decoded.size());
+				}
+				List<PersonalScoreResponse> converted = new ArrayList<>(decoded.size());
+				for (ScoreWireCodec.ScoreArrays arrays : decoded) {
+					converted.add(arrays != null ? toResponse(arrays) : null);
+				}
+				batchBinaryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+				return converted;
+			} catch (RestClientResponseException e) {
+				if (isUnsupportedWire(e)) {
+					disableBinary(e);
+				} else if (isRejectedPayload(e)) {
+					log.warn("[ScoreEngineHttpClient.requestPersonalBatch] 바이너리 본문 거부, JSON 으로 재요청: batchSize={}, error={}",
+						reqs.size(), e.getResponseBodyAsString());
+				} else {
+					log.error("FastAPI 배치 점수 계산 실패: batchSize={}, error={}, message={}",
+						reqs.size(), e.getClass().getSimpleName(), e.getMessage());
+					throw new RuntimeException("FastAPI 배치 점수 계산 실패: " + e.getMessage(), e);
+				}
+			} catch (RuntimeException e) {
+				log.error("FastAPI 배치 점수 계산 실패: batchSize={}, error={}, message={}",
+					reqs.size(), e.getClass().getSimpleName(), e.getMessage());
+				throw new RuntimeException("FastAPI 배치 점수 계산 실패: " + e.getMessage(), e);
+			}
+		}
+
+		try {
+			long started = System.nanoTime();
+			List<Map<String, Object>> requests = new ArrayList<>(reqs.size());
+			for (PersonalScoreRequest req : reqs) {
+				Map<String, Object> fastApiReq = MainConverter.convertToFastApiSchema(req);
+				fastApiReq.put("debug", debug);
+				requests.add(fastApiReq);
+			}
+
+			Map<String, Object> response = postJson(SCORE_ENDPOINT_PERSONAL_BATCH, algoParam, Map.of("requests", requests));
+
+			if (response == null) {
+				throw new RuntimeException("FastAPI 응답이 null입니다");
+			}
+
+			@SuppressWarnings("unchecked")
+			List<Map<String, Object>> results = (List<Map<String, Object>>)response.getOrDefault("results", List.of());
+			if (results.size() != reqs.size()) {
+				throw new IllegalStateException(
+					"배치 응답 개수 불일치: requests=" + reqs.size() + ", results=" + results.size());
+			}
+
+			List<PersonalScoreResponse> converted = new ArrayList<>(results.size());
+			for (Map<String, Object> result : results) {
+				converted.add(result == null || result.containsKey("error") ? null : convertResponse(result));
+			}
+			batchJsonTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+			return converted;
+
+		} catch (Exception e) {
+			log.error("FastAPI 배치 점수 계산 실패: batchSize={}, error={}, message={}",
+				reqs.size(), e.getClass().getSimpleName(), e.getMessage());
+			throw new RuntimeException("FastAPI 배치 점수 계산 실패: " + e.getMessage(), e);
+		}
+	}
+
+	/** JSON 요청 전송 (algo 쿼리 파라미터 포함) */
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> postJson(String path, String algoParam, Object body) {
+		return withRetry(() -> restClient.post()
+			.uri(uriBuilder -> uriBuilder
+				.path(path)
+				.queryParam("algo", algoParam)
+				.build())
+			.contentType(MediaType.APPLICATION_JSON)
+			.body(body)
+			.retrieve()
+			.body(Map.class), e -> true);
+	}
+
+	/** 바이너리 요청 전송 (형식 미지원/본문 거부 응답은 재시도하지 않음) */
+	private byte[] postBinary(String path, String algoParam, byte[] payload) {
+		binaryRequestBytes.record(payload.length);
+		byte[] body = withRetry(() -> restClient.post()
+			.uri(uriBuilder -> uriBuilder
+				.path(path)
+				.queryParam("algo", algoParam)
+				.build())
+			.contentType(WIRE_MEDIA_TYPE)
+			.accept(WIRE_MEDIA_TYPE)
+			.body(payload)
+			.retrieve()
+			.body(byte[].class), e -> !(e instanceof RestClientResponseException r
+			&& (isUnsupportedWire(r) || isRejectedPayload(r))));
+		if (body == null) {
+			throw new RuntimeException("FastAPI 응답이 null입니다");
+		}
+		binaryResponseBytes.record(body.length);
+		return body;
+	}
+
+	/**
+	 * 실패 시 RETRY_BACKOFF 후 최대 MAX_RETRIES 회 재시도 (호출 스레드에서 대기)
+	 *
+	 * @param retryable 재시도할 예외인지 여부
+	 */
+	private static <T> T withRetry(Supplier<T> call, Predicate<RuntimeException> retryable) {
+		for (int attempt = 0; ; attempt++) {
+			try {
+				return call.get();
+			} catch (RuntimeException e) {
+				if (attempt >= MAX_RETRIES || !retryable.test(e)) {
+					throw e;
+				}
+				log.warn("[ScoreEngineHttpClient.withRetry] 재시도: attempt={}, error={}",
+					attempt + 1, e.getClass().getSimpleName());
+				try {
+					Thread.sleep(RETRY_BACKOFF);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+			}
+		}
+	}
+
+	/** 읽기/연결 타임아웃 여부 (RestClient 는 ResourceAccessException 으로 감싸서 전달) */
+	private static boolean isTimeout(Throwable e) {
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t instanceof HttpTimeoutException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isBinaryAvailable() {
+		if (!binaryEnabled) {
+			return false;
+		}
+		if (binaryDisabled && System.nanoTime() - binaryDisabledUntilNanos < 0) {
+			return false;
+		}
+		binaryDisabled = false;
+		return true;
+	}
+
+	/**
+	 * 엔진이 바이너리 형식 자체를 받지 않는 경우 (415: 경로에 바이너리 핸들러 없음, 406: 응답 형식 협상 실패)
+	 * 다른 4xx(404/422 등)는 형식과 무관한 오류일 수 있어 바이너리를 끄지 않음
+	 */
+	private static boolean isUnsupportedWire(RestClientResponseException e) {
+		int status = e.getStatusCode().value();
+		return status == 415 || status == 406;
+	}
+
+	/** 엔진이 바이너리 본문을 해석하지 못한 경우 (WireFormatError -> 400, 해당 요청만 JSON 으로 재요청) */
+	private static boolean isRejectedPayload(RestClientResponseException e) {
+		return e.getStatusCode().value() == 400;
+	}
+
+	private void disableBinary(RestClientResponseException e) {
+		binaryDisabledUntilNanos = System.nanoTime() + binaryRetryNanos;
+		binaryDisabled = true;
+		log.warn("[ScoreEngineHttpClient.disableBinary] 바이너리 형식 미지원, JSON 으로 전환: status={}, retryAfterMs={}",
+			e.getStatusCode().value(), TimeUnit.NANOSECONDS.toMillis(binaryRetryNanos));
+	}
+
+	/** 바이너리 응답을 PersonalScoreResponse 로 변환 (debug 는 요청한 경우에만 존재) */
+	private PersonalScoreResponse toResponse(ScoreWireCodec.ScoreArrays arrays) {
+		long[] ids = arrays.restaurantIds();
+		float[] scores = arrays.scores();
+		List<Map<String, Object>> debugList = parseDebug(arrays.debugJson());
+		List<PersonalScoreResponse.ScoredItem> items = new ArrayList<>(ids.length);
+		for (int i = 0; i < ids.length; i++) {
+			Map<String, Object> reasons = debugList != null && i < debugList.size()
+				? extractDebug(debugList.get(i))
+				: null;
+			items.add(new PersonalScoreResponse.ScoredItem(ids[i], scores[i], reasons));
+		}
+		Map<String, Object> debug = Map.of(
+			"algo_version", arrays.algoVersion(),
+			"elapsed_ms", arrays.elapsedMs()
+		);
+		return new PersonalScoreResponse(items, debug);
+	}
+
+	private List<Map<String, Object>> parseDebug(byte[] debugJson) {
+		if (debugJson == null) {
+			return null;
+		}
+		try {
+			return objectMapper.readValue(debugJson, DEBUG_LIST_TYPE);
+		} catch (IOException e) {
+			log.warn("[ScoreEngineHttpClient.parseDebug] debug 파싱 실패: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private static Timer requestTimer(MeterRegistry meterRegistry, String endpoint, String protocol) {
+		return Timer.builder("score.engine.request")
+			.tag("endpoint", endpoint)
+			.tag("protocol", protocol)
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+	}
+
 	/**
 	 * FastAPI 응답(Map)을 PersonalScoreResponse로 변환
 	 *
@@ -145,8 +476,13 @@ public class ScoreEngineHttpClient {
 	 *
 	 * @param req 그룹 점수 계산 요청 (참여자들/후보 식당/태그 등 정보 포함)
 	 * @return 점수 계산 결과 (식당별 그룹 점수 맵)
+	 * @throws CallRejectedException 그룹 점수 서킷이 열려 있거나 동시 실행 제한을 넘은 경우
 	 */
 	public GroupScoreResponse groupScore(GroupScoreReqeust req) {
+		return scoreEngineGuards.group().execute(() -> requestGroup(req));
+	}
+
+	private GroupScoreResponse requestGroup(GroupScoreReqeust req) {
 		long startTime = System.currentTimeMillis();
 		log.info("[FastAPI] 그룹 점수 계산 요청 시작: members={}, candidates={}", 
 			req.getMembers() != null ? req.getMembers().size() : 0,
@@ -157,21 +493,15 @@ public class ScoreEngineHttpClient {
 			log.debug("[FastAPI] 요청 데이터 변환 완료");
 
 			@SuppressWarnings("unchecked")
-			Map<String, Object> response = webClient.post()
+			Map<String, Object> response = withRetry(() -> restClient.post()
 				.uri(SCORE_ENDPOINT_GROUP)
-				.bodyValue(fastApiReq)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(fastApiReq)
 				.retrieve()
-				.bodyToMono(Map.class)
-				.retryWhen(Retry.backoff(MAX_RETRIES, Duration.ofSeconds(1))
-					.filter(throwable -> {
-						log.warn("[FastAPI] 재시도 조건 확인: {}", throwable.getClass().getSimpleName());
-						return true;
-					}))
-				.timeout(RESPONSE_TIMEOUT)
-				.doOnError(error -> {
-					log.error("[FastAPI] 요청 중 에러 발생: {}", error.getClass().getSimpleName(), error);
-				})
-				.block();
+				.body(Map.class), throwable -> {
+					log.warn("[FastAPI] 재시도 조건 확인: {}", throwable.getClass().getSimpleName());
+					return true;
+				});
 
 			long elapsed = System.currentTimeMillis() - startTime;
 			log.info("[FastAPI] 그룹 점수 계산 완료: 소요 시간={}ms", elapsed);
@@ -183,14 +513,19 @@ public class ScoreEngineHttpClient {
 
 			return convertGroupScoreResponse(response);
 
-		} catch (org.springframework.web.reactive.function.client.WebClientException e) {
+		} catch (RestClientException e) {
 			long elapsed = System.currentTimeMillis() - startTime;
-			log.error("[FastAPI] WebClient 에러: 소요 시간={}ms, error={}, message={}", 
+			if (isTimeout(e)) {
+				log.error("[FastAPI] 타임아웃 발생: 소요 시간={}ms, 타임아웃={}초, error={}", 
+					elapsed, RESPONSE_TIMEOUT.getSeconds(), e.getClass().getSimpleName(), e);
+				throw new RuntimeException("FastAPI 그룹 점수 계산 타임아웃: " + RESPONSE_TIMEOUT.getSeconds() + "초 초과", e);
+			}
+			log.error("[FastAPI] RestClient 에러: 소요 시간={}ms, error={}, message={}", 
 				elapsed, e.getClass().getSimpleName(), e.getMessage(), e);
 			throw new RuntimeException("FastAPI 연결 실패: " + e.getMessage(), e);
 		} catch (Exception e) {
 			long elapsed = System.currentTimeMillis() - startTime;
-			// 타임아웃 관련 예외 체크 (reactor.util.retry.Retry나 timeout에서 발생할 수 있음)
+			// 타임아웃 관련 예외 체크 (RestClient 밖에서 감싸진 경우)
 			String errorMsg = e.getMessage() != null ? e.getMessage() : "";
 			String errorClass = e.getClass().getSimpleName();
 			if (errorMsg.contains("timeout") || errorMsg.contains("Timeout") || 
@@ -0,0 +1,274 @@
+/**
+ * main/repository/http/ScoreWireCodec.java
+ * 점수 엔진 개인 점수 바이너리 와이어 포맷 (Content-Type: application/x-jde-score-v1)
+ * Author: Jang
+ * Date: 2025-11-23
+ *
+ * - 형식 정의는 fastapi-score/app/schemas/score_wire.py 와 동일 (little-endian, 후보 필드는 컬럼 단위)
+ * - 요청: 크기를 먼저 계산한 뒤 후보 데이터를 중간 Map 없이 바로 버퍼에 기록
+ * - 응답: 식당 ID / 점수를 long[] / float[] 로 바로 읽음 (debug 는 요청한 경우에만 JSON 바이트로 전달됨)
+ * - null 표현: float 는 NaN, has_interaction_recent 는 -1
+ */
+
+package com.jde.mainserver.main.repository.http;
+
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class ScoreWireCodec {
+
+	public static final String CONTENT_TYPE = "application/x-jde-score-v1";
+
+	static final int VERSION = 1;
+	static final int FLAG_DEBUG = 0x01;
+
+	// 4바이트 magic 을 little-endian int 로 읽은 값 ("JDQ1" 등)
+	static final int REQUEST_MAGIC = magic("JDQ1");
+	static final int RESPONSE_MAGIC = magic("JDP1");
+	static final int BATCH_REQUEST_MAGIC = magic("JDB1");
+	static final int BATCH_RESPONSE_MAGIC = magic("JDC1");
+
+	private static final int HEADER_BYTES = 8;
+
+	private ScoreWireCodec() {
+	}
+
+	/**
+	 * 개인 점수 요청 인코딩
+	 *
+	 * @param req 개인화 점수 계산 요청
+	 * @param debug 점수 구성요소(debug) 포함 요청 여부
+	 */
+	public static byte[] encodePersonal(PersonalScoreRequest req, boolean debug) {
+		ByteBuffer buf = ByteBuffer.allocate(personalSize(req)).order(ByteOrder.LITTLE_ENDIAN);
+		writePersonal(buf, req, debug);
+		return buf.array();
+	}
+
+	/** 개인 점수 배치 요청 인코딩 (요청별 길이 + 개인 요청 프레임) */
+	public static byte[] encodePersonalBatch(List<PersonalScoreRequest> reqs, boolean debug) {
+		int[] sizes = new int[reqs.size()];
+		int total = HEADER_BYTES + 4;
+		for (int i = 0; i < sizes.length; i++) {
+			sizes[i] = personalSize(reqs.get(i));
+			total += 4 + sizes[i];
+		}
+		ByteBuffer buf = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN);
+		writeHeader(buf, BATCH_REQUEST_MAGIC, debug ? FLAG_DEBUG : 0);
+		buf.putInt(reqs.size());
+		for (int i = 0; i < sizes.length; i++) {
+			buf.putInt(sizes[i]);
+			writePersonal(buf, reqs.get(i), debug);
+		}
+		return buf.array();
+	}
+
+	/** 개인 점수 응답 디코딩 */
+	public static ScoreArrays decodePersonal(byte[] body) {
+		ByteBuffer buf = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+		ScoreArrays result = readPersonal(buf);
+		if (buf.hasRemaining()) {
+			throw new IllegalArgumentException("응답 끝에 남은 바이트가 있습니다: remaining=" + buf.remaining());
+		}
+		return result;
+	}
+
+	/** 개인 점수 배치 응답 디코딩 (요청 순서, 엔진에서 개별 실패한 항목은 null) */
+	public static List<ScoreArrays> decodePersonalBatch(byte[] body) {
+		ByteBuffer buf = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			readHeader(buf, BATCH_RESPONSE_MAGIC);
+			buf.getInt(); // elapsed_ms (배치 전체)
+			int count = buf.getInt();
+			List<ScoreArrays> results = new ArrayList<>(Math.min(count, 1024));
+			for (int i = 0; i < count; i++) {
+				int length = buf.getInt();
+				if (length == 0) {
+					results.add(null);
+					continue;
+				}
+				ByteBuffer frame = buf.slice(buf.position(), length).order(ByteOrder.LITTLE_ENDIAN);
+				buf.position(buf.position() + length);
+				results.add(readPersonal(frame));
+			}
+			return results;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("배치 응답이 잘렸습니다: size=" + body.length, e);
+		}
+	}
+
+	/** 개인 요청 프레임 크기 (바이트) */
+	static int personalSize(PersonalScoreRequest req) {
+		List<PersonalScoreRequest.Candidate> cands = req.candidates();
+		if (cands == null || cands.isEmpty()) {
+			throw new IllegalArgumentException("candidates는 최소 1개 이상 필요합니다");
+		}
+		int userTags = req.userTagPref() != null ? req.userTagPref().size() : 0;
+		int tags = 0;
+		for (PersonalScoreRequest.Candidate c : cands) {
+			tags += c.tagPref() != null ? c.tagPref().size() : 0;
+		}
+		int n = cands.size();
+		return HEADER_BYTES + 8
+			+ 4 + userTags * 12
+			+ 4 + n * (8 + 4 + 4 + 4 + 1 + 4)
+			+ 4 + tags * 12;
+	}
+
+	private static void writePersonal(ByteBuffer buf, PersonalScoreRequest req, boolean debug) {
+		if (req.userId() == null) {
+			throw new IllegalArgumentException("userId가 필요합니다");
+		}
+		writeHeader(buf, REQUEST_MAGIC, debug ? FLAG_DEBUG : 0);
+		buf.putLong(req.userId());
+
+		// 사용자 태그: tag_id[] / score[] / confidence[]
+		Map<Long, PersonalScoreRequest.TagPreference> userPref = req.userTagPref() != null ? req.userTagPref() : Map.of();
+		buf.putInt(userPref.size());
+		for (Long tagId : userPref.keySet()) {
+			buf.putInt(tagId.intValue());
+		}
+		for (PersonalScoreRequest.TagPreference p : userPref.values()) {
+			buf.putFloat(orZero(p.score()));
+		}
+		for (PersonalScoreRequest.TagPreference p : userPref.values()) {
+			buf.putFloat(orZero(p.confidence()));
+		}
+
+		// 후보 컬럼
+		List<PersonalScoreRequest.Candidate> cands = req.candidates();
+		buf.putInt(cands.size());
+		int totalTags = 0;
+		for (PersonalScoreRequest.Candidate c : cands) {
+			if (c.restaurantId() == null) {
+				throw new IllegalArgumentException("restaurantId가 필요합니다");
+			}
+			buf.putLong(c.restaurantId());
+		}
+		for (PersonalScoreRequest.Candidate c : cands) {
+			buf.putFloat(orZero(c.distanceM()));
+		}
+		for (PersonalScoreRequest.Candidate c : cands) {
+			buf.putFloat(orNaN(c.prefScore()));
+		}
+		for (PersonalScoreRequest.Candidate c : cands) {
+			buf.putFloat(orNaN(c.engagementBoost()));
+		}
+		for (PersonalScoreRequest.Candidate c : cands) {
+			Boolean recent = c.hasInteractionRecent();
+			buf.put((byte)(recent == null ? -1 : recent ? 1 : 0));
+		}
+		for (PersonalScoreRequest.Candidate c : cands) {
+			int count = c.tagPref() != null ? c.tagPref().size() : 0;
+			buf.putInt(count);
+			totalTags += count;
+		}
+
+		// 후보 태그: 후보 순서대로 tag_id[] / weight[] / confidence[]
+		// (Candidate 의 TagPreference 는 weight 를 score 필드에 저장함, MainConverter 와 동일)
+		buf.putInt(totalTags);
+		for (PersonalScoreRequest.Candidate c : cands) {
+			if (c.tagPref() != null) {
+				for (Long tagId : c.tagPref().keySet()) {
+					buf.putInt(tagId.intValue());
+				}
+			}
+		}
+		for (PersonalScoreRequest.Candidate c : cands) {
+			if (c.tagPref() != null) {
+				for (PersonalScoreRequest.TagPreference p : c.tagPref().values()) {
+					buf.putFloat(orZero(p.score()));
+				}
+			}
+		}
+		for (PersonalScoreRequest.Candidate c : cands) {
+			if (c.tagPref() != null) {
+				for (PersonalScoreRequest.TagPreference p : c.tagPref().values()) {
+					buf.putFloat(orZero(p.confidence()));
+				}
+			}
+		}
+	}
+
+	private static ScoreArrays readPersonal(ByteBuffer buf) {
+		try {
+			int algoLen = readHeader(buf, RESPONSE_MAGIC) >>> 8 & 0xff;
+			int elapsedMs = buf.getInt();
+			byte[] algo = new byte[algoLen];
+			buf.get(algo);
+			int n = buf.getInt();
+			if (n < 0 || (long)n * 12 > buf.remaining()) {
+				throw new IllegalArgumentException("응답 후보 수가 잘못되었습니다: n=" + n);
+			}
+			long[] ids = new long[n];
+			buf.asLongBuffer().get(ids);
+			buf.position(buf.position() + n * 8);
+			float[] scores = new float[n];
+			buf.asFloatBuffer().get(scores);
+			buf.position(buf.position() + n * 4);
+			int debugLen = buf.getInt();
+			byte[] debugJson = null;
+			if (debugLen > 0) {
+				debugJson = new byte[debugLen];
+				buf.get(debugJson);
+			}
+			return new ScoreArrays(ids, scores, new String(algo, StandardCharsets.UTF_8), elapsedMs, debugJson);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("응답이 잘렸습니다", e);
+		}
+	}
+
+	private static void writeHeader(ByteBuffer buf, int magic, int flags) {
+		buf.putInt(magic);
+		buf.put((byte)VERSION);
+		buf.put((byte)flags);
+		buf.putShort((short)0);
+	}
+
+	/** magic/version 확인 후 [version, byte5, u16] 을 담은 int 반환 (byte5 는 bit 8~15) */
+	private static int readHeader(ByteBuffer buf, int expectedMagic) {
+		int magic = buf.getInt();
+		if (magic != expectedMagic) {
+			throw new IllegalArgumentException("magic 불일치: " + Integer.toHexString(magic));
+		}
+		int rest = buf.getInt();
+		int version = rest & 0xff;
+		if (version != VERSION) {
+			throw new IllegalArgumentException("지원하지 않는 버전: " + version);
+		}
+		return rest;
+	}
+
+	private static int magic(String s) {
+		byte[] b = s.getBytes(StandardCharsets.US_ASCII);
+		return ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getInt();
+	}
+
+	private static float orZero(Float v) {
+		return v != null ? v : 0.0f;
+	}
+
+	private static float orNaN(Float v) {
+		return v != null ? v : Float.NaN;
+	}
+
+	/**
+	 * 개인 점수 응답 (엔진 반환 순서 그대로)
+	 *
+	 * @param restaurantIds 식당 ID
+	 * @param scores 점수 (restaurantIds 와 같은 인덱스)
+	 * @param algoVersion 알고리즘 버전
+	 * @param elapsedMs 엔진 계산 시간
+	 * @param debugJson 후보별 debug dict 목록 JSON (요청하지 않았으면 null)
+	 */
+	public record ScoreArrays(long[] restaurantIds, float[] scores, String algoVersion, int elapsedMs,
+		byte[] debugJson) {
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * main/repository/local/CbfV12ScoringEngine.java
+ * cbf_v1.2 규칙 기반 개인 점수 JVM 내부 계산
+ * Author: Jang
+ * Date: 2025-11-24
+ *
+ * - fastapi-score/app/services/scoring.py 의 score_personal 과 같은 식 (상수/캡/감쇠/기본값 동일)
+ * - 입력은 MainConverter.convertToFastApiSchema 로 보냈을 때와 같이 해석
+ *   (distance_m/태그 값/confidence 가 null 이면 0, 후보 TagPreference 는 weight 를 score 필드에 저장)
+ * - 사용자 태그의 clip(score) * clip(confidence) 를 한 번만 계산해 두고 후보 태그로 조회
+ * - 결과는 후보 입력 순서, debug 항목/반올림(4자리, round-half-even)도 FastAPI 응답과 동일
+ * - 수식 변경 시 FastAPI 와 함께 수정하고 src/test/resources/score/cbf_v1_2_parity.json 을 다시 기록해야 함
+ */
+
+package com.jde.mainserver.main.repository.local;
+
+import com.jde.mainserver.main.repository.ScoringEngine;
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class CbfV12ScoringEngine implements ScoringEngine {
+
+	public static final String ENGINE_NAME = "local";
+	public static final String ALGO_VERSION = "cbf_v1.2";
+
+	// 가중치 상수 (scoring.py 와 동일)
+	private static final double ALPHA_TAG = 0.55;
+	private static final double BETA_PREF = 0.45;
+	private static final double PREF_SCALE = 0.20;
+	private static final double COLD_START_DAMP = 0.85;
+	private static final double ENGAGEMENT_CAP = 0.25;
+	private static final double NO_SIGNAL_BASE = 0.01;
+
+	// 태그 유사도 squash: A * tanh(sum / sqrt(k) / T)
+	private static final double TAG_SQUASH_SCALE = 2.2;
+	private static final double TAG_SQUASH_TEMPERATURE = 3.5;
+
+	// 거리 감쇠: 700m 이하 1.0, 초과분 1km 당 exp(-0.6)
+	private static final double DECAY_FREE_DISTANCE_M = 700.0;
+	private static final double DECAY_LAMBDA_PER_KM = 0.6;
+
+	@Override
+	public String name() {
+		return ENGINE_NAME;
+	}
+
+	@Override
+	public boolean supports(String algo) {
+		return ALGO_VERSION.equals(algo);
+	}
+
+	@Override
+	public PersonalScoreResponse score(PersonalScoreRequest req, String algo, boolean debug) {
+		long started = System.nanoTime();
+		List<PersonalScoreRequest.Candidate> cands = req.candidates();
+		if (cands == null || cands.isEmpty()) {
+			throw new IllegalArgumentException("candidates는 최소 1개 이상 필요합니다");
+		}
+
+		Map<Long, Double> userWeights = userWeights(req.userTagPref());
+		List<PersonalScoreResponse.ScoredItem> items = new ArrayList<>(cands.size());
+		for (PersonalScoreRequest.Candidate c : cands) {
+			double wTag = tagSimilarity(userWeights, c.tagPref());
+			Float pref = c.prefScore();
+			double decay = distanceDecay(c.distanceM() != null ? c.distanceM() : 0.0);
+			double wPref = pref != null ? pref * PREF_SCALE : 0.0;
+			double wEng = c.engagementBoost() != null ? Math.min(c.engagementBoost(), ENGAGEMENT_CAP) : 0.0;
+
+			double base = ALPHA_TAG * wTag + BETA_PREF * wPref + wEng;
+			if (wTag == 0.0 && wPref == 0.0 && wEng == 0.0) {
+				base = NO_SIGNAL_BASE;
+			}
+			boolean cold = Boolean.FALSE.equals(c.hasInteractionRecent());
+			if (cold) {
+				base *= COLD_START_DAMP;
+			}
+			double score = base * decay;
+
+			Map<String, Object> reasons = null;
+			if (debug) {
+				reasons = new LinkedHashMap<>();
+				reasons.put("w_tag", round4(wTag));
+				reasons.put("pref_score", pref != null ? pref.doubleValue() : null);
+				reasons.put("w_pref", round4(wPref));
+				reasons.put("w_eng", round4(wEng));
+				reasons.put("alpha_tag", ALPHA_TAG);
+				reasons.put("beta_pref", BETA_PREF);
+				reasons.put("w_tag_contribution", round4(ALPHA_TAG * wTag));
+				reasons.put("w_pref_contribution", round4(BETA_PREF * wPref));
+				reasons.put("has_interaction_recent", c.hasInteractionRecent());
+				reasons.put("cold_start_damp", round4(cold ? COLD_START_DAMP : 1.0));
+				reasons.put("base", round4(base));
+				reasons.put("distance_decay", round4(decay));
+				reasons.put("final", round4(score));
+			}
+			items.add(new PersonalScoreResponse.ScoredItem(c.restaurantId(), score, reasons));
+		}
+
+		Map<String, Object> meta = Map.of(
+			"algo_version", ALGO_VERSION,
+			"elapsed_ms", (int)((System.nanoTime() - started) / 1_000_000L),
+			"engine", ENGINE_NAME
+		);
+		return new PersonalScoreResponse(items, meta);
+	}
+
+	/** 사용자 태그별 clip(score, -3, 3) * clip(confidence, 0.2, 0.95) */
+	private static Map<Long, Double> userWeights(Map<Long, PersonalScoreRequest.TagPreference> userTagPref) {
+		if (userTagPref == null || userTagPref.isEmpty()) {
+			return Map.of();
+		}
+		Map<Long, Double> weights = new HashMap<>(userTagPref.size() * 2);
+		userTagPref.forEach((tagId, p) -> {
+			double value = clip(orZero(p.score()), -3.0, 3.0);
+			double conf = clip(orZero(p.confidence()), 0.2, 0.95);
+			weights.put(tagId, value * conf);
+		});
+		return weights;
+	}
+
+	/** 태그 매칭 점수: 항별 캡 → sqrt(매칭 수) 정규화 → 2.2 * tanh(x / 3.5) */
+	private static double tagSimilarity(Map<Long, Double> userWeights,
+		Map<Long, PersonalScoreRequest.TagPreference> restaurantTags) {
+		if (userWeights.isEmpty() || restaurantTags == null || restaurantTags.isEmpty()) {
+			return 0.0;
+		}
+		int matchCount = 0;
+		double sum = 0.0;
+		for (Map.Entry<Long, PersonalScoreRequest.TagPreference> e : restaurantTags.entrySet()) {
+			Double userWeight = userWeights.get(e.getKey());
+			if (userWeight == null) {
+				continue;
+			}
+			PersonalScoreRequest.TagPreference p = e.getValue();
+			double restValue = clip(orZero(p.score()), 0.0, 6.0);
+			double restConf = clip(orZero(p.confidence()), 0.2, 0.95);
+			sum += userWeight * restValue * restConf;
+			matchCount++;
+		}
+		if (matchCount == 0) {
+			return 0.0;
+		}
+		return TAG_SQUASH_SCALE * Math.tanh(sum / Math.sqrt(matchCount) / TAG_SQUASH_TEMPERATURE);
+	}
+
+	private static double distanceDecay(double distanceM) {
+		if (distanceM <= DECAY_FREE_DISTANCE_M) {
+			return 1.0;
+		}
+		return Math.exp(-DECAY_LAMBDA_PER_KM * ((distanceM - DECAY_FREE_DISTANCE_M) / 1000.0));
+	}
+
+	private static double clip(double x, double lo, double hi) {
+		return Math.max(lo, Math.min(hi, x));
+	}
+
+	private static double orZero(Float v) {
+		return v != null ? v : 0.0;
+	}
+
+	/** Python round(x, 4) 와 동일 (double 의 정확한 십진 값을 기준으로 round-half-even) */
+	static double round4(double x) {
+		if (Double.isNaN(x) || Double.isInfinite(x)) {
+			return x;
+		}
+		return new BigDecimal(x).setScale(4, RoundingMode.HALF_EVEN).doubleValue();
+	}
+}
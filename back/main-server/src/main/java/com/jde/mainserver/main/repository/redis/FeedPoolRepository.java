@@ -0,0 +1,332 @@
+/**
+ * main/repository/redis/FeedPoolRepository.java
+ * 피드 풀 Redis 저장소 (feed:pool:*)
+ * Author: Jang
+ * Date: 2025-11-22
+ *
+ * - 풀은 Redis 리스트로 저장하고 원소는 고정 길이 바이너리 엔트리 (13 byte)
+ *   [restaurantId: long 8][distanceM: int 4, 없으면 Integer.MIN_VALUE][flags: byte 1, bit0=isOpen 있음, bit1=isOpen]
+ * - 페이지 조회는 Lua 스크립트 하나로 LRANGE offset offset+size-1 + LLEN (풀 크기와 무관하게 페이지 크기만큼만 전송/디코딩)
+ * - 점수 debug 정보는 debug 요청 시에만 별도 해시 키({key}:debug, field=식당 ID)에 저장
+ * - 저장은 Lua 스크립트 하나로 기존 풀/노출 위치 삭제 + RPUSH + PEXPIRE 를 원자적으로 실행
+ *   (읽는 쪽이 부분적으로 채워진 리스트를 보지 않고, 동시에 저장하는 쪽끼리 섞이거나 이전 풀의 노출 위치가 남지 않도록)
+ * - 이전 형식(JSON 문자열 값)이 남아 있는 키는 WRONGTYPE 이므로 조회 실패(miss)로 처리
+ * - 페이지 조회 시 노출 위치({key}:served, 읽어 간 구간 끝의 최댓값)를 같은 스크립트에서 갱신
+ *   (미리 준비한 배치도 노출된 것으로 봄), 스와이프 후에는 그 뒤(아직 노출 전) 구간만 replaceUnserved 로 교체
+ *   (읽기와 노출 기록 사이에 replaceUnserved 가 끼어들어 이미 읽어 간 구간을 바꾸지 않도록 한 스크립트로 실행)
+ */
+
+package com.jde.mainserver.main.repository.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class FeedPoolRepository {
+
+	public static final String USER_KEY_PREFIX = "feed:pool:user:";
+
+	static final int ENTRY_BYTES = 13;
+	private static final int NULL_DISTANCE = Integer.MIN_VALUE;
+	private static final byte FLAG_HAS_OPEN = 0x1;
+	private static final byte FLAG_OPEN = 0x2;
+	private static final String DEBUG_SUFFIX = ":debug";
+	private static final String SERVED_SUFFIX = ":served";
+
+	/** KEYS[1]=풀, KEYS[2]=노출 위치 / ARGV[1]=만료(ms), ARGV[2..]=엔트리 (RPUSH 인자는 1000 개씩) */
+	private static final byte[] SAVE_SCRIPT = raw("""
+		redis.call('DEL', KEYS[1], KEYS[2])
+		for i = 2, #ARGV, 1000 do
+			redis.call('RPUSH', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))
+		end
+		if #ARGV > 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end
+		return 1
+		""");
+
+	/** KEYS[1]=풀, KEYS[2]=노출 위치 / ARGV[1]=읽어 간 구간 끝 (풀과 같은 만료, 더 큰 값일 때만 갱신) */
+	private static final byte[] MARK_SERVED_SCRIPT = raw("""
+		local ttl = redis.call('PTTL', KEYS[1])
+		if ttl <= 0 then return 0 end
+		local served = tonumber(redis.call('GET', KEYS[2]) or '0')
+		if tonumber(ARGV[1]) > served then redis.call('SET', KEYS[2], ARGV[1], 'PX', ttl) end
+		return 1
+		""");
+
+	/**
+	 * KEYS[1]=풀, KEYS[2]=노출 위치 / ARGV[1]=시작, ARGV[2]=끝(포함), ARGV[3]=읽어 간 구간 끝
+	 * {페이지 엔트리, 풀 크기} 반환, 풀이 있으면 노출 위치를 MARK_SERVED_SCRIPT 와 같은 규칙으로 갱신
+	 */
+	private static final byte[] READ_PAGE_SCRIPT = raw("""
+		local total = redis.call('LLEN', KEYS[1])
+		if total == 0 then return {{}, 0} end
+		local page = redis.call('LRANGE', KEYS[1], ARGV[1], ARGV[2])
+		local ttl = redis.call('PTTL', KEYS[1])
+		if ttl > 0 then
+			local served = tonumber(redis.call('GET', KEYS[2]) or '0')
+			if tonumber(ARGV[3]) > served then redis.call('SET', KEYS[2], ARGV[3], 'PX', ttl) end
+		end
+		return {page, total}
+		""");
+
+	/**
+	 * KEYS[1]=풀, KEYS[2]=노출 위치
+	 * ARGV[1]=읽었을 때 노출 위치, ARGV[2]=읽었을 때 풀 크기, ARGV[3]=읽었을 때 미노출 구간(엔트리 연결), ARGV[4..]=새 미노출 구간
+	 * 읽은 뒤 노출 위치/풀이 바뀌었으면 0, 아니면 미노출 구간만 교체하고 만료 유지 후 1
+	 */
+	private static final byte[] REPLACE_UNSERVED_SCRIPT = raw("""
+		local served = tonumber(redis.call('GET', KEYS[2]) or '0')
+		if served ~= tonumber(ARGV[1]) or redis.call('LLEN', KEYS[1]) ~= tonumber(ARGV[2]) then return 0 end
+		local ttl = redis.call('PTTL', KEYS[1])
+		if ttl <= 0 then return 0 end
+		if table.concat(redis.call('LRANGE', KEYS[1], served, -1)) ~= ARGV[3] then return 0 end
+		if served > 0 then redis.call('LTRIM', KEYS[1], 0, served - 1) else redis.call('DEL', KEYS[1]) end
+		for i = 4, #ARGV do redis.call('RPUSH', KEYS[1], ARGV[i]) end
+		if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('PEXPIRE', KEYS[1], ttl) end
+		return 1
+		""");
+
+	private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+	private final RedisTemplate<String, Object> redisTemplate;
+
+	public FeedPoolRepository(
+		RedisTemplate<String, byte[]> binaryRedisTemplate,
+		RedisTemplate<String, Object> redisTemplate
+	) {
+		this.binaryRedisTemplate = binaryRedisTemplate;
+		this.redisTemplate = redisTemplate;
+	}
+
+	/**
+	 * 풀 저장 (기존 풀 교체)
+	 *
+	 * @param key 풀 키
+	 * @param entries 풀 엔트리 (노출 순서)
+	 * @param debugById 식당 ID -> 점수 debug 정보 (null 이면 debug 키를 쓰지 않고 기존 debug 키 삭제)
+	 * @param ttl 유지 시간
+	 */
+	public void save(String key, List<Entry> entries, Map<Long, Map<String, Object>> debugById, Duration ttl) {
+		byte[][] keysAndArgs = new byte[3 + entries.size()][];
+		keysAndArgs[0] = raw(key);
+		keysAndArgs[1] = raw(key + SERVED_SUFFIX);
+		keysAndArgs[2] = raw(String.valueOf(ttl.toMillis()));
+		for (int i = 0; i < entries.size(); i++) {
+			keysAndArgs[3 + i] = encode(entries.get(i));
+		}
+		binaryRedisTemplate.execute((RedisCallback<Object>)connection ->
+			connection.scriptingCommands().eval(SAVE_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs));
+
+		String debugKey = key + DEBUG_SUFFIX;
+		redisTemplate.delete(debugKey);
+		if (debugById != null && !debugById.isEmpty()) {
+			Map<String, Object> fields = new HashMap<>();
+			debugById.forEach((id, debug) -> {
+				if (debug != null) {
+					fields.put(String.valueOf(id), debug);
+				}
+			});
+			if (!fields.isEmpty()) {
+				redisTemplate.opsForHash().putAll(debugKey, fields);
+				redisTemplate.expire(debugKey, ttl);
+			}
+		}
+	}
+
+	/**
+	 * 페이지 조회 (읽어 간 구간 끝을 노출 위치로 기록)
+	 *
+	 * @return 페이지 (풀이 없거나 이전 형식이면 null)
+	 */
+	public Page readPage(String key, int offset, int size) {
+		byte[][] keysAndArgs = {
+			raw(key),
+			raw(key + SERVED_SUFFIX),
+			raw(String.valueOf(offset)),
+			raw(String.valueOf(offset + size - 1L)),
+			raw(String.valueOf(offset + (long)size))
+		};
+		try {
+			List<Object> results = binaryRedisTemplate.execute((RedisCallback<List<Object>>)connection ->
+				connection.scriptingCommands().eval(READ_PAGE_SCRIPT, ReturnType.MULTI, 2, keysAndArgs));
+			long total = results != null && results.get(1) instanceof Number n ? n.longValue() : 0L;
+			if (total == 0) {
+				return null;
+			}
+			List<Entry> entries = new ArrayList<>();
+			if (results.get(0) instanceof List<?> rawEntries) {
+				for (Object raw : rawEntries) {
+					if (raw instanceof byte[] bytes && bytes.length == ENTRY_BYTES) {
+						entries.add(decode(bytes));
+					}
+				}
+			}
+			return new Page(entries, total);
+		} catch (DataAccessException e) {
+			// WRONGTYPE: 이전 형식(문자열 값) 키 -> miss 로 처리 (재생성 시 교체됨)
+			log.warn("[FeedPoolRepository.readPage] 풀 조회 실패, 재생성 필요: key={}, error={}", key, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 노출 위치 기록 (재생성 직후 메모리에서 잘라 응답한 경우, 페이지 조회는 readPage 가 기록)
+	 */
+	public void markServed(String key, long end) {
+		try {
+			binaryRedisTemplate.execute((RedisCallback<Object>)connection -> connection.scriptingCommands().eval(
+				MARK_SERVED_SCRIPT, ReturnType.INTEGER, 2, raw(key), raw(key + SERVED_SUFFIX), raw(String.valueOf(end))));
+		} catch (DataAccessException e) {
+			// 기록하지 못하면 다음 스와이프 보정이 이미 노출된 구간까지 바꿀 수 있으나, 다음 페이지 조회에서 다시 기록됨
+			log.warn("[FeedPoolRepository.markServed] 노출 위치 기록 실패: key={}, error={}", key, e.getMessage());
+		}
+	}
+
+	/**
+	 * 아직 노출하지 않은 구간 조회 (노출 위치 이후 엔트리)
+	 *
+	 * @return 미노출 구간 (풀이 없거나, 모두 노출했거나, 이전 형식이면 null)
+	 */
+	public Unserved readUnserved(String key) {
+		byte[] rawKey = raw(key);
+		try {
+			List<Object> results = binaryRedisTemplate.executePipelined((RedisCallback<Object>)connection -> {
+				connection.stringCommands().get(raw(key + SERVED_SUFFIX));
+				connection.listCommands().lRange(rawKey, 0, -1);
+				return null;
+			});
+			long served = results.get(0) instanceof byte[] bytes
+				? Long.parseLong(new String(bytes, StandardCharsets.UTF_8))
+				: 0L;
+			if (!(results.get(1) instanceof List<?> rawEntries) || served >= rawEntries.size()) {
+				return null;
+			}
+			List<Entry> entries = new ArrayList<>(rawEntries.size() - (int)served);
+			for (Object raw : rawEntries.subList((int)served, rawEntries.size())) {
+				if (!(raw instanceof byte[] bytes) || bytes.length != ENTRY_BYTES) {
+					return null;
+				}
+				entries.add(decode(bytes));
+			}
+			return new Unserved(served, rawEntries.size(), entries);
+		} catch (DataAccessException | NumberFormatException e) {
+			log.warn("[FeedPoolRepository.readUnserved] 미노출 구간 조회 실패: key={}, error={}", key, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 미노출 구간 교체 (readUnserved 이후 풀/노출 위치가 그대로일 때만 원자적으로 교체, 만료 유지)
+	 *
+	 * @param read readUnserved 로 읽은 구간
+	 * @param entries 새 미노출 구간 (노출 순서)
+	 * @return 교체 여부 (그 사이 페이지 조회/재생성이 있었으면 false)
+	 */
+	public boolean replaceUnserved(String key, Unserved read, List<Entry> entries) {
+		byte[][] keysAndArgs = new byte[5 + entries.size()][];
+		keysAndArgs[0] = raw(key);
+		keysAndArgs[1] = raw(key + SERVED_SUFFIX);
+		keysAndArgs[2] = raw(String.valueOf(read.served()));
+		keysAndArgs[3] = raw(String.valueOf(read.total()));
+		ByteBuffer expected = ByteBuffer.allocate(read.entries().size() * ENTRY_BYTES);
+		for (Entry entry : read.entries()) {
+			expected.put(encode(entry));
+		}
+		keysAndArgs[4] = expected.array();
+		for (int i = 0; i < entries.size(); i++) {
+			keysAndArgs[5 + i] = encode(entries.get(i));
+		}
+		try {
+			Long replaced = binaryRedisTemplate.execute((RedisCallback<Long>)connection ->
+				connection.scriptingCommands().eval(REPLACE_UNSERVED_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs));
+			return replaced != null && replaced == 1L;
+		} catch (DataAccessException e) {
+			log.warn("[FeedPoolRepository.replaceUnserved] 미노출 구간 교체 실패: key={}, error={}", key, e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * 페이지 식당들의 점수 debug 정보 조회 (debug 요청 시에만 호출)
+	 */
+	public Map<Long, Map<String, Object>> readDebug(String key, List<Long> restaurantIds) {
+		if (restaurantIds.isEmpty()) {
+			return Map.of();
+		}
+		List<Object> fields = restaurantIds.stream().map(id -> (Object)String.valueOf(id)).toList();
+		List<Object> values = redisTemplate.opsForHash().multiGet(key + DEBUG_SUFFIX, fields);
+		Map<Long, Map<String, Object>> result = new HashMap<>();
+		for (int i = 0; i < restaurantIds.size(); i++) {
+			if (values.get(i) instanceof Map<?, ?> debug) {
+				@SuppressWarnings("unchecked")
+				Map<String, Object> casted = (Map<String, Object>)debug;
+				result.put(restaurantIds.get(i), casted);
+			}
+		}
+		return result;
+	}
+
+	public void delete(String key) {
+		binaryRedisTemplate.delete(List.of(key, key + DEBUG_SUFFIX, key + SERVED_SUFFIX));
+	}
+
+	static byte[] encode(Entry entry) {
+		byte flags = 0;
+		if (entry.isOpen() != null) {
+			flags |= FLAG_HAS_OPEN;
+			if (entry.isOpen()) {
+				flags |= FLAG_OPEN;
+			}
+		}
+		return ByteBuffer.allocate(ENTRY_BYTES)
+			.putLong(entry.restaurantId())
+			.putInt(entry.distanceM() != null ? entry.distanceM() : NULL_DISTANCE)
+			.put(flags)
+			.array();
+	}
+
+	static Entry decode(byte[] bytes) {
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		long restaurantId = buf.getLong();
+		int distance = buf.getInt();
+		byte flags = buf.get();
+		return new Entry(
+			restaurantId,
+			distance == NULL_DISTANCE ? null : distance,
+			(flags & FLAG_HAS_OPEN) != 0 ? (flags & FLAG_OPEN) != 0 : null
+		);
+	}
+
+	/** 회원 피드 풀 키 */
+	public static String userKey(Long userId) {
+		return USER_KEY_PREFIX + userId;
+	}
+
+	private static byte[] raw(String key) {
+		return key.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/** 풀 엔트리 (식당 ID, 거리, 영업 여부) */
+	public record Entry(long restaurantId, Integer distanceM, Boolean isOpen) {
+	}
+
+	/** 페이지 조회 결과 (페이지 엔트리, 풀 전체 크기) */
+	public record Page(List<Entry> entries, long total) {
+	}
+
+	/** 미노출 구간 조회 결과 (노출 위치, 풀 전체 크기, 노출 위치 이후 엔트리) */
+	public record Unserved(long served, long total, List<Entry> entries) {
+	}
+}
@@ -0,0 +1,351 @@
+/**
+ * main/repository/redis/ScoreResultCache.java
+ * 점수 엔진 결과 Redis 캐시 (score:cache:*)
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 입력 지문(SHA-256 앞 128bit)을 키로 점수 결과를 저장, 같은 입력의 재계산(cursor=0 새로고침, 풀 TTL 만료,
+ *   같은 참여자/중심으로 여러 약속 생성)은 점수 엔진을 호출하지 않음
+ *   - 개인: (알고리즘, 사용자, 태그 선호, 후보 feature)
+ *   - 그룹: (참여자 집합과 각자의 태그 선호, 후보 feature)
+ * - 태그 선호는 요청에 실린 값 그대로 지문에 넣음 (캐시 시점에 따로 읽은 선호 버전은 요청을 만든 뒤 바뀌었을 수 있어
+ *   이전 선호로 계산한 점수가 새 버전 키로 저장될 수 있음)
+ *   후보 feature (거리, 영업 여부, pref_score, 상호작용 등)도 값 그대로 지문에 포함
+ * - debug 요청, 비활성화 시에는 캐시를 건너뜀 (bypass)
+ * - 값: 고정 길이 바이너리 (개인: [algoLen:short][algo][n:int][id:long, score:double]*n, 그룹: [n:int][id:long, score:float]*n)
+ * - 지표: score.cache.requests{kind, result=hit|miss|bypass}, score.cache.hit.ratio{kind}
+ */
+
+package com.jde.mainserver.main.repository.redis;
+
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+import com.jde.mainserver.plan.web.dto.request.GroupScoreReqeust;
+import com.jde.mainserver.plan.web.dto.response.GroupScoreResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ScoreResultCache {
+
+	private static final String PERSONAL_PREFIX = "score:cache:p:";
+	private static final String GROUP_PREFIX = "score:cache:g:";
+	private static final int KEY_HASH_BYTES = 16;
+
+	private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+	private final boolean enabled;
+	private final Duration ttl;
+	private final Stats personalStats;
+	private final Stats groupStats;
+
+	public ScoreResultCache(
+		RedisTemplate<String, byte[]> binaryRedisTemplate,
+		MeterRegistry meterRegistry,
+		@Value("${score.cache.enabled:true}") boolean enabled,
+		@Value("${score.cache.ttl-ms:1800000}") long ttlMs
+	) {
+		this.binaryRedisTemplate = binaryRedisTemplate;
+		this.enabled = enabled;
+		this.ttl = Duration.ofMillis(ttlMs);
+		this.personalStats = new Stats("personal", meterRegistry);
+		this.groupStats = new Stats("group", meterRegistry);
+	}
+
+	/**
+	 * 개인 점수 (캐시에 있으면 그대로, 없으면 scorer 결과를 저장 후 반환)
+	 *
+	 * @param scorer 점수 엔진 호출 (miss/bypass 시에만 실행, 예외는 그대로 전달되고 저장하지 않음)
+	 */
+	public PersonalScoreResponse personal(PersonalScoreRequest req, String algo, boolean debug,
+		Supplier<PersonalScoreResponse> scorer) {
+		if (!enabled || debug || req.userId() == null) {
+			personalStats.bypass.increment();
+			return scorer.get();
+		}
+
+		String key = PERSONAL_PREFIX + personalFingerprint(req, algo);
+		PersonalScoreResponse cached = decodePersonal(read(key));
+		if (cached != null) {
+			personalStats.hit.increment();
+			return cached;
+		}
+		personalStats.miss.increment();
+		PersonalScoreResponse res = scorer.get();
+		write(key, encodePersonal(res, algo));
+		return res;
+	}
+
+	/**
+	 * 그룹 점수 (캐시에 있으면 그대로, 없으면 scorer 결과를 저장 후 반환)
+	 *
+	 * @param scorer 점수 엔진 호출 (miss/bypass 시에만 실행, 예외는 그대로 전달되고 저장하지 않음)
+	 */
+	public GroupScoreResponse group(GroupScoreReqeust req, Supplier<GroupScoreResponse> scorer) {
+		List<GroupScoreReqeust.UserPrefFeature> members = req.getMembers() != null ? req.getMembers() : List.of();
+		if (!enabled || Boolean.TRUE.equals(req.getDebug())
+			|| members.stream().anyMatch(m -> m == null || m.getUserId() == null)) {
+			groupStats.bypass.increment();
+			return scorer.get();
+		}
+
+		String key = GROUP_PREFIX + groupFingerprint(req);
+		GroupScoreResponse cached = decodeGroup(read(key));
+		if (cached != null) {
+			groupStats.hit.increment();
+			return cached;
+		}
+		groupStats.miss.increment();
+		GroupScoreResponse res = scorer.get();
+		write(key, encodeGroup(res));
+		return res;
+	}
+
+	private byte[] read(String key) {
+		try {
+			return binaryRedisTemplate.opsForValue().get(key);
+		} catch (DataAccessException e) {
+			log.warn("[ScoreResultCache.read] 조회 실패: key={}, error={}", key, e.getMessage());
+			return null;
+		}
+	}
+
+	private void write(String key, byte[] value) {
+		if (value == null) {
+			return;
+		}
+		try {
+			binaryRedisTemplate.opsForValue().set(key, value, ttl);
+		} catch (DataAccessException e) {
+			log.warn("[ScoreResultCache.write] 저장 실패: key={}, error={}", key, e.getMessage());
+		}
+	}
+
+	/** 개인 점수 입력 지문 (후보는 요청 순서, 태그는 ID 순서) */
+	static String personalFingerprint(PersonalScoreRequest req, String algo) {
+		Fingerprint fp = new Fingerprint();
+		fp.string("personal:v2").string(algo).number(req.userId());
+		Map<Long, PersonalScoreRequest.TagPreference> userPref =
+			req.userTagPref() != null ? new TreeMap<>(req.userTagPref()) : Map.of();
+		fp.number(userPref.size());
+		userPref.forEach((tagId, pref) -> fp.number(tagId).number(pref.score()).number(pref.confidence()));
+		List<PersonalScoreRequest.Candidate> candidates = req.candidates() != null ? req.candidates() : List.of();
+		fp.number(candidates.size());
+		for (PersonalScoreRequest.Candidate c : candidates) {
+			fp.number(c.restaurantId())
+				.number(c.distanceM())
+				.flag(c.isOpen())
+				.string(c.priceRange())
+				.number(c.prefScore())
+				.flag(c.hasInteractionRecent())
+				.number(c.engagementBoost());
+			Map<Long, PersonalScoreRequest.TagPreference> tags = c.tagPref() != null ? new TreeMap<>(c.tagPref()) : Map.of();
+			fp.number(tags.size());
+			tags.forEach((tagId, pref) -> fp.number(tagId).number(pref.score()).number(pref.confidence()));
+		}
+		return fp.hex();
+	}
+
+	/** 그룹 점수 입력 지문 (참여자는 ID 순서, 후보는 요청 순서, 태그는 ID 순서) */
+	static String groupFingerprint(GroupScoreReqeust req) {
+		Fingerprint fp = new Fingerprint();
+		fp.string("group:v2");
+		TreeMap<Long, Map<Long, GroupScoreReqeust.TagPreference>> prefByUser = new TreeMap<>();
+		List<GroupScoreReqeust.UserPrefFeature> members = req.getMembers() != null ? req.getMembers() : List.of();
+		for (GroupScoreReqeust.UserPrefFeature member : members) {
+			prefByUser.put(member.getUserId(), member.getTagPref() != null ? new TreeMap<>(member.getTagPref()) : Map.of());
+		}
+		fp.number(prefByUser.size());
+		prefByUser.forEach((userId, prefs) -> {
+			fp.number(userId).number(prefs.size());
+			prefs.forEach((tagId, pref) -> tagPreference(fp.number(tagId), pref));
+		});
+		List<GroupScoreReqeust.CandidateFeature> candidates = req.getCandidates() != null ? req.getCandidates() : List.of();
+		fp.number(candidates.size());
+		for (GroupScoreReqeust.CandidateFeature c : candidates) {
+			fp.number(c.getRestaurantId())
+				.number(c.getDistanceM())
+				.number(c.getPrefScore())
+				.flag(c.getHasInteractionRecent())
+				.number(c.getEngagementBoost());
+			Map<Long, GroupScoreReqeust.TagPreference> tags = c.getTagPref() != null ? new TreeMap<>(c.getTagPref()) : Map.of();
+			fp.number(tags.size());
+			tags.forEach((tagId, pref) -> tagPreference(fp.number(tagId), pref));
+		}
+		return fp.hex();
+	}
+
+	private static void tagPreference(Fingerprint fp, GroupScoreReqeust.TagPreference pref) {
+		fp.number(pref.getScore()).number(pref.getWeight()).number(pref.getConfidence());
+	}
+
+	static byte[] encodePersonal(PersonalScoreResponse res, String algo) {
+		if (res == null || res.items() == null) {
+			return null;
+		}
+		Object algoVersion = res.debug() != null ? res.debug().getOrDefault("algo_version", algo) : algo;
+		byte[] algoBytes = String.valueOf(algoVersion).getBytes(StandardCharsets.UTF_8);
+		List<PersonalScoreResponse.ScoredItem> items = res.items();
+		ByteBuffer buf = ByteBuffer.allocate(2 + algoBytes.length + 4 + items.size() * 16);
+		buf.putShort((short)algoBytes.length).put(algoBytes).putInt(items.size());
+		for (PersonalScoreResponse.ScoredItem item : items) {
+			buf.putLong(item.restaurantId()).putDouble(item.score());
+		}
+		return buf.array();
+	}
+
+	static PersonalScoreResponse decodePersonal(byte[] value) {
+		if (value == null) {
+			return null;
+		}
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(value);
+			byte[] algoBytes = new byte[buf.getShort()];
+			buf.get(algoBytes);
+			int n = buf.getInt();
+			List<PersonalScoreResponse.ScoredItem> items = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				items.add(new PersonalScoreResponse.ScoredItem(buf.getLong(), buf.getDouble(), null));
+			}
+			Map<String, Object> debug = Map.of(
+				"algo_version", new String(algoBytes, StandardCharsets.UTF_8),
+				"elapsed_ms", 0
+			);
+			return new PersonalScoreResponse(items, debug);
+		} catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+			return null;
+		}
+	}
+
+	static byte[] encodeGroup(GroupScoreResponse res) {
+		if (res == null || res.getScores() == null) {
+			return null;
+		}
+		Map<Long, Float> scores = res.getScores();
+		ByteBuffer buf = ByteBuffer.allocate(4 + scores.size() * 12);
+		buf.putInt(scores.size());
+		scores.forEach((id, score) -> buf.putLong(id).putFloat(score != null ? score : Float.NaN));
+		return buf.array();
+	}
+
+	static GroupScoreResponse decodeGroup(byte[] value) {
+		if (value == null) {
+			return null;
+		}
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(value);
+			int n = buf.getInt();
+			Map<Long, Float> scores = new HashMap<>(Math.max(n, 0) * 2);
+			for (int i = 0; i < n; i++) {
+				long id = buf.getLong();
+				float score = buf.getFloat();
+				scores.put(id, Float.isNaN(score) ? null : score);
+			}
+			return GroupScoreResponse.builder().scores(scores).build();
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/** 입력 값을 순서대로 해시 (null 과 값이 구분되도록 표식 바이트를 앞에 씀) */
+	private static final class Fingerprint {
+
+		private final MessageDigest digest;
+		private final ByteBuffer scratch = ByteBuffer.allocate(9);
+
+		private Fingerprint() {
+			try {
+				this.digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private Fingerprint number(Number value) {
+			scratch.clear();
+			if (value == null) {
+				scratch.put((byte)0);
+			} else if (value instanceof Float f) {
+				scratch.put((byte)1).putInt(Float.floatToIntBits(f));
+			} else if (value instanceof Double d) {
+				scratch.put((byte)2).putLong(Double.doubleToLongBits(d));
+			} else {
+				scratch.put((byte)3).putLong(value.longValue());
+			}
+			digest.update(scratch.array(), 0, scratch.position());
+			return this;
+		}
+
+		private Fingerprint flag(Boolean value) {
+			digest.update(value == null ? (byte)0 : value ? (byte)1 : (byte)2);
+			return this;
+		}
+
+		private Fingerprint string(String value) {
+			if (value == null) {
+				number(null);
+				return this;
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			number(bytes.length);
+			digest.update(bytes);
+			return this;
+		}
+
+		private String hex() {
+			byte[] hash = digest.digest();
+			return HexFormat.of().formatHex(hash, 0, KEY_HASH_BYTES);
+		}
+	}
+
+	/** 종류별 hit/miss/bypass 카운터와 hit 비율 */
+	private static final class Stats {
+
+		private final Counter hit;
+		private final Counter miss;
+		private final Counter bypass;
+
+		private Stats(String kind, MeterRegistry meterRegistry) {
+			this.hit = counter(meterRegistry, kind, "hit");
+			this.miss = counter(meterRegistry, kind, "miss");
+			this.bypass = counter(meterRegistry, kind, "bypass");
+			Gauge.builder("score.cache.hit.ratio", this, Stats::hitRatio)
+				.tag("kind", kind)
+				.register(meterRegistry);
+		}
+
+		private double hitRatio() {
+			double lookups = hit.count() + miss.count();
+			return lookups == 0 ? 0.0 : hit.count() / lookups;
+		}
+
+		private static Counter counter(MeterRegistry meterRegistry, String kind, String result) {
+			return Counter.builder("score.cache.requests")
+				.tag("kind", kind)
+				.tag("result", result)
+				.register(meterRegistry);
+		}
+	}
+}
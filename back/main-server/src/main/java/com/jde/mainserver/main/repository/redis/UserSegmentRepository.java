@@ -0,0 +1,136 @@
+/**
+ * main/repository/redis/UserSegmentRepository.java
+ * 피드 사용자 구분(GUEST / NEW / EXISTING) 저장소 (user:segment:{userId})
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - EXISTING: 선호(user_tag_pref 또는 0 이 아닌 pref_score)가 한 번이라도 생긴 회원, 되돌아가지 않음
+ *   - MainCommandServiceImpl / OnboardingTagPrefInitializer 가 0 이 아닌 선호를 쓸 때 markExistingAfterCommit 으로 기록
+ *   - 되돌아가지 않으므로 인스턴스 메모리에도 보관 (기존 회원은 Redis/DB 조회 없이 구분)
+ * - NEW: 선호가 없는 회원, new-ttl-ms 동안만 보관 (SET NX 로 저장해 커밋 후 기록된 EXISTING 을 덮어쓰지 않음)
+ * - 기록이 없으면 hasPreference 로 DB 확인 후 저장, Redis 오류 시 저장 없이 DB 확인 결과 사용
+ */
+
+package com.jde.mainserver.main.repository.redis;
+
+import com.jde.mainserver.main.entity.enums.UserSegment;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+@Slf4j
+@Component
+public class UserSegmentRepository {
+
+	private static final String KEY_PREFIX = "user:segment:";
+	private static final Duration EXISTING_TTL = Duration.ofDays(30);
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final Duration newTtl;
+	private final Set<Long> knownExisting;
+
+	public UserSegmentRepository(
+		StringRedisTemplate stringRedisTemplate,
+		@Value("${feed.segment.new-ttl-ms:600000}") long newTtlMs,
+		@Value("${feed.segment.max-local-entries:100000}") int maxLocalEntries
+	) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.newTtl = Duration.ofMillis(newTtlMs);
+		int capacity = Math.max(maxLocalEntries, 1);
+		this.knownExisting = Collections.newSetFromMap(Collections.synchronizedMap(
+			new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+					return size() > capacity;
+				}
+			}));
+	}
+
+	/**
+	 * 사용자 구분
+	 *
+	 * @param userId 사용자 ID (null 이면 GUEST)
+	 * @param hasPreference 기록이 없을 때만 호출되는 DB 확인 (선호가 있으면 true)
+	 */
+	public UserSegment classify(Long userId, BooleanSupplier hasPreference) {
+		if (userId == null) {
+			return UserSegment.GUEST;
+		}
+		if (knownExisting.contains(userId)) {
+			return UserSegment.EXISTING;
+		}
+
+		String key = key(userId);
+		String stored;
+		try {
+			stored = stringRedisTemplate.opsForValue().get(key);
+		} catch (DataAccessException e) {
+			log.warn("[UserSegmentRepository.classify] 조회 실패: userId={}, error={}", userId, e.getMessage());
+			return hasPreference.getAsBoolean() ? UserSegment.EXISTING : UserSegment.NEW;
+		}
+		if (UserSegment.EXISTING.name().equals(stored)) {
+			knownExisting.add(userId);
+			return UserSegment.EXISTING;
+		}
+		if (UserSegment.NEW.name().equals(stored)) {
+			return UserSegment.NEW;
+		}
+
+		if (hasPreference.getAsBoolean()) {
+			markExisting(userId);
+			return UserSegment.EXISTING;
+		}
+		try {
+			stringRedisTemplate.opsForValue().setIfAbsent(key, UserSegment.NEW.name(), newTtl);
+		} catch (DataAccessException e) {
+			log.warn("[UserSegmentRepository.classify] 저장 실패: userId={}, error={}", userId, e.getMessage());
+		}
+		return UserSegment.NEW;
+	}
+
+	/**
+	 * 0 이 아닌 선호 기록 알림 (트랜잭션 안이면 커밋 후, 아니면 즉시 EXISTING 기록)
+	 */
+	public void markExistingAfterCommit(Long userId) {
+		if (knownExisting.contains(userId)) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					markExisting(userId);
+				}
+			});
+			return;
+		}
+		markExisting(userId);
+	}
+
+	private void markExisting(Long userId) {
+		try {
+			stringRedisTemplate.opsForValue().set(key(userId), UserSegment.EXISTING.name(), EXISTING_TTL);
+			knownExisting.add(userId);
+		} catch (DataAccessException e) {
+			// 기록하지 못하면 다음 조회에서 DB 로 다시 확인
+			log.warn("[UserSegmentRepository.markExisting] 저장 실패: userId={}, error={}", userId, e.getMessage());
+		}
+	}
+
+	private static String key(Long userId) {
+		return KEY_PREFIX + userId;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * main/repository/redis/UserTagPrefVersionRepository.java
+ * 사용자 태그 선호(user_tag_pref) 버전 Redis 저장소 (user:tagpref:ver:{userId})
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - user_tag_pref 를 바꾸는 쪽(upsertIncrement / deleteByUserId 호출부)이 UserTagPrefCache 를 통해 커밋 후 bump
+ *   (커밋 전 값으로 계산한 결과가 새 버전으로 저장되지 않도록)
+ * - 버전은 인스턴스별 선호 캐시(UserTagPrefCache) 항목에 함께 보관되어, 증가하면 이전 항목은 자연히 miss
+ *   (점수 결과 캐시는 버전 대신 요청에 실린 선호 값을 지문에 넣음)
+ * - 키가 없으면 0, 마지막 증가 후 KEY_TTL 이 지나면 만료 (의존 캐시 TTL 보다 충분히 김)
+ * - Redis 오류 시 조회는 null (호출부는 캐시를 건너뜀)
+ */
+
+package com.jde.mainserver.main.repository.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+public class UserTagPrefVersionRepository {
+
+	private static final String KEY_PREFIX = "user:tagpref:ver:";
+	private static final Duration KEY_TTL = Duration.ofDays(30);
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	public UserTagPrefVersionRepository(StringRedisTemplate stringRedisTemplate) {
+		this.stringRedisTemplate = stringRedisTemplate;
+	}
+
+	/**
+	 * 현재 버전
+	 *
+	 * @return 버전 (없으면 0, Redis 오류 시 null)
+	 */
+	public Long current(Long userId) {
+		try {
+			return parse(stringRedisTemplate.opsForValue().get(key(userId)));
+		} catch (DataAccessException e) {
+			log.warn("[UserTagPrefVersionRepository.current] 버전 조회 실패: userId={}, error={}", userId, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 버전 증가 (선호 변경이 커밋된 뒤 호출)
+	 *
+	 * @return 증가한 버전, Redis 오류 시 null
+	 */
+	public Long bump(Long userId) {
+		String key = key(userId);
+		try {
+			Long version = stringRedisTemplate.opsForValue().increment(key);
+			stringRedisTemplate.expire(key, KEY_TTL);
+			return version;
+		} catch (DataAccessException e) {
+			// 의존 캐시는 자체 TTL 동안 이전 선호 기준 결과를 돌려줄 수 있음
+			log.warn("[UserTagPrefVersionRepository.bump] 버전 증가 실패: userId={}, error={}", userId, e.getMessage());
+			return null;
+		}
+	}
+
+	private static long parse(String value) {
+		if (value == null) {
+			return 0L;
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return 0L;
+		}
+	}
+
+	private static String key(Long userId) {
+		return KEY_PREFIX + userId;
+	}
+}
@@ -3,25 +3,32 @@
  * 메인 Command 서비스 구현체
  * Author: Jang
  * Date: 2025-11-04
+ *
+ * - 상호작용(스와이프/즐겨찾기/상세 조회/공유/방문 피드백)마다 UserRestaurantStateRepository.record* 한 문장으로
+ *   식당 확인, 이벤트 저장, 상태 upsert, 식당 태그 선호 일괄 upsert 를 처리 (DB 왕복 1회)
+ * - 증분 규칙은 이 클래스(조회/공유는 InteractionCounter)에서 정하고, 기존 상태에 따라 달라지는 부분(최근 SELECT 가중치, 조회/공유 횟수 구간)만 쿼리에서 판단
+ * - write-behind 가 켜져 있으면 스와이프 이벤트는 커밋 후 InteractionWriteBuffer 에 맡김 (가득 차면 새 트랜잭션에서 바로 저장)
+ * - DISLIKE / SELECT 는 커밋 후 캐시된 피드 풀의 미노출 구간을 같은 태그 증분으로 보정 (FeedPoolPatcher)
  */
 
 package com.jde.mainserver.main.service.command;
 
+import com.jde.mainserver.main.entity.enums.InteractionCounter;
 import com.jde.mainserver.main.entity.enums.SwipeAction;
-import com.jde.mainserver.main.entity.UserRestaurantEvent;
-import com.jde.mainserver.main.entity.UserRestaurantState;
 import com.jde.mainserver.main.exception.MainErrorCode;
 import com.jde.mainserver.main.exception.MainException;
-import com.jde.mainserver.main.repository.UserRestaurantEventRepository;
 import com.jde.mainserver.main.repository.UserRestaurantStateRepository;
-import com.jde.mainserver.main.repository.UserTagPrefRepository;
+import com.jde.mainserver.main.repository.UserRestaurantStateRepository.InteractionResult;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
+import com.jde.mainserver.main.repository.buffer.InteractionWriteBuffer;
+import com.jde.mainserver.main.repository.redis.UserSegmentRepository;
+import com.jde.mainserver.main.service.query.FeedPoolPatcher;
+import com.jde.mainserver.main.service.query.FeedPrefetcher;
 import com.jde.mainserver.main.web.dto.request.SwipeRequest;
 import com.jde.mainserver.main.web.dto.response.SwipeResponse;
 import com.jde.mainserver.main.web.dto.response.VisitFeedbackResponse;
 import com.jde.mainserver.restaurants.exception.RestaurantErrorCode;
 import com.jde.mainserver.restaurants.exception.RestaurantException;
-import com.jde.mainserver.restaurants.repository.RestaurantRepository;
-import com.jde.mainserver.restaurants.repository.RestaurantTagRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,29 +39,34 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 
 @Slf4j
 @Service
 public class MainCommandServiceImpl implements MainCommandService {
 
-	private final UserRestaurantEventRepository eventRepository;
 	private final UserRestaurantStateRepository stateRepository;
-	private final RestaurantRepository restaurantRepository;
-	private final RestaurantTagRepository restaurantTagRepository;
-	private final UserTagPrefRepository userTagPrefRepository;
+	private final UserTagPrefCache userTagPrefCache;
+	private final UserSegmentRepository userSegmentRepository;
+	private final FeedPrefetcher feedPrefetcher;
+	private final FeedPoolPatcher feedPoolPatcher;
+	private final InteractionWriteBuffer interactionWriteBuffer;
 
 	public MainCommandServiceImpl(
-		UserRestaurantEventRepository eventRepository,
 		UserRestaurantStateRepository stateRepository,
-		RestaurantRepository restaurantRepository,
-		RestaurantTagRepository restaurantTagRepository,
-		UserTagPrefRepository userTagPrefRepository
+		UserTagPrefCache userTagPrefCache,
+		UserSegmentRepository userSegmentRepository,
+		FeedPrefetcher feedPrefetcher,
+		FeedPoolPatcher feedPoolPatcher,
+		InteractionWriteBuffer interactionWriteBuffer
 	) {
-		this.eventRepository = eventRepository;
 		this.stateRepository = stateRepository;
-		this.restaurantRepository = restaurantRepository;
-		this.restaurantTagRepository = restaurantTagRepository;
-		this.userTagPrefRepository = userTagPrefRepository;
+		this.userTagPrefCache = userTagPrefCache;
+		this.userSegmentRepository = userSegmentRepository;
+		this.feedPrefetcher = feedPrefetcher;
+		this.feedPoolPatcher = feedPoolPatcher;
+		this.interactionWriteBuffer = interactionWriteBuffer;
 	}
 
 	@Transactional
@@ -64,110 +76,64 @@ public class MainCommandServiceImpl implements MainCommandService {
 		final SwipeAction action = request.getAction();
 		final Instant now = Instant.now();
 
-		// 레스토랑 존재 검증
-		if (!restaurantRepository.existsById(restaurantId)) {
-			throw new MainException(MainErrorCode.NOT_FOUND_RESTAURANT);
-		}
-
-		// 현재 상태 조회 (최근성 가중치 계산용)
-		var stateKey = new UserRestaurantState.Key(userId, restaurantId);
-		var existingState = stateRepository.findById(stateKey).orElse(null);
-		boolean isRecentSelect = false;
-		if (existingState != null 
-			&& existingState.getLastSwipe() == SwipeAction.SELECT 
-			&& existingState.getLastSwipeAt() != null) {
-			Instant sevenDaysAgo = now.minus(Duration.ofDays(7));
-			isRecentSelect = existingState.getLastSwipeAt().isAfter(sevenDaysAgo);
-		}
-
-		// 1) 이벤트 저장 (append-only)
-		UserRestaurantEvent event = UserRestaurantEvent.builder()
-			.userId(userId)
-			.restaurantId(restaurantId)
-			.eventType(action)
-			.build();
-		eventRepository.save(event);
-
-		// 2) 상태 upsert (동시성 안전하게 ON CONFLICT 사용)
-		boolean isSaved = false; // 신규 insert 기본값은 false
-
 		// 액션별 선호 점수 증분 규칙
 		BigDecimal prefDelta;
+		BigDecimal recentPrefDelta;
 		Instant cooldownUntil = null;
+		BigDecimal tagDeltaScore;
+		BigDecimal tagDeltaConf;
 		if (action == SwipeAction.SELECT) {
 			prefDelta = new BigDecimal("0.800");
-			// 최근 7일 내 SELECT에는 +10% 가중치 적용
-			if (isRecentSelect) {
-				prefDelta = prefDelta.multiply(new BigDecimal("1.1"));
-			}
+			// 최근 7일 내 SELECT에는 +10% 가중치 적용 (직전 스와이프 확인은 쿼리에서)
+			recentPrefDelta = prefDelta.multiply(new BigDecimal("1.1"));
+			tagDeltaScore = new BigDecimal("0.15");
+			tagDeltaConf = new BigDecimal("0.30");
 		} else if (action == SwipeAction.DISLIKE) {
 			prefDelta = new BigDecimal("-1.000");
+			recentPrefDelta = prefDelta;
 			// DISLIKE 시 쿨다운 종료 시각 설정 (7일 후)
 			cooldownUntil = now.plus(Duration.ofDays(7));
+			tagDeltaScore = new BigDecimal("-0.20");
+			tagDeltaConf = new BigDecimal("0.20");
 		} else { // HOLD
 			prefDelta = new BigDecimal("-0.05");
+			recentPrefDelta = prefDelta;
+			tagDeltaScore = BigDecimal.ZERO;
+			tagDeltaConf = BigDecimal.ZERO;
 		}
 
-		// 신규 생성 시 초기값은 증분과 동일하게 부여
-		BigDecimal prefInit = prefDelta;
-
-		stateRepository.upsertBasic(
+		// 이벤트 저장 + 상태 upsert + 태그 선호 upsert (식당이 없으면 empty)
+		boolean bufferEvent = interactionWriteBuffer.isEnabled();
+		InteractionResult result = stateRepository.recordSwipe(
 			userId,
 			restaurantId,
-			isSaved,
 			action.name(),
+			!bufferEvent,
 			now,
-			prefInit,
+			now.minus(Duration.ofDays(7)),
 			prefDelta,
-			false,
-			cooldownUntil
-		);
-
-		// 3) 태그 선호 업데이트 (restaurant_tag 기반으로 분배)
-		var tagRows = restaurantTagRepository.findByRestaurantId(restaurantId);
-		// 액션별 태그 점수/신뢰도 증분
-		BigDecimal tagDeltaScore;
-		BigDecimal tagDeltaConf;
-		if (action == SwipeAction.SELECT) {
-			tagDeltaScore = new BigDecimal("0.15");
-			tagDeltaConf = new BigDecimal("0.30");
-		} else if (action == SwipeAction.DISLIKE) {
-			tagDeltaScore = new BigDecimal("-0.20");
-			tagDeltaConf = new BigDecimal("0.20");
-		} else { // HOLD
-			tagDeltaScore = BigDecimal.ZERO;
-			tagDeltaConf = BigDecimal.ZERO;
-		}
-
-		// 1/sqrt(1+n) 완충은 DB 집계 필요하므로 MVP에선 균등 분배로 단순화
-		for (var rt : tagRows) {
-			// 신규 생성 시 초기값은 증분과 동일하게 부여 (INSERT 시 initScore/initConf 사용)
-			// 업데이트 시에는 deltaScore/deltaConf를 더함
-			userTagPrefRepository.upsertIncrement(
-				userId,
-				rt.getTagId(),
-				tagDeltaScore,  // initScore: 신규 생성 시 초기값
-				tagDeltaConf,   // initConf: 신규 생성 시 초기값
-				tagDeltaScore,  // deltaScore: 업데이트 시 증분
-				tagDeltaConf    // deltaConf: 업데이트 시 증분
-			);
-		}
-
-		// 개인 선호 점수 조회
-		Double prefScore = null;
-		var state = stateRepository.findById(stateKey).orElse(null);
-		if (state != null && state.getPrefScore() != null) {
-			prefScore = state.getPrefScore().doubleValue();
+			recentPrefDelta,
+			cooldownUntil,
+			tagDeltaScore,
+			tagDeltaConf
+		).orElseThrow(() -> new MainException(MainErrorCode.NOT_FOUND_RESTAURANT));
+		afterInteraction(userId, result);
+		// 캐시된 피드 풀의 미노출 구간에 바로 반영 (재생성/점수 계산 없이)
+		feedPoolPatcher.patchAfterCommit(userId, restaurantId, action, tagDeltaScore.doubleValue());
+
+		// 이벤트는 커밋 후 버퍼에 보관 (롤백되면 남기지 않음)
+		if (bufferEvent) {
+			interactionWriteBuffer.offerEventAfterCommit(userId, restaurantId, action, now);
 		}
 
-		// 응답 구성
+		// 응답 구성 (신규 insert 기본값은 is_saved = false)
 		return new SwipeResponse(
 			userId,
 			restaurantId,
-			isSaved,
+			false,
 			action,
 			now,
-			prefScore
+			result.getPrefScore() != null ? result.getPrefScore().doubleValue() : null
 		);
 	}
 
@@ -191,77 +157,38 @@ public class MainCommandServiceImpl implements MainCommandService {
 	 * @param isSaved 즐겨찾기 추가(true) 또는 해제(false)
 	 */
 	private void updateBookmark(Long restaurantId, Long userId, boolean isSaved) {
-		final Instant now = Instant.now();
-
-		// 레스토랑 존재 검증
-		if (!restaurantRepository.existsById(restaurantId)) {
-			throw new RestaurantException(RestaurantErrorCode.NOT_FOUND_RESTAURANT);
-		}
-
-		// 현재 상태 조회
-		var stateKey = new UserRestaurantState.Key(userId, restaurantId);
-		var existingState = stateRepository.findById(stateKey).orElse(null);
-		boolean currentIsSaved = existingState != null && Boolean.TRUE.equals(existingState.getIsSaved());
-
-		// 이미 같은 상태인지 확인 (중복 요청 방지)
-		if (currentIsSaved == isSaved) {
-			return;
-		}
-
-		// 즐겨찾기 추가/해제에 따른 선호 점수 증분
+		// 즐겨찾기 추가/해제에 따른 선호 점수/태그 증분 (이미 같은 상태이면 쿼리에서 쓰지 않음)
 		BigDecimal prefDelta;
+		BigDecimal tagDeltaScore;
+		BigDecimal tagDeltaConf;
 		if (isSaved) {
 			prefDelta = new BigDecimal("0.500");
+			tagDeltaScore = new BigDecimal("0.10");
+			tagDeltaConf = new BigDecimal("0.20");
 		} else {
-			prefDelta = currentIsSaved ? new BigDecimal("-0.3") : BigDecimal.ZERO;
+			prefDelta = new BigDecimal("-0.3");
+			tagDeltaScore = new BigDecimal("-0.10");
+			tagDeltaConf = new BigDecimal("0.10");
 		}
 
-		// 신규 생성 시 초기값은 증분과 동일하게 부여
-		BigDecimal prefInit = prefDelta;
-
-		// 상태 upsert (is_saved 업데이트 포함)
-		stateRepository.upsertBasic(
+		InteractionResult result = stateRepository.recordBookmark(
 			userId,
 			restaurantId,
 			isSaved,
-			existingState != null && existingState.getLastSwipe() != null
-				? existingState.getLastSwipe().name()
-				: null,
-			existingState != null && existingState.getLastSwipeAt() != null
-				? existingState.getLastSwipeAt()
-				: now,
-			prefInit,
+			Instant.now(),
 			prefDelta,
-			true, // updateSaved = true로 설정하여 is_saved 업데이트
-			null  // cooldownUntil은 변경하지 않음
-		);
+			tagDeltaScore,
+			tagDeltaConf
+		).orElseThrow(() -> new RestaurantException(RestaurantErrorCode.NOT_FOUND_RESTAURANT));
 
-		// 태그 선호 업데이트 (restaurant_tag 기반으로 분배)
-		if (prefDelta.compareTo(BigDecimal.ZERO) != 0) {
-			var tagRows = restaurantTagRepository.findByRestaurantId(restaurantId);
-			BigDecimal tagDeltaScore;
-			BigDecimal tagDeltaConf;
-			if (isSaved) {
-				tagDeltaScore = new BigDecimal("0.10");
-				tagDeltaConf = new BigDecimal("0.20");
-			} else {
-				tagDeltaScore = new BigDecimal("-0.10");
-				tagDeltaConf = new BigDecimal("0.10");
-			}
-
-			for (var rt : tagRows) {
-				// 신규 생성 시 초기값은 증분과 동일하게 부여 (INSERT 시 initScore/initConf 사용)
-				// 업데이트 시에는 deltaScore/deltaConf를 더함
-				userTagPrefRepository.upsertIncrement(
-					userId,
-					rt.getTagId(),
-					tagDeltaScore,  // initScore: 신규 생성 시 초기값
-					tagDeltaConf,   // initConf: 신규 생성 시 초기값
-					tagDeltaScore,  // deltaScore: 업데이트 시 증분
-					tagDeltaConf    // deltaConf: 업데이트 시 증분
-				);
-			}
+		// 이미 같은 상태 (중복 요청)
+		if (!Boolean.TRUE.equals(result.getApplied())) {
+			return;
 		}
+		afterInteraction(userId, result);
+
+		// 미리 준비된 피드 배치의 북마크 표시가 바뀌므로 폐기
+		feedPrefetcher.invalidateUser(userId);
 	}
 
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -271,47 +198,18 @@ public class MainCommandServiceImpl implements MainCommandService {
 			return;
 		}
 
-		if (!restaurantRepository.existsById(restaurantId)) {
-			throw new RestaurantException(RestaurantErrorCode.NOT_FOUND_RESTAURANT);
-		}
-
-		var stateKey = new UserRestaurantState.Key(userId, restaurantId);
-		var existingState = stateRepository.findById(stateKey).orElse(null);
-
-		int currentViewCount = existingState != null ? existingState.getViewCount() : 0;
-		BigDecimal prefDelta;
-
-		if (currentViewCount == 0) {
-			prefDelta = new BigDecimal("0.10");
-		} else if (currentViewCount >= 1 && currentViewCount <= 2) {
-			prefDelta = new BigDecimal("0.03");
-		} else {
-			prefDelta = BigDecimal.ZERO;
-		}
-
-		int affectedRows = stateRepository.upsertView(userId, restaurantId, prefDelta);
-		if (affectedRows == 0) {
-			log.warn("upsertView failed: userId={}, restaurantId={}, prefDelta={}", userId, restaurantId, prefDelta);
-		}
-
-		if (prefDelta.compareTo(BigDecimal.ZERO) > 0) {
-			var tagRows = restaurantTagRepository.findByRestaurantId(restaurantId);
-			BigDecimal tagDeltaScore = prefDelta.multiply(new BigDecimal("0.5"));
-			BigDecimal tagDeltaConf = prefDelta.multiply(new BigDecimal("0.3"));
-
-			for (var rt : tagRows) {
-				// 신규 생성 시 초기값은 증분과 동일하게 부여 (INSERT 시 initScore/initConf 사용)
-				// 업데이트 시에는 deltaScore/deltaConf를 더함
-				userTagPrefRepository.upsertIncrement(
-					userId,
-					rt.getTagId(),
-					tagDeltaScore,  // initScore: 신규 생성 시 초기값
-					tagDeltaConf,   // initConf: 신규 생성 시 초기값
-					tagDeltaScore,  // deltaScore: 업데이트 시 증분
-					tagDeltaConf    // deltaConf: 업데이트 시 증분
-				);
-			}
-		}
+		// 첫 조회 +0.10, 2~3번째 조회 +0.03, 이후 0 / 태그 점수 x0.5, 신뢰도 x0.3
+		InteractionCounter counter = InteractionCounter.VIEW;
+		InteractionResult result = stateRepository.recordView(
+			userId,
+			restaurantId,
+			counter.getFirstDelta(),
+			counter.getRepeatDelta(),
+			counter.getRepeatMax(),
+			counter.getTagScoreRatio(),
+			counter.getTagConfRatio()
+		).orElseThrow(() -> new RestaurantException(RestaurantErrorCode.NOT_FOUND_RESTAURANT));
+		afterInteraction(userId, result);
 	}
 
 	@Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -321,47 +219,18 @@ public class MainCommandServiceImpl implements MainCommandService {
 			return;
 		}
 
-		if (!restaurantRepository.existsById(restaurantId)) {
-			throw new RestaurantException(RestaurantErrorCode.NOT_FOUND_RESTAURANT);
-		}
-
-		var stateKey = new UserRestaurantState.Key(userId, restaurantId);
-		var existingState = stateRepository.findById(stateKey).orElse(null);
-
-		int currentShareCount = existingState != null ? existingState.getShareCount() : 0;
-		BigDecimal prefDelta;
-
-		if (currentShareCount == 0) {
-			prefDelta = new BigDecimal("0.3");
-		} else if (currentShareCount >= 1 && currentShareCount <= 2) {
-			prefDelta = new BigDecimal("0.1");
-		} else {
-			prefDelta = BigDecimal.ZERO;
-		}
-
-		int affectedRows = stateRepository.upsertShare(userId, restaurantId, prefDelta);
-		if (affectedRows == 0) {
-			log.warn("upsertShare failed: userId={}, restaurantId={}, prefDelta={}", userId, restaurantId, prefDelta);
-		}
-
-		if (prefDelta.compareTo(BigDecimal.ZERO) > 0) {
-			var tagRows = restaurantTagRepository.findByRestaurantId(restaurantId);
-			BigDecimal tagDeltaScore = prefDelta.multiply(new BigDecimal("0.8"));
-			BigDecimal tagDeltaConf = prefDelta.multiply(new BigDecimal("0.6"));
-
-			for (var rt : tagRows) {
-				// 신규 생성 시 초기값은 증분과 동일하게 부여 (INSERT 시 initScore/initConf 사용)
-				// 업데이트 시에는 deltaScore/deltaConf를 더함
-				userTagPrefRepository.upsertIncrement(
-					userId,
-					rt.getTagId(),
-					tagDeltaScore,  // initScore: 신규 생성 시 초기값
-					tagDeltaConf,   // initConf: 신규 생성 시 초기값
-					tagDeltaScore,  // deltaScore: 업데이트 시 증분
-					tagDeltaConf    // deltaConf: 업데이트 시 증분
-				);
-			}
-		}
+		// 첫 공유 +0.3, 2~3번째 공유 +0.1, 이후 0 / 태그 점수 x0.8, 신뢰도 x0.6
+		InteractionCounter counter = InteractionCounter.SHARE;
+		InteractionResult result = stateRepository.recordShare(
+			userId,
+			restaurantId,
+			counter.getFirstDelta(),
+			counter.getRepeatDelta(),
+			counter.getRepeatMax(),
+			counter.getTagScoreRatio(),
+			counter.getTagConfRatio()
+		).orElseThrow(() -> new RestaurantException(RestaurantErrorCode.NOT_FOUND_RESTAURANT));
+		afterInteraction(userId, result);
 	}
 
 	@Transactional
@@ -373,91 +242,74 @@ public class MainCommandServiceImpl implements MainCommandService {
 		String satisfaction
 	) {
 		final Instant now = Instant.now();
-
-		if (!restaurantRepository.existsById(restaurantId)) {
-			throw new MainException(MainErrorCode.NOT_FOUND_RESTAURANT);
-		}
-
-		if (Boolean.FALSE.equals(isVisited)) {
-			stateRepository.upsertVisitFeedback(
-				userId,
-				restaurantId,
-				false,
-				BigDecimal.ZERO,
-				null
-			);
-
-			var stateKey = new UserRestaurantState.Key(userId, restaurantId);
-			var state = stateRepository.findById(stateKey).orElse(null);
-			BigDecimal prefScore = state != null ? state.getPrefScore() : BigDecimal.ZERO;
-
-			return VisitFeedbackResponse.builder()
-				.userId(userId)
-				.restaurantId(restaurantId)
-				.isVisited(false)
-				.prefScore(prefScore)
-				.build();
-		}
+		final boolean visited = !Boolean.FALSE.equals(isVisited);
 
 		BigDecimal prefDelta;
 		Instant cooldownUntil = null;
 		BigDecimal tagDeltaScore;
 		BigDecimal tagDeltaConf;
 
-		if ("LIKE".equals(satisfaction)) {
+		if (!visited) {
+			prefDelta = BigDecimal.ZERO;
+			tagDeltaScore = BigDecimal.ZERO;
+			tagDeltaConf = BigDecimal.ZERO;
+		} else if ("LIKE".equals(satisfaction)) {
 			prefDelta = new BigDecimal("1.0");
 			tagDeltaScore = new BigDecimal("0.20");
 			tagDeltaConf = new BigDecimal("0.20");
-		} else if ("NEUTRAL".equals(satisfaction)) {
-			prefDelta = new BigDecimal("0.1");
-			tagDeltaScore = new BigDecimal("0.02");
-			tagDeltaConf = BigDecimal.ZERO;
 		} else if ("DISLIKE".equals(satisfaction)) {
 			prefDelta = new BigDecimal("-1.0");
 			cooldownUntil = now.plus(Duration.ofDays(30));
 			tagDeltaScore = new BigDecimal("-0.20");
 			tagDeltaConf = new BigDecimal("0.20");
-		} else {
+		} else { // NEUTRAL 및 그 외
 			prefDelta = new BigDecimal("0.1");
 			tagDeltaScore = new BigDecimal("0.02");
 			tagDeltaConf = BigDecimal.ZERO;
 		}
+		boolean applyTags = tagDeltaScore.compareTo(BigDecimal.ZERO) != 0
+			|| tagDeltaConf.compareTo(BigDecimal.ZERO) != 0;
 
-		stateRepository.upsertVisitFeedback(
+		InteractionResult result = stateRepository.recordVisitFeedback(
 			userId,
 			restaurantId,
-			true,
+			visited,
 			prefDelta,
-			cooldownUntil
-		);
-
-		if (tagDeltaScore.compareTo(BigDecimal.ZERO) != 0
-			|| tagDeltaConf.compareTo(BigDecimal.ZERO) != 0) {
-			var tagRows = restaurantTagRepository.findByRestaurantId(restaurantId);
-			for (var rt : tagRows) {
-				// 신규 생성 시 초기값은 증분과 동일하게 부여 (INSERT 시 initScore/initConf 사용)
-				// 업데이트 시에는 deltaScore/deltaConf를 더함
-				userTagPrefRepository.upsertIncrement(
-					userId,
-					rt.getTagId(),
-					tagDeltaScore,  // initScore: 신규 생성 시 초기값
-					tagDeltaConf,   // initConf: 신규 생성 시 초기값
-					tagDeltaScore,  // deltaScore: 업데이트 시 증분
-					tagDeltaConf    // deltaConf: 업데이트 시 증분
-				);
-			}
-		}
-
-		var stateKey = new UserRestaurantState.Key(userId, restaurantId);
-		var state = stateRepository.findById(stateKey).orElse(null);
-		BigDecimal prefScore = state != null ? state.getPrefScore() : prefDelta;
+			cooldownUntil,
+			applyTags,
+			tagDeltaScore,
+			tagDeltaConf
+		).orElseThrow(() -> new MainException(MainErrorCode.NOT_FOUND_RESTAURANT));
+		afterInteraction(userId, result);
 
 		return VisitFeedbackResponse.builder()
 			.userId(userId)
 			.restaurantId(restaurantId)
-			.isVisited(true)
-			.prefScore(prefScore)
+			.isVisited(visited)
+			.prefScore(result.getPrefScore() != null ? result.getPrefScore() : prefDelta)
 			.build();
 	}
-}
 
+	/**
+	 * 쓰기 결과를 캐시/사용자 구분에 알림 (커밋 후 반영)
+	 * - 0 이 아닌 pref_score 를 쓰면 기존 회원으로 기록 (이미 기록된 회원은 건너뜀)
+	 * - 태그 선호를 upsert 했으면 같은 증분을 태그 선호 캐시에 알림
+	 */
+	private void afterInteraction(Long userId, InteractionResult result) {
+		if (result.getPrefDelta() != null && result.getPrefDelta().signum() != 0) {
+			userSegmentRepository.markExistingAfterCommit(userId);
+		}
+		List<Long> tagIds = tagIdsOf(result.getTagIds());
+		if (!tagIds.isEmpty()) {
+			userTagPrefCache.recordIncrement(userId, tagIds,
+				result.getTagDeltaScore(), result.getTagDeltaConf(), result.getTagDeltaScore(), result.getTagDeltaConf());
+		}
+	}
+
+	private static List<Long> tagIdsOf(String csv) {
+		if (csv == null || csv.isEmpty()) {
+			return List.of();
+		}
+		return Arrays.stream(csv.split(",")).map(Long::valueOf).toList();
+	}
+}
@@ -0,0 +1,318 @@
+/**
+ * main/service/query/DiversityReranker.java
+ * 카테고리/태그 다양성 재배치 엔진
+ * Author: Jang
+ * Date: 2025-11-21
+ *
+ * - 기존 selectNextItem / selectNextItemForGuest 와 동일한 선택 순서를 보장
+ *   (최근 window 개 선택 아이템과 카테고리가 겹치지 않고, 개인화는 태그가 2개 이상 겹치지 않는 아이템 우선)
+ * - 카테고리 문자열/태그 ID 를 0부터 시작하는 int 로 치환하고, 윈도우 내 카테고리/태그별 개수를 유지
+ * - 카테고리/태그가 윈도우에 새로 들어오거나 빠질 때만 해당 카테고리/태그를 가진 아이템의 겹침 수를 갱신
+ * - 선택 가능 여부는 비트셋으로 관리하여 매 선택마다 전체 후보를 다시 훑지 않음
+ *   (개인화: 점수 내림차순 순위 비트셋, 비회원: 입력 순서 비트셋)
+ *
+ * 사용법: add(...) 로 입력 순서대로 아이템을 넣은 뒤 reorderPersonal / reorderGuest 로 입력 인덱스 순열을 받음
+ * 같은 아이템(식당 ID)이 두 번 들어오지 않는다고 가정함
+ */
+
+package com.jde.mainserver.main.service.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class DiversityReranker {
+
+	private final List<Double> scoreList = new ArrayList<>();
+	private final List<int[]> categoryList = new ArrayList<>(); // null 이면 식당 정보 없음
+	private final List<int[]> tagList = new ArrayList<>();
+	private final Map<String, Integer> categoryIds = new HashMap<>();
+	private final Map<Long, Integer> tagIds = new HashMap<>();
+
+	/**
+	 * 식당 정보가 있는 아이템 추가 (입력 순서 유지)
+	 *
+	 * @param score 점수
+	 * @param category1 대분류 (null 가능)
+	 * @param category2 중분류 (null 가능)
+	 * @param category3 소분류 (null 가능)
+	 * @param tags 태그 ID 목록 (null 가능)
+	 */
+	public DiversityReranker add(double score, String category1, String category2, String category3,
+		Collection<Long> tags) {
+		int[] cats = new int[3];
+		int nCats = 0;
+		for (String c : new String[] {category1, category2, category3}) {
+			if (c == null) {
+				continue;
+			}
+			int id = categoryIds.computeIfAbsent(c, k -> categoryIds.size());
+			if (!contains(cats, nCats, id)) {
+				cats[nCats++] = id;
+			}
+		}
+		int[] tagArr = new int[tags == null ? 0 : tags.size()];
+		int nTags = 0;
+		if (tags != null) {
+			for (Long t : tags) {
+				int id = tagIds.computeIfAbsent(t, k -> tagIds.size());
+				if (!contains(tagArr, nTags, id)) {
+					tagArr[nTags++] = id;
+				}
+			}
+		}
+		scoreList.add(score);
+		categoryList.add(Arrays.copyOf(cats, nCats));
+		tagList.add(Arrays.copyOf(tagArr, nTags));
+		return this;
+	}
+
+	/** 식당 정보가 없는 아이템 추가 (다양성 선택 대상에서 제외, 윈도우에 기여하지 않음) */
+	public DiversityReranker addWithoutInfo(double score) {
+		scoreList.add(score);
+		categoryList.add(null);
+		tagList.add(null);
+		return this;
+	}
+
+	public int size() {
+		return scoreList.size();
+	}
+
+	/**
+	 * 개인화 피드 재배치 (selectNextItem 과 동일)
+	 * - 최근 window 개와 카테고리가 겹치지 않고 태그가 2개 미만 겹치는 아이템 중 점수 최대 (동점이면 입력 순서 우선)
+	 * - 없으면 남은 아이템 중 입력 순서 첫 번째
+	 *
+	 * @return 입력 인덱스 순열
+	 */
+	public int[] reorderPersonal(int window) {
+		return new Run(window, true).execute();
+	}
+
+	/**
+	 * 비회원/평점 피드 재배치 (selectNextItemForGuest 와 동일)
+	 * - 최근 window 개와 카테고리가 겹치지 않고 점수 > 0 인 첫 번째 아이템
+	 * - 없으면 카테고리가 겹치지 않는 첫 번째 아이템, 그것도 없으면 남은 아이템 중 첫 번째
+	 *
+	 * @return 입력 인덱스 순열
+	 */
+	public int[] reorderGuest(int window) {
+		return new Run(window, false).execute();
+	}
+
+	private static boolean contains(int[] arr, int len, int v) {
+		for (int i = 0; i < len; i++) {
+			if (arr[i] == v) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** 카테고리/태그 -> 아이템 역색인 (CSR) */
+	private static int[][] invert(List<int[]> itemValues, int valueCount) {
+		int[] counts = new int[valueCount];
+		for (int[] values : itemValues) {
+			if (values != null) {
+				for (int v : values) {
+					counts[v]++;
+				}
+			}
+		}
+		int[][] postings = new int[valueCount][];
+		for (int v = 0; v < valueCount; v++) {
+			postings[v] = new int[counts[v]];
+		}
+		int[] fill = new int[valueCount];
+		for (int i = 0; i < itemValues.size(); i++) {
+			int[] values = itemValues.get(i);
+			if (values != null) {
+				for (int v : values) {
+					postings[v][fill[v]++] = i;
+				}
+			}
+		}
+		return postings;
+	}
+
+	/** 1회 재배치 실행 상태 */
+	private final class Run {
+		private final int window;
+		private final boolean personal;
+		private final int n;
+		private final double[] scores;
+		private final int[][] categories;
+		private final int[][] tags;
+		private final int[][] categoryPostings;
+		private final int[][] tagPostings;
+
+		private final int[] windowCategoryCount;
+		private final int[] windowTagCount;
+		private final int[] categoryHits; // 아이템별: 윈도우에 있는 카테고리 수
+		private final int[] tagHits;      // 아이템별: 윈도우에 있는 태그 수
+		private final boolean[] removed;
+		private final int[] recent;       // 최근 선택 아이템 (원형 버퍼)
+		private int recentSize = 0;
+		private int recentHead = 0;
+		private int firstRemaining = 0;   // 남은 아이템 중 가장 앞선 입력 인덱스 (단조 증가)
+
+		// 개인화: (점수 내림차순, 입력 순서) 순위 기준 선택 가능 비트셋
+		private final int[] rankOf;
+		private final int[] byRank;
+		private final BitSet eligibleByRank;
+		// 비회원: 입력 순서 기준 선택 가능 비트셋 (점수 > 0 / 전체)
+		private final BitSet eligiblePositive;
+		private final BitSet eligibleAny;
+
+		Run(int window, boolean personal) {
+			this.window = Math.max(window, 0);
+			this.personal = personal;
+			this.n = scoreList.size();
+			this.scores = new double[n];
+			for (int i = 0; i < n; i++) {
+				scores[i] = scoreList.get(i);
+			}
+			this.categories = categoryList.toArray(new int[0][]);
+			this.tags = tagList.toArray(new int[0][]);
+			this.categoryPostings = invert(categoryList, categoryIds.size());
+			this.tagPostings = personal ? invert(tagList, tagIds.size()) : new int[0][];
+			this.windowCategoryCount = new int[categoryIds.size()];
+			this.windowTagCount = new int[personal ? tagIds.size() : 0];
+			this.categoryHits = new int[n];
+			this.tagHits = new int[n];
+			this.removed = new boolean[n];
+			this.recent = new int[Math.max(this.window, 1)];
+
+			if (personal) {
+				Integer[] order = new Integer[n];
+				for (int i = 0; i < n; i++) {
+					order[i] = i;
+				}
+				// 기존 구현의 '>' 비교와 같도록 0.0 / -0.0 은 동점 취급, NaN 은 맨 뒤 (선택 대상 아님)
+				Arrays.sort(order, (a, b) -> {
+					double sa = scores[a];
+					double sb = scores[b];
+					if (Double.isNaN(sa) || Double.isNaN(sb)) {
+						int c = Boolean.compare(Double.isNaN(sa), Double.isNaN(sb));
+						return c != 0 ? c : Integer.compare(a, b);
+					}
+					if (sa != sb) {
+						return sa > sb ? -1 : 1;
+					}
+					return Integer.compare(a, b);
+				});
+				this.byRank = new int[n];
+				this.rankOf = new int[n];
+				for (int r = 0; r < n; r++) {
+					byRank[r] = order[r];
+					rankOf[order[r]] = r;
+				}
+				this.eligibleByRank = new BitSet(n);
+				this.eligiblePositive = null;
+				this.eligibleAny = null;
+			} else {
+				this.byRank = null;
+				this.rankOf = null;
+				this.eligibleByRank = null;
+				this.eligiblePositive = new BitSet(n);
+				this.eligibleAny = new BitSet(n);
+			}
+			for (int i = 0; i < n; i++) {
+				refresh(i);
+			}
+		}
+
+		int[] execute() {
+			int[] result = new int[n];
+			for (int step = 0; step < n; step++) {
+				int pick = pickNext();
+				result[step] = pick;
+				removed[pick] = true;
+				refresh(pick);
+				while (firstRemaining < n && removed[firstRemaining]) {
+					firstRemaining++;
+				}
+				pushRecent(pick);
+			}
+			return result;
+		}
+
+		private int pickNext() {
+			if (personal) {
+				int r = eligibleByRank.nextSetBit(0);
+				return r >= 0 ? byRank[r] : firstRemaining;
+			}
+			int i = eligiblePositive.nextSetBit(0);
+			if (i < 0) {
+				i = eligibleAny.nextSetBit(0);
+			}
+			return i >= 0 ? i : firstRemaining;
+		}
+
+		/** 선택 아이템을 윈도우에 넣고, 윈도우 크기를 넘으면 가장 오래된 아이템을 뺌 */
+		private void pushRecent(int item) {
+			if (window == 0) {
+				return;
+			}
+			updateWindow(item, +1);
+			if (recentSize == window) {
+				int evicted = recent[recentHead];
+				recent[recentHead] = item;
+				recentHead = (recentHead + 1) % window;
+				updateWindow(evicted, -1);
+			} else {
+				recent[(recentHead + recentSize) % window] = item;
+				recentSize++;
+			}
+		}
+
+		private void updateWindow(int item, int delta) {
+			int[] cats = categories[item];
+			if (cats == null) {
+				return;
+			}
+			for (int c : cats) {
+				windowCategoryCount[c] += delta;
+				if ((delta > 0 && windowCategoryCount[c] == 1) || (delta < 0 && windowCategoryCount[c] == 0)) {
+					for (int other : categoryPostings[c]) {
+						if (!removed[other]) {
+							categoryHits[other] += delta;
+							refresh(other);
+						}
+					}
+				}
+			}
+			if (!personal) {
+				return;
+			}
+			for (int t : tags[item]) {
+				windowTagCount[t] += delta;
+				if ((delta > 0 && windowTagCount[t] == 1) || (delta < 0 && windowTagCount[t] == 0)) {
+					for (int other : tagPostings[t]) {
+						if (!removed[other]) {
+							tagHits[other] += delta;
+							refresh(other);
+						}
+					}
+				}
+			}
+		}
+
+		/** 아이템 선택 가능 여부 비트 갱신 */
+		private void refresh(int i) {
+			boolean open = !removed[i] && categories[i] != null && categoryHits[i] == 0;
+			if (personal) {
+				// 기존 구현은 score > -Infinity 인 아이템만 선택 (NaN, -Infinity 제외)
+				eligibleByRank.set(rankOf[i], open && tagHits[i] < 2 && scores[i] > Double.NEGATIVE_INFINITY);
+			} else {
+				eligibleAny.set(i, open);
+				eligiblePositive.set(i, open && scores[i] > 0.0);
+			}
+		}
+	}
+}
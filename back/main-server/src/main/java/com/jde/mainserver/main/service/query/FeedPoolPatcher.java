@@ -0,0 +1,147 @@
+/**
+ * main/service/query/FeedPoolPatcher.java
+ * 스와이프 직후 회원 피드 풀의 미노출 구간 보정
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - DISLIKE / SELECT 커밋 후 feed:pool:user:{id} 의 아직 노출하지 않은 구간만 다시 정렬 (점수 재계산/FastAPI 호출 없음)
+ * - DISLIKE 한 식당(쿨다운 대상)은 미노출 구간에서 제거
+ * - 남은 식당은 스와이프 식당과 겹치는 태그마다 handleSwipe 의 태그 증분 x 식당 태그 weight x confidence 만큼 친화도를 더하고,
+ *   친화도 1 당 positions-per-score 칸씩 앞(증분 양수)/뒤(음수)로 이동 (풀에는 점수가 없으므로 순위 기준 보정)
+ * - 태그는 RestaurantCatalog 스냅샷에서 조회 (스냅샷에 없는 식당은 이동하지 않음)
+ * - 교체는 FeedPoolRepository.replaceUnserved 로 원자적으로 (그 사이 페이지 조회/재생성이 있으면 한 번 다시 읽어 재시도)
+ */
+
+package com.jde.mainserver.main.service.query;
+
+import com.jde.mainserver.main.entity.enums.SwipeAction;
+import com.jde.mainserver.main.repository.redis.FeedPoolRepository;
+import com.jde.mainserver.main.repository.redis.FeedPoolRepository.Entry;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalog;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalogSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class FeedPoolPatcher {
+
+	private static final int MAX_ATTEMPTS = 2;
+
+	private final FeedPoolRepository feedPoolRepository;
+	private final RestaurantCatalog restaurantCatalog;
+	private final boolean enabled;
+	private final double positionsPerScore;
+
+	public FeedPoolPatcher(
+		FeedPoolRepository feedPoolRepository,
+		RestaurantCatalog restaurantCatalog,
+		@Value("${feed.pool-patch.enabled:true}") boolean enabled,
+		@Value("${feed.pool-patch.positions-per-score:50}") double positionsPerScore
+	) {
+		this.feedPoolRepository = feedPoolRepository;
+		this.restaurantCatalog = restaurantCatalog;
+		this.enabled = enabled;
+		this.positionsPerScore = positionsPerScore;
+	}
+
+	/**
+	 * 스와이프 반영 알림 (트랜잭션 안이면 커밋 후, 아니면 즉시 보정)
+	 *
+	 * @param tagDeltaScore 스와이프 식당 태그에 더한 태그 선호 증분
+	 */
+	public void patchAfterCommit(Long userId, long restaurantId, SwipeAction action, double tagDeltaScore) {
+		if (!enabled || userId == null || action == SwipeAction.HOLD) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					patch(userId, restaurantId, action, tagDeltaScore);
+				}
+			});
+			return;
+		}
+		patch(userId, restaurantId, action, tagDeltaScore);
+	}
+
+	private void patch(Long userId, long restaurantId, SwipeAction action, double tagDeltaScore) {
+		String key = FeedPoolRepository.userKey(userId);
+		RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+			FeedPoolRepository.Unserved read = feedPoolRepository.readUnserved(key);
+			if (read == null) {
+				return;
+			}
+			List<Entry> patched = reorder(read.entries(), restaurantId, action == SwipeAction.DISLIKE,
+				tagDeltaScore, positionsPerScore, catalog);
+			if (patched.equals(read.entries()) || feedPoolRepository.replaceUnserved(key, read, patched)) {
+				return;
+			}
+		}
+		// 계속 바뀌는 중이면 보정 생략 (다음 재생성에서 선호 반영)
+		log.debug("[FeedPoolPatcher.patch] 풀 변경 중, 보정 생략: userId={}, restaurantId={}", userId, restaurantId);
+	}
+
+	/**
+	 * 미노출 구간 재정렬
+	 *
+	 * @param entries 미노출 구간 (노출 순서)
+	 * @param drop 스와이프 식당 제거 여부 (DISLIKE)
+	 * @return 새 미노출 구간 (이동이 없는 식당끼리는 기존 순서 유지)
+	 */
+	static List<Entry> reorder(List<Entry> entries, long restaurantId, boolean drop, double tagDeltaScore,
+		double positionsPerScore, RestaurantCatalogSnapshot catalog) {
+		Set<Long> swipedTags = new HashSet<>();
+		int swipedOrd = catalog.ordinalOf(restaurantId);
+		if (swipedOrd >= 0) {
+			for (int row = catalog.tagStart(swipedOrd); row < catalog.tagEnd(swipedOrd); row++) {
+				swipedTags.add(catalog.tagId(row));
+			}
+		}
+
+		List<Entry> kept = new ArrayList<>(entries.size());
+		List<Double> positions = new ArrayList<>(entries.size());
+		for (int i = 0; i < entries.size(); i++) {
+			Entry entry = entries.get(i);
+			if (drop && entry.restaurantId() == restaurantId) {
+				continue;
+			}
+			double affinity = 0.0;
+			int ord = swipedTags.isEmpty() ? -1 : catalog.ordinalOf(entry.restaurantId());
+			if (ord >= 0) {
+				for (int row = catalog.tagStart(ord); row < catalog.tagEnd(ord); row++) {
+					if (swipedTags.contains(catalog.tagId(row))) {
+						affinity += tagDeltaScore * catalog.tagWeight(row) * catalog.tagConfidence(row);
+					}
+				}
+			}
+			kept.add(entry);
+			positions.add(i - affinity * positionsPerScore);
+		}
+
+		List<Integer> order = new ArrayList<>(kept.size());
+		for (int i = 0; i < kept.size(); i++) {
+			order.add(i);
+		}
+		// List.sort 는 안정 정렬이므로 같은 위치는 기존 순서 유지
+		order.sort(Comparator.comparingDouble(positions::get));
+		List<Entry> result = new ArrayList<>(kept.size());
+		for (int i : order) {
+			result.add(kept.get(i));
+		}
+		return result;
+	}
+}
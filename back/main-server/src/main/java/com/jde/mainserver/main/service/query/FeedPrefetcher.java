@@ -0,0 +1,204 @@
+/**
+ * main/service/query/FeedPrefetcher.java
+ * 피드 다음 배치 미리 준비 (opt-in)
+ * Author: Jang
+ * Date: 2025-11-22
+ *
+ * - 배치를 응답한 직후 다음 배치(cursor = nextCursor)를 비동기로 조회/변환하여 풀 키별 슬롯 1개에 보관
+ * - 다음 cursor 요청이 같은 offset/debug 로 오면 슬롯의 FeedResponse 를 그대로 반환 (DB 조회/변환 생략)
+ * - 스레드 수와 대기 큐를 고정하여 부하 시에는 미리 준비를 버림 (요청 경로는 항상 기존 방식으로 동작)
+ * - 슬롯은 짧게 유지하고(ttl), 풀 재생성/북마크 변경 시 무효화
+ * - 지표: feed.prefetch.requests{result=hit|miss}, feed.prefetch.tasks{outcome=accepted|rejected|skipped}, feed.prefetch.slots
+ */
+
+package com.jde.mainserver.main.service.query;
+
+import com.jde.mainserver.main.web.dto.response.FeedResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class FeedPrefetcher {
+
+	private final boolean enabled;
+	private final long ttlNanos;
+	private final int maxSlots;
+	private final ThreadPoolExecutor executor;
+	private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+	private final Counter hitCounter;
+	private final Counter missCounter;
+	private final Counter acceptedCounter;
+	private final Counter rejectedCounter;
+	private final Counter skippedCounter;
+
+	public FeedPrefetcher(
+		MeterRegistry meterRegistry,
+		@Value("${feed.prefetch.enabled:false}") boolean enabled,
+		@Value("${feed.prefetch.threads:2}") int threads,
+		@Value("${feed.prefetch.queue-capacity:64}") int queueCapacity,
+		@Value("${feed.prefetch.ttl-ms:30000}") long ttlMs,
+		@Value("${feed.prefetch.max-slots:10000}") int maxSlots
+	) {
+		this.enabled = enabled;
+		this.ttlNanos = Duration.ofMillis(ttlMs).toNanos();
+		this.maxSlots = maxSlots;
+		AtomicInteger threadSeq = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(
+			threads, threads, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+			r -> {
+				Thread t = new Thread(r, "feed-prefetch-" + threadSeq.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			},
+			new ThreadPoolExecutor.AbortPolicy()
+		);
+
+		this.hitCounter = Counter.builder("feed.prefetch.requests").tag("result", "hit").register(meterRegistry);
+		this.missCounter = Counter.builder("feed.prefetch.requests").tag("result", "miss").register(meterRegistry);
+		this.acceptedCounter = Counter.builder("feed.prefetch.tasks").tag("outcome", "accepted").register(meterRegistry);
+		this.rejectedCounter = Counter.builder("feed.prefetch.tasks").tag("outcome", "rejected").register(meterRegistry);
+		this.skippedCounter = Counter.builder("feed.prefetch.tasks").tag("outcome", "skipped").register(meterRegistry);
+		meterRegistry.gauge("feed.prefetch.slots", slots, Map::size);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 미리 준비된 배치 꺼내기 (한 번 꺼내면 슬롯 제거)
+	 *
+	 * @param poolKey 피드 풀 키
+	 * @param offset 요청 cursor
+	 * @param debug debug 포함 요청 여부
+	 * @return 준비된 응답 (없거나, 아직 준비 중이거나, 조건이 다르면 null)
+	 */
+	public FeedResponse take(String poolKey, int offset, boolean debug) {
+		if (!enabled) {
+			return null;
+		}
+		Slot slot = slots.get(poolKey);
+		FeedResponse response = slot != null ? slot.response : null;
+		if (response != null && slot.offset == offset && slot.debug == debug && !slot.isExpired()
+			&& slots.remove(poolKey, slot)) {
+			hitCounter.increment();
+			return response;
+		}
+		missCounter.increment();
+		return null;
+	}
+
+	/**
+	 * 다음 배치 미리 준비 예약 (풀 키별 최신 예약 1개만 유지)
+	 *
+	 * @param poolKey 피드 풀 키
+	 * @param userId 회원 ID (비회원이면 null, 북마크 변경 시 무효화용)
+	 * @param offset 다음 배치 cursor
+	 * @param debug debug 포함 요청 여부
+	 * @param loader 다음 배치 응답 생성 (null 반환 시 보관하지 않음)
+	 */
+	public void schedule(String poolKey, Long userId, int offset, boolean debug, Supplier<FeedResponse> loader) {
+		if (!enabled) {
+			return;
+		}
+		if (slots.size() >= maxSlots && !slots.containsKey(poolKey)) {
+			skippedCounter.increment();
+			return;
+		}
+		Slot slot = new Slot(userId, offset, debug);
+		slots.put(poolKey, slot);
+		try {
+			executor.execute(() -> {
+				if (slots.get(poolKey) != slot) {
+					return; // 이미 교체/무효화됨
+				}
+				try {
+					FeedResponse response = loader.get();
+					if (response == null) {
+						slots.remove(poolKey, slot);
+						return;
+					}
+					slot.readyAt = System.nanoTime();
+					slot.response = response;
+				} catch (Exception e) {
+					slots.remove(poolKey, slot);
+					log.warn("[FeedPrefetcher.schedule] 다음 배치 준비 실패: key={}, offset={}, error={}",
+						poolKey, offset, e.getMessage());
+				}
+			});
+			acceptedCounter.increment();
+		} catch (RejectedExecutionException e) {
+			slots.remove(poolKey, slot);
+			rejectedCounter.increment();
+		}
+	}
+
+	/** 풀 재생성 시 무효화 */
+	public void invalidate(String poolKey) {
+		slots.remove(poolKey);
+	}
+
+	/** 북마크 변경 등 회원 상태 변경 시 해당 회원 슬롯 무효화 */
+	public void invalidateUser(Long userId) {
+		if (!enabled || userId == null) {
+			return;
+		}
+		slots.values().removeIf(slot -> Objects.equals(slot.userId, userId));
+	}
+
+	/** 만료 슬롯 정리 (꺼내지 않은 준비 결과) */
+	@Scheduled(fixedDelayString = "${feed.prefetch.ttl-ms:30000}")
+	public void evictExpired() {
+		if (!enabled) {
+			return;
+		}
+		slots.values().removeIf(Slot::isExpired);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/** 풀 키별 준비 슬롯 */
+	private final class Slot {
+		private final Long userId;
+		private final int offset;
+		private final boolean debug;
+		private final long createdAt = System.nanoTime();
+		private volatile FeedResponse response;
+		private volatile long readyAt;
+
+		Slot(Long userId, int offset, boolean debug) {
+			this.userId = userId;
+			this.offset = offset;
+			this.debug = debug;
+		}
+
+		boolean isExpired() {
+			long since = response != null ? readyAt : createdAt;
+			return System.nanoTime() - since > ttlNanos;
+		}
+	}
+}
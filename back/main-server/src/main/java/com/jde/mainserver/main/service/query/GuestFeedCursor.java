@@ -0,0 +1,63 @@
+/**
+ * main/service/query/GuestFeedCursor.java
+ * 비회원 피드 커서 (주기, 시드, 다음 인덱스, 노출한 구간 요약값)
+ * Author: Jang
+ * Date: 2025-11-23
+ *
+ * - 클라이언트에는 불투명 문자열(base64url)로 전달하고 그대로 돌려받음
+ * - 서버는 커서만으로 같은 공유 순위(epoch)와 같은 비회원별 순서(seed)를 재현하므로 비회원별 상태가 없음
+ * - 공유 순위는 인스턴스별로 계산하므로 다른 인스턴스의 순위가 다를 수 있음
+ *   이미 노출한 구간(0 ~ offset)의 식당 ID 요약값(digest)을 담아 두고, 다시 만든 순서와 다르면 처음부터 다시 시작
+ * - 해석할 수 없는 커서(이전 형식 포함)는 null (첫 요청으로 처리)
+ */
+
+package com.jde.mainserver.main.service.query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+record GuestFeedCursor(long epoch, long seed, int offset, long digest) {
+
+	private static final String VERSION = "g2";
+
+	/** 노출 순서대로의 식당 ID 요약값 (64비트 FNV-1a) */
+	static long digest(List<Long> restaurantIds) {
+		long hash = 0xcbf29ce484222325L;
+		for (Long id : restaurantIds) {
+			long value = id != null ? id : -1L;
+			for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+				hash ^= (value >>> shift) & 0xff;
+				hash *= 0x100000001b3L;
+			}
+		}
+		return hash;
+	}
+
+	String encode() {
+		String raw = VERSION + "." + Long.toString(epoch, 36) + "." + Long.toString(seed, 36) + "." + offset
+			+ "." + Long.toString(digest, 36);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static GuestFeedCursor parse(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\.");
+			if (parts.length != 5 || !VERSION.equals(parts[0])) {
+				return null;
+			}
+			int offset = Integer.parseInt(parts[3]);
+			if (offset < 0) {
+				return null;
+			}
+			return new GuestFeedCursor(Long.parseLong(parts[1], 36), Long.parseLong(parts[2], 36), offset,
+				Long.parseLong(parts[4], 36));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/**
+ * main/service/query/GuestRankingCache.java
+ * 비회원 피드 공유 순위 캐시 (위치 셀 x 갱신 주기)
+ * Author: Jang
+ * Date: 2025-11-23
+ *
+ * - 비회원 순위(평점/리뷰 신뢰도 점수)는 위치와 시각에만 의존하므로 셀/주기(epoch)별로 한 번만 계산하여 공유
+ * - 같은 셀/주기 동시 요청은 하나의 계산 결과를 기다림
+ * - 커서가 가리키는 이전 주기는 retained-epochs 개까지 유지 (스크롤 중 순위가 바뀌지 않도록)
+ * - 비회원별 상태는 보관하지 않음 (비회원별 순서는 커서의 시드로 재현)
+ * - 인스턴스별 캐시이므로 다른 인스턴스는 같은 셀/주기 순위를 다시 계산함
+ *   (후보/평점이 그 사이 바뀌면 순서가 달라질 수 있어, 커서의 노출 구간 요약값으로 확인 후 다르면 처음부터 다시 시작)
+ */
+
+package com.jde.mainserver.main.service.query;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class GuestRankingCache {
+
+	private static final double CELL_DEG = 0.001; // 위도 기준 약 111m
+
+	private final long epochMillis;
+	private final int retainedEpochs;
+	private final int maxEntries;
+	private final Map<Key, CompletableFuture<Object>> entries = new ConcurrentHashMap<>();
+
+	public GuestRankingCache(
+		@Value("${feed.guest.epoch-ms:600000}") long epochMillis,
+		@Value("${feed.guest.retained-epochs:3}") int retainedEpochs,
+		@Value("${feed.guest.max-entries:1024}") int maxEntries
+	) {
+		this.epochMillis = epochMillis;
+		this.retainedEpochs = Math.max(retainedEpochs, 1);
+		this.maxEntries = maxEntries;
+	}
+
+	public long currentEpoch() {
+		return System.currentTimeMillis() / epochMillis;
+	}
+
+	/** 커서의 주기가 아직 유지 범위인지 (미래 주기는 제외) */
+	public boolean isRetained(long epoch) {
+		long current = currentEpoch();
+		return epoch <= current && epoch > current - retainedEpochs;
+	}
+
+	/**
+	 * 셀/주기 순위 조회 (없으면 계산 후 보관)
+	 *
+	 * @param cell 위치 셀
+	 * @param epoch 갱신 주기
+	 * @param builder 순위 계산
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Cell cell, long epoch, Supplier<T> builder) {
+		evictStale();
+		Key key = new Key(cell, epoch);
+		CompletableFuture<Object> future = entries.get(key);
+		if (future == null) {
+			if (entries.size() >= maxEntries) {
+				return builder.get(); // 셀이 너무 많으면 보관하지 않고 계산만
+			}
+			CompletableFuture<Object> mine = new CompletableFuture<>();
+			future = entries.putIfAbsent(key, mine);
+			if (future == null) {
+				future = mine;
+				try {
+					mine.complete(builder.get());
+				} catch (RuntimeException e) {
+					entries.remove(key, mine);
+					mine.completeExceptionally(e);
+					throw e;
+				}
+			}
+		}
+		try {
+			return (T)future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw e;
+		}
+	}
+
+	private void evictStale() {
+		long oldest = currentEpoch() - retainedEpochs + 1;
+		entries.keySet().removeIf(k -> k.epoch() < oldest);
+	}
+
+	/** 좌표가 속한 셀 */
+	public static Cell cellOf(double lat, double lng) {
+		return new Cell((int)Math.floor(lat / CELL_DEG), (int)Math.floor(lng / CELL_DEG));
+	}
+
+	/** 위치 셀 (격자 좌표) */
+	public record Cell(int row, int col) {
+
+		/** 셀 중심 위도 */
+		public double centerLat() {
+			return (row + 0.5) * CELL_DEG;
+		}
+
+		/** 셀 중심 경도 */
+		public double centerLng() {
+			return (col + 0.5) * CELL_DEG;
+		}
+	}
+
+	private record Key(Cell cell, long epoch) {
+	}
+}
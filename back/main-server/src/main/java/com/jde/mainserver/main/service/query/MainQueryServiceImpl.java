@@ -7,24 +7,36 @@
 
 package com.jde.mainserver.main.service.query;
 
+import com.jde.mainserver.global.cache.PoolRegenerationCoordinator;
+import com.jde.mainserver.global.resilience.CallRejectedException;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurantCursor;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalog;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalogSnapshot;
 import com.jde.mainserver.restaurants.entity.Restaurant;
 import com.jde.mainserver.restaurants.entity.RestaurantTag;
 import com.jde.mainserver.restaurants.repository.RestaurantRepository;
 import com.jde.mainserver.restaurants.repository.RestaurantTagRepository;
 import com.jde.mainserver.main.repository.CandidateRepository;
+import com.jde.mainserver.main.repository.ScoringEngineSelector;
 import com.jde.mainserver.main.repository.UserRestaurantStateRepository;
-import com.jde.mainserver.main.repository.UserTagPrefRepository;
-import com.jde.mainserver.main.repository.http.ScoreEngineHttpClient;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
+import com.jde.mainserver.main.repository.buffer.InteractionWriteBuffer;
+import com.jde.mainserver.main.repository.redis.FeedPoolRepository;
+import com.jde.mainserver.main.repository.redis.UserSegmentRepository;
 import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
 import com.jde.mainserver.main.web.dto.response.FeedResponse;
 import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
 import com.jde.mainserver.main.converter.MainConverter;
+import com.jde.mainserver.main.entity.enums.UserSegment;
 import com.jde.mainserver.region.entity.Region;
 import com.jde.mainserver.region.repository.RegionRepository;
 import com.jde.mainserver.member.entity.Member;
 import com.jde.mainserver.member.repository.MemberRepository;
 import com.jde.mainserver.restaurants.exception.RestaurantErrorCode;
+import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
 import com.jde.mainserver.restaurants.exception.RestaurantException;
+import com.jde.mainserver.restaurants.service.OpenStatusUtil;
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
 import org.locationtech.jts.geom.Point;
 
 import lombok.AllArgsConstructor;
@@ -33,14 +45,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Service;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -50,46 +62,68 @@ public class MainQueryServiceImpl implements MainQueryService {
 	private static final int POOL_SIZE = 100; // 점수 계산할 큰 풀
 	private static final int BATCH_SIZE = 10; // 한 번에 전달할 배치 크기
 	private static final int HIGH_SCORE_THRESHOLD_BATCHES = 2; // 처음 몇 배치는 높은 점수 위주
-	private static final String REDIS_KEY_PREFIX = "feed:pool:user:";
-	private static final String REDIS_KEY_PREFIX_GUEST = "feed:pool:guest:";
 	private static final Duration CACHE_TTL = Duration.ofHours(1); // 캐시 유지 시간
-	private static final Duration CACHE_TTL_GUEST = Duration.ofMinutes(30); // 비회원 캐시 유지 시간 (짧게)
+	private static final Duration SCORE_FALLBACK_TTL = Duration.ofMinutes(1); // 점수 엔진 거절 시 대체 풀 유지 시간
 
-	private final UserTagPrefRepository userTagPrefRepository;
+	private final UserTagPrefCache userTagPrefCache;
 	private final CandidateRepository candidateRepository;
-	private final ScoreEngineHttpClient scoreEngineHttpClient;
+	private final ScoringEngineSelector scoringEngineSelector;
 	private final RestaurantRepository restaurantRepository;
 	private final RestaurantTagRepository restaurantTagRepository;
-	private final RedisTemplate<String, Object> redisTemplate;
+	private final FeedPoolRepository feedPoolRepository;
+	private final FeedPrefetcher feedPrefetcher;
+	private final PoolRegenerationCoordinator poolRegenerationCoordinator;
+	private final GuestRankingCache guestRankingCache;
 	private final UserRestaurantStateRepository userRestaurantStateRepository;
+	private final UserSegmentRepository userSegmentRepository;
 	private final MemberRepository memberRepository;
 	private final RegionRepository regionRepository;
+	private final RestaurantCatalog restaurantCatalog;
+	private final InteractionWriteBuffer interactionWriteBuffer;
 
 	public MainQueryServiceImpl(
-		UserTagPrefRepository userTagPrefRepository,
+		UserTagPrefCache userTagPrefCache,
 		CandidateRepository candidateRepository,
-		ScoreEngineHttpClient scoreEngineHttpClient,
+		ScoringEngineSelector scoringEngineSelector,
 		RestaurantRepository restaurantRepository,
 		RestaurantTagRepository restaurantTagRepository,
-		RedisTemplate<String, Object> redisTemplate,
+		FeedPoolRepository feedPoolRepository,
+		FeedPrefetcher feedPrefetcher,
+		PoolRegenerationCoordinator poolRegenerationCoordinator,
+		GuestRankingCache guestRankingCache,
 		UserRestaurantStateRepository userRestaurantStateRepository,
+		UserSegmentRepository userSegmentRepository,
 		MemberRepository memberRepository,
-		RegionRepository regionRepository
+		RegionRepository regionRepository,
+		RestaurantCatalog restaurantCatalog,
+		InteractionWriteBuffer interactionWriteBuffer
 	) {
-		this.userTagPrefRepository = userTagPrefRepository;
+		this.userTagPrefCache = userTagPrefCache;
 		this.candidateRepository = candidateRepository;
-		this.scoreEngineHttpClient = scoreEngineHttpClient;
+		this.scoringEngineSelector = scoringEngineSelector;
 		this.restaurantRepository = restaurantRepository;
 		this.restaurantTagRepository = restaurantTagRepository;
-		this.redisTemplate = redisTemplate;
+		this.feedPoolRepository = feedPoolRepository;
+		this.feedPrefetcher = feedPrefetcher;
+		this.poolRegenerationCoordinator = poolRegenerationCoordinator;
+		this.guestRankingCache = guestRankingCache;
 		this.userRestaurantStateRepository = userRestaurantStateRepository;
+		this.userSegmentRepository = userSegmentRepository;
 		this.memberRepository = memberRepository;
 		this.regionRepository = regionRepository;
+		this.restaurantCatalog = restaurantCatalog;
+		this.interactionWriteBuffer = interactionWriteBuffer;
 	}
 
-	/** 피드 배치 조회 (cursor 없으면 첫 요청, 숫자면 해당 인덱스부터) */
+	/** 피드 배치 조회 (회원: cursor 없으면 첫 요청, 숫자면 해당 인덱스부터 / 비회원: 불투명 커서) */
 	@Override
 	public FeedResponse getFeedBatch(Long userId, String cursor, Map<String, Object> ctx) {
+		boolean debug = ctx != null && Boolean.TRUE.equals(ctx.get("debug"));
+		if (userId == null) {
+			// 비회원: 위치 셀/주기별 공유 순위 + 커서 시드 기반 순서 (비회원별 Redis 상태 없음)
+			return getGuestFeedBatch(cursor, ctx, debug);
+		}
+
 		// 커서 파싱: 숫자만 받음 (예: "0", "10", "20")
 		int offset = 0;
 		boolean isFirstRequest = false;
@@ -109,108 +143,117 @@ public class MainQueryServiceImpl implements MainQueryService {
 			}
 		}
 
-		// 사용자 타입 판별
-		boolean isGuest = (userId == null);
-		boolean isNewUser = false;
-		if (!isGuest) {
-			var userTagStats = userTagPrefRepository.getUserTagStats(userId);
-			
-			// user_tag_pref 확인 (문제가 있을 때만 경고)
-			if (userTagStats == null || userTagStats.isEmpty()) {
-				log.warn("[MainQueryService.getFeedBatch] user_tag_pref is empty: userId={}", userId);
-			}
-			
-			boolean hasTagPref = (userTagStats != null && !userTagStats.isEmpty());
-			
-			// user_tag_pref가 없어도 pref_score가 있으면 기존 회원으로 판별
-			if (!hasTagPref) {
-				boolean hasPrefScore = userRestaurantStateRepository.existsByUserIdAndPrefScoreNotZero(userId);
-				isNewUser = !hasPrefScore;
-				log.debug("[MainQueryService.getFeedBatch] user type: userId={}, hasTagPref={}, hasPrefScore={}, isNewUser={}", 
-					userId, hasTagPref, hasPrefScore, isNewUser);
+		// 미리 준비된 다음 배치가 있으면 바로 반환 (사용자 타입 판별/DB 조회 생략)
+		if (!isFirstRequest) {
+			String poolKey = FeedPoolRepository.userKey(userId);
+			FeedResponse prefetched = feedPrefetcher.take(poolKey, offset, debug);
+			if (prefetched != null) {
+				schedulePrefetch(poolKey, userId, prefetched.nextCursor(), debug);
+				return prefetched;
 			}
 		}
 
-		// 피드 풀 생성/조회
-		List<RestaurantWithMeta> pool;
-
-		if (isGuest) {
-			// 비회원: Redis 사용 (100개까지 중복 없이 보기 위해)
-			// IP 기반 임시 키 사용 (ctx에서 IP 추출, 없으면 매번 새로 생성)
-			String guestId = extractGuestId(ctx);
-			String redisKey = guestId != null ? REDIS_KEY_PREFIX_GUEST + guestId : null;
-
-			if (redisKey != null) {
-				if (isFirstRequest) {
-					List<PersonalScoreRequest.Candidate> candidates = expandCandidatesUntilSufficient(null, ctx);
-					// 최초 생성: 제한적 셔플 적용 (게스트ID 기반 시드)
-					Long seed = System.currentTimeMillis() ^ guestId.hashCode();
-					pool = preparePoolByRatingAndReview(candidates, true, seed);
-					redisTemplate.opsForValue().set(redisKey, pool, CACHE_TTL_GUEST);
-				} else {
-					pool = getPoolFromRedisOrRegenerateGeneric(
-						redisKey,
-						CACHE_TTL_GUEST,
-						() -> {
-							List<PersonalScoreRequest.Candidate> cands = expandCandidatesUntilSufficient(null, ctx);
-							Long seed = (long)redisKey.hashCode();
-							return preparePoolByRatingAndReview(cands, true, seed);
-						},
-						"guest"
-					);
+		// 피드 풀 생성 방법은 풀을 새로 만들 때만 결정 (이어지는 요청은 사용자 구분/선호 조회 없이 Redis 풀 사용)
+		String redisKey = FeedPoolRepository.userKey(userId);
+		Supplier<GeneratedPool> generator = () -> generatePool(userId, ctx);
+
+		// 배치 추출: 이어지는 요청은 Redis 리스트에서 해당 구간만 LRANGE, 첫 요청/캐시 miss 는 생성 후 메모리에서 잘라냄
+		PoolPage page = isFirstRequest ? null : readPoolPage(redisKey, offset, debug);
+		if (page == null) {
+			// 같은 키 재생성은 한 곳에서만 실행 (동시 요청은 결과 공유, 다른 인스턴스가 만들면 다시 읽기)
+			Supplier<List<RestaurantWithMeta>> regenerateAndSave = () -> {
+				GeneratedPool regenerated = generator.get();
+				feedPrefetcher.invalidate(redisKey);
+				savePool(redisKey, regenerated.restaurants(), debug, regenerated.ttl());
+				return regenerated.restaurants();
+			};
+			// 첫 요청은 기존 풀이 있어도 새로 만들고, 이어지는 요청의 miss 는 그 사이 다른 곳이 채웠으면 다시 읽음
+			List<RestaurantWithMeta> pool = isFirstRequest
+				? poolRegenerationCoordinator.regenerate(redisKey, regenerateAndSave)
+				: poolRegenerationCoordinator.regenerateIfMissing(redisKey, regenerateAndSave);
+			if (pool == null) {
+				page = readPoolPage(redisKey, offset, debug);
+				if (page == null) {
+					pool = regenerateAndSave.get();
 				}
-			} else {
-				// IP 정보가 없으면 매번 새로 생성 (하지만 cursor는 무시)
-				List<PersonalScoreRequest.Candidate> candidates = expandCandidatesUntilSufficient(null, ctx);
-				pool = preparePoolByRatingAndReview(candidates, true, null);
-				offset = 0; // cursor 무시
 			}
-		} else if (isNewUser) {
-			// 신규 회원: Redis 사용 (100개까지 중복 없이 보기 위해)
-			String redisKey = REDIS_KEY_PREFIX + userId;
-			if (isFirstRequest) {
-				List<PersonalScoreRequest.Candidate> candidates = expandCandidatesUntilSufficient(userId, ctx);
-				pool = preparePoolByRatingAndReview(candidates, true, userId);
-				redisTemplate.opsForValue().set(redisKey, pool, CACHE_TTL);
-			} else {
-				pool = getPoolFromRedisOrRegenerateGeneric(
-					redisKey,
-					CACHE_TTL,
-					() -> {
-						List<PersonalScoreRequest.Candidate> cands = expandCandidatesUntilSufficient(userId, ctx);
-						return preparePoolByRatingAndReview(cands, true, userId);
-					},
-					"new_user"
-				);
-			}
-		} else {
-			// 기존 회원: Redis 사용 (100개까지 중복 없이 보기 위해)
-			String redisKey = REDIS_KEY_PREFIX + userId;
-			if (isFirstRequest) {
-				pool = preparePoolForExistingUser(userId, ctx);
-				redisTemplate.opsForValue().set(redisKey, pool, CACHE_TTL);
-			} else {
-				pool = getPoolFromRedisOrRegenerateGeneric(
-					redisKey,
-					CACHE_TTL,
-					() -> preparePoolForExistingUser(userId, ctx),
-					"existing_user"
-				);
+			if (page == null) {
+				page = slice(pool, offset);
+				feedPoolRepository.markServed(redisKey, offset + (long)page.restaurants().size());
 			}
 		}
 
-		// 배치 추출
-		int startIdx = offset;
-		int endIdx = Math.min(startIdx + BATCH_SIZE, pool.size());
+		FeedResponse response = toFeedResponse(userId, page, offset, debug);
+		schedulePrefetch(redisKey, userId, response.nextCursor(), debug);
+		return response;
+	}
+
+	/**
+	 * 비회원 피드 배치 조회
+	 * - 순위는 위치 셀/주기별로 한 번만 계산하여 공유 (GuestRankingCache)
+	 * - 비회원별 순서는 점수 구간 내 시드 셔플로 만들고, 시드/주기/다음 인덱스를 커서에 담아 다음 요청에서 재현
+	 * - 순위는 인스턴스별이므로 이미 노출한 구간의 요약값이 커서와 다르면(다른 인스턴스에서 다른 순위) 처음부터 다시 시작
+	 */
+	private FeedResponse getGuestFeedBatch(String cursor, Map<String, Object> ctx, boolean debug) {
+		GuestFeedCursor parsed = GuestFeedCursor.parse(cursor);
+		long epoch = parsed != null && guestRankingCache.isRetained(parsed.epoch())
+			? parsed.epoch()
+			: guestRankingCache.currentEpoch();
+		long seed = parsed != null ? parsed.seed() : ThreadLocalRandom.current().nextLong();
+		int offset = parsed != null ? parsed.offset() : 0;
+
+		double lat = ((Number)ctx.get("lat")).doubleValue();
+		double lng = ((Number)ctx.get("lng")).doubleValue();
+		GuestRankingCache.Cell cell = GuestRankingCache.cellOf(lat, lng);
+		RatingRanking ranking = guestRankingCache.get(cell, epoch, () -> {
+			// 셀 중심 기준 후보 조회 (같은 셀 비회원은 같은 후보/거리)
+			Map<String, Object> cellCtx = new HashMap<>(ctx);
+			cellCtx.put("lat", cell.centerLat());
+			cellCtx.put("lng", cell.centerLng());
+			return buildRatingRanking(expandCandidatesUntilSufficient(null, cellCtx));
+		});
+
+		List<RestaurantWithMeta> pool = materializeRatingPool(ranking, true, seed);
+		if (offset > 0 && (offset > pool.size() || servedDigest(pool, offset) != parsed.digest())) {
+			log.debug("[MainQueryService.getGuestFeedBatch] 노출 구간 불일치, 처음부터 다시 시작: cell={}, epoch={}, offset={}",
+				cell, epoch, offset);
+			offset = 0;
+		}
+		FeedResponse response = toFeedResponse(null, slice(pool, offset), offset, debug);
+		if (response.nextCursor() == null) {
+			return response;
+		}
+		int nextOffset = Integer.parseInt(response.nextCursor());
+		GuestFeedCursor next = new GuestFeedCursor(epoch, seed, nextOffset, servedDigest(pool, nextOffset));
+		return new FeedResponse(response.items(), next.encode());
+	}
+
+	/** 노출 순서 앞 end 개의 요약값 (GuestFeedCursor.digest) */
+	private static long servedDigest(List<RestaurantWithMeta> pool, int end) {
+		return GuestFeedCursor.digest(pool.subList(0, end).stream()
+			.map(RestaurantWithMeta::getRestaurantId)
+			.toList());
+	}
+
+	/** 메모리 풀에서 배치 구간 추출 */
+	private PoolPage slice(List<RestaurantWithMeta> pool, int offset) {
+		List<RestaurantWithMeta> batch = offset < pool.size()
+			? pool.subList(offset, Math.min(offset + BATCH_SIZE, pool.size()))
+			: List.of();
+		return new PoolPage(batch, pool.size());
+	}
 
-		if (startIdx >= pool.size()) {
+	/**
+	 * 배치 식당 정보 조회/변환 (요청 경로와 다음 배치 미리 준비에서 공통 사용)
+	 */
+	private FeedResponse toFeedResponse(Long userId, PoolPage page, int offset, boolean debug) {
+		List<RestaurantWithMeta> batchRestaurants = page.restaurants();
+		if (batchRestaurants.isEmpty()) {
 			// 풀을 모두 소진했으면 빈 리스트 반환
 			// 프론트에서 nextCursor가 null이면 다음 요청에서 cursor를 null로 보내서 새로 시작
 			return new FeedResponse(List.of(), null);
 		}
-
-		// 현재 배치의 식당들 (메타정보 포함)
-		List<RestaurantWithMeta> batchRestaurants = pool.subList(startIdx, endIdx);
+		int endIdx = offset + batchRestaurants.size();
 
 		// 식당 ID 목록 추출
 		List<Long> batchRestaurantIds = batchRestaurants.stream()
@@ -229,128 +272,140 @@ public class MainQueryServiceImpl implements MainQueryService {
 			bookmarkedIds.addAll(savedIds);
 		}
 
-		// 순서 유지하며 식당 정보 리스트 생성 (거리, 영업 상태 업데이트)
+		// 영업 여부는 풀에 저장된 값 대신 응답 시각 기준으로 다시 판정 (스냅샷에 없는 식당만 저장된 값 사용)
+		RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		int secondOfWeek = WeeklySchedule.secondOfWeek(ZonedDateTime.now(OpenStatusUtil.SEOUL), OpenStatusUtil.SEOUL);
+
+		// 순서 유지하며 식당 정보 리스트 생성 (거리, 영업 상태 업데이트, debug 는 요청 시에만)
 		List<FeedResponse.RestaurantItem> feedItems = batchRestaurants.stream()
 			.map(meta -> {
 				Restaurant restaurant = restaurantMap.get(meta.getRestaurantId());
 				Boolean bookmarked = userId != null && bookmarkedIds.contains(meta.getRestaurantId());
+				int ord = catalog.ordinalOf(meta.getRestaurantId());
+				Boolean isOpen = ord >= 0
+					? catalog.schedule(ord).statusAt(secondOfWeek) == OpenStatus.OPEN
+					: meta.getIsOpen();
 				return MainConverter.toFeedItem(
 					restaurant,
 					meta.getDistanceM(),
-					meta.getIsOpen(),
+					isOpen,
 					bookmarked,
-					meta.getDebug()
+					debug ? meta.getDebug() : null
 				);
 			})
 			.filter(Objects::nonNull)
 			.toList();
 
 		// 다음 커서 생성: 다음 배치의 시작 인덱스 (숫자만)
-		String nextCursor = endIdx < pool.size() ? String.valueOf(endIdx) : null;
+		String nextCursor = endIdx < page.total() ? String.valueOf(endIdx) : null;
 
 		return new FeedResponse(feedItems, nextCursor);
 	}
 
 	/**
-	 * 비회원용 식별자 추출 (ctx에서 IP 또는 세션 ID 추출)
+	 * Redis 풀에서 배치 구간 조회 (풀이 없거나 이전 형식이면 null)
 	 */
-	private String extractGuestId(Map<String, Object> ctx) {
-		if (ctx == null)
+	private PoolPage readPoolPage(String redisKey, int offset, boolean debug) {
+		FeedPoolRepository.Page page = feedPoolRepository.readPage(redisKey, offset, BATCH_SIZE);
+		if (page == null) {
 			return null;
-		// ctx에서 "ip" 또는 "sessionId" 키로 식별자 추출
-		Object ip = ctx.get("ip");
-		Object sessionId = ctx.get("sessionId");
-		if (sessionId != null) {
-			return "session:" + sessionId.toString();
 		}
-		if (ip != null) {
-			return "ip:" + ip.toString();
+		Map<Long, Map<String, Object>> debugById = Map.of();
+		if (debug && !page.entries().isEmpty()) {
+			debugById = feedPoolRepository.readDebug(redisKey,
+				page.entries().stream().map(FeedPoolRepository.Entry::restaurantId).toList());
 		}
-		return null;
+		Map<Long, Map<String, Object>> pageDebug = debugById;
+		List<RestaurantWithMeta> restaurants = page.entries().stream()
+			.map(e -> new RestaurantWithMeta(e.restaurantId(), e.distanceM(), e.isOpen(),
+				pageDebug.get(e.restaurantId())))
+			.toList();
+		return new PoolPage(restaurants, page.total());
 	}
 
-	private List<RestaurantWithMeta> getPoolFromRedisOrRegenerateGeneric(
-		String redisKey,
-		Duration ttl,
-		Supplier<List<RestaurantWithMeta>> regenerate,
-		String logType
-	) {
-		try {
-			Object cachedObj = redisTemplate.opsForValue().get(redisKey);
-			if (cachedObj == null) {
-				List<RestaurantWithMeta> pool = regenerate.get();
-				redisTemplate.opsForValue().set(redisKey, pool, ttl);
-				return pool;
-			}
+	/**
+	 * 다음 배치 미리 준비 예약 (feed.prefetch.enabled 인 경우에만)
+	 * - Redis 풀에서 다음 구간을 읽어 응답까지 만들어 두고, 다음 cursor 요청에서 꺼내 씀
+	 */
+	private void schedulePrefetch(String redisKey, Long userId, String nextCursor, boolean debug) {
+		if (nextCursor == null || !feedPrefetcher.isEnabled()) {
+			return;
+		}
+		int nextOffset = Integer.parseInt(nextCursor);
+		feedPrefetcher.schedule(redisKey, userId, nextOffset, debug, () -> {
+			PoolPage page = readPoolPage(redisKey, nextOffset, debug);
+			return page != null ? toFeedResponse(userId, page, nextOffset, debug) : null;
+		});
+	}
 
-			// 캐시 역직렬화
-			List<RestaurantWithMeta> pool = deserializePool(cachedObj);
-			if (pool != null) {
-				return pool;
-			}
+	/** 새로 만든 피드 풀과 Redis 유지 시간 */
+	private record GeneratedPool(List<RestaurantWithMeta> restaurants, Duration ttl) {
+	}
+
+	/** 피드 풀 배치 구간 (구간 식당, 풀 전체 크기) */
+	private record PoolPage(List<RestaurantWithMeta> restaurants, long total) {
+	}
 
-			// 형식 불일치 시 재생성
-			redisTemplate.delete(redisKey);
-			List<RestaurantWithMeta> regen = regenerate.get();
-			redisTemplate.opsForValue().set(redisKey, regen, ttl);
-			return regen;
-		} catch (SerializationException e) {
-			log.warn("{} Redis 역직렬화 실패, 캐시 삭제 후 재생성: key={}, error={}", logType, redisKey, e.getMessage());
-			redisTemplate.delete(redisKey);
-			List<RestaurantWithMeta> regen = regenerate.get();
-			redisTemplate.opsForValue().set(redisKey, regen, ttl);
-			return regen;
+	/**
+	 * 피드 풀 Redis 저장 (고정 길이 엔트리 리스트, debug 는 요청 시에만 별도 해시에 저장)
+	 */
+	private void savePool(String redisKey, List<RestaurantWithMeta> pool, boolean debug, Duration ttl) {
+		List<FeedPoolRepository.Entry> entries = new ArrayList<>(pool.size());
+		Map<Long, Map<String, Object>> debugById = debug ? new HashMap<>() : null;
+		for (RestaurantWithMeta meta : pool) {
+			if (meta.getRestaurantId() == null) {
+				continue;
+			}
+			entries.add(new FeedPoolRepository.Entry(meta.getRestaurantId(), meta.getDistanceM(), meta.getIsOpen()));
+			if (debugById != null && meta.getDebug() != null) {
+				debugById.put(meta.getRestaurantId(), meta.getDebug());
+			}
 		}
+		feedPoolRepository.save(redisKey, entries, debugById, ttl);
 	}
 
-	private List<RestaurantWithMeta> deserializePool(Object cachedObj) {
-		try {
-			@SuppressWarnings("unchecked")
-			List<Map<String, Object>> cachedList = (List<Map<String, Object>>)cachedObj;
-			return cachedList.stream()
-				.map(map -> {
-					Object restaurantIdObj = map.get("restaurantId");
-					Object distanceMObj = map.get("distanceM");
-					Object isOpenObj = map.get("isOpen");
-					@SuppressWarnings("unchecked")
-					Map<String, Object> debugObj = (Map<String, Object>)map.get("debug");
-					return new RestaurantWithMeta(
-						restaurantIdObj != null ? ((Number)restaurantIdObj).longValue() : null,
-						distanceMObj != null ? ((Number)distanceMObj).intValue() : null,
-						isOpenObj != null ? (Boolean)isOpenObj : null,
-						debugObj
-					);
-				})
-				.filter(meta -> meta.getRestaurantId() != null)
-				.toList();
-		} catch (Exception e) {
-			return null;
+	/**
+	 * 회원 피드 풀 생성 (사용자 구분에 따라 평점/리뷰 기반 또는 개인화 점수 기반)
+	 * 구분은 UserSegmentRepository 에 기록된 값 사용 (기록이 없을 때만 선호 존재 여부를 DB 로 확인)
+	 */
+	private GeneratedPool generatePool(Long userId, Map<String, Object> ctx) {
+		// 아직 반영 전인 이 사용자의 상세 조회/공유를 먼저 반영 (자기 쓰기 읽기)
+		interactionWriteBuffer.flushPending(userId);
+		UserSegment segment = userSegmentRepository.classify(userId, () -> hasPreference(userId));
+		if (segment == UserSegment.NEW) {
+			// 신규 회원: 평점/리뷰 기반
+			log.debug("[MainQueryService.generatePool] user type: userId={}, segment={}", userId, segment);
+			return new GeneratedPool(preparePoolByRatingAndReview(
+				expandCandidatesUntilSufficient(userId, ctx), true, userId), CACHE_TTL);
+		}
+
+		// 기존 회원: 개인화 점수 기반
+		var userTagPrefs = userTagPrefCache.get(userId);
+
+		// user_tag_pref 확인 (문제가 있을 때만 경고)
+		if (userTagPrefs.isEmpty()) {
+			log.warn("[MainQueryService.generatePool] user_tag_pref is empty: userId={}", userId);
 		}
+		return preparePoolForExistingUser(userId, ctx, userTagPrefs);
+	}
+
+	/** user_tag_pref 가 있거나, 없어도 pref_score 가 있으면 기존 회원 */
+	private boolean hasPreference(Long userId) {
+		return !userTagPrefCache.get(userId).isEmpty()
+			|| userRestaurantStateRepository.existsByUserIdAndPrefScoreNotZero(userId);
 	}
 
 	/**
 	 * 기존 회원용 피드 풀 생성 (개인화 추천 점수 기반)
+	 * 점수 엔진이 호출을 거절하면(서킷 열림/동시 실행 제한) 같은 후보로 평점/리뷰 기반 풀을 만들고 짧게만 캐시
 	 */
-	private List<RestaurantWithMeta> preparePoolForExistingUser(Long userId, Map<String, Object> ctx) {
+	private GeneratedPool preparePoolForExistingUser(Long userId, Map<String, Object> ctx,
+		UserTagPrefCache.TagPrefs userTagPrefs) {
 		// 후보 조회
 		List<PersonalScoreRequest.Candidate> candidates = candidateRepository.getCandidates(userId, ctx);
 
-		// 사용자 태그 선호도 조회
-		var userTagStats = userTagPrefRepository.getUserTagStats(userId);
-		
-		// user_tag_pref 확인 (문제가 있을 때만 경고)
-		if (userTagStats == null || userTagStats.isEmpty()) {
-			log.warn("[MainQueryService.preparePoolForExistingUser] user_tag_pref is empty: userId={}", userId);
-		}
-		
-		var userTagPref = userTagStats.entrySet().stream()
-			.collect(Collectors.toMap(
-				Map.Entry::getKey,
-				e -> new PersonalScoreRequest.TagPreference(
-					(float)e.getValue().score(),
-					(float)e.getValue().confidence()
-				)
-			));
+		// 사용자 태그 선호도 (generatePool 에서 조회한 값 재사용)
+		var userTagPref = toTagPreferences(userTagPrefs);
 
 		// Candidate를 Map으로 변환 (식당 ID -> Candidate)
 		Map<Long, PersonalScoreRequest.Candidate> candidateMap = candidates.stream()
@@ -359,10 +414,18 @@ public class MainQueryServiceImpl implements MainQueryService {
 				c -> c
 			));
 
-		// 점수 계산
+		// 점수 계산 (점수 구성요소는 debug 피드 요청에서만 받음)
 		var req = PersonalScoreRequest.of(userId, userTagPref, candidates);
-		// ML 모델 사용 (기본값: ml_v1)
-		var res = scoreEngineHttpClient.score(req, "ml_v1");
+		boolean debug = ctx != null && Boolean.TRUE.equals(ctx.get("debug"));
+		// 알고리즘/엔진 선택 (기본값: ml_v1 → FastAPI, cbf_v1.2 → JVM 내부 계산)
+		PersonalScoreResponse res;
+		try {
+			res = scoringEngineSelector.score(req, ctx, debug);
+		} catch (CallRejectedException e) {
+			log.warn("[MainQueryService.preparePoolForExistingUser] 점수 엔진 호출 거절, 평점 기반 풀로 대체: userId={}, reason={}",
+				userId, e.getReason());
+			return new GeneratedPool(preparePoolByRatingAndReview(candidates, true, userId), SCORE_FALLBACK_TTL);
+		}
 
 		// 점수순 정렬
 		var sortedItems = res.items().stream()
@@ -378,7 +441,7 @@ public class MainQueryServiceImpl implements MainQueryService {
 		var reorderedItems = applyDiversity(limitedPool, candidateMap);
 
 		// 식당 ID와 메타정보 추출
-		return convertToRestaurantWithMeta(reorderedItems, candidateMap);
+		return new GeneratedPool(convertToRestaurantWithMeta(reorderedItems, candidateMap), CACHE_TTL);
 	}
 
 	/**
@@ -418,28 +481,30 @@ public class MainQueryServiceImpl implements MainQueryService {
 		boolean doShuffle,
 		Long shuffleSeed
 	) {
+		return materializeRatingPool(buildRatingRanking(candidates), doShuffle, shuffleSeed);
+	}
+
+	/**
+	 * 평점/리뷰 기반 순위 계산 (셔플 전 공통 단계, 결과는 변경하지 않으므로 여러 요청이 공유 가능)
+	 */
+	private RatingRanking buildRatingRanking(List<PersonalScoreRequest.Candidate> candidates) {
 		// 식당 정보 조회 (평점, 리뷰 수 필요)
 		List<Long> restaurantIds = candidates.stream()
 			.map(PersonalScoreRequest.Candidate::restaurantId)
 			.toList();
 
-		Map<Long, Restaurant> restaurantMap = restaurantRepository.findAllByIdIn(restaurantIds).stream()
-			.collect(Collectors.toMap(Restaurant::getId, r -> r));
+		Map<Long, RatingInfo> ratingMap = loadRatingInfo(restaurantIds);
 
 		// 평점/리뷰 정보가 있는 후보와 없는 후보를 분리
 		List<PersonalScoreRequest.Candidate> withInfo = new ArrayList<>();
 		List<PersonalScoreRequest.Candidate> noInfo = new ArrayList<>();
 		for (PersonalScoreRequest.Candidate c : candidates) {
-			Restaurant r = restaurantMap.get(c.restaurantId());
+			RatingInfo r = ratingMap.get(c.restaurantId());
 			if (r == null) {
 				noInfo.add(c);
 				continue;
 			}
-			BigDecimal rating = r.getKakaoRating();
-			Integer reviewCnt = r.getKakaoReviewCnt();
-			boolean hasRating = (rating != null && rating.doubleValue() > 0.0);
-			boolean hasReviews = (reviewCnt != null && reviewCnt > 0);
-			if (hasRating || hasReviews) {
+			if (r.hasInfo()) {
 				withInfo.add(c);
 			} else {
 				noInfo.add(c);
@@ -449,15 +514,15 @@ public class MainQueryServiceImpl implements MainQueryService {
 		// 신뢰도 점수 계산 및 정렬 (평점/리뷰 정보가 있는 후보만)
 		List<ScoredRestaurant> scoredRestaurants = withInfo.stream()
 			.map(candidate -> {
-				Restaurant restaurant = restaurantMap.get(candidate.restaurantId());
-				if (restaurant == null)
+				RatingInfo info = ratingMap.get(candidate.restaurantId());
+				if (info == null)
 					return null;
 
-				BigDecimal rating = restaurant.getKakaoRating();
-				Integer reviewCnt = restaurant.getKakaoReviewCnt();
+				Double rating = info.rating();
+				Integer reviewCnt = info.reviewCnt();
 
 				// 평점이 없으면 0점 처리
-				double ratingValue = rating != null ? rating.doubleValue() : 0.0;
+				double ratingValue = rating != null ? rating : 0.0;
 
 				// 리뷰 수 기반 신뢰도 가중치 (0.0 ~ 1.0)
 				double confidenceWeight = calculateReviewConfidence(reviewCnt);
@@ -480,48 +545,24 @@ public class MainQueryServiceImpl implements MainQueryService {
 			? scoredRestaurants.subList(0, POOL_SIZE)
 			: scoredRestaurants;
 
-		// 카테고리 다양성 고려 재배치 (랜덤 셔플은 최초 생성에만 제한적으로 수행)
 		Map<Long, PersonalScoreRequest.Candidate> candidateMap = candidates.stream()
 			.collect(Collectors.toMap(
 				PersonalScoreRequest.Candidate::restaurantId,
 				c -> c
 			));
 
-		List<ScoredRestaurant> inputForDiversity;
-		if (doShuffle) {
-			// 점수 구간(0.5 단위) 내에서 시드 기반 셔플
-			Map<Integer, List<ScoredRestaurant>> scoreGroups = groupByScoreRange(limitedPool);
-			List<ScoredRestaurant> shuffledPool = new ArrayList<>();
-			java.util.Random rand = (shuffleSeed != null) ? new java.util.Random(shuffleSeed) : new java.util.Random();
-			for (List<ScoredRestaurant> group : scoreGroups.values()) {
-				Collections.shuffle(group, rand);
-				shuffledPool.addAll(group);
-			}
-			inputForDiversity = shuffledPool;
-		} else {
-			// 결정적 순서 유지: 점수 → 식당ID
-			inputForDiversity = limitedPool.stream()
-				.sorted((a, b) -> {
-					int scoreCompare = Double.compare(b.score(), a.score());
-					if (scoreCompare != 0)
-						return scoreCompare;
-					return Long.compare(a.restaurantId(), b.restaurantId());
-				})
-				.collect(Collectors.toList());
-		}
-
-		var reorderedItems = applyDiversityForRatingFeed(inputForDiversity, candidateMap);
+		// 점수 구간(0.5 단위) 그룹 (셔플 단위)
+		List<List<ScoredRestaurant>> scoreGroups = groupByScoreRange(limitedPool).values().stream()
+			.map(List::copyOf)
+			.toList();
 
-		// 메인 결과 (평점/리뷰 있는 식당들)
-		List<RestaurantWithMeta> result = reorderedItems.stream()
-			.map(sr -> {
-				PersonalScoreRequest.Candidate candidate = candidateMap.get(sr.restaurantId());
-				return new RestaurantWithMeta(
-					sr.restaurantId(),
-					candidate != null && candidate.distanceM() != null ? candidate.distanceM().intValue() : null,
-					candidate != null && candidate.isOpen() != null ? candidate.isOpen() : false,
-					null // 비회원/신규 회원은 debug 정보 없음
-				);
+		// 결정적 순서: 점수 → 식당ID
+		List<ScoredRestaurant> sorted = limitedPool.stream()
+			.sorted((a, b) -> {
+				int scoreCompare = Double.compare(b.score(), a.score());
+				if (scoreCompare != 0)
+					return scoreCompare;
+				return Long.compare(a.restaurantId(), b.restaurantId());
 			})
 			.toList();
 
@@ -536,11 +577,102 @@ public class MainQueryServiceImpl implements MainQueryService {
 			))
 			.toList();
 
-		List<RestaurantWithMeta> combined = new ArrayList<>(result);
-		combined.addAll(tail);
+		return new RatingRanking(scoreGroups, sorted, candidateMap, tail);
+	}
+
+	/**
+	 * 순위로부터 노출 순서 생성 (점수 구간 내 시드 셔플 → 카테고리 다양성 재배치 → 정보 없는 식당)
+	 * 같은 순위와 같은 시드면 항상 같은 순서
+	 */
+	private List<RestaurantWithMeta> materializeRatingPool(RatingRanking ranking, boolean doShuffle, Long shuffleSeed) {
+		List<ScoredRestaurant> inputForDiversity;
+		if (doShuffle) {
+			// 점수 구간(0.5 단위) 내에서 시드 기반 셔플 (공유 순위는 복사본을 셔플)
+			List<ScoredRestaurant> shuffledPool = new ArrayList<>();
+			java.util.Random rand = (shuffleSeed != null) ? new java.util.Random(shuffleSeed) : new java.util.Random();
+			for (List<ScoredRestaurant> group : ranking.scoreGroups()) {
+				List<ScoredRestaurant> shuffled = new ArrayList<>(group);
+				Collections.shuffle(shuffled, rand);
+				shuffledPool.addAll(shuffled);
+			}
+			inputForDiversity = shuffledPool;
+		} else {
+			inputForDiversity = new ArrayList<>(ranking.sorted());
+		}
+
+		Map<Long, PersonalScoreRequest.Candidate> candidateMap = ranking.candidateMap();
+		var reorderedItems = applyDiversityForRatingFeed(inputForDiversity, candidateMap);
+
+		// 메인 결과 (평점/리뷰 있는 식당들)
+		List<RestaurantWithMeta> combined = new ArrayList<>(reorderedItems.size() + ranking.tail().size());
+		for (ScoredRestaurant sr : reorderedItems) {
+			PersonalScoreRequest.Candidate candidate = candidateMap.get(sr.restaurantId());
+			combined.add(new RestaurantWithMeta(
+				sr.restaurantId(),
+				candidate != null && candidate.distanceM() != null ? candidate.distanceM().intValue() : null,
+				candidate != null && candidate.isOpen() != null ? candidate.isOpen() : false,
+				null // 비회원/신규 회원은 debug 정보 없음
+			));
+		}
+		combined.addAll(ranking.tail());
 		return combined;
 	}
 
+	/**
+	 * 평점/리뷰 기반 순위 (점수 구간 그룹, 결정적 정렬, 후보 맵, 정보 없는 식당)
+	 */
+	private record RatingRanking(
+		List<List<ScoredRestaurant>> scoreGroups,
+		List<ScoredRestaurant> sorted,
+		Map<Long, PersonalScoreRequest.Candidate> candidateMap,
+		List<RestaurantWithMeta> tail
+	) {
+	}
+
+	/**
+	 * 평점/리뷰 수 로딩 (카탈로그 스냅샷 우선, 스냅샷에 없는 식당만 DB 조회)
+	 */
+	private Map<Long, RatingInfo> loadRatingInfo(List<Long> restaurantIds) {
+		Map<Long, RatingInfo> result = new HashMap<>();
+		RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		List<Long> missing = new ArrayList<>();
+		for (Long id : restaurantIds) {
+			int ord = catalog.ordinalOf(id);
+			if (ord < 0) {
+				missing.add(id);
+				continue;
+			}
+			double rating = catalog.rating(ord);
+			int reviewCnt = catalog.reviewCount(ord);
+			result.put(id, new RatingInfo(
+				Double.isNaN(rating) ? null : rating,
+				reviewCnt < 0 ? null : reviewCnt
+			));
+		}
+		if (!missing.isEmpty()) {
+			for (Restaurant r : restaurantRepository.findAllByIdInWithoutHours(missing)) {
+				BigDecimal rating = r.getKakaoRating();
+				result.put(r.getId(), new RatingInfo(
+					rating != null ? rating.doubleValue() : null,
+					r.getKakaoReviewCnt()
+				));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 식당 평점/리뷰 수
+	 */
+	private record RatingInfo(
+		Double rating,
+		Integer reviewCnt
+	) {
+		boolean hasInfo() {
+			return (rating != null && rating > 0.0) || (reviewCnt != null && reviewCnt > 0);
+		}
+	}
+
 	/**
 	 * 리뷰 수 기반 신뢰도 가중치 계산
 	 *
@@ -622,7 +754,7 @@ public class MainQueryServiceImpl implements MainQueryService {
 	}
 
 	/**
-	 * 평점/리뷰 기반 피드용 다양성 재배치
+	 * 평점/리뷰 기반 피드용 다양성 재배치 (카테고리만 고려, DiversityReranker.reorderGuest)
 	 */
 	private List<ScoredRestaurant> reorderWithDiversityForRatingFeed(
 		List<ScoredRestaurant> items,
@@ -632,85 +764,37 @@ public class MainQueryServiceImpl implements MainQueryService {
 			return List.of();
 		}
 
-		List<ScoredRestaurant> result = new ArrayList<>();
-		List<ScoredRestaurant> remaining = new ArrayList<>(items);
-
-		while (!remaining.isEmpty()) {
-			ScoredRestaurant selected = selectNextItemForGuest(
-				remaining,
-				result,
-				restaurantInfoMap
-			);
-			if (selected == null) {
-				// 선택할 수 없으면 첫 번째 항목 선택
-				selected = remaining.get(0);
-			}
-			result.add(selected);
-			remaining.remove(selected);
-		}
+		DiversityReranker reranker = toDiversityReranker(items, ScoredRestaurant::restaurantId,
+			ScoredRestaurant::score, restaurantInfoMap);
+		int[] order = reranker.reorderGuest(BATCH_SIZE);
 
+		List<ScoredRestaurant> result = new ArrayList<>(order.length);
+		for (int idx : order) {
+			result.add(items.get(idx));
+		}
 		return result;
 	}
 
 	/**
-	 * 비회원용 다음 아이템 선택 (카테고리 다양성 고려)
+	 * 재배치 엔진 입력 구성 (입력 순서 유지)
 	 */
-	private ScoredRestaurant selectNextItemForGuest(
-		List<ScoredRestaurant> candidates,
-		List<ScoredRestaurant> selected,
+	private <T> DiversityReranker toDiversityReranker(
+		List<T> items,
+		java.util.function.Function<T, Long> idOf,
+		java.util.function.ToDoubleFunction<T> scoreOf,
 		Map<Long, RestaurantInfo> restaurantInfoMap
 	) {
-		if (candidates.isEmpty()) {
-			return null;
-		}
-
-		// 최근 선택된 아이템들의 카테고리 추출
-		int lookbackSize = Math.min(BATCH_SIZE, selected.size());
-		Set<String> recentCategories = new HashSet<>();
-
-		for (int i = selected.size() - lookbackSize; i < selected.size(); i++) {
-			if (i >= 0) {
-				Long restaurantId = selected.get(i).restaurantId();
-				RestaurantInfo info = restaurantInfoMap.get(restaurantId);
-				if (info != null) {
-					if (info.category1() != null)
-						recentCategories.add(info.category1());
-					if (info.category2() != null)
-						recentCategories.add(info.category2());
-					if (info.category3() != null)
-						recentCategories.add(info.category3());
-				}
-			}
-		}
-
-		// 겹치지 않는 카테고리 + 양의 점수 우선 선택
-		for (ScoredRestaurant item : candidates) {
-			RestaurantInfo info = restaurantInfoMap.get(item.restaurantId());
-			if (info == null)
-				continue;
-			boolean categoryOverlap = (info.category1() != null && recentCategories.contains(info.category1()))
-				|| (info.category2() != null && recentCategories.contains(info.category2()))
-				|| (info.category3() != null && recentCategories.contains(info.category3()));
-			if (!categoryOverlap && item.score() > 0.0) {
-				return item;
-			}
-		}
-
-		// 겹치지 않는 카테고리 (점수 무관)
-		for (ScoredRestaurant item : candidates) {
-			RestaurantInfo info = restaurantInfoMap.get(item.restaurantId());
-			if (info == null)
-				continue;
-			boolean categoryOverlap = (info.category1() != null && recentCategories.contains(info.category1()))
-				|| (info.category2() != null && recentCategories.contains(info.category2()))
-				|| (info.category3() != null && recentCategories.contains(info.category3()));
-			if (!categoryOverlap) {
-				return item;
+		DiversityReranker reranker = new DiversityReranker();
+		for (T item : items) {
+			RestaurantInfo info = restaurantInfoMap.get(idOf.apply(item));
+			if (info == null) {
+				reranker.addWithoutInfo(scoreOf.applyAsDouble(item));
+			} else {
+				reranker.add(scoreOf.applyAsDouble(item), info.category1(), info.category2(), info.category3(),
+					info.tagIds());
 			}
 		}
-
-		// 모두 겹치면 점수 높은 순으로 선택
-		return candidates.get(0);
+		return reranker;
 	}
 
 	/**
@@ -769,36 +853,57 @@ public class MainQueryServiceImpl implements MainQueryService {
 			return Collections.emptyMap();
 		}
 
-		// 식당 정보 조회
-		Map<Long, Restaurant> restaurantMap = restaurantRepository.findAllByIdIn(restaurantIds).stream()
-			.collect(Collectors.toMap(Restaurant::getId, r -> r));
+		// 카탈로그 스냅샷에서 카테고리/태그 조회
+		RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		Map<Long, RestaurantInfo> result = new HashMap<>();
+		List<Long> missing = new ArrayList<>();
+		for (Long id : restaurantIds) {
+			int ord = catalog.ordinalOf(id);
+			if (ord < 0) {
+				missing.add(id);
+				continue;
+			}
+			Set<Long> tagIds = new HashSet<>();
+			for (int row = catalog.tagStart(ord); row < catalog.tagEnd(ord); row++) {
+				tagIds.add(catalog.tagId(row));
+			}
+			result.put(id, new RestaurantInfo(
+				catalog.category1(ord),
+				catalog.category2(ord),
+				catalog.category3(ord),
+				tagIds
+			));
+		}
+		if (missing.isEmpty()) {
+			return result;
+		}
 
-		// 태그 정보 조회
+		// 스냅샷에 없는 식당 (신규 등록 직후 등)은 DB 조회
+		Map<Long, Restaurant> restaurantMap = restaurantRepository.findAllByIdInWithoutHours(missing).stream()
+			.collect(Collectors.toMap(Restaurant::getId, r -> r));
 		Map<Long, List<RestaurantTag>> tagsByRestaurant = restaurantTagRepository
-			.findByRestaurantIdIn(restaurantIds).stream()
+			.findByRestaurantIdIn(missing).stream()
 			.collect(Collectors.groupingBy(RestaurantTag::getRestaurantId));
 
-		// RestaurantInfo 맵 구성
-		return restaurantIds.stream()
-			.collect(Collectors.toMap(
-				id -> id,
-				id -> {
-					Restaurant restaurant = restaurantMap.get(id);
-					List<RestaurantTag> tags = tagsByRestaurant.getOrDefault(id, Collections.emptyList());
-					return new RestaurantInfo(
-						restaurant != null ? restaurant.getCategory1() : null,
-						restaurant != null ? restaurant.getCategory2() : null,
-						restaurant != null ? restaurant.getCategory3() : null,
-						tags.stream().map(RestaurantTag::getTagId).collect(Collectors.toSet())
-					);
-				}
+		for (Long id : missing) {
+			Restaurant restaurant = restaurantMap.get(id);
+			List<RestaurantTag> tags = tagsByRestaurant.getOrDefault(id, Collections.emptyList());
+			result.put(id, new RestaurantInfo(
+				restaurant != null ? restaurant.getCategory1() : null,
+				restaurant != null ? restaurant.getCategory2() : null,
+				restaurant != null ? restaurant.getCategory3() : null,
+				tags.stream().map(RestaurantTag::getTagId).collect(Collectors.toSet())
 			));
+		}
+		return result;
 	}
 
 	/**
 	 * 다양성을 고려한 재배치
 	 *
 	 * 배치 단위로 카테고리와 태그가 다양하게 분산되도록 재배치합니다.
+	 * 최근 배치 크기만큼의 아이템과 카테고리가 겹치지 않고 태그가 2개 이상 겹치지 않는 아이템 중
+	 * 점수가 높은 것을 우선 선택하며, 모두 겹치면 점수 높은 순으로 선택합니다. (DiversityReranker.reorderPersonal)
 	 */
 	private List<PersonalScoreResponse.ScoredItem> reorderWithDiversity(
 		List<PersonalScoreResponse.ScoredItem> items,
@@ -809,97 +914,15 @@ public class MainQueryServiceImpl implements MainQueryService {
 			return items;
 		}
 
-		List<PersonalScoreResponse.ScoredItem> result = new ArrayList<>();
-		List<PersonalScoreResponse.ScoredItem> remaining = new ArrayList<>(items);
-
-		// 배치 단위로 처리
-		while (!remaining.isEmpty()) {
-			PersonalScoreResponse.ScoredItem selected = selectNextItem(
-				remaining,
-				result,
-				restaurantInfoMap,
-				candidateMap
-			);
-			result.add(selected);
-			remaining.remove(selected);
-		}
-
-		return result;
-	}
-
-	/**
-	 * 다음 배치에 포함할 아이템 선택
-	 *
-	 * 현재 배치의 마지막 아이템들과 겹치지 않는 카테고리/태그를 가진 아이템을 우선 선택합니다.
-	 */
-	private PersonalScoreResponse.ScoredItem selectNextItem(
-		List<PersonalScoreResponse.ScoredItem> candidates,
-		List<PersonalScoreResponse.ScoredItem> selected,
-		Map<Long, RestaurantInfo> restaurantInfoMap,
-		Map<Long, PersonalScoreRequest.Candidate> candidateMap
-	) {
-		if (candidates.isEmpty()) {
-			return null;
-		}
-
-		// 최근 선택된 아이템들의 카테고리와 태그 추출 (배치 크기만큼)
-		int lookbackSize = Math.min(BATCH_SIZE, selected.size());
-		Set<String> recentCategories = new HashSet<>();
-		Set<Long> recentTagIds = new HashSet<>();
-
-		for (int i = selected.size() - lookbackSize; i < selected.size(); i++) {
-			if (i >= 0) {
-				Long restaurantId = selected.get(i).restaurantId();
-				RestaurantInfo info = restaurantInfoMap.get(restaurantId);
-				if (info != null) {
-					if (info.category1() != null)
-						recentCategories.add(info.category1());
-					if (info.category2() != null)
-						recentCategories.add(info.category2());
-					if (info.category3() != null)
-						recentCategories.add(info.category3());
-					recentTagIds.addAll(info.tagIds());
-				}
-			}
-		}
-
-		// 다양성 조건을 만족하는 아이템들 중 점수가 높은 것 우선 선택
-		PersonalScoreResponse.ScoredItem bestDiverseItem = null;
-		double bestDiverseScore = Double.NEGATIVE_INFINITY;
-
-		for (PersonalScoreResponse.ScoredItem item : candidates) {
-			RestaurantInfo info = restaurantInfoMap.get(item.restaurantId());
-			if (info == null) {
-				continue;
-			}
-
-			// 카테고리 겹침 확인
-			boolean categoryOverlap = (info.category1() != null && recentCategories.contains(info.category1()))
-				|| (info.category2() != null && recentCategories.contains(info.category2()))
-				|| (info.category3() != null && recentCategories.contains(info.category3()));
-
-			// 태그 겹침 확인 (최소 2개 이상 겹치면 제외)
-			long tagOverlapCount = info.tagIds().stream()
-				.filter(recentTagIds::contains)
-				.count();
-			boolean significantTagOverlap = tagOverlapCount >= 2;
-
-			// 다양성 조건을 만족하고 점수가 더 높으면 선택
-			if (!categoryOverlap && !significantTagOverlap) {
-				if (item.score() > bestDiverseScore) {
-					bestDiverseScore = item.score();
-					bestDiverseItem = item;
-				}
-			}
-		}
+		DiversityReranker reranker = toDiversityReranker(items, PersonalScoreResponse.ScoredItem::restaurantId,
+			PersonalScoreResponse.ScoredItem::score, restaurantInfoMap);
+		int[] order = reranker.reorderPersonal(BATCH_SIZE);
 
-		// 다양성 조건을 만족하는 아이템이 있으면 반환
-		if (bestDiverseItem != null) {
-			return bestDiverseItem;
+		List<PersonalScoreResponse.ScoredItem> result = new ArrayList<>(order.length);
+		for (int idx : order) {
+			result.add(items.get(idx));
 		}
-
-		// 모두 겹치면 점수 높은 순으로 선택
-		return candidates.get(0);
+		return result;
 	}
 
 	/**
@@ -926,26 +949,19 @@ public class MainQueryServiceImpl implements MainQueryService {
 	 */
 	@Override
 	public PersonalScoreResponse getPersonalFeed(long userId, int top, boolean debug, Map<String, Object> ctx) {
-		// UserTagPrefRepository의 TagStat을 TagPreference로 변환
-		var userTagStats = userTagPrefRepository.getUserTagStats(userId);
+		// 사용자 태그 선호도 (UserTagPrefCache) 를 TagPreference로 변환
+		var userTagPrefs = userTagPrefCache.get(userId);
 		
 		// user_tag_pref 확인 (문제가 있을 때만 경고)
-		if (userTagStats == null || userTagStats.isEmpty()) {
+		if (userTagPrefs.isEmpty()) {
 			log.warn("[MainQueryService.getPersonalFeed] user_tag_pref is empty: userId={}", userId);
 		}
 		
-		var userTagPref = userTagStats.entrySet().stream()
-			.collect(Collectors.toMap(
-				Map.Entry::getKey,
-				e -> new PersonalScoreRequest.TagPreference(
-					(float)e.getValue().score(),
-					(float)e.getValue().confidence()
-				)
-			));
+		var userTagPref = toTagPreferences(userTagPrefs);
 		var candidates = candidateRepository.getCandidates(userId, ctx);
 		var req = PersonalScoreRequest.of(userId, userTagPref, candidates);
-		// ML 모델 사용 (기본값: ml_v1)
-		var res = scoreEngineHttpClient.score(req, "ml_v1");
+		// 알고리즘/엔진 선택 (기본값: ml_v1 → FastAPI, cbf_v1.2 → JVM 내부 계산)
+		var res = scoringEngineSelector.score(req, ctx, debug);
 
 		// 점수 높은 순으로 정렬 (내림차순)
 		var sortedItems = res.items().stream()
@@ -1017,54 +1033,64 @@ public class MainQueryServiceImpl implements MainQueryService {
 
 	/**
 	 * 게스트/신규 사용자용 후보 확장: withInfo(평점>0 또는 리뷰수>0) 후보가 충분할 때까지 반경/수량 확장
+	 * - 반경을 늘릴 때마다 이전 반경 ~ 새 반경 사이 링만 조회하고, 후보/withInfo 수는 링 간 누적
+	 * - 링 결과를 이어 붙이면 마지막 반경/수량으로 한 번에 조회한 결과와 같음
 	 */
 	private List<PersonalScoreRequest.Candidate> expandCandidatesUntilSufficient(Long userId,
 		Map<String, Object> baseCtx) {
 		final int target = POOL_SIZE; // 목표 withInfo 수
-		final int maxExpansions = 2;  // 최대 확장 횟수
+		final int maxExpansions = 2;  // 최대 확장 횟수 (마지막 확장 후 링 1회 추가 조회)
 		final double radiusMultiplier = 2.0; // 반경 배수
 		final int maxCandidatesStep = 150;   // maxCandidates 증가분
 
 		Map<String, Object> ctx = new HashMap<>(baseCtx == null ? Map.of() : baseCtx);
-		ctx.putIfAbsent("maxCandidates", 100);
-		ctx.putIfAbsent("radiusM", 5000.0);
-
-		for (int i = 0; i <= maxExpansions; i++) {
-			List<PersonalScoreRequest.Candidate> cands = candidateRepository.getCandidates(userId == null ? 0L : userId,
-				ctx);
-			int withInfoCount = countWithInfo(cands);
+		int maxCandidates = ((Number)ctx.getOrDefault("maxCandidates", 100)).intValue();
+		double radiusM = ((Number)ctx.getOrDefault("radiusM", 5000.0)).doubleValue();
+
+		Long candidateUserId = userId == null ? 0L : userId;
+		NearbyRestaurantCursor cursor = candidateRepository.openCursor(ctx);
+		List<PersonalScoreRequest.Candidate> cands = new ArrayList<>();
+		int withInfoCount = 0;
+
+		for (int i = 0; i <= maxExpansions + 1; i++) {
+			List<PersonalScoreRequest.Candidate> ring = candidateRepository.getCandidatesInRing(
+				candidateUserId, cursor, radiusM, maxCandidates);
+			cands.addAll(ring);
+			withInfoCount += countWithInfo(ring);
 			if (withInfoCount >= target)
 				return cands;
 
 			// 확장: 반경/수량 증가
-			int newMax = ((Number)ctx.get("maxCandidates")).intValue() + maxCandidatesStep;
-			double newRadius = ((Number)ctx.get("radiusM")).doubleValue() * radiusMultiplier;
-			ctx.put("maxCandidates", newMax);
-			ctx.put("radiusM", newRadius);
+			maxCandidates += maxCandidatesStep;
+			radiusM *= radiusMultiplier;
 		}
-		// 확장 후에도 부족하면 마지막 결과 반환
-		return candidateRepository.getCandidates(userId == null ? 0L : userId, ctx);
+		// 확장 후에도 부족하면 누적 결과 반환
+		return cands;
 	}
 
 	private int countWithInfo(List<PersonalScoreRequest.Candidate> candidates) {
 		if (candidates == null || candidates.isEmpty())
 			return 0;
 		List<Long> ids = candidates.stream().map(PersonalScoreRequest.Candidate::restaurantId).toList();
-		Map<Long, Restaurant> map = restaurantRepository.findAllByIdIn(ids).stream()
-			.collect(Collectors.toMap(Restaurant::getId, r -> r));
+		Map<Long, RatingInfo> map = loadRatingInfo(ids);
 		int cnt = 0;
 		for (PersonalScoreRequest.Candidate c : candidates) {
-			Restaurant r = map.get(c.restaurantId());
-			if (r == null)
-				continue;
-			BigDecimal rating = r.getKakaoRating();
-			Integer reviewCnt = r.getKakaoReviewCnt();
-			if ((rating != null && rating.doubleValue() > 0.0) || (reviewCnt != null && reviewCnt > 0))
+			RatingInfo r = map.get(c.restaurantId());
+			if (r != null && r.hasInfo())
 				cnt++;
 		}
 		return cnt;
 	}
 
+	/** 캐시된 태그 선호 → 점수 엔진 요청용 맵 */
+	private static Map<Long, PersonalScoreRequest.TagPreference> toTagPreferences(UserTagPrefCache.TagPrefs prefs) {
+		Map<Long, PersonalScoreRequest.TagPreference> userTagPref = new HashMap<>(prefs.size() * 2);
+		for (int i = 0; i < prefs.size(); i++) {
+			userTagPref.put(prefs.tagId(i), new PersonalScoreRequest.TagPreference(prefs.score(i), prefs.confidence(i)));
+		}
+		return userTagPref;
+	}
+
 	@Override
 	public double[] getCoordinates(Long userId) {
 		Long regionId = getRegionId(userId);
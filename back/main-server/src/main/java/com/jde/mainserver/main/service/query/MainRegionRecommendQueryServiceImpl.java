@@ -4,12 +4,17 @@ import com.jde.mainserver.main.web.dto.response.MainRegionRecommendResponse;
 import com.jde.mainserver.member.dto.response.MemberRegionResponse;
 import com.jde.mainserver.member.entity.Member;
 import com.jde.mainserver.member.repository.MemberRepository;
+import com.jde.mainserver.restaurants.catalog.RestaurantSpatialIndex;
+import com.jde.mainserver.restaurants.entity.Restaurant;
 import com.jde.mainserver.restaurants.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +23,7 @@ public class MainRegionRecommendQueryServiceImpl implements MainRegionRecommendQ
 
     private final MemberRepository memberRepository;
     private final RestaurantRepository restaurantRepository;
+    private final RestaurantSpatialIndex restaurantSpatialIndex;
 
     @Override
     public MainRegionRecommendResponse overview(Long memberId) {
@@ -33,11 +39,24 @@ public class MainRegionRecommendQueryServiceImpl implements MainRegionRecommendQ
         double lng = p.getX();
         double lat = p.getY();
 
-        var page = restaurantRepository.findNearestWithinMeters(
-                lng, lat, 800, org.springframework.data.domain.PageRequest.of(0, 20)
-        );
-
-        var items = page.getContent().stream()
+        // 공간 인덱스(없으면 DB KNN 조회, 전체 개수 쿼리 없음)로 거리순 ID 조회 후 이름만 벌크 조회 (거리순 유지)
+        List<Long> ids;
+        if (restaurantSpatialIndex.isReady()) {
+            ids = restaurantSpatialIndex.withinRadius(lat, lng, 800, 20).stream()
+                    .map(RestaurantSpatialIndex.Hit::restaurantId)
+                    .toList();
+        } else {
+            ids = restaurantRepository.findNearestSliceWithinMeters(
+                            lng, lat, 800, org.springframework.data.domain.PageRequest.of(0, 20)
+                    ).stream()
+                    .map(RestaurantRepository.NearbyRestaurantProjection::getRestaurantId)
+                    .toList();
+        }
+        Map<Long, Restaurant> byId = restaurantRepository.findAllByIdInWithoutHours(ids).stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        List<MainRegionRecommendResponse.RestaurantItem> items = ids.stream()
+                .map(byId::get)
+                .filter(r -> r != null)
                 .map(r -> new MainRegionRecommendResponse.RestaurantItem(
                         r.getId(),
                         r.getName()
@@ -32,7 +32,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -58,47 +57,25 @@ public class MainController {
 	@GetMapping("/feed")
 	public FeedResponse getFeed(
 		@AuthUser Long userId,
-		@Parameter(description = "다음 배치 커서 (null이나 0이면 첫 요청)", example = "0")
+		@Parameter(description = "다음 배치 커서 (null이나 0이면 첫 요청, 응답의 next_cursor 를 그대로 전달)", example = "0")
 		@RequestParam(required = false) String cursor,
-		HttpServletRequest request
+		@Parameter(description = "점수 계산 상세 정보 포함 여부", example = "false")
+		@RequestParam(defaultValue = "false") boolean debug,
+		@Parameter(description = "점수 알고리즘 (ml_v1 / cbf_v1.2, 없으면 서버 설정값). 피드 풀을 새로 만들 때만 적용", example = "cbf_v1.2")
+		@RequestParam(required = false) String algo
 	) {
 		double[] coordinates = mainQueryService.getCoordinates(userId);
 		Map<String, Object> ctx = new HashMap<>();
 		ctx.put("lng", coordinates[0]);
 		ctx.put("lat", coordinates[1]);
-
-		if (userId == null) {
-			String clientIp = getClientIp(request);
-			if (clientIp != null) {
-				ctx.put("ip", clientIp);
-			}
+		ctx.put("debug", debug);
+		if (algo != null) {
+			ctx.put("algo", algo);
 		}
 
 		return mainQueryService.getFeedBatch(userId, cursor, ctx);
 	}
 
-	private String getClientIp(HttpServletRequest request) {
-		String[] headers = {
-			"X-Forwarded-For",
-			"Proxy-Client-IP",
-			"WL-Proxy-Client-IP",
-			"HTTP_CLIENT_IP",
-			"HTTP_X_FORWARDED_FOR"
-		};
-
-		for (String header : headers) {
-			String ip = request.getHeader(header);
-			if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-				if (ip.contains(",")) {
-					ip = ip.split(",")[0].trim();
-				}
-				return ip;
-			}
-		}
-
-		return request.getRemoteAddr();
-	}
-
 	@Operation(
 		summary = "스와이프 액션 처리",
 		description = "HOLD/DISLIKE/SELECT 기록",
@@ -169,7 +146,7 @@ public class MainController {
 		@AuthUser Long userId,
 		@Parameter(description = "카테고리 (한식, 중식, 일식, 양식, 분식, 치킨, 패스트푸드, 디저트, 샐러드, 아시아/퓨전, 뷔페/패밀리, 술집)", example = "한식")
 		@RequestParam String category,
-		@Parameter(description = "다음 배치 커서 (null이나 0이면 첫 요청)", example = "0")
+		@Parameter(description = "다음 배치 커서 (null이나 0이면 첫 요청, 응답의 next_cursor 를 그대로 전달)", example = "0")
 		@RequestParam(required = false) String cursor
 	) {
 		double[] coordinates = mainQueryService.getCoordinates(userId);
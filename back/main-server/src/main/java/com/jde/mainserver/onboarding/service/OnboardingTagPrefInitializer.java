@@ -5,7 +5,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jde.mainserver.onboarding.OnboardingSurveyStore;
 import com.jde.mainserver.onboarding.mapping.OnboardingTagMapping;
 import com.jde.mainserver.onboarding.mapping.OnboardingTagMapping.TagRef;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
 import com.jde.mainserver.main.repository.UserTagPrefRepository;
+import com.jde.mainserver.main.repository.redis.UserSegmentRepository;
 import com.jde.mainserver.restaurants.entity.Tag;
 import com.jde.mainserver.restaurants.repository.TagRepository;
 import jakarta.annotation.Nullable;
@@ -30,6 +32,8 @@ public class OnboardingTagPrefInitializer {
 	private final OnboardingSurveyStore store;
 	private final TagRepository tagRepository;
 	private final UserTagPrefRepository userTagPrefRepository;
+	private final UserTagPrefCache userTagPrefCache;
+	private final UserSegmentRepository userSegmentRepository;
 	private final ObjectMapper objectMapper;
 
 	/**
@@ -144,9 +148,12 @@ public class OnboardingTagPrefInitializer {
 			// 실패 시 더 진행하지 않음
 			return;
 		}
+		// 커밋 후 선호 버전 증가 (인스턴스별 선호 캐시 무효화)
+		userTagPrefCache.recordReplace(userId);
 
 		// (type,name) → tag_id 조회 캐시
 		Map<TagKey, Long> tagIdCache = new HashMap<>();
+		boolean wroteNonZero = false;
 
 		for (Map.Entry<TagKey, Double> e : acc.entrySet()) {
 			TagKey key = e.getKey();
@@ -173,10 +180,16 @@ public class OnboardingTagPrefInitializer {
 					BigDecimal.ZERO,              // 증분 없음
 					BigDecimal.ZERO               // 증분 없음
 				);
+				wroteNonZero |= clamped != 0.0;
 			} catch (Exception ex) {
 				log.warn("[OnboardingTagPrefInitializer] upsert 실패: userId={}, tagId={}, err={}", userId, tagId, ex.toString());
 			}
 		}
+
+		// 0 이 아닌 선호가 생기면 피드에서 기존 회원으로 구분 (커밋 후 기록)
+		if (wroteNonZero) {
+			userSegmentRepository.markExistingAfterCommit(userId);
+		}
 	}
 
 	/** (type,name) → tag_id 해석 */
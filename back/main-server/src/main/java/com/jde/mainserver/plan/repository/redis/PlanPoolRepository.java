@@ -0,0 +1,187 @@
+/**
+ * plan/repository/redis/PlanPoolRepository.java
+ * 약속 후보 풀 Redis 저장소 (plan:pool:{planId})
+ * Author: Jang
+ * Date: 2025-11-22
+ *
+ * - 점수순 식당 ID 를 Redis 리스트로 저장 (원소: long 8 byte 고정 길이)
+ * - 저장할 때마다 버전({key}:ver)을 올리고, 커서는 offset 과 함께 읽은 풀의 버전을 가짐
+ *   (조기 갱신으로 순서가 바뀌어도 진행 중인 커서가 다른 순서의 offset 을 읽어 중복/누락되지 않도록)
+ * - 저장은 Lua 스크립트 하나로 실행: 현재 풀을 직전 순서({key}:prev, 버전 {key}:prev:ver)로 옮겨 PREVIOUS_GRACE 동안 유지,
+ *   버전 증가 + RPUSH + PEXPIRE (동시에 저장하는 쪽끼리 섞이지 않고, 조회가 중간 상태를 보지 않음)
+ * - 페이지 조회도 Lua 스크립트 하나: 커서 버전이 직전 순서의 버전이면 직전 순서에서, 아니면 현재 풀에서
+ *   LRANGE + LLEN + PTTL + 버전 (남은 TTL 은 조기 갱신 판단용, 직전 순서에서 읽으면 -1)
+ *   직전 순서까지 만료된 오래된 커서는 현재 풀의 같은 offset 부터 이어감
+ * - 이전 형식(JSON 문자열 값) 키는 WRONGTYPE 이므로 조회 실패(miss)로 처리
+ */
+
+package com.jde.mainserver.plan.repository.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+public class PlanPoolRepository {
+
+	private static final String KEY_PREFIX = "plan:pool:";
+	private static final String VERSION_SUFFIX = ":ver";
+	private static final String PREVIOUS_SUFFIX = ":prev";
+	private static final int ENTRY_BYTES = Long.BYTES;
+	/** 갱신 전 순서 유지 시간 (진행 중인 커서가 이어서 읽을 수 있는 시간) */
+	private static final Duration PREVIOUS_GRACE = Duration.ofMinutes(10);
+
+	/**
+	 * KEYS[1]=풀, KEYS[2]=버전, KEYS[3]=직전 순서, KEYS[4]=직전 순서 버전
+	 * ARGV[1]=만료(ms), ARGV[2]=직전 순서 유지(ms), ARGV[3..]=식당 ID (RPUSH 인자는 1000 개씩) / 반환: 새 버전
+	 */
+	private static final byte[] SAVE_SCRIPT = raw("""
+		local current = redis.call('GET', KEYS[2])
+		if current and redis.call('EXISTS', KEYS[1]) == 1 then
+			redis.call('RENAME', KEYS[1], KEYS[3])
+			redis.call('PEXPIRE', KEYS[3], ARGV[2])
+			redis.call('SET', KEYS[4], current, 'PX', ARGV[2])
+		else
+			redis.call('DEL', KEYS[1])
+		end
+		local version = redis.call('INCR', KEYS[2])
+		redis.call('PEXPIRE', KEYS[2], ARGV[1] + ARGV[2])
+		for i = 3, #ARGV, 1000 do
+			redis.call('RPUSH', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))
+		end
+		if #ARGV > 2 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end
+		return version
+		""");
+
+	/**
+	 * KEYS 는 SAVE_SCRIPT 와 같음 / ARGV[1]=시작, ARGV[2]=끝(포함), ARGV[3]=커서 버전 (없으면 빈 문자열)
+	 * 반환: {구간, 전체 크기, 남은 TTL(직전 순서면 -1), 버전}
+	 */
+	private static final byte[] READ_SCRIPT = raw("""
+		local key = KEYS[1]
+		local version = redis.call('GET', KEYS[2]) or ''
+		local previous = ARGV[3] ~= '' and ARGV[3] ~= version and redis.call('GET', KEYS[4]) == ARGV[3]
+		if previous then
+			key = KEYS[3]
+			version = ARGV[3]
+		end
+		local ttl = previous and -1 or redis.call('PTTL', key)
+		return {redis.call('LRANGE', key, ARGV[1], ARGV[2]), redis.call('LLEN', key), ttl, version}
+		""");
+
+	private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+
+	public PlanPoolRepository(RedisTemplate<String, byte[]> binaryRedisTemplate) {
+		this.binaryRedisTemplate = binaryRedisTemplate;
+	}
+
+	/**
+	 * 후보 풀 저장 (기존 풀은 직전 순서로 보관 후 교체)
+	 *
+	 * @param planId 약속 ID
+	 * @param sortedRestaurantIds 점수순 식당 ID
+	 * @param ttl 유지 시간
+	 * @return 저장한 풀의 버전
+	 */
+	public long save(Long planId, List<Long> sortedRestaurantIds, Duration ttl) {
+		byte[][] keysAndArgs = new byte[6 + sortedRestaurantIds.size()][];
+		System.arraycopy(keys(planId), 0, keysAndArgs, 0, 4);
+		keysAndArgs[4] = raw(String.valueOf(ttl.toMillis()));
+		keysAndArgs[5] = raw(String.valueOf(PREVIOUS_GRACE.toMillis()));
+		for (int i = 0; i < sortedRestaurantIds.size(); i++) {
+			keysAndArgs[6 + i] = ByteBuffer.allocate(ENTRY_BYTES).putLong(sortedRestaurantIds.get(i)).array();
+		}
+		Long version = binaryRedisTemplate.execute((RedisCallback<Long>)connection ->
+			connection.scriptingCommands().eval(SAVE_SCRIPT, ReturnType.INTEGER, 4, keysAndArgs));
+		return version != null ? version : 0L;
+	}
+
+	/**
+	 * 페이지 조회 (현재 풀)
+	 *
+	 * @return 페이지 (풀이 없거나 비어 있거나 이전 형식이면 null)
+	 */
+	public Page readPage(Long planId, int offset, int size) {
+		return readPage(planId, offset, size, null);
+	}
+
+	/**
+	 * 페이지 조회 (커서 버전이 직전 순서의 버전이면 직전 순서에서)
+	 *
+	 * @param version 커서가 읽던 풀의 버전 (null 이면 현재 풀)
+	 * @return 페이지 (풀이 없거나 비어 있거나 이전 형식이면 null)
+	 */
+	public Page readPage(Long planId, int offset, int size, Long version) {
+		String key = keyOf(planId);
+		byte[][] keysAndArgs = new byte[7][];
+		System.arraycopy(keys(planId), 0, keysAndArgs, 0, 4);
+		keysAndArgs[4] = raw(String.valueOf(offset));
+		keysAndArgs[5] = raw(String.valueOf(offset + size - 1L));
+		keysAndArgs[6] = raw(version != null ? String.valueOf(version) : "");
+		try {
+			List<?> results = binaryRedisTemplate.execute((RedisCallback<List<?>>)connection ->
+				connection.scriptingCommands().eval(READ_SCRIPT, ReturnType.MULTI, 4, keysAndArgs));
+			long total = results != null && results.get(1) instanceof Number n ? n.longValue() : 0L;
+			if (total == 0) {
+				return null;
+			}
+			List<Long> restaurantIds = new ArrayList<>();
+			if (results.get(0) instanceof List<?> rawEntries) {
+				for (Object raw : rawEntries) {
+					if (raw instanceof byte[] bytes && bytes.length == ENTRY_BYTES) {
+						restaurantIds.add(ByteBuffer.wrap(bytes).getLong());
+					}
+				}
+			}
+			long ttlMillis = results.get(2) instanceof Number n ? n.longValue() : -1L;
+			long poolVersion = results.get(3) instanceof byte[] bytes && bytes.length > 0
+				? Long.parseLong(new String(bytes, StandardCharsets.UTF_8))
+				: 0L;
+			return new Page(restaurantIds, total, ttlMillis, poolVersion);
+		} catch (DataAccessException e) {
+			log.warn("[PlanPoolRepository.readPage] 풀 조회 실패, 재생성 필요: key={}, error={}", key, e.getMessage());
+			return null;
+		}
+	}
+
+	public void delete(Long planId) {
+		String key = keyOf(planId);
+		binaryRedisTemplate.delete(List.of(key, key + VERSION_SUFFIX, key + PREVIOUS_SUFFIX,
+			key + PREVIOUS_SUFFIX + VERSION_SUFFIX));
+	}
+
+	/** 약속 후보 풀 키 */
+	public static String keyOf(Long planId) {
+		return KEY_PREFIX + planId;
+	}
+
+	/** 스크립트 KEYS: 풀, 버전, 직전 순서, 직전 순서 버전 */
+	private static byte[][] keys(Long planId) {
+		String key = keyOf(planId);
+		return new byte[][] {
+			raw(key), raw(key + VERSION_SUFFIX), raw(key + PREVIOUS_SUFFIX), raw(key + PREVIOUS_SUFFIX + VERSION_SUFFIX)
+		};
+	}
+
+	private static byte[] raw(String key) {
+		return key.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 페이지 조회 결과 (페이지 식당 ID, 풀 전체 크기, 남은 TTL ms - 모르면/직전 순서면 -1,
+	 * 풀 버전 - 버전 없는 풀이면 0)
+	 */
+	public record Page(List<Long> restaurantIds, long total, long ttlMillis, long version) {
+	}
+}
@@ -7,6 +7,8 @@
 
 package com.jde.mainserver.plan.service.command;
 
+import com.jde.mainserver.global.concurrent.ParallelLoader;
+import com.jde.mainserver.global.geo.GeoDistanceKernel;
 import com.jde.mainserver.member.entity.Member;
 import com.jde.mainserver.member.repository.MemberRepository;
 import com.jde.mainserver.plan.entity.Plan;
@@ -16,9 +18,12 @@ import com.jde.mainserver.plan.entity.enums.PlanStatus;
 import com.jde.mainserver.plan.entity.enums.PlanPriceRange;
 import com.jde.mainserver.plan.repository.PlanParticipantRepository;
 import com.jde.mainserver.plan.repository.PlanRepository;
-import com.jde.mainserver.main.repository.UserTagPrefRepository;
+import com.jde.mainserver.plan.repository.redis.PlanPoolRepository;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
 import com.jde.mainserver.main.repository.UserRestaurantStateRepository;
+import com.jde.mainserver.main.repository.buffer.InteractionWriteBuffer;
 import com.jde.mainserver.main.repository.http.ScoreEngineHttpClient;
+import com.jde.mainserver.main.repository.redis.ScoreResultCache;
 import com.jde.mainserver.plan.web.dto.request.GroupScoreReqeust;
 import com.jde.mainserver.plan.web.dto.request.PlanCreateRequest;
 import com.jde.mainserver.plan.web.dto.response.GroupScoreResponse;
@@ -27,6 +32,11 @@ import com.jde.mainserver.plan.web.dto.response.PlanCreateResponse;
 import com.jde.mainserver.room.entity.Room;
 import com.jde.mainserver.room.repository.RoomMemberRepository;
 import com.jde.mainserver.room.repository.RoomRepository;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurant;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalog;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalogSnapshot;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurantCursor;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurantSearch;
 import com.jde.mainserver.restaurants.converter.RestaurantConverter;
 import com.jde.mainserver.restaurants.entity.Restaurant;
 import com.jde.mainserver.restaurants.entity.RestaurantTag;
@@ -36,19 +46,17 @@ import com.jde.mainserver.restaurants.repository.RestaurantHourRepository;
 import com.jde.mainserver.restaurants.entity.RestaurantHour;
 import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
 import com.jde.mainserver.restaurants.service.OpenStatusUtil;
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
 
 import lombok.RequiredArgsConstructor;
 
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -62,7 +70,6 @@ import java.util.stream.Collectors;
 @Transactional
 public class PlanCommandServiceImpl implements PlanCommandService {
 	private static final int INITIAL_BATCH_SIZE = 8; // 약속 생성 시 반환할 개수 (미리보기용)
-	private static final String REDIS_KEY_PREFIX = "plan:pool:";
 	private static final Duration CACHE_TTL = Duration.ofHours(1); // 캐시 유지 시간
 
 	private final PlanRepository planRepository;
@@ -71,12 +78,17 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 	private final PlanParticipantRepository planParticipantRepository;
 	private final RoomMemberRepository roomMemberRepository;
 	private final RestaurantRepository restaurantRepository;
-	private final UserTagPrefRepository userTagPrefRepository;
+	private final UserTagPrefCache userTagPrefCache;
 	private final RestaurantTagRepository restaurantTagRepository;
 	private final RestaurantHourRepository restaurantHourRepository;
 	private final UserRestaurantStateRepository userRestaurantStateRepository;
 	private final ScoreEngineHttpClient scoreEngineHttpClient;
-	private final RedisTemplate<String, Object> redisTemplate;
+	private final ScoreResultCache scoreResultCache;
+	private final PlanPoolRepository planPoolRepository;
+	private final RestaurantCatalog restaurantCatalog;
+	private final NearbyRestaurantSearch nearbyRestaurantSearch;
+	private final ParallelLoader parallelLoader;
+	private final InteractionWriteBuffer interactionWriteBuffer;
 
 	private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
 
@@ -176,9 +188,9 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 	 * 필터링 후 최소 100개가 되도록 반경을 확장합니다.
 	 *
 	 * 처리 과정:
-	 * 1. PostGIS로 반경 내 식당 조회 (거리순 정렬, 최대 200개)
+	 * 1. 반경 내 식당 조회 (거리순 정렬, 최대 200개)
 	 * 2. 가격대와 비선호 카테고리로 필터링
-	 * 3. 필터링 후 100개 미만이면 반경 확장
+	 * 3. 필터링 후 100개 미만이면 반경 확장 (확장된 링만 추가 조회, 필터 결과 누적)
 	 * 4. 참여자들의 태그 선호도 조회
 	 * 5. 후보 식당의 태그 정보 조회
 	 * 6. FastAPI로 그룹 점수 계산 요청
@@ -201,24 +213,29 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 
 		int radiusM = initialRadiusM;
 		int maxCandidates = initialMaxCandidates;
-		List<Restaurant> filtered = Collections.emptyList();
-
-		// 반경 확장하면서 최소 100개 확보
+		List<NearbyRestaurant> filtered = new java.util.ArrayList<>();
+
+		// 오픈 상태 필터 기준 시각 (약속 시작, Asia/Seoul), 스냅샷 식당은 컴파일된 구간표로 판정
+		final RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		final int startsAtSecondOfWeek = plan.getStartsAt() != null
+			? WeeklySchedule.secondOfWeek(plan.getStartsAt().atZone(OpenStatusUtil.SEOUL), OpenStatusUtil.SEOUL)
+			: 0;
+
+		// 반경 확장하면서 최소 100개 확보 (이전 반경 ~ 새 반경 사이 링만 조회, 필터 결과는 누적)
+		// startsAt 이 있으면 그 시각 슬롯에 영업하지 않는 식당은 공간 인덱스 스캔 단계에서 제외 (OpenSlotIndex)
+		NearbyRestaurantCursor cursor = plan.getStartsAt() != null
+			? nearbyRestaurantSearch.openAt(centerLat, centerLon, startsAtSecondOfWeek)
+			: nearbyRestaurantSearch.open(centerLat, centerLon);
 		for (int expansion = 0; expansion <= MAX_EXPANSIONS; expansion++) {
-			// 1. PostGIS로 반경 내 식당 조회 (거리순 정렬)
-			Pageable pageable = PageRequest.of(0, maxCandidates);
-			Page<Restaurant> page = restaurantRepository.findNearestWithinMeters(
-				centerLon, centerLat, (double) radiusM, pageable
-			);
-
-			List<Restaurant> restaurants = page.getContent();
+			// 1. 이번 링에 새로 들어온 식당 조회 (거리순 정렬)
+			List<NearbyRestaurant> restaurants = cursor.expand(radiusM, maxCandidates);
 
-			// 2. 오픈 상태 필터링을 위한 영업시간 벌크 조회 (startsAt이 있을 때만, N+1 문제 해결)
+			// 2. 오픈 상태 필터링을 위한 영업시간 벌크 조회 (startsAt이 있을 때만, 스냅샷에 없는 식당만)
 			Map<Long, List<RestaurantHour>> hoursByRestaurant = Collections.emptyMap();
-			if (plan.getStartsAt() != null && !restaurants.isEmpty()) {
-				List<Long> restaurantIds = restaurants.stream()
-					.map(Restaurant::getId)
-					.toList();
+			List<Long> restaurantIds = plan.getStartsAt() != null
+				? restaurants.stream().map(NearbyRestaurant::restaurantId).filter(id -> !catalog.contains(id)).toList()
+				: List.of();
+			if (!restaurantIds.isEmpty()) {
 				List<RestaurantHour> allHours = restaurantHourRepository.findByRestaurant_IdIn(restaurantIds);
 				hoursByRestaurant = allHours.stream()
 					.collect(Collectors.groupingBy(h -> h.getRestaurant().getId()));
@@ -226,12 +243,12 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 
 			// 3. 필터링: 가격대, 비선호 카테고리, 오픈 상태 (startsAt이 있을 때만)
 			final Map<Long, List<RestaurantHour>> hoursMap = hoursByRestaurant;
-			filtered = restaurants.stream()
-				.filter(r -> matchesPriceFilter(r, plan.getPriceRanges()))
-				.filter(r -> matchesDislikeCategoryFilter(r, plan.getDislikeCategories()))
-				.filter(r -> matchesOpenStatusFilter(r, plan.getStartsAt(), hoursMap.get(r.getId())))
-				.limit(maxCandidates)
-				.toList();
+			restaurants.stream()
+				.filter(r -> matchesPriceFilter(r.priceRange(), plan.getPriceRanges()))
+				.filter(r -> matchesDislikeCategoryFilter(r.category2(), plan.getDislikeCategories()))
+				.filter(r -> matchesOpenStatusFilter(plan.getStartsAt(), startsAtSecondOfWeek, catalog,
+					r.restaurantId(), hoursMap.get(r.restaurantId())))
+				.forEach(filtered::add);
 
 			// 필터링 후 100개 이상이면 종료
 			if (filtered.size() >= MIN_CANDIDATES) {
@@ -249,69 +266,41 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 			return Collections.emptyList();
 		}
 
-		// 3. 참여자들의 태그 선호도 조회
+		// 3. 참여자 ID 조회
 		List<Long> participantIds = planParticipantRepository.findByPlanPlanId(plan.getPlanId()).stream()
 			.map(pp -> pp.getUser().getUserId())
 			.toList();
 
-		List<GroupScoreReqeust.UserPrefFeature> members = participantIds.stream()
-			.map(userId -> {
-				var userTagStats = userTagPrefRepository.getUserTagStats(userId);
-				Map<Long, GroupScoreReqeust.TagPreference> tagPref = userTagStats.entrySet().stream()
-					.collect(Collectors.toMap(
-						Map.Entry::getKey,
-						e -> GroupScoreReqeust.TagPreference.builder()
-							.score((float)e.getValue().score())
-							.confidence((float)e.getValue().confidence())
-							.build()
-					));
-				return GroupScoreReqeust.UserPrefFeature.builder()
-					.userId(userId)
-					.tagPref(tagPref)
-					.build();
-			})
-			.toList();
-
-		// 4. 후보 식당의 태그 정보 및 pref_score 조회
-		List<Long> restaurantIds = filtered.stream().map(Restaurant::getId).toList();
-		Map<Long, List<RestaurantTag>> tagsByRestaurant = restaurantTagRepository
-			.findByRestaurantIdIn(restaurantIds)
-			.stream()
-			.collect(Collectors.groupingBy(RestaurantTag::getRestaurantId));
-
-		// 모든 참여자의 pref_score 벌크 조회 (식당별로 평균 계산)
-		Map<Long, List<Float>> prefScoresByRestaurant = new HashMap<>();
-		for (Long userId : participantIds) {
-			List<com.jde.mainserver.main.entity.UserRestaurantState> states = userRestaurantStateRepository
-				.findById_UserIdAndId_RestaurantIdIn(userId, restaurantIds);
-			
-			for (var state : states) {
-				if (state.getPrefScore() != null) {
-					Long restaurantId = state.getId().getRestaurantId();
-					prefScoresByRestaurant.computeIfAbsent(restaurantId, k -> new java.util.ArrayList<>())
-						.add(state.getPrefScore().floatValue());
-				}
-			}
+		// 4. 참여자 태그 선호도 / 후보 식당 태그 / 참여자 pref_score 동시 조회 (반영 전인 참여자 상세 조회/공유 먼저 반영)
+		interactionWriteBuffer.flushPending(participantIds);
+		List<Long> restaurantIds = filtered.stream().map(NearbyRestaurant::restaurantId).toList();
+		List<GroupScoreReqeust.UserPrefFeature> members;
+		Map<Long, List<RestaurantTag>> tagsByRestaurant;
+		Map<Long, Float> prefScoreByRestaurant;
+		try (ParallelLoader.Scope scope = parallelLoader.open("plan_candidate")) {
+			List<ParallelLoader.Fork<GroupScoreReqeust.UserPrefFeature>> memberForks = participantIds.stream()
+				.map(userId -> scope.fork("member_tag_pref", () -> loadMemberFeature(userId)))
+				.toList();
+			ParallelLoader.Fork<Map<Long, List<RestaurantTag>>> tags = scope.fork("tags", () -> restaurantTagRepository
+				.findByRestaurantIdIn(restaurantIds)
+				.stream()
+				.collect(Collectors.groupingBy(RestaurantTag::getRestaurantId)));
+			ParallelLoader.Fork<Map<Long, Float>> prefScores =
+				scope.fork("pref_scores", () -> loadAveragePrefScores(participantIds, restaurantIds));
+			scope.join();
+			members = memberForks.stream().map(ParallelLoader.Fork::get).toList();
+			tagsByRestaurant = tags.get();
+			prefScoreByRestaurant = prefScores.get();
 		}
-		
-		// 평균 계산
-		Map<Long, Float> prefScoreByRestaurant = prefScoresByRestaurant.entrySet().stream()
-			.collect(Collectors.toMap(
-				Map.Entry::getKey,
-				e -> {
-					List<Float> scores = e.getValue();
-					return scores.stream().reduce(0.0f, Float::sum) / scores.size();
-				}
-			));
 
 		// 5. CandidateFeature로 변환
 		List<GroupScoreReqeust.CandidateFeature> candidates = filtered.stream()
 			.map(r -> {
-				Float distanceM = (float)calculateDistanceMeters(centerLat, centerLon, r.getGeom());
+				Float distanceM = (float)(int)r.distanceM();
 				
 				// 식당 태그 정보 (weight, confidence 사용)
 				Map<Long, GroupScoreReqeust.TagPreference> tagPref = tagsByRestaurant
-					.getOrDefault(r.getId(), Collections.emptyList())
+					.getOrDefault(r.restaurantId(), Collections.emptyList())
 					.stream()
 					.collect(Collectors.toMap(
 						RestaurantTag::getTagId,
@@ -321,10 +310,10 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 							.build()
 					));
 
-				Float prefScore = prefScoreByRestaurant.get(r.getId());
+				Float prefScore = prefScoreByRestaurant.get(r.restaurantId());
 
 				return GroupScoreReqeust.CandidateFeature.builder()
-					.restaurantId(r.getId())
+					.restaurantId(r.restaurantId())
 					.distanceM(distanceM)
 					.tagPref(tagPref)
 					.prefScore(prefScore)
@@ -339,7 +328,8 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 			.debug(false)
 			.build();
 
-		GroupScoreResponse groupScoreResponse = scoreEngineHttpClient.groupScore(groupScoreRequest);
+		GroupScoreResponse groupScoreResponse = scoreResultCache.group(groupScoreRequest,
+			() -> scoreEngineHttpClient.groupScore(groupScoreRequest));
 		Map<Long, Float> scores = groupScoreResponse.getScores();
 
 		// 6. 점수순 정렬하여 식당 ID 리스트 추출 (전체 100개, 피드 조회 시 동일한 리스트를 보여주기 위해)
@@ -349,8 +339,7 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 			.toList();
 
 		// 7. Redis에 저장 (피드 조회 시 동일한 리스트를 보여주기 위해)
-		String redisKey = REDIS_KEY_PREFIX + plan.getPlanId();
-		redisTemplate.opsForValue().set(redisKey, sortedRestaurantIds, CACHE_TTL);
+		planPoolRepository.save(plan.getPlanId(), sortedRestaurantIds, CACHE_TTL);
 
 		// 8. 상위 8개만 추출하여 반환
 		List<Long> topRestaurantIds = sortedRestaurantIds.stream()
@@ -361,39 +350,74 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 		Map<Long, Restaurant> restaurantMap = restaurantRepository.findAllByIdInWithoutHours(topRestaurantIds).stream()
 			.collect(Collectors.toMap(Restaurant::getId, r -> r));
 
-		return topRestaurantIds.stream()
-			.map(restaurantId -> {
-				Restaurant restaurant = restaurantMap.get(restaurantId);
-				if (restaurant == null) {
-					return null;
-				}
-				return toPlanCandidateResponse(restaurant, center);
-			})
+		return toPlanCandidateResponses(topRestaurantIds.stream()
+			.map(restaurantMap::get)
 			.filter(r -> r != null)
-			.toList();
+			.toList(), center);
+	}
+
+	/**
+	 * 참여자 태그 선호도 조회
+	 */
+	private GroupScoreReqeust.UserPrefFeature loadMemberFeature(Long userId) {
+		var userTagPrefs = userTagPrefCache.get(userId);
+		Map<Long, GroupScoreReqeust.TagPreference> tagPref = new HashMap<>(userTagPrefs.size() * 2);
+		for (int i = 0; i < userTagPrefs.size(); i++) {
+			tagPref.put(userTagPrefs.tagId(i), GroupScoreReqeust.TagPreference.builder()
+				.score(userTagPrefs.score(i))
+				.confidence(userTagPrefs.confidence(i))
+				.build());
+		}
+		return GroupScoreReqeust.UserPrefFeature.builder()
+			.userId(userId)
+			.tagPref(tagPref)
+			.build();
+	}
+
+	/**
+	 * 참여자들의 식당별 pref_score 평균 (한 번의 벌크 조회)
+	 */
+	private Map<Long, Float> loadAveragePrefScores(List<Long> participantIds, List<Long> restaurantIds) {
+		if (participantIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<Long, List<Float>> prefScoresByRestaurant = new HashMap<>();
+		for (var state : userRestaurantStateRepository.findById_UserIdInAndId_RestaurantIdIn(participantIds, restaurantIds)) {
+			if (state.getPrefScore() != null) {
+				Long restaurantId = state.getId().getRestaurantId();
+				prefScoresByRestaurant.computeIfAbsent(restaurantId, k -> new java.util.ArrayList<>())
+					.add(state.getPrefScore().floatValue());
+			}
+		}
+		return prefScoresByRestaurant.entrySet().stream()
+			.collect(Collectors.toMap(
+				Map.Entry::getKey,
+				e -> {
+					List<Float> scores = e.getValue();
+					return scores.stream().reduce(0.0f, Float::sum) / scores.size();
+				}
+			));
 	}
 
 	// 가격대 필터 확인
-	private boolean matchesPriceFilter(Restaurant restaurant, List<PlanPriceRange> priceRanges) {
+	private boolean matchesPriceFilter(String restaurantPriceRange, List<PlanPriceRange> priceRanges) {
 		if (priceRanges == null || priceRanges.isEmpty()) {
 			return true;
 		}
-		if (restaurant.getPriceRange() == null) {
+		if (restaurantPriceRange == null) {
 			return true;
 		}
 
-		String restaurantPriceRange = restaurant.getPriceRange().name();
 		return priceRanges.stream()
 			.anyMatch(pr -> pr.name().equals(restaurantPriceRange));
 	}
 
 	// 비선호 카테고리 필터
-	private boolean matchesDislikeCategoryFilter(Restaurant restaurant, List<String> dislikeCategories) {
+	private boolean matchesDislikeCategoryFilter(String category, List<String> dislikeCategories) {
 		if (dislikeCategories == null || dislikeCategories.isEmpty()) {
 			return true;
 		}
 
-		String category = restaurant.getCategory2();
 		if (category == null) {
 			return true;
 		}
@@ -401,26 +425,31 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 	}
 
 	// 오픈 상태 필터 (startsAt이 있을 때만 적용)
-	// hours 파라미터: 벌크 조회로 미리 가져온 영업시간 리스트 (N+1 문제 해결)
-	private boolean matchesOpenStatusFilter(Restaurant restaurant, java.time.LocalDateTime startsAt, List<RestaurantHour> hours) {
+	// 스냅샷 식당은 컴파일된 구간표, 그 외는 벌크 조회로 미리 가져온 영업시간 리스트로 판정 (N+1 문제 해결)
+	private boolean matchesOpenStatusFilter(java.time.LocalDateTime startsAt, int startsAtSecondOfWeek,
+		RestaurantCatalogSnapshot catalog, Long restaurantId, List<RestaurantHour> hours) {
 		// startsAt이 null이면 필터링하지 않음
 		if (startsAt == null) {
 			return true;
 		}
 
-		// hours가 null이거나 비어있으면 통과 (영업시간 정보가 없으면 필터링하지 않음)
-		if (hours == null || hours.isEmpty()) {
-			return true;
-		}
-
 		try {
-			// 약속 시작 시간을 ZonedDateTime으로 변환 (Asia/Seoul 기준)
-			java.time.ZoneId zoneId = java.time.ZoneId.of("Asia/Seoul");
-			java.time.ZonedDateTime targetTime = startsAt.atZone(zoneId);
-			
-			// 특정 시각 기준 영업 상태 계산
-			OpenStatus status = OpenStatusUtil.calcStatusAt(hours, zoneId, targetTime);
-			
+			int ord = catalog.ordinalOf(restaurantId);
+			if (ord >= 0) {
+				// 영업시간 정보가 없으면(UNKNOWN) 통과, 있으면 OPEN 상태인 경우만 통과
+				OpenStatus status = catalog.schedule(ord).statusAt(startsAtSecondOfWeek);
+				return status == OpenStatus.UNKNOWN || status == OpenStatus.OPEN;
+			}
+
+			// hours가 null이거나 비어있으면 통과 (영업시간 정보가 없으면 필터링하지 않음)
+			if (hours == null || hours.isEmpty()) {
+				return true;
+			}
+
+			// 특정 시각 기준 영업 상태 계산 (약속 시작 시간, Asia/Seoul 기준)
+			OpenStatus status = OpenStatusUtil.calcStatusAt(hours, OpenStatusUtil.SEOUL,
+				startsAt.atZone(OpenStatusUtil.SEOUL));
+
 			// OPEN 상태인 경우만 통과
 			return status == OpenStatus.OPEN;
 		} catch (Exception e) {
@@ -429,39 +458,26 @@ public class PlanCommandServiceImpl implements PlanCommandService {
 		}
 	}
 
-	// Restaurant -> PlanCandidateResponse 변환
-	private PlanCandidateResponse toPlanCandidateResponse(Restaurant restaurant, Point centerPoint) {
-		Integer distanceM = calculateDistanceMeters(
-			centerPoint.getY(), centerPoint.getX(),
-			restaurant.getGeom()
-		);
-
-		return PlanCandidateResponse.builder()
-			.restaurant(RestaurantConverter.toSummary(restaurant))
-			.menu(restaurant.getMenu())
-			.distanceM(distanceM)
-			.build();
-	}
-
-	// 두 지점 간 거리 계산
-	private Integer calculateDistanceMeters(double lat1, double lon1, Point other) {
-		if (other == null) {
-			return null;
+	// Restaurant 목록 -> PlanCandidateResponse 목록 변환 (거리는 GeoDistanceKernel 로 한 번에 계산)
+	private List<PlanCandidateResponse> toPlanCandidateResponses(List<Restaurant> restaurants, Point centerPoint) {
+		double[] lats = new double[restaurants.size()];
+		double[] lngs = new double[restaurants.size()];
+		for (int i = 0; i < restaurants.size(); i++) {
+			Point geom = restaurants.get(i).getGeom();
+			lats[i] = geom != null ? geom.getY() : Double.NaN;
+			lngs[i] = geom != null ? geom.getX() : Double.NaN;
 		}
-
-		double lat2 = other.getY();
-		double lon2 = other.getX();
-
-		double dLat = Math.toRadians(lat2 - lat1);
-		double dLon = Math.toRadians(lon2 - lon1);
-
-		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-			+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-			* Math.sin(dLon / 2) * Math.sin(dLon / 2);
-
-		double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-		int distanceM = (int)(6371000 * c); // 지구 반지름 6371000m
-
-		return distanceM;
+		double[] distances = GeoDistanceKernel.distancesMeters(centerPoint.getY(), centerPoint.getX(), lats, lngs);
+
+		List<PlanCandidateResponse> responses = new ArrayList<>(restaurants.size());
+		for (int i = 0; i < restaurants.size(); i++) {
+			Restaurant restaurant = restaurants.get(i);
+			responses.add(PlanCandidateResponse.builder()
+				.restaurant(RestaurantConverter.toSummary(restaurant))
+				.menu(restaurant.getMenu())
+				.distanceM(Double.isNaN(distances[i]) ? null : (int)distances[i])
+				.build());
+		}
+		return responses;
 	}
 }
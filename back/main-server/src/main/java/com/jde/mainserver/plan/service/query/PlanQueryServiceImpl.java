@@ -7,19 +7,30 @@
 
 package com.jde.mainserver.plan.service.query;
 
-import com.jde.mainserver.main.repository.UserTagPrefRepository;
+import com.jde.mainserver.global.cache.PoolRegenerationCoordinator;
+import com.jde.mainserver.global.concurrent.ParallelLoader;
+import com.jde.mainserver.global.geo.GeoDistanceKernel;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
 import com.jde.mainserver.main.repository.UserRestaurantStateRepository;
+import com.jde.mainserver.main.repository.buffer.InteractionWriteBuffer;
 import com.jde.mainserver.main.repository.http.ScoreEngineHttpClient;
+import com.jde.mainserver.main.repository.redis.ScoreResultCache;
 import com.jde.mainserver.plan.entity.Plan;
 import com.jde.mainserver.plan.entity.PlanCandidate;
 import com.jde.mainserver.plan.entity.enums.PlanStatus;
 import com.jde.mainserver.plan.repository.PlanCandidateRepository;
 import com.jde.mainserver.plan.repository.PlanParticipantRepository;
 import com.jde.mainserver.plan.repository.PlanRepository;
+import com.jde.mainserver.plan.repository.redis.PlanPoolRepository;
 import com.jde.mainserver.plan.web.dto.request.GroupScoreReqeust;
 import com.jde.mainserver.plan.web.dto.response.GroupScoreResponse;
 import com.jde.mainserver.plan.web.dto.response.PlanCandidateResponse;
 import com.jde.mainserver.plan.web.dto.response.PlanCreateResponse;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalog;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurant;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurantCursor;
+import com.jde.mainserver.restaurants.catalog.NearbyRestaurantSearch;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalogSnapshot;
 import com.jde.mainserver.restaurants.converter.RestaurantConverter;
 import com.jde.mainserver.restaurants.entity.Restaurant;
 import com.jde.mainserver.restaurants.entity.RestaurantTag;
@@ -29,19 +40,19 @@ import com.jde.mainserver.restaurants.repository.RestaurantHourRepository;
 import com.jde.mainserver.restaurants.entity.RestaurantHour;
 import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
 import com.jde.mainserver.restaurants.service.OpenStatusUtil;
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
 
 import lombok.RequiredArgsConstructor;
 
 import org.locationtech.jts.geom.Point;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -52,7 +63,6 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class PlanQueryServiceImpl implements PlanQueryService {
-	private static final String REDIS_KEY_PREFIX = "plan:pool:";
 	private static final Duration CACHE_TTL = Duration.ofHours(1); // 캐시 유지 시간
 	private static final int BATCH_SIZE = 8; // 배치 크기 (고정)
 
@@ -60,12 +70,18 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 	private final PlanParticipantRepository planParticipantRepository;
 	private final PlanCandidateRepository planCandidateRepository;
 	private final RestaurantRepository restaurantRepository;
-	private final UserTagPrefRepository userTagPrefRepository;
+	private final UserTagPrefCache userTagPrefCache;
 	private final RestaurantTagRepository restaurantTagRepository;
 	private final RestaurantHourRepository restaurantHourRepository;
 	private final UserRestaurantStateRepository userRestaurantStateRepository;
 	private final ScoreEngineHttpClient scoreEngineHttpClient;
-	private final RedisTemplate<String, Object> redisTemplate;
+	private final ScoreResultCache scoreResultCache;
+	private final PlanPoolRepository planPoolRepository;
+	private final PoolRegenerationCoordinator poolRegenerationCoordinator;
+	private final RestaurantCatalog restaurantCatalog;
+	private final NearbyRestaurantSearch nearbyRestaurantSearch;
+	private final ParallelLoader parallelLoader;
+	private final InteractionWriteBuffer interactionWriteBuffer;
 
 	@Override
 	public PlanCreateResponse getPlan(Long planId) {
@@ -124,76 +140,53 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 	 * cursor 기반 무한 스크롤 지원
 	 */
 	private Map<String, Object> getCandidateFeedFromRedis(Plan plan, String cursor) {
-		String redisKey = REDIS_KEY_PREFIX + plan.getPlanId();
-
-		// 커서 파싱: 숫자만 받음 (예: "0", "8", "18")
+		// 커서 파싱: "offset" 또는 "offset.풀버전" (예: "0", "8.3", "16.3")
+		// - 풀 버전은 조기 갱신으로 순서가 바뀌어도 같은 순서를 이어서 읽기 위한 것 (PlanPoolRepository)
 		int offset = 0;
+		Long poolVersion = null;
 		if (cursor == null || cursor.trim().isEmpty() || cursor.trim().equals("0")) {
 			offset = 0;
 		} else {
 			try {
-				offset = Integer.parseInt(cursor.trim());
+				String trimmed = cursor.trim();
+				int dot = trimmed.indexOf('.');
+				offset = Integer.parseInt(dot >= 0 ? trimmed.substring(0, dot) : trimmed);
+				poolVersion = dot >= 0 ? Long.parseLong(trimmed.substring(dot + 1)) : null;
 				if (offset < 0) {
 					offset = 0;
 				}
 			} catch (NumberFormatException e) {
 				offset = 0;
+				poolVersion = null;
 			}
 		}
 
-		// Redis에서 캐시된 식당 ID 리스트 조회 (안전한 역직렬화)
-		List<Long> sortedRestaurantIds;
-		try {
-			Object cachedObj = redisTemplate.opsForValue().get(redisKey);
-			if (cachedObj != null) {
-				sortedRestaurantIds = deserializeRestaurantIdList(cachedObj);
-				if (sortedRestaurantIds == null || sortedRestaurantIds.isEmpty()) {
-					// 캐시가 비어있으면 재생성
-					sortedRestaurantIds = calculateAndCacheCandidates(plan, redisKey);
-				}
-			} else {
-				// 캐시가 없으면 계산 후 저장
-				sortedRestaurantIds = calculateAndCacheCandidates(plan, redisKey);
-			}
-		} catch (Exception e) {
-			// 역직렬화 실패 시 캐시 삭제 후 재생성
-			redisTemplate.delete(redisKey);
-			sortedRestaurantIds = calculateAndCacheCandidates(plan, redisKey);
-		}
-
 		// 배치 크기: 항상 8개
 		int batchSize = BATCH_SIZE;
 
-		// 배치 추출
-		int startIdx = offset;
-		int endIdx = Math.min(startIdx + batchSize, sortedRestaurantIds.size());
+		// 배치 추출 (Redis 리스트에서 해당 구간만 조회, 없으면 계산 후 저장)
+		PlanPoolRepository.Page page = readOrCalculatePage(plan, offset, batchSize, poolVersion);
+		List<Long> pagedRestaurantIds = page.restaurantIds();
 
-		if (startIdx >= sortedRestaurantIds.size()) {
+		if (pagedRestaurantIds.isEmpty()) {
 			// 풀을 모두 소진했으면 빈 리스트 반환
 			return Map.of("items", List.<PlanCandidateResponse>of(), "next_cursor", (String)null);
 		}
-
-		List<Long> pagedRestaurantIds = sortedRestaurantIds.subList(startIdx, endIdx);
+		int endIdx = offset + pagedRestaurantIds.size();
 
 		Point center = plan.getPlanGeom();
 		Map<Long, Restaurant> restaurantMap = restaurantRepository.findAllByIdIn(pagedRestaurantIds).stream()
 			.collect(Collectors.toMap(Restaurant::getId, r -> r));
 
-		List<PlanCandidateResponse> candidateResponses = pagedRestaurantIds.stream()
-			.map(restaurantId -> {
-				Restaurant restaurant = restaurantMap.get(restaurantId);
-				if (restaurant == null) {
-					return null;
-				}
-				return toPlanCandidateResponse(restaurant, center);
-			})
+		List<PlanCandidateResponse> candidateResponses = toPlanCandidateResponses(pagedRestaurantIds.stream()
+			.map(restaurantMap::get)
 			.filter(r -> r != null)
-			.toList();
+			.toList(), center);
 
-		// 다음 커서 계산
+		// 다음 커서 계산 (읽은 풀의 버전 포함, 버전 없는 풀이면 offset 만)
 		String nextCursor = null;
-		if (endIdx < sortedRestaurantIds.size()) {
-			nextCursor = String.valueOf(endIdx);
+		if (endIdx < page.total()) {
+			nextCursor = page.version() > 0 ? endIdx + "." + page.version() : String.valueOf(endIdx);
 		}
 
 		Map<String, Object> result = new HashMap<>();
@@ -250,16 +243,10 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 			.collect(Collectors.toMap(Restaurant::getId, r -> r));
 
 		Point center = plan.getPlanGeom();
-		List<PlanCandidateResponse> candidateResponses = pagedCandidates.stream()
-			.map(pc -> {
-				Restaurant restaurant = restaurantMap.get(pc.getRestaurant().getId());
-				if (restaurant == null) {
-					return null;
-				}
-				return toPlanCandidateResponse(restaurant, center);
-			})
+		List<PlanCandidateResponse> candidateResponses = toPlanCandidateResponses(pagedCandidates.stream()
+			.map(pc -> restaurantMap.get(pc.getRestaurant().getId()))
 			.filter(r -> r != null)
-			.toList();
+			.toList(), center);
 
 		// 다음 커서 계산
 		String nextCursor = null;
@@ -278,63 +265,70 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 	 * Redis 캐싱을 사용하여 여러 사용자가 같은 약속을 봐도 동일한 결과를 보도록 함
 	 */
 	private Page<PlanCandidateResponse> getCandidatesByRecalculation(Plan plan, Pageable pageable) {
-		String redisKey = REDIS_KEY_PREFIX + plan.getPlanId();
+		// 페이징 적용 (Redis 리스트에서 해당 구간만 조회, 없으면 계산 후 저장)
+		PlanPoolRepository.Page page = readOrCalculatePage(plan, (int)pageable.getOffset(), pageable.getPageSize(), null);
+		List<Long> pagedRestaurantIds = page.restaurantIds();
 
-		// Redis에서 캐시된 식당 ID 리스트 조회 (안전한 역직렬화)
-		List<Long> sortedRestaurantIds;
-		try {
-			Object cachedObj = redisTemplate.opsForValue().get(redisKey);
-			if (cachedObj != null) {
-				sortedRestaurantIds = deserializeRestaurantIdList(cachedObj);
-				if (sortedRestaurantIds == null || sortedRestaurantIds.isEmpty()) {
-					// 캐시가 비어있으면 재생성
-					sortedRestaurantIds = calculateAndCacheCandidates(plan, redisKey);
-				}
-			} else {
-				// 캐시가 없으면 계산 후 저장
-				sortedRestaurantIds = calculateAndCacheCandidates(plan, redisKey);
-			}
-		} catch (Exception e) {
-			// 역직렬화 실패 시 캐시 삭제 후 재생성
-			redisTemplate.delete(redisKey);
-			sortedRestaurantIds = calculateAndCacheCandidates(plan, redisKey);
-		}
-
-		// 페이징 적용
-		int start = (int)pageable.getOffset();
-		int end = Math.min(start + pageable.getPageSize(), sortedRestaurantIds.size());
-
-		if (start >= sortedRestaurantIds.size()) {
+		if (pagedRestaurantIds.isEmpty()) {
 			return Page.empty(pageable);
 		}
 
-		List<Long> pagedRestaurantIds = sortedRestaurantIds.subList(start, end);
-
 		Point center = plan.getPlanGeom();
 		Map<Long, Restaurant> restaurantMap = restaurantRepository.findAllByIdIn(pagedRestaurantIds).stream()
 			.collect(Collectors.toMap(Restaurant::getId, r -> r));
 
-		List<PlanCandidateResponse> candidateResponses = pagedRestaurantIds.stream()
-			.map(restaurantId -> {
-				Restaurant restaurant = restaurantMap.get(restaurantId);
-				if (restaurant == null) {
-					return null;
-				}
-				return toPlanCandidateResponse(restaurant, center);
-			})
+		List<PlanCandidateResponse> candidateResponses = toPlanCandidateResponses(pagedRestaurantIds.stream()
+			.map(restaurantMap::get)
 			.filter(r -> r != null)
-			.toList();
+			.toList(), center);
 
-		return new PageImpl<>(candidateResponses, pageable, sortedRestaurantIds.size());
+		return new PageImpl<>(candidateResponses, pageable, page.total());
+	}
+
+	/**
+	 * 후보 풀 페이지 조회 (캐시 miss / 이전 형식이면 계산 후 저장하고 메모리에서 잘라냄)
+	 * - 재계산은 약속 단위로 한 곳에서만 실행 (참여자 동시 요청 시 점수 엔진 호출 1회)
+	 * - 캐시 hit 이어도 만료가 가까우면 확률적으로 백그라운드 재계산 (XFetch)
+	 *
+	 * @param poolVersion 커서가 읽던 풀 버전 (갱신 전 순서가 남아 있으면 그 순서에서 읽음, null 이면 현재 풀)
+	 */
+	private PlanPoolRepository.Page readOrCalculatePage(Plan plan, int offset, int size, Long poolVersion) {
+		String key = PlanPoolRepository.keyOf(plan.getPlanId());
+		PlanPoolRepository.Page page = planPoolRepository.readPage(plan.getPlanId(), offset, size, poolVersion);
+		if (page != null) {
+			poolRegenerationCoordinator.refreshEarlyIfDue(key, page.ttlMillis(), () -> calculateAndCacheCandidates(plan));
+			return page;
+		}
+
+		CandidatePool pool = poolRegenerationCoordinator.regenerateIfMissing(key,
+			() -> calculateAndCacheCandidates(plan));
+		if (pool == null) {
+			// 다른 곳이 재계산함 -> 다시 읽기 (그래도 없으면 직접 계산)
+			page = planPoolRepository.readPage(plan.getPlanId(), offset, size, poolVersion);
+			if (page != null) {
+				return page;
+			}
+			pool = calculateAndCacheCandidates(plan);
+		}
+		List<Long> sortedRestaurantIds = pool.restaurantIds();
+		List<Long> pagedRestaurantIds = offset < sortedRestaurantIds.size()
+			? sortedRestaurantIds.subList(offset, Math.min(offset + size, sortedRestaurantIds.size()))
+			: List.of();
+		return new PlanPoolRepository.Page(pagedRestaurantIds, sortedRestaurantIds.size(), CACHE_TTL.toMillis(),
+			pool.version());
+	}
+
+	/** 계산해서 저장한 후보 풀 (점수순 식당 ID, 저장된 풀 버전) */
+	private record CandidatePool(List<Long> restaurantIds, long version) {
 	}
 
 	/**
 	 * 후보 식당 계산 후 Redis에 캐싱
 	 * 필터링 후 최소 100개가 되도록 반경을 확장합니다.
 	 * 
-	 * @return 점수순 정렬된 식당 ID 리스트
+	 * @return 점수순 정렬된 식당 ID 리스트와 저장된 풀 버전
 	 */
-	private List<Long> calculateAndCacheCandidates(Plan plan, String redisKey) {
+	private CandidatePool calculateAndCacheCandidates(Plan plan) {
 		Point center = plan.getPlanGeom();
 		double centerLat = center.getY();
 		double centerLon = center.getX();
@@ -349,23 +343,29 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 
 		int radiusM = initialRadiusM;
 		int maxCandidates = initialMaxCandidates;
-		List<Restaurant> filtered = Collections.emptyList();
-
-		// 반경 확장하면서 최소 100개 확보
+		List<NearbyRestaurant> filtered = new java.util.ArrayList<>();
+
+		// 오픈 상태 필터 기준 시각 (약속 시작, Asia/Seoul), 스냅샷 식당은 컴파일된 구간표로 판정
+		final RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		final int startsAtSecondOfWeek = plan.getStartsAt() != null
+			? WeeklySchedule.secondOfWeek(plan.getStartsAt().atZone(OpenStatusUtil.SEOUL), OpenStatusUtil.SEOUL)
+			: 0;
+
+		// 반경 확장하면서 최소 100개 확보 (이전 반경 ~ 새 반경 사이 링만 조회, 필터 결과는 누적)
+		// startsAt 이 있으면 그 시각 슬롯에 영업하지 않는 식당은 공간 인덱스 스캔 단계에서 제외 (OpenSlotIndex)
+		NearbyRestaurantCursor cursor = plan.getStartsAt() != null
+			? nearbyRestaurantSearch.openAt(centerLat, centerLon, startsAtSecondOfWeek)
+			: nearbyRestaurantSearch.open(centerLat, centerLon);
 		for (int expansion = 0; expansion <= MAX_EXPANSIONS; expansion++) {
-			// 1. PostGIS로 반경 내 식당 조회
-			Page<Restaurant> page = restaurantRepository.findNearestWithinMeters(
-				centerLon, centerLat, (double) radiusM, PageRequest.of(0, maxCandidates)
-			);
-
-			List<Restaurant> restaurants = page.getContent();
+			// 1. 이번 링에 새로 들어온 식당 조회 (거리순)
+			List<NearbyRestaurant> restaurants = cursor.expand(radiusM, maxCandidates);
 
-			// 2. 오픈 상태 필터링을 위한 영업시간 벌크 조회 (startsAt이 있을 때만, N+1 문제 해결)
+			// 2. 오픈 상태 필터링을 위한 영업시간 벌크 조회 (startsAt이 있을 때만, 스냅샷에 없는 식당만)
 			Map<Long, List<RestaurantHour>> hoursByRestaurant = Collections.emptyMap();
-			if (plan.getStartsAt() != null && !restaurants.isEmpty()) {
-				List<Long> restaurantIds = restaurants.stream()
-					.map(Restaurant::getId)
-					.toList();
+			List<Long> restaurantIds = plan.getStartsAt() != null
+				? restaurants.stream().map(NearbyRestaurant::restaurantId).filter(id -> !catalog.contains(id)).toList()
+				: List.of();
+			if (!restaurantIds.isEmpty()) {
 				List<RestaurantHour> allHours = restaurantHourRepository.findByRestaurant_IdIn(restaurantIds);
 				hoursByRestaurant = allHours.stream()
 					.collect(Collectors.groupingBy(h -> h.getRestaurant().getId()));
@@ -373,12 +373,12 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 
 			// 3. 필터링: 가격대, 비선호 카테고리, 오픈 상태 (startsAt이 있을 때만)
 			final Map<Long, List<RestaurantHour>> hoursMap = hoursByRestaurant;
-			filtered = restaurants.stream()
-				.filter(r -> matchesPriceFilter(r, plan.getPriceRanges()))
-				.filter(r -> matchesDislikeCategoryFilter(r, plan.getDislikeCategories()))
-				.filter(r -> matchesOpenStatusFilter(r, plan.getStartsAt(), hoursMap.get(r.getId())))
-				.limit(maxCandidates)
-				.toList();
+			restaurants.stream()
+				.filter(r -> matchesPriceFilter(r.priceRange(), plan.getPriceRanges()))
+				.filter(r -> matchesDislikeCategoryFilter(r.category2(), plan.getDislikeCategories()))
+				.filter(r -> matchesOpenStatusFilter(plan.getStartsAt(), startsAtSecondOfWeek, catalog,
+					r.restaurantId(), hoursMap.get(r.restaurantId())))
+				.forEach(filtered::add);
 
 			// 필터링 후 100개 이상이면 종료
 			if (filtered.size() >= MIN_CANDIDATES) {
@@ -393,84 +393,47 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 		}
 
 		if (filtered.isEmpty()) {
-			return Collections.emptyList();
+			return new CandidatePool(List.of(), 0L);
 		}
 
-		// 3. 참여자들의 태그 선호도 조회
+		// 3. 참여자 ID 조회
 		List<Long> participantIds = planParticipantRepository.findByPlanPlanId(plan.getPlanId()).stream()
 			.map(pp -> pp.getUser().getUserId())
 			.toList();
 
-		List<GroupScoreReqeust.UserPrefFeature> members = participantIds.stream()
-			.map(userId -> {
-				var userTagStats = userTagPrefRepository.getUserTagStats(userId);
-				Map<Long, GroupScoreReqeust.TagPreference> tagPref = userTagStats.entrySet().stream()
-					.collect(Collectors.toMap(
-						Map.Entry::getKey,
-						e -> GroupScoreReqeust.TagPreference.builder()
-							.score((float)e.getValue().score())
-							.confidence((float)e.getValue().confidence())
-							.build()
-					));
-				return GroupScoreReqeust.UserPrefFeature.builder()
-					.userId(userId)
-					.tagPref(tagPref)
-					.build();
-			})
-			.toList();
-
-		// 4. 후보 식당의 태그 정보 및 pref_score 조회
-		List<Long> restaurantIds = filtered.stream().map(Restaurant::getId).toList();
-		Map<Long, List<RestaurantTag>> tagsByRestaurant = restaurantTagRepository
-			.findByRestaurantIdIn(restaurantIds)
-			.stream()
-			.collect(Collectors.groupingBy(RestaurantTag::getRestaurantId));
-
-		Map<Long, List<Float>> prefScoresByRestaurant = new HashMap<>();
-		for (Long userId : participantIds) {
-			List<com.jde.mainserver.main.entity.UserRestaurantState> states = userRestaurantStateRepository
-				.findById_UserIdAndId_RestaurantIdIn(userId, restaurantIds);
-
-			for (var state : states) {
-				if (state.getPrefScore() != null) {
-					Long restaurantId = state.getId().getRestaurantId();
-					prefScoresByRestaurant.computeIfAbsent(restaurantId, k -> new java.util.ArrayList<>())
-						.add(state.getPrefScore().floatValue());
-				}
-			}
+		// 4. 참여자 태그 선호도 / 후보 식당 태그 / 참여자 pref_score 동시 조회 (반영 전인 참여자 상세 조회/공유 먼저 반영)
+		interactionWriteBuffer.flushPending(participantIds);
+		List<Long> restaurantIds = filtered.stream().map(NearbyRestaurant::restaurantId).toList();
+		List<GroupScoreReqeust.UserPrefFeature> members;
+		Map<Long, Map<Long, GroupScoreReqeust.TagPreference>> tagsByRestaurant;
+		Map<Long, Float> prefScoreByRestaurant;
+		try (ParallelLoader.Scope scope = parallelLoader.open("plan_candidate")) {
+			List<ParallelLoader.Fork<GroupScoreReqeust.UserPrefFeature>> memberForks = participantIds.stream()
+				.map(userId -> scope.fork("member_tag_pref", () -> loadMemberFeature(userId)))
+				.toList();
+			ParallelLoader.Fork<Map<Long, Map<Long, GroupScoreReqeust.TagPreference>>> tags = scope.fork("tags", () -> loadTagPreferences(restaurantIds, catalog));
+			ParallelLoader.Fork<Map<Long, Float>> prefScores =
+				scope.fork("pref_scores", () -> loadAveragePrefScores(participantIds, restaurantIds));
+			scope.join();
+			members = memberForks.stream().map(ParallelLoader.Fork::get).toList();
+			tagsByRestaurant = tags.get();
+			prefScoreByRestaurant = prefScores.get();
 		}
 
-		Map<Long, Float> prefScoreByRestaurant = prefScoresByRestaurant.entrySet().stream()
-			.collect(Collectors.toMap(
-				Map.Entry::getKey,
-				e -> {
-					List<Float> scores = e.getValue();
-					return scores.stream().reduce(0.0f, Float::sum) / scores.size();
-				}
-			));
-
 		// 5. CandidateFeature로 변환
 		List<GroupScoreReqeust.CandidateFeature> candidates = filtered.stream()
 			.map(r -> {
-				Float distanceM = (float)calculateDistanceMeters(centerLat, centerLon, r.getGeom());
+				Float distanceM = (float)(int)r.distanceM();
 
 				Map<Long, GroupScoreReqeust.TagPreference> tagPref = tagsByRestaurant
-					.getOrDefault(r.getId(), Collections.emptyList())
-					.stream()
-					.collect(Collectors.toMap(
-						RestaurantTag::getTagId,
-						rt -> GroupScoreReqeust.TagPreference.builder()
-							.weight(rt.getWeight().floatValue())
-							.confidence(rt.getConfidence().floatValue())
-							.build()
-					));
-
-				Float prefScore = prefScoreByRestaurant.get(r.getId());
+					.getOrDefault(r.restaurantId(), Collections.emptyMap());
+
+				Float prefScore = prefScoreByRestaurant.get(r.restaurantId());
 
 				// 그룹 점수에서는 has_interaction_recent와 engagement_boost를 null로 설정
 				// (개인 점수에서만 사용)
 				return GroupScoreReqeust.CandidateFeature.builder()
-					.restaurantId(r.getId())
+					.restaurantId(r.restaurantId())
 					.distanceM(distanceM)
 					.tagPref(tagPref)
 					.prefScore(prefScore)
@@ -487,7 +450,8 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 			.debug(false)
 			.build();
 
-		GroupScoreResponse groupScoreResponse = scoreEngineHttpClient.groupScore(groupScoreRequest);
+		GroupScoreResponse groupScoreResponse = scoreResultCache.group(groupScoreRequest,
+			() -> scoreEngineHttpClient.groupScore(groupScoreRequest));
 		Map<Long, Float> scores = groupScoreResponse.getScores();
 
 		// 7. 점수순 정렬하여 식당 ID 리스트 추출
@@ -496,10 +460,87 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 			.map(Map.Entry::getKey)
 			.toList();
 
-		// 8. Redis에 저장
-		redisTemplate.opsForValue().set(redisKey, sortedRestaurantIds, CACHE_TTL);
+		// 8. Redis에 저장 (식당 ID 리스트)
+		long version = planPoolRepository.save(plan.getPlanId(), sortedRestaurantIds, CACHE_TTL);
+
+		return new CandidatePool(sortedRestaurantIds, version);
+	}
+
+	/**
+	 * 참여자 태그 선호도 조회
+	 */
+	private GroupScoreReqeust.UserPrefFeature loadMemberFeature(Long userId) {
+		var userTagPrefs = userTagPrefCache.get(userId);
+		Map<Long, GroupScoreReqeust.TagPreference> tagPref = new HashMap<>(userTagPrefs.size() * 2);
+		for (int i = 0; i < userTagPrefs.size(); i++) {
+			tagPref.put(userTagPrefs.tagId(i), GroupScoreReqeust.TagPreference.builder()
+				.score(userTagPrefs.score(i))
+				.confidence(userTagPrefs.confidence(i))
+				.build());
+		}
+		return GroupScoreReqeust.UserPrefFeature.builder()
+			.userId(userId)
+			.tagPref(tagPref)
+			.build();
+	}
+
+	/**
+	 * 참여자들의 식당별 pref_score 평균 (한 번의 벌크 조회)
+	 */
+	private Map<Long, Float> loadAveragePrefScores(List<Long> participantIds, List<Long> restaurantIds) {
+		if (participantIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<Long, List<Float>> prefScoresByRestaurant = new HashMap<>();
+		for (var state : userRestaurantStateRepository.findById_UserIdInAndId_RestaurantIdIn(participantIds, restaurantIds)) {
+			if (state.getPrefScore() != null) {
+				Long restaurantId = state.getId().getRestaurantId();
+				prefScoresByRestaurant.computeIfAbsent(restaurantId, k -> new java.util.ArrayList<>())
+					.add(state.getPrefScore().floatValue());
+			}
+		}
+		return prefScoresByRestaurant.entrySet().stream()
+			.collect(Collectors.toMap(
+				Map.Entry::getKey,
+				e -> {
+					List<Float> scores = e.getValue();
+					return scores.stream().reduce(0.0f, Float::sum) / scores.size();
+				}
+			));
+	}
 
-		return sortedRestaurantIds;
+	/**
+	 * 후보 식당 태그 로딩 (카탈로그 스냅샷 우선, 스냅샷에 없는 식당만 DB 조회, 영업 필터와 같은 스냅샷)
+	 */
+	private Map<Long, Map<Long, GroupScoreReqeust.TagPreference>> loadTagPreferences(List<Long> restaurantIds,
+		RestaurantCatalogSnapshot catalog) {
+		Map<Long, Map<Long, GroupScoreReqeust.TagPreference>> result = new HashMap<>();
+		List<Long> missing = new java.util.ArrayList<>();
+		for (Long id : restaurantIds) {
+			int ord = catalog.ordinalOf(id);
+			if (ord < 0) {
+				missing.add(id);
+				continue;
+			}
+			Map<Long, GroupScoreReqeust.TagPreference> tagPref = new HashMap<>();
+			for (int row = catalog.tagStart(ord); row < catalog.tagEnd(ord); row++) {
+				tagPref.put(catalog.tagId(row), GroupScoreReqeust.TagPreference.builder()
+					.weight(catalog.tagWeight(row))
+					.confidence(catalog.tagConfidence(row))
+					.build());
+			}
+			result.put(id, tagPref);
+		}
+		if (!missing.isEmpty()) {
+			for (RestaurantTag rt : restaurantTagRepository.findByRestaurantIdIn(missing)) {
+				result.computeIfAbsent(rt.getRestaurantId(), k -> new HashMap<>())
+					.put(rt.getTagId(), GroupScoreReqeust.TagPreference.builder()
+						.weight(rt.getWeight().floatValue())
+						.confidence(rt.getConfidence().floatValue())
+						.build());
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -515,42 +556,34 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 		Map<Long, Restaurant> restaurantMap = restaurantRepository.findAllByIdIn(restaurantIds).stream()
 			.collect(Collectors.toMap(Restaurant::getId, r -> r));
 
-		List<PlanCandidateResponse> candidateResponses = candidatePage.getContent().stream()
-			.map(pc -> {
-				Restaurant restaurant = restaurantMap.get(pc.getRestaurant().getId());
-				if (restaurant == null) {
-					return null;
-				}
-				Point center = plan.getPlanGeom();
-				return toPlanCandidateResponse(restaurant, center);
-			})
+		Point center = plan.getPlanGeom();
+		List<PlanCandidateResponse> candidateResponses = toPlanCandidateResponses(candidatePage.getContent().stream()
+			.map(pc -> restaurantMap.get(pc.getRestaurant().getId()))
 			.filter(r -> r != null)
-			.toList();
+			.toList(), center);
 
 		return new PageImpl<>(candidateResponses, pageable, candidatePage.getTotalElements());
 	}
 
 	// 가격대 필터 확인
-	private boolean matchesPriceFilter(Restaurant restaurant, List<com.jde.mainserver.plan.entity.enums.PlanPriceRange> priceRanges) {
+	private boolean matchesPriceFilter(String restaurantPriceRange, List<com.jde.mainserver.plan.entity.enums.PlanPriceRange> priceRanges) {
 		if (priceRanges == null || priceRanges.isEmpty()) {
 			return true;
 		}
-		if (restaurant.getPriceRange() == null) {
+		if (restaurantPriceRange == null) {
 			return true;
 		}
 
-		String restaurantPriceRange = restaurant.getPriceRange().name();
 		return priceRanges.stream()
 			.anyMatch(pr -> pr.name().equals(restaurantPriceRange));
 	}
 
 	// 비선호 카테고리 필터
-	private boolean matchesDislikeCategoryFilter(Restaurant restaurant, List<String> dislikeCategories) {
+	private boolean matchesDislikeCategoryFilter(String category, List<String> dislikeCategories) {
 		if (dislikeCategories == null || dislikeCategories.isEmpty()) {
 			return true;
 		}
 
-		String category = restaurant.getCategory2();
 		if (category == null) {
 			return true;
 		}
@@ -558,26 +591,31 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 	}
 
 	// 오픈 상태 필터 (startsAt이 있을 때만 적용)
-	// hours 파라미터: 벌크 조회로 미리 가져온 영업시간 리스트 (N+1 문제 해결)
-	private boolean matchesOpenStatusFilter(Restaurant restaurant, java.time.LocalDateTime startsAt, List<RestaurantHour> hours) {
+	// 스냅샷 식당은 컴파일된 구간표, 그 외는 벌크 조회로 미리 가져온 영업시간 리스트로 판정 (N+1 문제 해결)
+	private boolean matchesOpenStatusFilter(java.time.LocalDateTime startsAt, int startsAtSecondOfWeek,
+		RestaurantCatalogSnapshot catalog, Long restaurantId, List<RestaurantHour> hours) {
 		// startsAt이 null이면 필터링하지 않음
 		if (startsAt == null) {
 			return true;
 		}
 
-		// hours가 null이거나 비어있으면 통과 (영업시간 정보가 없으면 필터링하지 않음)
-		if (hours == null || hours.isEmpty()) {
-			return true;
-		}
-
 		try {
-			// 약속 시작 시간을 ZonedDateTime으로 변환 (Asia/Seoul 기준)
-			java.time.ZoneId zoneId = java.time.ZoneId.of("Asia/Seoul");
-			java.time.ZonedDateTime targetTime = startsAt.atZone(zoneId);
-			
-			// 특정 시각 기준 영업 상태 계산
-			OpenStatus status = OpenStatusUtil.calcStatusAt(hours, zoneId, targetTime);
-			
+			int ord = catalog.ordinalOf(restaurantId);
+			if (ord >= 0) {
+				// 영업시간 정보가 없으면(UNKNOWN) 통과, 있으면 OPEN 상태인 경우만 통과
+				OpenStatus status = catalog.schedule(ord).statusAt(startsAtSecondOfWeek);
+				return status == OpenStatus.UNKNOWN || status == OpenStatus.OPEN;
+			}
+
+			// hours가 null이거나 비어있으면 통과 (영업시간 정보가 없으면 필터링하지 않음)
+			if (hours == null || hours.isEmpty()) {
+				return true;
+			}
+
+			// 특정 시각 기준 영업 상태 계산 (약속 시작 시간, Asia/Seoul 기준)
+			OpenStatus status = OpenStatusUtil.calcStatusAt(hours, OpenStatusUtil.SEOUL,
+				startsAt.atZone(OpenStatusUtil.SEOUL));
+
 			// OPEN 상태인 경우만 통과
 			return status == OpenStatus.OPEN;
 		} catch (Exception e) {
@@ -586,66 +624,27 @@ public class PlanQueryServiceImpl implements PlanQueryService {
 		}
 	}
 
-	// Restaurant -> PlanCandidateResponse 변환
-	private PlanCandidateResponse toPlanCandidateResponse(Restaurant restaurant, Point centerPoint) {
-		Integer distanceM = calculateDistanceMeters(
-			centerPoint.getY(), centerPoint.getX(),
-			restaurant.getGeom()
-		);
-
-		return PlanCandidateResponse.builder()
-			.restaurant(RestaurantConverter.toSummary(restaurant))
-			.menu(restaurant.getMenu())
-			.distanceM(distanceM)
-			.build();
-	}
-
-	// 두 지점 간 거리 계산
-	private Integer calculateDistanceMeters(double lat1, double lon1, Point other) {
-		if (other == null) {
-			return null;
+	// Restaurant 목록 -> PlanCandidateResponse 목록 변환 (거리는 GeoDistanceKernel 로 한 번에 계산)
+	private List<PlanCandidateResponse> toPlanCandidateResponses(List<Restaurant> restaurants, Point centerPoint) {
+		double[] lats = new double[restaurants.size()];
+		double[] lngs = new double[restaurants.size()];
+		for (int i = 0; i < restaurants.size(); i++) {
+			Point geom = restaurants.get(i).getGeom();
+			lats[i] = geom != null ? geom.getY() : Double.NaN;
+			lngs[i] = geom != null ? geom.getX() : Double.NaN;
 		}
-
-		double lat2 = other.getY();
-		double lon2 = other.getX();
-
-		double dLat = Math.toRadians(lat2 - lat1);
-		double dLon = Math.toRadians(lon2 - lon1);
-
-		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-			+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-			* Math.sin(dLon / 2) * Math.sin(dLon / 2);
-
-		double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-		int distanceM = (int)(6371000 * c); // 지구 반지름 6371000m
-
-		return distanceM;
-	}
-
-	/**
-	 * Redis에서 역직렬화된 Object를 List<Long>으로 안전하게 변환
-	 */
-	private List<Long> deserializeRestaurantIdList(Object cachedObj) {
-		try {
-			if (cachedObj instanceof List) {
-				@SuppressWarnings("unchecked")
-				List<Object> list = (List<Object>)cachedObj;
-				return list.stream()
-					.map(obj -> {
-						if (obj instanceof Number) {
-							return ((Number)obj).longValue();
-						} else if (obj instanceof String) {
-							return Long.parseLong((String)obj);
-						}
-						return null;
-					})
-					.filter(id -> id != null)
-					.toList();
-			}
-			return null;
-		} catch (Exception e) {
-			return null;
+		double[] distances = GeoDistanceKernel.distancesMeters(centerPoint.getY(), centerPoint.getX(), lats, lngs);
+
+		List<PlanCandidateResponse> responses = new ArrayList<>(restaurants.size());
+		for (int i = 0; i < restaurants.size(); i++) {
+			Restaurant restaurant = restaurants.get(i);
+			responses.add(PlanCandidateResponse.builder()
+				.restaurant(RestaurantConverter.toSummary(restaurant))
+				.menu(restaurant.getMenu())
+				.distanceM(Double.isNaN(distances[i]) ? null : (int)distances[i])
+				.build());
 		}
+		return responses;
 	}
 
 }
@@ -0,0 +1,22 @@
+/**
+ * restaurants/catalog/NearbyRestaurant.java
+ * 반경 검색 결과 (후보 필터링에 필요한 최소 컬럼)
+ * Author: Jang
+ * Date: 2025-11-21
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+/**
+ * @param restaurantId 식당 ID
+ * @param distanceM 중심으로부터 거리(미터)
+ * @param priceRange 가격대 enum name (LOW, MEDIUM, HIGH, PREMIUM), 없으면 null
+ * @param category2 중분류 카테고리, 없으면 null
+ */
+public record NearbyRestaurant(
+	long restaurantId,
+	double distanceM,
+	String priceRange,
+	String category2
+) {
+}
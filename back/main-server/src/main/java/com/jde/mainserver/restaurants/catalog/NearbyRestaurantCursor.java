@@ -0,0 +1,121 @@
+/**
+ * restaurants/catalog/NearbyRestaurantCursor.java
+ * 반경 링 확장 커서
+ * Author: Jang
+ * Date: 2025-11-21
+ *
+ * - expand(radius, maxTotal) 호출마다 이전 위치 ~ 새 반경 사이(링)의 식당만 거리순으로 반환
+ * - 위치는 마지막으로 반환한 (거리, ID) 키셋으로 유지하므로 이미 반환한 식당은 다시 조회하지 않음
+ * - 누적 반환 수가 maxTotal 에 도달하면 더 이상 조회하지 않음
+ * - 모든 링 결과를 이어 붙이면 "반경 radius 내 거리순 상위 maxTotal 개" 한 번 조회한 결과와 같음
+ * - 인덱스 커서에 식당 ID 필터가 있으면 통과한 식당만 반환하고 maxTotal 도 통과한 수 기준 (DB 커서는 필터 미적용)
+ *
+ * 요청 단위로 생성해서 사용 (스레드 안전하지 않음)
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.repository.RestaurantRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+public final class NearbyRestaurantCursor {
+
+	private final RestaurantSpatialIndex index;
+	private final RestaurantCatalogSnapshot catalog;
+	private final RestaurantRepository repository;
+	private final double lat;
+	private final double lng;
+	private final LongPredicate filter;
+
+	private double lastDistanceM = -1.0;
+	private long lastId = -1L;
+	private int fetched = 0;
+
+	private NearbyRestaurantCursor(RestaurantSpatialIndex index, RestaurantCatalogSnapshot catalog,
+		RestaurantRepository repository, double lat, double lng, LongPredicate filter) {
+		this.index = index;
+		this.catalog = catalog;
+		this.repository = repository;
+		this.lat = lat;
+		this.lng = lng;
+		this.filter = filter;
+	}
+
+	static NearbyRestaurantCursor ofIndex(RestaurantSpatialIndex index, RestaurantCatalogSnapshot catalog,
+		double lat, double lng) {
+		return ofIndex(index, catalog, lat, lng, null);
+	}
+
+	static NearbyRestaurantCursor ofIndex(RestaurantSpatialIndex index, RestaurantCatalogSnapshot catalog,
+		double lat, double lng, LongPredicate filter) {
+		return new NearbyRestaurantCursor(index, catalog, null, lat, lng, filter);
+	}
+
+	static NearbyRestaurantCursor ofDatabase(RestaurantRepository repository, double lat, double lng) {
+		return new NearbyRestaurantCursor(null, null, repository, lat, lng, null);
+	}
+
+	/**
+	 * 다음 링 조회
+	 *
+	 * @param radiusM 이번 링의 바깥 반경(미터)
+	 * @param maxTotal 커서 전체 누적 최대 개수
+	 * @return 이번 링에서 새로 조회된 식당 (거리 오름차순, 동률 시 ID 오름차순)
+	 */
+	public List<NearbyRestaurant> expand(double radiusM, int maxTotal) {
+		int remaining = maxTotal - fetched;
+		if (remaining <= 0) {
+			return List.of();
+		}
+		List<NearbyRestaurant> ring = index != null
+			? fetchFromIndex(radiusM, remaining)
+			: fetchFromDatabase(radiusM, remaining);
+		if (!ring.isEmpty()) {
+			NearbyRestaurant last = ring.get(ring.size() - 1);
+			lastDistanceM = last.distanceM();
+			lastId = last.restaurantId();
+			fetched += ring.size();
+		}
+		return ring;
+	}
+
+	/** 지금까지 반환한 식당 수 */
+	public int fetchedCount() {
+		return fetched;
+	}
+
+	private List<NearbyRestaurant> fetchFromIndex(double radiusM, int limit) {
+		List<RestaurantSpatialIndex.Hit> hits =
+			index.withinAnnulus(lat, lng, lastDistanceM, lastId, radiusM, limit, filter);
+		List<NearbyRestaurant> ring = new ArrayList<>(hits.size());
+		for (RestaurantSpatialIndex.Hit hit : hits) {
+			int ord = catalog.ordinalOf(hit.restaurantId());
+			ring.add(new NearbyRestaurant(
+				hit.restaurantId(),
+				hit.distanceM(),
+				ord >= 0 && catalog.priceRange(ord) != null ? catalog.priceRange(ord).name() : null,
+				ord >= 0 ? catalog.category2(ord) : null
+			));
+		}
+		return ring;
+	}
+
+	private List<NearbyRestaurant> fetchFromDatabase(double radiusM, int limit) {
+		List<RestaurantRepository.NearbyRestaurantProjection> rows = repository.findNearestWithinMetersAfter(
+			lng, lat, radiusM, lastDistanceM, lastId, limit
+		);
+		List<NearbyRestaurant> ring = new ArrayList<>(rows.size());
+		for (RestaurantRepository.NearbyRestaurantProjection row : rows) {
+			ring.add(new NearbyRestaurant(
+				row.getRestaurantId(),
+				row.getDistanceM(),
+				row.getPriceRange(),
+				row.getCategory2()
+			));
+		}
+		return ring;
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * restaurants/catalog/NearbyRestaurantSearch.java
+ * 반경 확장 커서 생성
+ * Author: Jang
+ * Date: 2025-11-21
+ *
+ * - 공간 인덱스가 준비되어 있으면 인덱스 + 카탈로그 스냅샷, 아니면 PostGIS 키셋 쿼리로 조회하는 커서를 생성
+ * - 커서 하나는 생성 시점의 조회 방식/스냅샷을 끝까지 유지 (링 사이에 결과가 섞이지 않도록)
+ * - openAt 은 OpenSlotIndex 로 해당 시각 슬롯에 영업하지 않는 식당을 인덱스 스캔 단계에서 제외
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.repository.RestaurantRepository;
+
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongPredicate;
+
+@Component
+public class NearbyRestaurantSearch {
+
+	private final RestaurantSpatialIndex restaurantSpatialIndex;
+	private final RestaurantCatalog restaurantCatalog;
+	private final RestaurantRepository restaurantRepository;
+	private final OpenSlotIndex openSlotIndex;
+
+	public NearbyRestaurantSearch(
+		RestaurantSpatialIndex restaurantSpatialIndex,
+		RestaurantCatalog restaurantCatalog,
+		RestaurantRepository restaurantRepository,
+		OpenSlotIndex openSlotIndex
+	) {
+		this.restaurantSpatialIndex = restaurantSpatialIndex;
+		this.restaurantCatalog = restaurantCatalog;
+		this.restaurantRepository = restaurantRepository;
+		this.openSlotIndex = openSlotIndex;
+	}
+
+	/**
+	 * 중심 좌표 기준 커서 생성
+	 *
+	 * @param lat 중심 위도
+	 * @param lng 중심 경도
+	 */
+	public NearbyRestaurantCursor open(double lat, double lng) {
+		if (restaurantSpatialIndex.isReady()) {
+			return NearbyRestaurantCursor.ofIndex(restaurantSpatialIndex, restaurantCatalog.current(), lat, lng);
+		}
+		return NearbyRestaurantCursor.ofDatabase(restaurantRepository, lat, lng);
+	}
+
+	/**
+	 * 해당 시각 슬롯에 영업 중일 수 있는 식당만 조회하는 커서 생성
+	 * - 슬롯 단위 축소이므로 정확한 시각 판정은 호출부에서 (색인/공간 인덱스가 없으면 open 과 같음)
+	 *
+	 * @param secondOfWeek 기준 시각 (WeeklySchedule.secondOfWeek)
+	 */
+	public NearbyRestaurantCursor openAt(double lat, double lng, int secondOfWeek) {
+		LongPredicate openFilter = openSlotIndex.mayBeOpenAt(secondOfWeek);
+		if (openFilter == null || !restaurantSpatialIndex.isReady()) {
+			return open(lat, lng);
+		}
+		return NearbyRestaurantCursor.ofIndex(restaurantSpatialIndex, restaurantCatalog.current(), lat, lng, openFilter);
+	}
+}
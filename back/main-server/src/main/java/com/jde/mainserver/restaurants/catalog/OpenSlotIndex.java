@@ -0,0 +1,98 @@
+/**
+ * restaurants/catalog/OpenSlotIndex.java
+ * 영업 시간대 역색인 (한 주 15분 슬롯 x 식당 비트맵)
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 한 주를 15분 슬롯 672 개로 나누고, 슬롯마다 그 안에서 한 번이라도 OPEN 인 식당의 비트맵(스냅샷 ordinal 기준)을 보관
+ * - 영업시간 정보가 없는 식당(UNKNOWN)은 영업 필터를 통과시키는 기존 규칙에 맞춰 모든 슬롯에 포함
+ * - 슬롯 단위라 후보 축소용 (슬롯 안에서 시각별 정확한 판정은 호출부에서 WeeklySchedule 로)
+ * - 카탈로그 교체 이벤트마다 새 스냅샷의 구간표로 전체 재구성 후 교체 (읽는 쪽은 교체 전/후 중 하나만 봄)
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongPredicate;
+
+@Slf4j
+@Component
+public class OpenSlotIndex {
+
+	public static final int SLOT_SECONDS = 15 * 60;
+	public static final int SLOT_COUNT = WeeklySchedule.SECONDS_PER_WEEK / SLOT_SECONDS; // 672
+
+	private volatile Slots slots;
+
+	/** 카탈로그 교체 시 재구성 */
+	@EventListener
+	public void onCatalogRefreshed(RestaurantCatalogRefreshedEvent event) {
+		rebuild(event.current());
+	}
+
+	/** 인덱스가 한 번이라도 구성되었는지 (false 면 호출부는 슬롯 필터 없이 조회) */
+	public boolean isReady() {
+		return slots != null;
+	}
+
+	/**
+	 * 해당 시각 슬롯에 영업 중일 수 있는 식당 필터 (식당 ID 기준)
+	 * - 인덱스 구성 이후 추가되어 스냅샷에 없는 식당은 통과 (호출부 판정에 맡김)
+	 *
+	 * @param secondOfWeek 월요일 00:00 부터의 초 (WeeklySchedule.secondOfWeek)
+	 * @return 필터 (인덱스가 없으면 null)
+	 */
+	public LongPredicate mayBeOpenAt(int secondOfWeek) {
+		Slots current = slots;
+		if (current == null) {
+			return null;
+		}
+		int base = slotOf(secondOfWeek) * current.words();
+		long[] bits = current.bits();
+		RestaurantCatalogSnapshot snapshot = current.snapshot();
+		return restaurantId -> {
+			int ord = snapshot.ordinalOf(restaurantId);
+			return ord < 0 || (bits[base + (ord >>> 6)] & (1L << ord)) != 0;
+		};
+	}
+
+	/**
+	 * 스냅샷 전체 재구성 (슬롯 우선 배치: bits[slot * words + ord / 64])
+	 */
+	void rebuild(RestaurantCatalogSnapshot snapshot) {
+		int words = (snapshot.size() + 63) >>> 6;
+		long[] bits = new long[SLOT_COUNT * words];
+		for (int ord = 0; ord < snapshot.size(); ord++) {
+			WeeklySchedule schedule = snapshot.schedule(ord);
+			int word = ord >>> 6;
+			long mask = 1L << ord;
+			for (int i = 0; i < schedule.intervalCount(); i++) {
+				OpenStatus status = schedule.intervalStatus(i);
+				if (status != OpenStatus.OPEN && status != OpenStatus.UNKNOWN) {
+					continue;
+				}
+				int last = slotOf(schedule.intervalEnd(i) - 1);
+				for (int slot = slotOf(schedule.intervalStart(i)); slot <= last; slot++) {
+					bits[slot * words + word] |= mask;
+				}
+			}
+		}
+		slots = new Slots(snapshot, words, bits);
+		log.info("[OpenSlotIndex.rebuild] 영업 시간대 색인 구성: restaurants={}, slots={}", snapshot.size(), SLOT_COUNT);
+	}
+
+	private static int slotOf(int secondOfWeek) {
+		return Math.floorMod(secondOfWeek, WeeklySchedule.SECONDS_PER_WEEK) / SLOT_SECONDS;
+	}
+
+	/** 구성 결과 (기준 스냅샷, 슬롯당 long 개수, 비트맵) */
+	private record Slots(RestaurantCatalogSnapshot snapshot, int words, long[] bits) {
+	}
+}
@@ -0,0 +1,232 @@
+/**
+ * restaurants/catalog/RestaurantCatalog.java
+ * 식당 카탈로그 (컬럼형 스냅샷 빌드 및 원자적 교체)
+ * Author: Jang
+ * Date: 2025-11-20
+ *
+ * - 기동 완료 시 1회, 이후 주기적으로 원본 테이블 지문(count, max(updated_at))을 확인하여 변경 시에만 재빌드
+ * - 재빌드는 새 파일에 기록 후 mmap, AtomicReference 로 교체 (읽는 쪽은 current() 한 번 잡고 사용)
+ * - 빌드 전/실패 시에는 빈 스냅샷을 유지하며, 호출부는 스냅샷에 없는 ID 를 DB 에서 조회하여 보완
+ * - 교체 후 RestaurantCatalogRefreshedEvent 발행 (공간 인덱스 등 파생 인덱스 갱신)
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.entity.enums.PriceRange;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class RestaurantCatalog {
+
+	private static final String FILE_PREFIX = "restaurant-catalog-";
+	private static final String FILE_SUFFIX = ".bin";
+
+	private static final String FINGERPRINT_SQL = """
+		SELECT
+			(SELECT COUNT(*) || ':' || COALESCE(MAX(updated_at)::text, '') FROM restaurant)
+			|| '|' || (SELECT COUNT(*) || ':' || COALESCE(MAX(updated_at)::text, '') FROM restaurant_tag)
+			|| '|' || (SELECT COUNT(*) || ':' || COALESCE(MAX(updated_at)::text, '') FROM restaurant_hour)
+		""";
+
+	private static final String RESTAURANT_SQL = """
+		SELECT r.restaurant_id, ST_Y(r.geom) AS lat, ST_X(r.geom) AS lng,
+			r.kakao_rating, r.kakao_review_cnt, r.category1, r.category2, r.category3,
+			r.price_range, r.updated_at
+		FROM restaurant r
+		""";
+
+	private static final String TAG_SQL = """
+		SELECT restaurant_id, tag_id, weight, confidence
+		FROM restaurant_tag
+		""";
+
+	private static final String HOUR_SQL = """
+		SELECT restaurant_id, dow, open, close, break_open, break_close, is_holiday
+		FROM restaurant_hour
+		ORDER BY restaurant_id, restaurant_hour_id
+		""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Path directory;
+	private final AtomicReference<RestaurantCatalogSnapshot> current =
+		new AtomicReference<>(RestaurantCatalogSnapshot.EMPTY);
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	public RestaurantCatalog(
+		JdbcTemplate jdbcTemplate,
+		ApplicationEventPublisher eventPublisher,
+		@Value("${catalog.dir:${java.io.tmpdir}/jde-catalog}") String directory
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.eventPublisher = eventPublisher;
+		this.directory = Paths.get(directory);
+	}
+
+	/** 현재 스냅샷 (요청 단위로 한 번 잡아서 사용) */
+	public RestaurantCatalogSnapshot current() {
+		return current.get();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onReady() {
+		deleteStaleFiles();
+		refreshIfChanged();
+	}
+
+	/** 원본 지문이 바뀐 경우에만 재빌드 */
+	@Scheduled(
+		fixedDelayString = "${catalog.refresh-interval-ms:60000}",
+		initialDelayString = "${catalog.refresh-interval-ms:60000}"
+	)
+	public void refreshIfChanged() {
+		try {
+			String fingerprint = jdbcTemplate.queryForObject(FINGERPRINT_SQL, String.class);
+			if (fingerprint != null && fingerprint.equals(current.get().fingerprint())) {
+				return;
+			}
+			rebuild(fingerprint);
+		} catch (Exception e) {
+			log.warn("[RestaurantCatalog.refreshIfChanged] 카탈로그 갱신 실패, 기존 스냅샷 유지: {}", e.getMessage());
+		}
+	}
+
+	/** 스냅샷 재빌드 후 원자적 교체 (동시 재빌드는 하나만 수행) */
+	public void rebuild(String fingerprint) {
+		if (!rebuildLock.tryLock()) {
+			return;
+		}
+		try {
+			long started = System.nanoTime();
+			RestaurantCatalogSnapshot.Builder builder = new RestaurantCatalogSnapshot.Builder()
+				.fingerprint(fingerprint);
+
+			jdbcTemplate.query(RESTAURANT_SQL, rs -> {
+				builder.addRestaurant(
+					rs.getLong("restaurant_id"),
+					getNullableDouble(rs, "lat"),
+					getNullableDouble(rs, "lng"),
+					toDouble(rs.getBigDecimal("kakao_rating")),
+					getNullableInt(rs, "kakao_review_cnt"),
+					rs.getString("category1"),
+					rs.getString("category2"),
+					rs.getString("category3"),
+					toPriceRange(rs.getString("price_range")),
+					toMillis(rs.getTimestamp("updated_at"))
+				);
+			});
+			jdbcTemplate.query(TAG_SQL, rs -> {
+				builder.addTag(
+					rs.getLong("restaurant_id"),
+					rs.getLong("tag_id"),
+					rs.getBigDecimal("weight").floatValue(),
+					rs.getBigDecimal("confidence").floatValue()
+				);
+			});
+			jdbcTemplate.query(HOUR_SQL, rs -> {
+				builder.addHour(
+					rs.getLong("restaurant_id"),
+					getNullableInt(rs, "dow"),
+					toSecondOfDay(rs.getObject("open", LocalTime.class)),
+					toSecondOfDay(rs.getObject("close", LocalTime.class)),
+					toSecondOfDay(rs.getObject("break_open", LocalTime.class)),
+					toSecondOfDay(rs.getObject("break_close", LocalTime.class)),
+					(Boolean)rs.getObject("is_holiday")
+				);
+			});
+
+			Path file = directory.resolve(FILE_PREFIX + System.currentTimeMillis() + FILE_SUFFIX);
+			RestaurantCatalogSnapshot next = builder.writeTo(file);
+			RestaurantCatalogSnapshot previous = current.getAndSet(next);
+			deleteQuietly(previous.file());
+			eventPublisher.publishEvent(new RestaurantCatalogRefreshedEvent(previous, next));
+
+			log.info("[RestaurantCatalog.rebuild] 카탈로그 교체: size={}, elapsedMs={}",
+				next.size(), (System.nanoTime() - started) / 1_000_000);
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	/** 이전 프로세스가 남긴 스냅샷 파일 정리 */
+	private void deleteStaleFiles() {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+			for (Path f : files) {
+				deleteQuietly(f);
+			}
+		} catch (IOException e) {
+			log.debug("[RestaurantCatalog.deleteStaleFiles] 정리 실패: {}", e.getMessage());
+		}
+	}
+
+	/** mmap 된 파일은 unlink 후에도 매핑이 유지되므로 교체 직후 삭제해도 안전함 */
+	private static void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.debug("[RestaurantCatalog.deleteQuietly] 삭제 실패: file={}, error={}", file, e.getMessage());
+		}
+	}
+
+	private static Double getNullableDouble(ResultSet rs, String column) throws SQLException {
+		double v = rs.getDouble(column);
+		return rs.wasNull() ? null : v;
+	}
+
+	private static Integer getNullableInt(ResultSet rs, String column) throws SQLException {
+		int v = rs.getInt(column);
+		return rs.wasNull() ? null : v;
+	}
+
+	private static Double toDouble(BigDecimal v) {
+		return v != null ? v.doubleValue() : null;
+	}
+
+	private static Long toMillis(Timestamp ts) {
+		return ts != null ? ts.getTime() : null;
+	}
+
+	private static Integer toSecondOfDay(LocalTime t) {
+		return t != null ? t.toSecondOfDay() : null;
+	}
+
+	private static PriceRange toPriceRange(String name) {
+		if (name == null) {
+			return null;
+		}
+		try {
+			return PriceRange.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,14 @@
+/**
+ * restaurants/catalog/RestaurantCatalogRefreshedEvent.java
+ * 카탈로그 스냅샷 교체 이벤트 (이전/현재 스냅샷 전달, 파생 인덱스의 증분 갱신용)
+ * Author: Jang
+ * Date: 2025-11-20
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+public record RestaurantCatalogRefreshedEvent(
+	RestaurantCatalogSnapshot previous,
+	RestaurantCatalogSnapshot current
+) {
+}
@@ -0,0 +1,609 @@
+/**
+ * restaurants/catalog/RestaurantCatalogSnapshot.java
+ * 식당 카탈로그 컬럼형 스냅샷 (메모리 맵 파일, 읽기 전용)
+ * Author: Jang
+ * Date: 2025-11-20
+ *
+ * - restaurant / restaurant_tag / restaurant_hour 를 식당 ID 오름차순 dense ordinal 기준
+ *   원시 타입 컬럼으로 펼쳐 하나의 파일에 기록하고, 해당 파일을 mmap 하여 읽음
+ * - 스냅샷은 불변이며 재빌드 시 새 파일로 교체됨 (RestaurantCatalog 에서 원자적 교체)
+ * - 값이 없는 경우: 좌표/평점 NaN, 정수 컬럼 -1, updatedAt Long.MIN_VALUE
+ * - 영업시간은 처음 조회할 때 식당별 WeeklySchedule 로 컴파일하여 스냅샷 수명 동안 재사용
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.entity.enums.PriceRange;
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class RestaurantCatalogSnapshot {
+
+	private static final int MAGIC = 0x4A444543; // "JDEC"
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_BYTES = 32;
+	private static final PriceRange[] PRICE_RANGES = PriceRange.values();
+
+	/** 빈 스냅샷 (최초 빌드 전 / 빌드 실패 시) */
+	public static final RestaurantCatalogSnapshot EMPTY = new Builder().build();
+
+	private final int size;
+	private final String fingerprint;
+	private final Path file;
+
+	// 식당 컬럼 (ordinal 기준)
+	private final LongBuffer ids;
+	private final DoubleBuffer lats;
+	private final DoubleBuffer lngs;
+	private final DoubleBuffer ratings;
+	private final IntBuffer reviewCounts;
+	private final IntBuffer category1;
+	private final IntBuffer category2;
+	private final IntBuffer category3;
+	private final IntBuffer priceRanges;
+	private final LongBuffer updatedAts;
+
+	// 태그 컬럼 (CSR: tagOffsets[ord] ~ tagOffsets[ord + 1])
+	private final IntBuffer tagOffsets;
+	private final LongBuffer tagIds;
+	private final FloatBuffer tagWeights;
+	private final FloatBuffer tagConfidences;
+
+	// 영업시간 컬럼 (CSR, 시각은 second-of-day, null 은 -1)
+	private final IntBuffer hourOffsets;
+	private final IntBuffer hourDows;
+	private final IntBuffer hourOpens;
+	private final IntBuffer hourCloses;
+	private final IntBuffer hourBreakOpens;
+	private final IntBuffer hourBreakCloses;
+	private final IntBuffer hourHolidays;
+
+	// 컴파일한 영업시간 (ordinal 기준, 처음 조회 시 채움. 불변 객체라 동시에 채워도 결과 동일)
+	private final WeeklySchedule[] schedules;
+
+	// 카테고리 사전 (코드 <-> 문자열)
+	private final String[] categories;
+	private final Map<String, Integer> categoryCodes;
+
+	private RestaurantCatalogSnapshot(ByteBuffer buf, Path file) {
+		this.file = file;
+		buf.order(ByteOrder.LITTLE_ENDIAN);
+		if (buf.getInt(0) != MAGIC || buf.getInt(4) != FORMAT_VERSION) {
+			throw new IllegalStateException("카탈로그 파일 형식 불일치: " + file);
+		}
+		this.size = buf.getInt(8);
+		this.schedules = new WeeklySchedule[size];
+		int tagRows = buf.getInt(12);
+		int hourRows = buf.getInt(16);
+		int categoryCount = buf.getInt(20);
+
+		Cursor c = new Cursor(buf, HEADER_BYTES);
+		this.ids = c.longs(size);
+		this.lats = c.doubles(size);
+		this.lngs = c.doubles(size);
+		this.updatedAts = c.longs(size);
+		this.ratings = c.doubles(size);
+		this.reviewCounts = c.ints(size);
+		this.category1 = c.ints(size);
+		this.category2 = c.ints(size);
+		this.category3 = c.ints(size);
+		this.priceRanges = c.ints(size);
+
+		this.tagOffsets = c.ints(size + 1);
+		this.tagIds = c.longs(tagRows);
+		this.tagWeights = c.floats(tagRows);
+		this.tagConfidences = c.floats(tagRows);
+
+		this.hourOffsets = c.ints(size + 1);
+		this.hourDows = c.ints(hourRows);
+		this.hourOpens = c.ints(hourRows);
+		this.hourCloses = c.ints(hourRows);
+		this.hourBreakOpens = c.ints(hourRows);
+		this.hourBreakCloses = c.ints(hourRows);
+		this.hourHolidays = c.ints(hourRows);
+
+		this.categories = c.strings(categoryCount);
+		this.categoryCodes = new HashMap<>(categoryCount * 2);
+		for (int i = 0; i < categories.length; i++) {
+			categoryCodes.put(categories[i], i);
+		}
+		this.fingerprint = c.string();
+	}
+
+	/** 파일을 읽기 전용으로 mmap 하여 스냅샷 생성 */
+	public static RestaurantCatalogSnapshot open(Path file) {
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+			return new RestaurantCatalogSnapshot(mapped, file);
+		} catch (IOException e) {
+			throw new UncheckedIOException("카탈로그 파일 열기 실패: " + file, e);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** 원본 데이터 지문 (변경 감지용) */
+	public String fingerprint() {
+		return fingerprint;
+	}
+
+	/** 스냅샷 파일 경로 (메모리 전용 스냅샷이면 null) */
+	public Path file() {
+		return file;
+	}
+
+	/** 식당 ID -> ordinal (없으면 -1). ids 컬럼이 오름차순이므로 이진 탐색 */
+	public int ordinalOf(long restaurantId) {
+		int lo = 0;
+		int hi = size - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			long v = ids.get(mid);
+			if (v < restaurantId) {
+				lo = mid + 1;
+			} else if (v > restaurantId) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains(long restaurantId) {
+		return ordinalOf(restaurantId) >= 0;
+	}
+
+	public long id(int ord) {
+		return ids.get(ord);
+	}
+
+	/** 위도 (좌표 없으면 NaN) */
+	public double lat(int ord) {
+		return lats.get(ord);
+	}
+
+	/** 경도 (좌표 없으면 NaN) */
+	public double lng(int ord) {
+		return lngs.get(ord);
+	}
+
+	public boolean hasLocation(int ord) {
+		return !Double.isNaN(lats.get(ord)) && !Double.isNaN(lngs.get(ord));
+	}
+
+	/** updated_at (epoch millis, 없으면 Long.MIN_VALUE) */
+	public long updatedAtMillis(int ord) {
+		return updatedAts.get(ord);
+	}
+
+	/** 카카오 평점 (없으면 NaN) */
+	public double rating(int ord) {
+		return ratings.get(ord);
+	}
+
+	/** 카카오 리뷰 수 (없으면 -1) */
+	public int reviewCount(int ord) {
+		return reviewCounts.get(ord);
+	}
+
+	/** 평점(>0) 또는 리뷰 수(>0) 정보 보유 여부 */
+	public boolean hasRatingOrReview(int ord) {
+		double rating = ratings.get(ord);
+		return (!Double.isNaN(rating) && rating > 0.0) || reviewCounts.get(ord) > 0;
+	}
+
+	/** 카테고리 코드 (level 1~3, 없으면 -1) */
+	public int categoryCode(int ord, int level) {
+		return switch (level) {
+			case 1 -> category1.get(ord);
+			case 2 -> category2.get(ord);
+			case 3 -> category3.get(ord);
+			default -> throw new IllegalArgumentException("category level: " + level);
+		};
+	}
+
+	public String category1(int ord) {
+		return categoryName(category1.get(ord));
+	}
+
+	public String category2(int ord) {
+		return categoryName(category2.get(ord));
+	}
+
+	public String category3(int ord) {
+		return categoryName(category3.get(ord));
+	}
+
+	public String categoryName(int code) {
+		return code < 0 ? null : categories[code];
+	}
+
+	/** 카테고리 문자열 -> 코드 (사전에 없으면 -1) */
+	public int categoryCodeOf(String category) {
+		if (category == null) {
+			return -1;
+		}
+		return categoryCodes.getOrDefault(category, -1);
+	}
+
+	public int categoryCount() {
+		return categories.length;
+	}
+
+	public PriceRange priceRange(int ord) {
+		int code = priceRanges.get(ord);
+		return code < 0 ? null : PRICE_RANGES[code];
+	}
+
+	public int tagStart(int ord) {
+		return tagOffsets.get(ord);
+	}
+
+	public int tagEnd(int ord) {
+		return tagOffsets.get(ord + 1);
+	}
+
+	public long tagId(int row) {
+		return tagIds.get(row);
+	}
+
+	public float tagWeight(int row) {
+		return tagWeights.get(row);
+	}
+
+	public float tagConfidence(int row) {
+		return tagConfidences.get(row);
+	}
+
+	public int hourStart(int ord) {
+		return hourOffsets.get(ord);
+	}
+
+	public int hourEnd(int ord) {
+		return hourOffsets.get(ord + 1);
+	}
+
+	/** 요일 (0=공휴일, 1=월 ~ 7=일, 없으면 -1) */
+	public int hourDow(int row) {
+		return hourDows.get(row);
+	}
+
+	/** 영업 시작 (second-of-day, 없으면 -1) */
+	public int hourOpen(int row) {
+		return hourOpens.get(row);
+	}
+
+	public int hourClose(int row) {
+		return hourCloses.get(row);
+	}
+
+	public int hourBreakOpen(int row) {
+		return hourBreakOpens.get(row);
+	}
+
+	public int hourBreakClose(int row) {
+		return hourBreakCloses.get(row);
+	}
+
+	/** 휴무 여부 (1=true, 0=false, -1=null) */
+	public int hourHoliday(int row) {
+		return hourHolidays.get(row);
+	}
+
+	/** 한 주 영업 구간표 (영업시간 행이 없으면 WeeklySchedule.UNKNOWN) */
+	public WeeklySchedule schedule(int ord) {
+		WeeklySchedule schedule = schedules[ord];
+		if (schedule == null) {
+			int start = hourStart(ord);
+			int end = hourEnd(ord);
+			List<WeeklySchedule.HourRow> rows = new ArrayList<>(end - start);
+			for (int row = start; row < end; row++) {
+				rows.add(new WeeklySchedule.HourRow(hourDow(row), hourOpen(row), hourClose(row),
+					hourBreakOpen(row), hourBreakClose(row), hourHoliday(row) == 1));
+			}
+			schedule = WeeklySchedule.compile(rows);
+			schedules[ord] = schedule;
+		}
+		return schedule;
+	}
+
+	/**
+	 * 스냅샷 빌더
+	 * - 행 추가 순서는 자유 (write 시 식당 ID 기준으로 정렬)
+	 * - 존재하지 않는 식당의 태그/영업시간 행은 무시
+	 */
+	public static final class Builder {
+		private final List<RestaurantRow> restaurants = new ArrayList<>();
+		private final List<TagRow> tags = new ArrayList<>();
+		private final List<HourRow> hours = new ArrayList<>();
+		private String fingerprint = "";
+
+		public Builder fingerprint(String fingerprint) {
+			this.fingerprint = fingerprint == null ? "" : fingerprint;
+			return this;
+		}
+
+		public Builder addRestaurant(long id, Double lat, Double lng, Double rating, Integer reviewCount,
+			String category1, String category2, String category3, PriceRange priceRange, Long updatedAtMillis) {
+			restaurants.add(new RestaurantRow(id, lat, lng, rating, reviewCount,
+				category1, category2, category3, priceRange, updatedAtMillis));
+			return this;
+		}
+
+		public Builder addTag(long restaurantId, long tagId, float weight, float confidence) {
+			tags.add(new TagRow(restaurantId, tagId, weight, confidence));
+			return this;
+		}
+
+		/** 시각은 second-of-day (null 허용) */
+		public Builder addHour(long restaurantId, Integer dow, Integer open, Integer close,
+			Integer breakOpen, Integer breakClose, Boolean isHoliday) {
+			hours.add(new HourRow(restaurantId, hours.size(), dow, open, close, breakOpen, breakClose, isHoliday));
+			return this;
+		}
+
+		/** 파일에 기록 후 mmap 하여 스냅샷 반환 (임시 파일 기록 후 원자적 이동) */
+		public RestaurantCatalogSnapshot writeTo(Path file) {
+			ByteBuffer buf = encode();
+			Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			try {
+				Files.createDirectories(file.toAbsolutePath().getParent());
+				try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+					while (buf.hasRemaining()) {
+						ch.write(buf);
+					}
+					ch.force(true);
+				}
+				Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				throw new UncheckedIOException("카탈로그 파일 기록 실패: " + file, e);
+			}
+			return open(file);
+		}
+
+		/** 파일 없이 힙 버퍼로 스냅샷 생성 (테스트/빈 스냅샷 용) */
+		public RestaurantCatalogSnapshot build() {
+			return new RestaurantCatalogSnapshot(encode(), null);
+		}
+
+		private ByteBuffer encode() {
+			List<RestaurantRow> rs = new ArrayList<>(restaurants);
+			rs.sort(Comparator.comparingLong(RestaurantRow::id));
+			int n = rs.size();
+			Map<Long, Integer> ordinals = new HashMap<>(n * 2);
+			for (int i = 0; i < n; i++) {
+				ordinals.put(rs.get(i).id(), i);
+			}
+
+			List<TagRow> ts = tags.stream()
+				.filter(t -> ordinals.containsKey(t.restaurantId()))
+				.sorted(Comparator.comparingLong(TagRow::restaurantId).thenComparingLong(TagRow::tagId))
+				.toList();
+			List<HourRow> hs = hours.stream()
+				.filter(h -> ordinals.containsKey(h.restaurantId()))
+				.sorted(Comparator.comparingLong(HourRow::restaurantId).thenComparingInt(HourRow::seq))
+				.toList();
+
+			// 카테고리 사전 (등장 순서대로 코드 부여)
+			Map<String, Integer> dict = new HashMap<>();
+			List<String> dictList = new ArrayList<>();
+			int[][] catCodes = new int[3][n];
+			for (int i = 0; i < n; i++) {
+				RestaurantRow r = rs.get(i);
+				catCodes[0][i] = intern(r.category1(), dict, dictList);
+				catCodes[1][i] = intern(r.category2(), dict, dictList);
+				catCodes[2][i] = intern(r.category3(), dict, dictList);
+			}
+
+			byte[][] dictBytes = new byte[dictList.size()][];
+			int dictSize = 0;
+			for (int i = 0; i < dictBytes.length; i++) {
+				dictBytes[i] = dictList.get(i).getBytes(StandardCharsets.UTF_8);
+				dictSize += 4 + dictBytes[i].length;
+			}
+			byte[] fpBytes = fingerprint.getBytes(StandardCharsets.UTF_8);
+
+			int t = ts.size();
+			int h = hs.size();
+			long total = HEADER_BYTES
+				+ align((long)n * 8) * 5          // ids, lats, lngs, updatedAts, ratings
+				+ align((long)n * 4) * 5          // reviewCounts, category1~3, priceRanges
+				+ align((long)(n + 1) * 4)        // tagOffsets
+				+ align((long)t * 8)              // tagIds
+				+ align((long)t * 4) * 2          // tagWeights, tagConfidences
+				+ align((long)(n + 1) * 4)        // hourOffsets
+				+ align((long)h * 4) * 6          // hour 컬럼
+				+ align(dictSize)
+				+ align(4L + fpBytes.length);
+			if (total > Integer.MAX_VALUE) {
+				throw new IllegalStateException("카탈로그 크기 초과: " + total);
+			}
+
+			ByteBuffer buf = ByteBuffer.allocate((int)total).order(ByteOrder.LITTLE_ENDIAN);
+			buf.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(n).putInt(t).putInt(h).putInt(dictList.size());
+			buf.position(HEADER_BYTES);
+
+			for (RestaurantRow r : rs) buf.putLong(r.id());
+			pad(buf);
+			for (RestaurantRow r : rs) buf.putDouble(r.lat() != null ? r.lat() : Double.NaN);
+			pad(buf);
+			for (RestaurantRow r : rs) buf.putDouble(r.lng() != null ? r.lng() : Double.NaN);
+			pad(buf);
+			for (RestaurantRow r : rs) buf.putLong(r.updatedAtMillis() != null ? r.updatedAtMillis() : Long.MIN_VALUE);
+			pad(buf);
+			for (RestaurantRow r : rs) buf.putDouble(r.rating() != null ? r.rating() : Double.NaN);
+			pad(buf);
+			for (RestaurantRow r : rs) buf.putInt(r.reviewCount() != null ? r.reviewCount() : -1);
+			pad(buf);
+			for (int k = 0; k < 3; k++) {
+				for (int i = 0; i < n; i++) buf.putInt(catCodes[k][i]);
+				pad(buf);
+			}
+			for (RestaurantRow r : rs) buf.putInt(r.priceRange() != null ? r.priceRange().ordinal() : -1);
+			pad(buf);
+
+			// 태그 CSR
+			writeOffsets(buf, n, ts.stream().mapToInt(tr -> ordinals.get(tr.restaurantId())).toArray());
+			for (TagRow tr : ts) buf.putLong(tr.tagId());
+			pad(buf);
+			for (TagRow tr : ts) buf.putFloat(tr.weight());
+			pad(buf);
+			for (TagRow tr : ts) buf.putFloat(tr.confidence());
+			pad(buf);
+
+			// 영업시간 CSR
+			writeOffsets(buf, n, hs.stream().mapToInt(hr -> ordinals.get(hr.restaurantId())).toArray());
+			for (HourRow hr : hs) buf.putInt(orMinus(hr.dow()));
+			pad(buf);
+			for (HourRow hr : hs) buf.putInt(orMinus(hr.open()));
+			pad(buf);
+			for (HourRow hr : hs) buf.putInt(orMinus(hr.close()));
+			pad(buf);
+			for (HourRow hr : hs) buf.putInt(orMinus(hr.breakOpen()));
+			pad(buf);
+			for (HourRow hr : hs) buf.putInt(orMinus(hr.breakClose()));
+			pad(buf);
+			for (HourRow hr : hs) buf.putInt(hr.isHoliday() == null ? -1 : (hr.isHoliday() ? 1 : 0));
+			pad(buf);
+
+			for (byte[] b : dictBytes) {
+				buf.putInt(b.length).put(b);
+			}
+			pad(buf);
+			buf.putInt(fpBytes.length).put(fpBytes);
+			pad(buf);
+
+			buf.flip();
+			return buf;
+		}
+
+		/** 정렬된 행의 ordinal 배열로 CSR offset(n + 1개) 기록 */
+		private static void writeOffsets(ByteBuffer buf, int n, int[] rowOrdinals) {
+			int[] offsets = new int[n + 1];
+			for (int ord : rowOrdinals) {
+				offsets[ord + 1]++;
+			}
+			for (int i = 0; i < n; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+			for (int v : offsets) buf.putInt(v);
+			pad(buf);
+		}
+
+		private static int intern(String s, Map<String, Integer> dict, List<String> dictList) {
+			if (s == null) {
+				return -1;
+			}
+			return dict.computeIfAbsent(s, k -> {
+				dictList.add(k);
+				return dictList.size() - 1;
+			});
+		}
+
+		private static int orMinus(Integer v) {
+			return v == null ? -1 : v;
+		}
+
+		private static long align(long bytes) {
+			return (bytes + 7) & ~7L;
+		}
+
+		private static void pad(ByteBuffer buf) {
+			while ((buf.position() & 7) != 0) {
+				buf.put((byte)0);
+			}
+		}
+	}
+
+	private record RestaurantRow(long id, Double lat, Double lng, Double rating, Integer reviewCount,
+		String category1, String category2, String category3, PriceRange priceRange, Long updatedAtMillis) {
+	}
+
+	private record TagRow(long restaurantId, long tagId, float weight, float confidence) {
+	}
+
+	private record HourRow(long restaurantId, int seq, Integer dow, Integer open, Integer close,
+		Integer breakOpen, Integer breakClose, Boolean isHoliday) {
+	}
+
+	/** 8바이트 정렬된 섹션을 순서대로 읽는 커서 */
+	private static final class Cursor {
+		private final ByteBuffer buf;
+		private int pos;
+
+		Cursor(ByteBuffer buf, int pos) {
+			this.buf = buf;
+			this.pos = pos;
+		}
+
+		private ByteBuffer section(long bytes) {
+			int len = (int)bytes;
+			ByteBuffer s = buf.slice(pos, len).order(ByteOrder.LITTLE_ENDIAN);
+			pos += (len + 7) & ~7;
+			return s;
+		}
+
+		LongBuffer longs(int count) {
+			return section((long)count * 8).asLongBuffer();
+		}
+
+		DoubleBuffer doubles(int count) {
+			return section((long)count * 8).asDoubleBuffer();
+		}
+
+		FloatBuffer floats(int count) {
+			return section((long)count * 4).asFloatBuffer();
+		}
+
+		IntBuffer ints(int count) {
+			return section((long)count * 4).asIntBuffer();
+		}
+
+		String[] strings(int count) {
+			String[] out = new String[count];
+			int p = pos;
+			for (int i = 0; i < count; i++) {
+				int len = buf.getInt(p);
+				byte[] b = new byte[len];
+				buf.get(p + 4, b);
+				out[i] = new String(b, StandardCharsets.UTF_8);
+				p += 4 + len;
+			}
+			pos = (p + 7) & ~7;
+			return out;
+		}
+
+		String string() {
+			return strings(1)[0];
+		}
+	}
+
+}
@@ -0,0 +1,261 @@
+/**
+ * restaurants/catalog/RestaurantSpatialIndex.java
+ * 식당 좌표 인메모리 공간 인덱스 (고정 격자)
+ * Author: Jang
+ * Date: 2025-11-21
+ *
+ * - 위/경도를 CELL_DEG 단위 격자로 나눠 셀별 (id, lat, lng) 배열 보관 (셀 단위 copy-on-write)
+ * - 변경된 셀은 새 격자 맵에 모아 한 번에 교체 (이동한 식당이 이전/새 셀에 동시에 보이거나 둘 다 빠지지 않도록)
+ * - 반경 검색: 반경을 덮는 셀만 스캔 후 Haversine 거리(셀 단위 GeoDistanceKernel 일괄 계산)로 필터, 거리순(동률 시 ID순) 정렬
+ * - 카탈로그 교체 이벤트마다 이전/현재 스냅샷을 ID 순서로 병합 비교하여
+ *   추가/이동/삭제된 식당의 셀만 갱신 (증분 갱신)
+ * - 거리는 구면 Haversine 기준이므로 PostGIS geography(회전타원체) 거리와 수 m 이내 오차가 있음
+ */
+
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.global.geo.GeoDistanceKernel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+@Slf4j
+@Component
+public class RestaurantSpatialIndex {
+
+	private static final double CELL_DEG = 0.005; // 위도 기준 약 555m
+	private static final double METERS_PER_DEG_LAT = 111_320.0;
+
+	private volatile Map<Long, Cell> cells = Map.of(); // 셀 키 -> 셀 (교체 전까지 변경하지 않음)
+	private final Map<Long, Long> positions = new ConcurrentHashMap<>(); // 식당 ID -> 셀 키
+	private volatile boolean ready = false;
+
+	/** 인덱스가 한 번이라도 채워졌는지 (false 면 호출부는 DB 공간 쿼리 사용) */
+	public boolean isReady() {
+		return ready;
+	}
+
+	public int size() {
+		return positions.size();
+	}
+
+	/**
+	 * 반경 내 식당 조회 (거리 오름차순, 동률 시 ID 오름차순)
+	 *
+	 * @param lat 중심 위도
+	 * @param lng 중심 경도
+	 * @param radiusM 반경(미터)
+	 * @param limit 최대 개수
+	 */
+	public List<Hit> withinRadius(double lat, double lng, double radiusM, int limit) {
+		return withinAnnulus(lat, lng, -1.0, -1L, radiusM, limit);
+	}
+
+	/**
+	 * (minDistanceM, minId) 이후 ~ maxRadiusM 이내 식당 조회 (거리 오름차순, 동률 시 ID 오름차순)
+	 * - (거리, ID) 키셋 기준이므로 이전 조회의 마지막 결과를 넘기면 다음 구간을 이어서 조회할 수 있음
+	 * - minDistanceM < 0 이면 중심부터 조회
+	 */
+	public List<Hit> withinAnnulus(double lat, double lng, double minDistanceM, long minId,
+		double maxRadiusM, int limit) {
+		return withinAnnulus(lat, lng, minDistanceM, minId, maxRadiusM, limit, null);
+	}
+
+	/**
+	 * withinAnnulus + 식당 ID 필터 (필터를 통과한 식당만 limit 에 포함, null 이면 필터 없음)
+	 */
+	public List<Hit> withinAnnulus(double lat, double lng, double minDistanceM, long minId,
+		double maxRadiusM, int limit, LongPredicate filter) {
+		if (limit <= 0 || maxRadiusM < 0) {
+			return List.of();
+		}
+		double dLat = maxRadiusM / METERS_PER_DEG_LAT;
+		double cosLat = Math.max(Math.cos(Math.toRadians(lat)), 1e-6);
+		double dLng = maxRadiusM / (METERS_PER_DEG_LAT * cosLat);
+
+		int minRow = cellCoord(lat - dLat);
+		int maxRow = cellCoord(lat + dLat);
+		int minCol = cellCoord(lng - dLng);
+		int maxCol = cellCoord(lng + dLng);
+
+		Map<Long, Cell> grid = cells; // 한 조회는 같은 격자만 사용
+		List<Hit> hits = new ArrayList<>();
+		double[] distances = new double[0];
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int col = minCol; col <= maxCol; col++) {
+				Cell cell = grid.get(cellKey(row, col));
+				if (cell == null) {
+					continue;
+				}
+				int n = cell.ids.length;
+				if (distances.length < n) {
+					distances = new double[Math.max(n, distances.length * 2)];
+				}
+				GeoDistanceKernel.distancesMeters(lat, lng, cell.lats, cell.lngs, n, distances);
+				for (int i = 0; i < n; i++) {
+					double d = distances[i];
+					if (d > maxRadiusM) {
+						continue;
+					}
+					long id = cell.ids[i];
+					if (minDistanceM >= 0 && (d < minDistanceM || (d == minDistanceM && id <= minId))) {
+						continue;
+					}
+					if (filter != null && !filter.test(id)) {
+						continue;
+					}
+					hits.add(new Hit(id, d));
+				}
+			}
+		}
+		hits.sort((a, b) -> {
+			int c = Double.compare(a.distanceM(), b.distanceM());
+			return c != 0 ? c : Long.compare(a.restaurantId(), b.restaurantId());
+		});
+		return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+	}
+
+	/** 카탈로그 교체 시 변경분만 반영 */
+	@EventListener
+	public void onCatalogRefreshed(RestaurantCatalogRefreshedEvent event) {
+		apply(event.previous(), event.current());
+	}
+
+	/**
+	 * 이전/현재 스냅샷 병합 비교 (두 스냅샷 모두 ID 오름차순)
+	 */
+	synchronized void apply(RestaurantCatalogSnapshot previous, RestaurantCatalogSnapshot current) {
+		Map<Long, CellDelta> deltas = new HashMap<>();
+		int i = 0;
+		int j = 0;
+		int changed = 0;
+		while (i < previous.size() || j < current.size()) {
+			long prevId = i < previous.size() ? previous.id(i) : Long.MAX_VALUE;
+			long curId = j < current.size() ? current.id(j) : Long.MAX_VALUE;
+			if (prevId < curId) {
+				// 삭제
+				removeFromCell(prevId, deltas);
+				changed++;
+				i++;
+			} else if (curId < prevId) {
+				// 추가
+				addToCell(current, j, deltas);
+				changed++;
+				j++;
+			} else {
+				// 이동 여부 확인 (좌표 변경 시에만 갱신)
+				boolean moved = Double.compare(previous.lat(i), current.lat(j)) != 0
+					|| Double.compare(previous.lng(i), current.lng(j)) != 0
+					|| !positions.containsKey(curId) && current.hasLocation(j);
+				if (moved) {
+					removeFromCell(curId, deltas);
+					addToCell(current, j, deltas);
+					changed++;
+				}
+				i++;
+				j++;
+			}
+		}
+
+		if (!deltas.isEmpty()) {
+			Map<Long, Cell> grid = new HashMap<>(cells);
+			for (Map.Entry<Long, CellDelta> e : deltas.entrySet()) {
+				Cell next = e.getValue().applyTo(grid.get(e.getKey()));
+				if (next == null) {
+					grid.remove(e.getKey());
+				} else {
+					grid.put(e.getKey(), next);
+				}
+			}
+			cells = grid;
+		}
+		ready = ready || !current.isEmpty();
+		if (changed > 0) {
+			log.info("[RestaurantSpatialIndex.apply] 공간 인덱스 갱신: changed={}, size={}, cells={}",
+				changed, positions.size(), cells.size());
+		}
+	}
+
+	private void removeFromCell(long id, Map<Long, CellDelta> deltas) {
+		Long key = positions.remove(id);
+		if (key != null) {
+			deltas.computeIfAbsent(key, k -> new CellDelta()).removes.add(id);
+		}
+	}
+
+	private void addToCell(RestaurantCatalogSnapshot snapshot, int ord, Map<Long, CellDelta> deltas) {
+		if (!snapshot.hasLocation(ord)) {
+			return;
+		}
+		long id = snapshot.id(ord);
+		double lat = snapshot.lat(ord);
+		double lng = snapshot.lng(ord);
+		long key = cellKey(cellCoord(lat), cellCoord(lng));
+		positions.put(id, key);
+		CellDelta delta = deltas.computeIfAbsent(key, k -> new CellDelta());
+		delta.removes.remove(id);
+		delta.adds.put(id, new double[] {lat, lng});
+	}
+
+	private static int cellCoord(double deg) {
+		return (int)Math.floor(deg / CELL_DEG);
+	}
+
+	private static long cellKey(int row, int col) {
+		return ((long)row << 32) | (col & 0xffffffffL);
+	}
+
+	/** 검색 결과 (식당 ID, 거리 m) */
+	public record Hit(long restaurantId, double distanceM) {
+	}
+
+	/** 셀 (불변, 교체 방식으로 갱신) */
+	private record Cell(long[] ids, double[] lats, double[] lngs) {
+	}
+
+	/** 셀 단위 변경분 */
+	private static final class CellDelta {
+		private final Set<Long> removes = new HashSet<>();
+		private final Map<Long, double[]> adds = new HashMap<>();
+
+		Cell applyTo(Cell base) {
+			int baseLen = base == null ? 0 : base.ids().length;
+			long[] ids = new long[baseLen + adds.size()];
+			double[] lats = new double[ids.length];
+			double[] lngs = new double[ids.length];
+			int n = 0;
+			for (int i = 0; i < baseLen; i++) {
+				long id = base.ids()[i];
+				if (removes.contains(id) || adds.containsKey(id)) {
+					continue;
+				}
+				ids[n] = id;
+				lats[n] = base.lats()[i];
+				lngs[n] = base.lngs()[i];
+				n++;
+			}
+			for (Map.Entry<Long, double[]> e : adds.entrySet()) {
+				ids[n] = e.getKey();
+				lats[n] = e.getValue()[0];
+				lngs[n] = e.getValue()[1];
+				n++;
+			}
+			if (n == 0) {
+				return null;
+			}
+			return new Cell(Arrays.copyOf(ids, n), Arrays.copyOf(lats, n), Arrays.copyOf(lngs, n));
+		}
+	}
+}
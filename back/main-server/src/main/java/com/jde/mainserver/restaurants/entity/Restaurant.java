@@ -11,6 +11,8 @@ import com.jde.mainserver.global.common.BaseEntity;
 import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
 import com.jde.mainserver.restaurants.entity.enums.PriceRange;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -20,7 +22,6 @@ import org.locationtech.jts.geom.Point;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.math.BigDecimal;
-import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 
@@ -126,13 +127,14 @@ public class Restaurant extends BaseEntity {
 	@Transient
 	public OpenStatus getOpenStatus() {
 		return com.jde.mainserver.restaurants.service.OpenStatusUtil
-			.calcStatus(this.hours, ZoneId.of("Asia/Seoul"));
+			.calcStatus(this.hours, com.jde.mainserver.restaurants.service.OpenStatusUtil.SEOUL);
 	}
 
-	/** 메뉴 항목 */
+	/** 메뉴 항목 (값 비교: FeedItemJsonSerializer 캐시 키) */
 	@Getter
 	@Setter
 	@NoArgsConstructor
+	@EqualsAndHashCode
 	public static class MenuItem {
 		private String name;
 		private Integer price;
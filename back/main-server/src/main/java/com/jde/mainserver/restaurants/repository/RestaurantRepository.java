@@ -12,6 +12,7 @@ import com.jde.mainserver.restaurants.entity.Restaurant;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -35,18 +36,18 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, J
 	@Query("SELECT r FROM Restaurant r WHERE r.id IN :ids")
 	List<Restaurant> findAllByIdInWithoutHours(@Param("ids") Collection<Long> ids);
 
-	/** 반경 내 + 거리순 정렬 (페이징) */
+	/** 반경 내 + 거리순 정렬 (페이징, 전체 개수가 필요한 경우만 사용) */
 	@Query(
 			value = """
 			    SELECT *
 			    FROM restaurant r
 			    WHERE ST_DWithin(
-			        r.geom::geography,
+			        r.geog,
 			        ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
 			        :meters
 			    )
 			    ORDER BY ST_Distance(
-			        r.geom::geography,
+			        r.geog,
 			        ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
 			    )
 			""",
@@ -54,7 +55,7 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, J
 			    SELECT COUNT(1)
 			    FROM restaurant r
 			    WHERE ST_DWithin(
-			        r.geom::geography,
+			        r.geog,
 			        ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
 			        :meters
 			    )
@@ -68,6 +69,84 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, J
 			Pageable pageable
 	);
 
+	/**
+	 * 반경 내 거리순 조회 (geog GiST 인덱스 KNN 정렬, 전체 개수 쿼리 없음)
+	 * - 거리(미터)를 함께 조회하므로 엔티티가 필요하면 ID 로 따로 벌크 조회
+	 * - KNN(<->) 정렬은 구면 거리 기준이라 distanceM(회전타원체)과 순서가 수 m 이내로 어긋날 수 있음
+	 */
+	@Query(
+			value = """
+			    SELECT r.restaurant_id AS "restaurantId",
+			           ST_Distance(
+			               r.geog,
+			               ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
+			           ) AS "distanceM",
+			           r.price_range AS "priceRange",
+			           r.category2 AS "category2"
+			    FROM restaurant r
+			    WHERE ST_DWithin(
+			        r.geog,
+			        ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
+			        :meters
+			    )
+			    ORDER BY r.geog <-> ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
+			             r.restaurant_id
+			""",
+			nativeQuery = true
+	)
+	Slice<NearbyRestaurantProjection> findNearestSliceWithinMeters(
+			@Param("lng") double lng,
+			@Param("lat") double lat,
+			@Param("meters") double meters,
+			Pageable pageable
+	);
+
+	/**
+	 * 반경 내 + (거리, ID) 키셋 이후 거리순 조회 (링 확장 커서용 경량 조회)
+	 * - afterDistance < 0 이면 중심부터 조회
+	 */
+	@Query(
+			value = """
+			    SELECT t.restaurant_id AS "restaurantId",
+			           t.distance_m AS "distanceM",
+			           t.price_range AS "priceRange",
+			           t.category2 AS "category2"
+			    FROM (
+			        SELECT r.restaurant_id, r.price_range, r.category2,
+			               ST_Distance(
+			                   r.geog,
+			                   ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography
+			               ) AS distance_m
+			        FROM restaurant r
+			        WHERE ST_DWithin(
+			            r.geog,
+			            ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
+			            :meters
+			        )
+			    ) t
+			    WHERE t.distance_m > :afterDistance
+			       OR (t.distance_m = :afterDistance AND t.restaurant_id > :afterId)
+			    ORDER BY t.distance_m, t.restaurant_id
+			    LIMIT :limit
+			""",
+			nativeQuery = true
+	)
+	List<NearbyRestaurantProjection> findNearestWithinMetersAfter(
+			@Param("lng") double lng,
+			@Param("lat") double lat,
+			@Param("meters") double meters,
+			@Param("afterDistance") double afterDistance,
+			@Param("afterId") long afterId,
+			@Param("limit") int limit
+	);
+
+	interface NearbyRestaurantProjection {
+		Long getRestaurantId();
+		Double getDistanceM();
+		String getPriceRange();
+		String getCategory2();
+	}
+
 	/** 단일 식당 조회 - hours 포함 */
 	@EntityGraph(attributePaths = {"hours"})
 	@Query("SELECT r FROM Restaurant r WHERE r.id = :id")
@@ -132,7 +211,7 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, J
 			LEFT JOIN user_restaurant_state urs ON r.restaurant_id = urs.restaurant_id
 			WHERE r.geom IS NOT NULL
 				AND ST_DWithin(
-					r.geom::geography,
+					r.geog,
 					ST_SetSRID(ST_MakePoint(:lng, :lat), 4326)::geography,
 					:meters
 				)
@@ -10,10 +10,13 @@ import com.jde.mainserver.restaurants.entity.RestaurantHour;
 import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
 
 import java.time.*;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 public final class OpenStatusUtil {
+	/** 영업시간 기준 타임존 */
+	public static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
 	private OpenStatusUtil() {
 	}
 
@@ -49,103 +52,37 @@ public final class OpenStatusUtil {
 		if (hours == null || hours.isEmpty())
 			return OpenStatus.UNKNOWN;
 
-		// 기준 시각 (해당 타임존 기준)
+		// 기준 시각 (해당 타임존 기준), 판정은 WeeklySchedule.evaluate 한 곳에서 (목록 1회 순회)
 		ZonedDateTime now = targetTime.withZoneSameInstant(zoneId);
+		return WeeklySchedule.evaluate(toRows(hours), now.getDayOfWeek().getValue(),
+			now.toLocalTime().toSecondOfDay());
+	}
 
-		// 오늘 요일 (1=월 ... 7=일)
-		int dow = now.getDayOfWeek().getValue();
-
-		// 어제 요일 (자정 넘는 영업 처리)
-		int yesterdayDow = now.minusDays(1).getDayOfWeek().getValue();
-
-		// 공휴일 영업시간 (dow=0)
-		Optional<RestaurantHour> holidayOpt = hours.stream()
-			.filter(h -> h.getDow() != null && h.getDow() == 0)
-			.findFirst();
-
-		// 오늘 요일의 영업시간 1건
-		Optional<RestaurantHour> todayOpt = hours.stream()
-			.filter(h -> h.getDow() != null && h.getDow() == dow)
-			.findFirst();
-
-		// 어제 요일의 영업시간 1건
-		Optional<RestaurantHour> yesterdayOpt = hours.stream()
-			.filter(h -> h.getDow() != null && h.getDow() == yesterdayDow)
-			.findFirst();
-
-		// 현재 시간의 "시간" 부분만
-		LocalTime nowTime = now.toLocalTime();
-
-		// 0. 공휴일 체크 (공휴일이면 공휴일 스케줄 우선 적용)
-		// TODO: 실제 공휴일 여부 확인 로직 추가 필요 (현재는 공휴일 스케줄이 있으면 사용)
-		if (holidayOpt.isPresent()) {
-			RestaurantHour h = holidayOpt.get();
-			// 공휴일 스케줄이 있고, 영업시간 안이면 OPEN
-			if (isOpenNow(nowTime, h.getOpen(), h.getClose())) {
-				if (isBreak(nowTime, h.getBreakOpen(), h.getBreakClose())) {
-					return OpenStatus.BREAK;
-				}
-				return OpenStatus.OPEN;
-			}
-		}
-
-		// 1. 오늘 스케줄 기준 판정
-		if (todayOpt.isPresent()) {
-			RestaurantHour h = todayOpt.get();
-
-			// isHoliday == true -> CLOSED (해당 요일이 휴무인 경우)
-			if (Boolean.TRUE.equals(h.getIsHoliday()))
-				return OpenStatus.CLOSED;
-
-			// 지금 시간이 오늘의 영업시간 구간 안에 들어가는지
-			if (isOpenNow(nowTime, h.getOpen(), h.getClose())) {
-
-				// 브레이크 타임이면 BREAK
-				if (isBreak(nowTime, h.getBreakOpen(), h.getBreakClose())) {
-					return OpenStatus.BREAK;
-				}
-				
-				return OpenStatus.OPEN;
-			}
-		}
-		
-		// 2. 어제에서 이어지는 심야 영업 처리
-		if (yesterdayOpt.isPresent()) {
-			RestaurantHour yh = yesterdayOpt.get();
-
-			// close < open 이면 심야 영업
-			if (yh.getOpen() != null && yh.getClose() != null && yh.getClose().isBefore(yh.getOpen())) {
-
-				// 현재 시간이 어제 close 이전이면 OPEN
-				if (nowTime.isBefore(yh.getClose())) {
-					return OpenStatus.OPEN;
-				}
-			}
-		}
-
-		// 위 모든 경우가 아니면 CLOSED
-		return OpenStatus.CLOSED;
+	/**
+	 * 영업시간 목록을 한 주 구간표로 컴파일 (같은 식당을 여러 번 판정할 때)
+	 */
+	public static WeeklySchedule compile(List<RestaurantHour> hours) {
+		if (hours == null || hours.isEmpty())
+			return WeeklySchedule.UNKNOWN;
+		return WeeklySchedule.compile(toRows(hours));
 	}
 
-	// now가 영업시간 구간 안에 있는지 확인
-	private static boolean isOpenNow(LocalTime now, LocalTime open, LocalTime close) {
-		if (open == null || close == null)
-			return false;
-		if (!close.isBefore(open)) {    // 일반 (open <= close)
-			return !now.isBefore(open) && now.isBefore(close);
-		} else {                        // 심야 (close < open)
-			return !now.isBefore(open) || now.isBefore(close);
+	private static List<WeeklySchedule.HourRow> toRows(List<RestaurantHour> hours) {
+		List<WeeklySchedule.HourRow> rows = new ArrayList<>(hours.size());
+		for (RestaurantHour h : hours) {
+			rows.add(new WeeklySchedule.HourRow(
+				h.getDow() != null ? h.getDow() : -1,
+				secondOf(h.getOpen()),
+				secondOf(h.getClose()),
+				secondOf(h.getBreakOpen()),
+				secondOf(h.getBreakClose()),
+				Boolean.TRUE.equals(h.getIsHoliday())
+			));
 		}
+		return rows;
 	}
 
-	// now가 브레이크타임 구간 안에 있는지 확인
-	private static boolean isBreak(LocalTime now, LocalTime bOpen, LocalTime bClose) {
-		if (bOpen == null || bClose == null)
-			return false;
-		if (!bClose.isBefore(bOpen)) {
-			return !now.isBefore(bOpen) && now.isBefore(bClose);
-		} else {
-			return !now.isBefore(bOpen) || now.isBefore(bClose);
-		}
+	private static int secondOf(LocalTime time) {
+		return time != null ? time.toSecondOfDay() : -1;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,201 @@
+/**
+ * restaurants/service/WeeklySchedule.java
+ * 식당 영업시간을 한 주 구간표로 컴파일한 영업 상태 조회 테이블
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - 요일별 영업시간 행(HourRow)을 second-of-week 시작 시각 + 상태 배열로 변환 (인접 구간의 같은 상태는 병합)
+ * - 판정 규칙은 evaluate 한 곳에만 두고, 컴파일은 구간 경계(그날/전날/공휴일 행의 시각)마다 evaluate 결과를 기록
+ *   (규칙이 시각 비교로만 이루어져 경계 사이에서는 상태가 바뀌지 않으므로 calcStatusAt 과 같은 결과)
+ * - 심야 영업(close < open), 브레이크, 휴무 요일, 공휴일 행(dow=0) 모두 구간표에 포함
+ * - 조회는 구간 수(보통 수십 개 이하) 안에서 이진 탐색, 시각 변환은 호출부에서 요청당 한 번 (secondOfWeek)
+ */
+
+package com.jde.mainserver.restaurants.service;
+
+import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+public final class WeeklySchedule {
+
+	public static final int SECONDS_PER_DAY = 24 * 60 * 60;
+	public static final int SECONDS_PER_WEEK = 7 * SECONDS_PER_DAY;
+
+	/** 영업시간 정보가 없는 식당 (항상 UNKNOWN) */
+	public static final WeeklySchedule UNKNOWN =
+		new WeeklySchedule(new int[] {0}, new OpenStatus[] {OpenStatus.UNKNOWN});
+
+	private final int[] starts;
+	private final OpenStatus[] statuses;
+
+	private WeeklySchedule(int[] starts, OpenStatus[] statuses) {
+		this.starts = starts;
+		this.statuses = statuses;
+	}
+
+	/**
+	 * 영업시간 행 목록을 구간표로 컴파일
+	 *
+	 * @param rows 영업시간 행 (요일별 첫 행만 사용, 목록 순서 기준)
+	 */
+	public static WeeklySchedule compile(List<HourRow> rows) {
+		if (rows == null || rows.isEmpty()) {
+			return UNKNOWN;
+		}
+		int[] starts = new int[16];
+		OpenStatus[] statuses = new OpenStatus[16];
+		int n = 0;
+		for (int dow = 1; dow <= 7; dow++) {
+			int yesterdayDow = dow == 1 ? 7 : dow - 1;
+			// 이 요일 판정에 쓰이는 시각만 경계 후보
+			TreeSet<Integer> bounds = new TreeSet<>();
+			bounds.add(0);
+			for (HourRow row : rows) {
+				if (row.dow() == 0 || row.dow() == dow || row.dow() == yesterdayDow) {
+					addBound(bounds, row.open());
+					addBound(bounds, row.close());
+					addBound(bounds, row.breakOpen());
+					addBound(bounds, row.breakClose());
+				}
+			}
+			for (int second : bounds) {
+				OpenStatus status = evaluate(rows, dow, second);
+				if (n > 0 && statuses[n - 1] == status) {
+					continue;
+				}
+				if (n == starts.length) {
+					starts = Arrays.copyOf(starts, n * 2);
+					statuses = Arrays.copyOf(statuses, n * 2);
+				}
+				starts[n] = (dow - 1) * SECONDS_PER_DAY + second;
+				statuses[n] = status;
+				n++;
+			}
+		}
+		return new WeeklySchedule(Arrays.copyOf(starts, n), Arrays.copyOf(statuses, n));
+	}
+
+	/**
+	 * 특정 시각의 영업 상태
+	 *
+	 * @param secondOfWeek 월요일 00:00 부터의 초 (secondOfWeek 로 계산)
+	 */
+	public OpenStatus statusAt(int secondOfWeek) {
+		int lo = 0;
+		int hi = starts.length - 1;
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (starts[mid] <= secondOfWeek) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		return statuses[lo];
+	}
+
+	/** 구간 수 (인접한 같은 상태는 병합된 수) */
+	public int intervalCount() {
+		return starts.length;
+	}
+
+	/** i 번째 구간 시작 (second-of-week) */
+	public int intervalStart(int i) {
+		return starts[i];
+	}
+
+	/** i 번째 구간 끝 (다음 구간 시작, 마지막 구간은 SECONDS_PER_WEEK) */
+	public int intervalEnd(int i) {
+		return i + 1 < starts.length ? starts[i + 1] : SECONDS_PER_WEEK;
+	}
+
+	/** i 번째 구간 상태 */
+	public OpenStatus intervalStatus(int i) {
+		return statuses[i];
+	}
+
+	/** 기준 타임존에서의 second-of-week (월요일 00:00 = 0) */
+	public static int secondOfWeek(ZonedDateTime time, ZoneId zoneId) {
+		ZonedDateTime local = time.withZoneSameInstant(zoneId);
+		return (local.getDayOfWeek().getValue() - 1) * SECONDS_PER_DAY + local.toLocalTime().toSecondOfDay();
+	}
+
+	/**
+	 * 영업 상태 판정 규칙 (OpenStatusUtil.calcStatusAt 과 동일)
+	 * 1) 행이 없으면 UNKNOWN
+	 * 2) 공휴일 행(dow=0)이 있고 영업시간 안이면 OPEN (브레이크면 BREAK)
+	 * 3) 오늘 행이 휴무면 CLOSED, 영업시간 안이면 OPEN (브레이크면 BREAK)
+	 * 4) 어제 행이 심야 영업(close < open)이고 지금이 어제 close 이전이면 OPEN
+	 * 5) 그 외 CLOSED
+	 *
+	 * @param dow 요일 (1=월 ... 7=일)
+	 * @param second second-of-day
+	 */
+	static OpenStatus evaluate(List<HourRow> rows, int dow, int second) {
+		if (rows == null || rows.isEmpty()) {
+			return OpenStatus.UNKNOWN;
+		}
+		int yesterdayDow = dow == 1 ? 7 : dow - 1;
+		HourRow holiday = null;
+		HourRow today = null;
+		HourRow yesterday = null;
+		for (HourRow row : rows) {
+			if (row.dow() == 0) {
+				holiday = holiday == null ? row : holiday;
+			} else if (row.dow() == dow) {
+				today = today == null ? row : today;
+			} else if (row.dow() == yesterdayDow) {
+				yesterday = yesterday == null ? row : yesterday;
+			}
+		}
+
+		// TODO: 실제 공휴일 여부 확인 로직 추가 필요 (현재는 공휴일 스케줄이 있으면 사용)
+		if (holiday != null && within(second, holiday.open(), holiday.close())) {
+			return within(second, holiday.breakOpen(), holiday.breakClose()) ? OpenStatus.BREAK : OpenStatus.OPEN;
+		}
+		if (today != null) {
+			if (today.holiday()) {
+				return OpenStatus.CLOSED;
+			}
+			if (within(second, today.open(), today.close())) {
+				return within(second, today.breakOpen(), today.breakClose()) ? OpenStatus.BREAK : OpenStatus.OPEN;
+			}
+		}
+		if (yesterday != null && yesterday.open() >= 0 && yesterday.close() >= 0
+			&& yesterday.close() < yesterday.open() && second < yesterday.close()) {
+			return OpenStatus.OPEN;
+		}
+		return OpenStatus.CLOSED;
+	}
+
+	// [from, to) 구간 안인지 (to < from 이면 자정 넘김, 둘 중 하나라도 없으면 false)
+	private static boolean within(int second, int from, int to) {
+		if (from < 0 || to < 0) {
+			return false;
+		}
+		if (to >= from) {
+			return second >= from && second < to;
+		}
+		return second >= from || second < to;
+	}
+
+	private static void addBound(TreeSet<Integer> bounds, int second) {
+		if (second >= 0) {
+			bounds.add(second);
+		}
+	}
+
+	/**
+	 * 영업시간 행 (시각은 second-of-day, 없으면 -1)
+	 *
+	 * @param dow 요일 (0=공휴일, 1=월 ~ 7=일, 없으면 -1)
+	 * @param holiday 휴무 요일 여부
+	 */
+	public record HourRow(int dow, int open, int close, int breakOpen, int breakClose, boolean holiday) {
+	}
+}
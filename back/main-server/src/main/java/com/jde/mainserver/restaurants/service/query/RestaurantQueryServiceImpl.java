@@ -7,17 +7,24 @@
 
 package com.jde.mainserver.restaurants.service.query;
 
+import com.jde.mainserver.global.geo.GeoDistanceKernel;
 import com.jde.mainserver.main.converter.MainConverter;
+import com.jde.mainserver.main.entity.enums.InteractionCounter;
+import com.jde.mainserver.main.repository.buffer.InteractionWriteBuffer;
 import com.jde.mainserver.main.service.command.MainCommandService;
 import com.jde.mainserver.main.web.dto.response.FeedResponse;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalog;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalogSnapshot;
 import com.jde.mainserver.restaurants.converter.CategoryMapper;
 import com.jde.mainserver.restaurants.converter.RestaurantConverter;
 import com.jde.mainserver.restaurants.entity.Restaurant;
 import com.jde.mainserver.restaurants.entity.RestaurantHour;
+import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
 import com.jde.mainserver.restaurants.exception.RestaurantErrorCode;
 import com.jde.mainserver.restaurants.exception.RestaurantException;
 import com.jde.mainserver.restaurants.repository.RestaurantRepository;
 import com.jde.mainserver.restaurants.service.OpenStatusUtil;
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
 import com.jde.mainserver.restaurants.web.dto.request.RestaurantSearchRequest;
 import com.jde.mainserver.restaurants.web.dto.response.RestaurantBookmarkResponse;
 import com.jde.mainserver.restaurants.web.dto.response.RestaurantDetailResponse;
@@ -34,6 +41,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -44,6 +52,8 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 
 	private final RestaurantRepository restaurantRepository;
 	private final MainCommandService mainCommandService;
+	private final InteractionWriteBuffer interactionWriteBuffer;
+	private final RestaurantCatalog restaurantCatalog;
 
 	/**
 	 * 식당 검색 (필터/반경 포함, 키워드만 있어도 검색 가능)
@@ -63,6 +73,9 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 			return Page.empty(pageable);
 		}
 
+		// 영업 상태 필터는 카탈로그 구간표로 판정 (스냅샷에 없는 식당만 영업시간 로딩)
+		Function<Restaurant, OpenStatus> openStatusOf = openStatusResolver();
+
 		// 1) 반경 검색이 있는 경우: 거리 정렬 후 in-memory 필터링
 		if (hasGeo) {
 			Page<Restaurant> page = restaurantRepository.findNearestWithinMeters(
@@ -70,13 +83,13 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 			);
 
 			List<Restaurant> filtered = page.getContent().stream()
-					.filter(inMemoryFilter(req))
+					.filter(inMemoryFilter(req, openStatusOf))
 					.toList();
 
 			List<RestaurantSummaryResponse> mapped = mapWithBookmark(filtered, currentUserId);
 
 			long totalWithFilters = page.get()
-					.filter(inMemoryFilter(req))
+					.filter(inMemoryFilter(req, openStatusOf))
 					.count();
 
 			return new PageImpl<>(mapped, pageable, totalWithFilters);
@@ -123,13 +136,13 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 		// 영업 상태 필터 in-memory
 		if (req.openStatus() != null) {
 			List<Restaurant> filtered = page.getContent().stream()
-					.filter(r -> r.getOpenStatus() == req.openStatus())
+					.filter(r -> openStatusOf.apply(r) == req.openStatus())
 					.toList();
 
 			List<RestaurantSummaryResponse> mapped = mapWithBookmark(filtered, currentUserId);
 
 			long total = page.get()
-					.filter(r -> r.getOpenStatus() == req.openStatus())
+					.filter(r -> openStatusOf.apply(r) == req.openStatus())
 					.count();
 
 			return new PageImpl<>(mapped, pageable, total);
@@ -141,11 +154,12 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 	}
 
 	/** In-memory 필터링 (반경 검색 시 사용) */
-	private java.util.function.Predicate<Restaurant> inMemoryFilter(RestaurantSearchRequest req) {
+	private java.util.function.Predicate<Restaurant> inMemoryFilter(RestaurantSearchRequest req,
+			Function<Restaurant, OpenStatus> openStatusOf) {
 		return r -> {
 			if (req.priceRange() != null && req.priceRange() != r.getPriceRange())
 				return false;
-			if (req.openStatus() != null && req.openStatus() != r.getOpenStatus())
+			if (req.openStatus() != null && req.openStatus() != openStatusOf.apply(r))
 				return false;
 
 			if (req.query() != null && !req.query().isBlank()) {
@@ -162,6 +176,17 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 		};
 	}
 
+	/** 현재 시각 영업 상태 (스냅샷 식당은 구간표 조회, 그 외는 엔티티 영업시간으로 계산) */
+	private Function<Restaurant, OpenStatus> openStatusResolver() {
+		RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		int secondOfWeek = WeeklySchedule.secondOfWeek(java.time.ZonedDateTime.now(OpenStatusUtil.SEOUL),
+				OpenStatusUtil.SEOUL);
+		return r -> {
+			int ord = catalog.ordinalOf(r.getId());
+			return ord >= 0 ? catalog.schedule(ord).statusAt(secondOfWeek) : r.getOpenStatus();
+		};
+	}
+
 	private String safe(String s) {
 		return s == null ? "" : s.toLowerCase();
 	}
@@ -211,7 +236,8 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 	@Override
 	@Transactional
 	public RestaurantDetailResponse getDetail(Long restaurantId, Long userId) {
-		if (userId != null) {
+		// write-behind 버퍼가 받으면 별도 쓰기 트랜잭션 없이 반환
+		if (userId != null && !interactionWriteBuffer.offerCounter(userId, restaurantId, InteractionCounter.VIEW)) {
 			mainCommandService.handleView(restaurantId, userId);
 		}
 
@@ -223,7 +249,7 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 
 	@Override
 	public RestaurantShareResponse getShare(Long restaurantId, Long userId) {
-		if (userId != null) {
+		if (userId != null && !interactionWriteBuffer.offerCounter(userId, restaurantId, InteractionCounter.SHARE)) {
 			mainCommandService.handleShare(restaurantId, userId);
 		}
 
@@ -333,12 +359,27 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 				restaurantRepository.findAllByIdIn(ids).stream()
 						.collect(Collectors.toMap(Restaurant::getId, r -> r));
 
-		// 영업시간 맵 생성
+		// 영업 상태: 스냅샷 식당은 컴파일된 구간표, 그 외만 영업시간 맵 생성 (기준 시각은 한 번만 계산)
+		RestaurantCatalogSnapshot catalog = restaurantCatalog.current();
+		int secondOfWeek = WeeklySchedule.secondOfWeek(java.time.ZonedDateTime.now(OpenStatusUtil.SEOUL),
+				OpenStatusUtil.SEOUL);
 		Map<Long, List<RestaurantHour>> hoursMap =
 				restaurantMap.values().stream()
+						.filter(r -> !catalog.contains(r.getId()))
 						.filter(r -> r.getHours() != null && !r.getHours().isEmpty())
 						.collect(Collectors.toMap(Restaurant::getId, Restaurant::getHours));
 
+		// 거리: 페이지 구간 좌표를 모아 한 번에 계산 (좌표 없으면 NaN)
+		double[] lats = new double[endIdx - startIdx];
+		double[] lngs = new double[endIdx - startIdx];
+		for (int i = startIdx; i < endIdx; i++) {
+			Restaurant r = restaurantMap.get(finalAllRestaurants.get(i).getId());
+			Point p = r != null ? r.getGeom() : null;
+			lats[i - startIdx] = p != null ? p.getY() : Double.NaN;
+			lngs[i - startIdx] = p != null ? p.getX() : Double.NaN;
+		}
+		double[] distances = GeoDistanceKernel.distancesMeters(lat, lng, lats, lngs);
+
 		// 배치 변환
 		List<FeedResponse.RestaurantItem> feedItems =
 				IntStream.range(startIdx, endIdx)
@@ -349,12 +390,11 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 								return null;
 							}
 
-							// 거리 계산
-							Point p = r.getGeom();
-							Integer dist = (p != null) ? calculateDistance(lat, lng, p) : null;
+							double d = distances[i - startIdx];
+							Integer dist = Double.isNaN(d) ? null : (int) d;
 
 							// 영업 상태 계산
-							Boolean isOpen = calculateOpenStatus(id, hoursMap);
+							Boolean isOpen = calculateOpenStatus(id, catalog, secondOfWeek, hoursMap);
 
 							return MainConverter.toFeedItem(r, dist, isOpen, null);
 						})
@@ -365,30 +405,17 @@ public class RestaurantQueryServiceImpl implements RestaurantQueryService {
 		return new FeedResponse(feedItems, nextCursor);
 	}
 
-	/** 두 지점 간 거리 계산 (미터 단위) */
-	private Integer calculateDistance(double lat, double lng, Point pt) {
-		if (pt == null) return null;
-
-		double lat2 = pt.getY();
-		double lng2 = pt.getX();
-
-		double dLat = Math.toRadians(lat2 - lat);
-		double dLng = Math.toRadians(lng2 - lng);
-
-		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-				+ Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(lat2))
-				* Math.sin(dLng / 2) * Math.sin(dLng / 2);
-
-		double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-		final double R = 6371000; // 지구 반지름 (m)
-		return (int) (R * c);
-	}
-
-	/** 영업 상태 계산 */
-	private Boolean calculateOpenStatus(Long restaurantId, Map<Long, List<RestaurantHour>> hoursMap) {
+	/** 영업 상태 계산 (스냅샷 식당은 구간표 조회) */
+	private Boolean calculateOpenStatus(Long restaurantId, RestaurantCatalogSnapshot catalog, int secondOfWeek,
+			Map<Long, List<RestaurantHour>> hoursMap) {
 		try {
+			int ord = catalog.ordinalOf(restaurantId);
+			if (ord >= 0) {
+				return catalog.schedule(ord).statusAt(secondOfWeek)
+						== com.jde.mainserver.restaurants.entity.enums.OpenStatus.OPEN;
+			}
 			List<RestaurantHour> hours = hoursMap.getOrDefault(restaurantId, List.of());
-			return OpenStatusUtil.calcStatus(hours, java.time.ZoneId.of("Asia/Seoul"))
+			return OpenStatusUtil.calcStatus(hours, OpenStatusUtil.SEOUL)
 					== com.jde.mainserver.restaurants.entity.enums.OpenStatus.OPEN;
 		} catch (Exception e) {
 			return false;
@@ -0,0 +1,163 @@
+package com.jde.mainserver.global.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * PoolRegenerationCoordinator 단위 테스트.
+ * - 같은 인스턴스의 동시 재생성이 한 번으로 합쳐지는지, 임대를 다른 곳이 가지고 있으면 기다린 뒤 null 인지,
+ *   임대 대기 시간 초과/Redis 장애 시 직접 재생성하는지, 임대를 얻은 뒤 키가 이미 채워져 있으면 건너뛰는지 검증한다.
+ */
+class PoolRegenerationCoordinatorTest {
+
+	private static final String KEY = "plan:pool:1";
+	private static final String LEASE_KEY = KEY + ":lease";
+
+	private StringRedisTemplate redis;
+	private ValueOperations<String, String> valueOps;
+	private PoolRegenerationCoordinator sut;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		redis = mock(StringRedisTemplate.class);
+		valueOps = mock(ValueOperations.class);
+		when(redis.opsForValue()).thenReturn(valueOps);
+		when(redis.getExpire(KEY, TimeUnit.MILLISECONDS)).thenReturn(-2L);
+		sut = new PoolRegenerationCoordinator(redis, 30_000, 200, 1.0, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		sut.shutdown();
+	}
+
+	@Test
+	@DisplayName("같은 키 동시 재생성: 한 번만 실행하고 모두 같은 결과")
+	void coalescesLocalCallers() throws Exception {
+		when(valueOps.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(true);
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+
+		CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> sut.regenerate(KEY, () -> {
+			calls.incrementAndGet();
+			entered.countDown();
+			await(release);
+			return List.of(1L, 2L);
+		}));
+		assertThat(entered.await(2, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<List<Long>> second = new CompletableFuture<>();
+		Thread waiter = new Thread(() -> second.complete(sut.regenerate(KEY, () -> {
+			calls.incrementAndGet();
+			return List.of(9L);
+		})));
+		waiter.start();
+		// 두 번째 호출이 첫 번째 결과(future)를 기다리기 시작한 뒤 재생성 완료
+		long deadline = System.currentTimeMillis() + 2_000;
+		while (waiter.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		assertThat(first.get(2, TimeUnit.SECONDS)).containsExactly(1L, 2L);
+		assertThat(second.get(2, TimeUnit.SECONDS)).isSameAs(first.get());
+		assertThat(calls).hasValue(1);
+		verify(valueOps, times(1)).setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class));
+	}
+
+	@Test
+	@DisplayName("다른 인스턴스가 임대 중: 해제될 때까지 기다린 뒤 null (직접 재생성하지 않음)")
+	void waitsForOtherOwner() {
+		when(valueOps.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false);
+		when(redis.hasKey(LEASE_KEY)).thenReturn(true, false);
+		AtomicInteger calls = new AtomicInteger();
+
+		List<Long> result = sut.regenerateIfMissing(KEY, () -> {
+			calls.incrementAndGet();
+			return List.of(1L);
+		});
+
+		assertThat(result).isNull();
+		assertThat(calls).hasValue(0);
+	}
+
+	@Test
+	@DisplayName("임대가 대기 시간 안에 풀리지 않으면 직접 재생성")
+	void regeneratesAfterWaitTimeout() {
+		when(valueOps.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false);
+		when(redis.hasKey(LEASE_KEY)).thenReturn(true);
+
+		List<Long> result = sut.regenerateIfMissing(KEY, () -> List.of(3L));
+
+		assertThat(result).containsExactly(3L);
+	}
+
+	@Test
+	@DisplayName("Redis 장애로 임대를 얻지 못하면 직접 재생성")
+	void regeneratesWhenRedisDown() {
+		when(valueOps.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class)))
+			.thenThrow(new RedisConnectionFailureException("down"));
+
+		List<Long> result = sut.regenerateIfMissing(KEY, () -> List.of(4L));
+
+		assertThat(result).containsExactly(4L);
+	}
+
+	@Test
+	@DisplayName("임대를 얻은 뒤 키가 이미 채워져 있으면 재생성하지 않고 null, 임대는 해제")
+	void skipsWhenPopulatedInsideLease() {
+		when(valueOps.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(true);
+		when(redis.getExpire(KEY, TimeUnit.MILLISECONDS)).thenReturn(3_600_000L);
+		AtomicInteger calls = new AtomicInteger();
+
+		List<Long> result = sut.regenerateIfMissing(KEY, () -> {
+			calls.incrementAndGet();
+			return List.of(1L);
+		});
+
+		assertThat(result).isNull();
+		assertThat(calls).hasValue(0);
+		verify(redis).execute(any(), eq(List.of(LEASE_KEY)), anyString());
+	}
+
+	@Test
+	@DisplayName("regenerate 는 키가 있어도 새로 만듦 (첫 피드 요청)")
+	void forcedRegenerateIgnoresExistingKey() {
+		when(valueOps.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(true);
+		when(redis.getExpire(KEY, TimeUnit.MILLISECONDS)).thenReturn(3_600_000L);
+
+		List<Long> result = sut.regenerate(KEY, () -> List.of(5L));
+
+		assertThat(result).containsExactly(5L);
+		verify(redis, never()).getExpire(KEY, TimeUnit.MILLISECONDS);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(2, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("대기 시간 초과");
+			}
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,209 @@
+package com.jde.mainserver.global.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ParallelLoader 단위 테스트.
+ * - 등록한 조회가 동시에 실행되는지, 실패/시간 초과 시 나머지가 취소되고 예외가 전달되는지,
+ *   허가가 없거나 비활성화된 경우 호출 스레드에서 실행되는지,
+ *   호출 스레드에 트랜잭션이 있으면 각 조회가 읽기 전용 새 트랜잭션에서 실행되는지 검증한다.
+ */
+class ParallelLoaderTest {
+
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	@Test
+	@DisplayName("조회 세 개가 동시에 실행되고 join 후 각 결과를 읽을 수 있음")
+	void runsConcurrently() {
+		ParallelLoader loader = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, true, 8, 5_000);
+		CountDownLatch started = new CountDownLatch(3);
+
+		try (ParallelLoader.Scope scope = loader.open("test")) {
+			ParallelLoader.Fork<String> a = scope.fork("a", () -> awaitAll(started, "A"));
+			ParallelLoader.Fork<String> b = scope.fork("b", () -> awaitAll(started, "B"));
+			ParallelLoader.Fork<String> c = scope.fork("c", () -> awaitAll(started, "C"));
+			scope.join();
+
+			assertThat(a.get() + b.get() + c.get()).isEqualTo("ABC");
+		}
+	}
+
+	@Test
+	@DisplayName("하나가 실패하면 원래 예외를 던지고 끝나지 않은 조회는 취소")
+	void failurePropagatesAndCancels() {
+		ParallelLoader loader = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, true, 8, 5_000);
+		AtomicBoolean interrupted = new AtomicBoolean();
+
+		assertThatThrownBy(() -> {
+			try (ParallelLoader.Scope scope = loader.open("test")) {
+				scope.fork("slow", () -> sleep(interrupted));
+				scope.fork("broken", () -> {
+					throw new IllegalArgumentException("db down");
+				});
+				scope.join();
+			}
+		}).isInstanceOf(IllegalArgumentException.class);
+
+		awaitTrue(interrupted);
+	}
+
+	@Test
+	@DisplayName("전체 대기 시간을 넘기면 IllegalStateException, 진행 중인 조회는 취소")
+	void timeout() {
+		ParallelLoader loader = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, true, 8, 50);
+		AtomicBoolean interrupted = new AtomicBoolean();
+
+		assertThatThrownBy(() -> {
+			try (ParallelLoader.Scope scope = loader.open("test")) {
+				scope.fork("slow", () -> sleep(interrupted));
+				scope.join();
+			}
+		}).isInstanceOf(IllegalStateException.class);
+
+		awaitTrue(interrupted);
+	}
+
+	@Test
+	@DisplayName("허가가 없거나 비활성화되면 호출 스레드에서 실행")
+	void inlineWhenNoPermitOrDisabled() {
+		Thread caller = Thread.currentThread();
+		ParallelLoader single = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, true, 1, 5_000);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ParallelLoader.Scope scope = single.open("test")) {
+			ParallelLoader.Fork<Thread> forked = scope.fork("first", () -> {
+				await(release);
+				return Thread.currentThread();
+			});
+			ParallelLoader.Fork<Thread> inline = scope.fork("second", () -> {
+				release.countDown();
+				return Thread.currentThread();
+			});
+			scope.join();
+
+			assertThat(forked.get()).isNotSameAs(caller);
+			assertThat(inline.get()).isSameAs(caller);
+		}
+
+		ParallelLoader disabled = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, false, 8, 5_000);
+		try (ParallelLoader.Scope scope = disabled.open("test")) {
+			ParallelLoader.Fork<Thread> fork = scope.fork("only", Thread::currentThread);
+			scope.join();
+			assertThat(fork.get()).isSameAs(caller);
+		}
+	}
+
+	@Test
+	@DisplayName("호출 스레드에 트랜잭션이 있으면 가상 스레드에서 각자 읽기 전용 새 트랜잭션으로 실행")
+	void forksInOwnReadOnlyTransaction() {
+		ParallelLoader loader = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, true, 8, 5_000);
+		Thread caller = Thread.currentThread();
+		CountDownLatch started = new CountDownLatch(2);
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try (ParallelLoader.Scope scope = loader.open("test")) {
+			ParallelLoader.Fork<Thread> a = scope.fork("a", () -> {
+				awaitAll(started, "A");
+				return Thread.currentThread();
+			});
+			ParallelLoader.Fork<Thread> b = scope.fork("b", () -> {
+				awaitAll(started, "B");
+				return Thread.currentThread();
+			});
+			scope.join();
+
+			assertThat(a.get()).isNotSameAs(caller);
+			assertThat(b.get()).isNotSameAs(caller);
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+
+		ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+		verify(transactionManager, times(2)).getTransaction(definitions.capture());
+		assertThat(definitions.getAllValues()).allSatisfy(definition -> {
+			assertThat(definition.isReadOnly()).isTrue();
+			assertThat(definition.getPropagationBehavior()).isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		});
+		verify(transactionManager, times(2)).commit(any());
+	}
+
+	@Test
+	@DisplayName("호출 스레드에 트랜잭션이 없으면 조회를 트랜잭션으로 감싸지 않음")
+	void noTransactionWithoutCallerTransaction() {
+		ParallelLoader loader = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, true, 8, 5_000);
+
+		try (ParallelLoader.Scope scope = loader.open("test")) {
+			ParallelLoader.Fork<String> fork = scope.fork("only", () -> "A");
+			scope.join();
+			assertThat(fork.get()).isEqualTo("A");
+		}
+
+		verifyNoInteractions(transactionManager);
+	}
+
+	@Test
+	@DisplayName("커넥션을 얻지 못해 트랜잭션을 시작하지 못하면 호출 스레드에서 다시 실행")
+	void inlineWhenTransactionCannotStart() {
+		ParallelLoader loader = new ParallelLoader(new SimpleMeterRegistry(), transactionManager, true, 8, 5_000);
+		when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+		Thread caller = Thread.currentThread();
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try (ParallelLoader.Scope scope = loader.open("test")) {
+			ParallelLoader.Fork<Thread> fork = scope.fork("only", Thread::currentThread);
+			scope.join();
+			assertThat(fork.get()).isSameAs(caller);
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+	}
+
+	private static String awaitAll(CountDownLatch started, String value) {
+		started.countDown();
+		await(started);
+		return value;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(2, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("동시에 실행되지 않음");
+			}
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Object sleep(AtomicBoolean interrupted) {
+		try {
+			Thread.sleep(10_000);
+		} catch (InterruptedException e) {
+			interrupted.set(true);
+		}
+		return null;
+	}
+
+	private static void awaitTrue(AtomicBoolean flag) {
+		long deadline = System.currentTimeMillis() + 2_000;
+		while (!flag.get() && System.currentTimeMillis() < deadline) {
+			Thread.onSpinWait();
+		}
+		assertThat(flag.get()).isTrue();
+	}
+}
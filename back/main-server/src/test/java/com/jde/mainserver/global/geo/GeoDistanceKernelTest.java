@@ -0,0 +1,106 @@
+package com.jde.mainserver.global.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+/**
+ * GeoDistanceKernel 이 기존 식당별 Haversine 계산과 같은 거리를 내는지 검증한다.
+ * - 서울 근교 무작위 좌표(수 m ~ 수십 km)와 먼 거리/같은 지점 같은 경계 값을 기존 구현 사본과 비교
+ * - 스칼라 경로와 Vector API 경로(-PvectorGeo 빌드일 때)를 각각 비교
+ */
+class GeoDistanceKernelTest {
+
+	private static final double TOLERANCE_M = 1e-6;
+
+	@Test
+	@DisplayName("스칼라 경로: 무작위 좌표에서 기존 계산과 오차 1e-6m 이내")
+	void scalar_matchesLegacy() {
+		Random random = new Random(20251125L);
+		for (int round = 0; round < 200; round++) {
+			double[][] batch = randomBatch(random, 1 + random.nextInt(round < 100 ? 16 : 5000));
+			double[] out = new double[batch[0].length];
+			GeoDistanceKernel.scalar(batch[2][0], batch[2][1], batch[0], batch[1], out.length, out);
+			assertMatchesLegacy(batch, out);
+		}
+	}
+
+	@Test
+	@DisplayName("Vector API 경로: 무작위 좌표와 배치 끝 자투리까지 기존 계산과 오차 1e-6m 이내")
+	void vector_matchesLegacy() {
+		GeoDistanceKernel.Batch vector = GeoDistanceKernel.vectorBatch();
+		assumeThat(vector).as("Vector API 경로 (-PvectorGeo 빌드)").isNotNull();
+		Random random = new Random(20251126L);
+		for (int round = 0; round < 200; round++) {
+			double[][] batch = randomBatch(random, 1 + random.nextInt(round < 100 ? 16 : 5000));
+			double[] out = new double[batch[0].length];
+			vector.distances(batch[2][0], batch[2][1], batch[0], batch[1], out.length, out);
+			assertMatchesLegacy(batch, out);
+		}
+	}
+
+	@Test
+	@DisplayName("경계 값: 같은 지점 0m, 서울-부산 약 325km, 좌표 없음(NaN)은 NaN")
+	void edgeCases() {
+		double[] lats = {37.5665, 35.1796, Double.NaN};
+		double[] lngs = {126.9780, 129.0756, 126.9780};
+
+		double[] out = GeoDistanceKernel.distancesMeters(37.5665, 126.9780, lats, lngs);
+
+		assertThat(out[0]).isEqualTo(0.0);
+		assertThat(out[1]).isCloseTo(LegacyHaversine.distanceMeters(37.5665, 126.9780, 35.1796, 129.0756),
+			within(TOLERANCE_M));
+		assertThat(out[1]).isBetween(320_000.0, 330_000.0);
+		assertThat(out[2]).isNaN();
+		assertThat(GeoDistanceKernel.distanceMeters(37.5665, 126.9780, 35.1796, 129.0756))
+			.isCloseTo(out[1], within(TOLERANCE_M));
+	}
+
+	@Test
+	@DisplayName("length 만큼만 계산하고, 배열보다 크면 예외")
+	void lengthBounds() {
+		double[] lats = {37.50, 37.51, 37.52};
+		double[] lngs = {127.00, 127.01, 127.02};
+		double[] out = {-1.0, -1.0, -1.0};
+
+		GeoDistanceKernel.distancesMeters(37.50, 127.00, lats, lngs, 2, out);
+
+		assertThat(out[1]).isGreaterThan(0.0);
+		assertThat(out[2]).isEqualTo(-1.0);
+		assertThatThrownBy(() -> GeoDistanceKernel.distancesMeters(37.50, 127.00, lats, lngs, 4, new double[4]))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static void assertMatchesLegacy(double[][] batch, double[] out) {
+		double lat = batch[2][0];
+		double lng = batch[2][1];
+		for (int i = 0; i < out.length; i++) {
+			assertThat(out[i])
+				.as("i=%d (%f, %f)", i, batch[0][i], batch[1][i])
+				.isCloseTo(LegacyHaversine.distanceMeters(lat, lng, batch[0][i], batch[1][i]), within(TOLERANCE_M));
+		}
+	}
+
+	/**
+	 * 무작위 배치 ({lats, lngs, {중심 위도, 중심 경도}})
+	 * - 중심 주변 0.0001 ~ 0.5도 (약 10m ~ 50km)
+	 */
+	static double[][] randomBatch(Random random, int size) {
+		double lat = 37.4 + random.nextDouble() * 0.3;
+		double lng = 126.8 + random.nextDouble() * 0.4;
+		double[] lats = new double[size];
+		double[] lngs = new double[size];
+		for (int i = 0; i < size; i++) {
+			double spread = random.nextBoolean() ? 0.01 : 0.5;
+			lats[i] = lat + (random.nextDouble() - 0.5) * spread;
+			lngs[i] = lng + (random.nextDouble() - 0.5) * spread;
+		}
+		return new double[][] {lats, lngs, {lat, lng}};
+	}
+}
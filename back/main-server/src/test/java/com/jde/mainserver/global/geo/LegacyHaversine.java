@@ -0,0 +1,23 @@
+package com.jde.mainserver.global.geo;
+
+/**
+ * 기존 식당별 거리 계산 사본 (PlanQueryServiceImpl.calculateDistanceMeters 등, 정확도 테스트/JMH 비교용).
+ * - 박싱된 좌표를 한 건씩 받아 Math.toRadians 와 삼각함수를 매번 호출하는 원래 형태 그대로
+ */
+final class LegacyHaversine {
+
+	private LegacyHaversine() {
+	}
+
+	static Double distanceMeters(Double lat1, Double lon1, Double lat2, Double lon2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLon = Math.toRadians(lon2 - lon1);
+
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+			+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+			* Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+		double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+		return 6371000 * c;
+	}
+}
@@ -0,0 +1,116 @@
+package com.jde.mainserver.global.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CircuitBreaker / AimdConcurrencyLimiter / ResilienceGuard 단위 테스트.
+ * - 실패율에 따른 서킷 열림 → 열림 시간 경과 후 시험 호출 → 닫힘/재열림 전환과,
+ *   AIMD 제한 증감, 거절 시 호출이 실행되지 않는지 검증한다.
+ */
+class ResilienceGuardTest {
+
+	@Test
+	@DisplayName("최소 호출 수 이후 실패율이 기준 이상이면 열리고, 열림 시간 뒤 시험 호출이 모두 성공하면 닫힘")
+	void circuitOpensAndCloses() {
+		AtomicLong now = new AtomicLong();
+		List<String> transitions = new ArrayList<>();
+		CircuitBreaker cb = new CircuitBreaker(10, 4, 0.5, Duration.ofSeconds(10), 2, now::get,
+			(from, to) -> transitions.add(from + "->" + to));
+
+		for (boolean failure : new boolean[] {false, true, true}) {
+			assertThat(cb.tryAcquire()).isTrue();
+			cb.record(failure);
+		}
+		assertThat(cb.state()).isEqualTo(CircuitBreaker.State.CLOSED); // 최소 호출 수 미만
+
+		assertThat(cb.tryAcquire()).isTrue();
+		cb.record(false);
+		assertThat(cb.state()).isEqualTo(CircuitBreaker.State.OPEN); // 2/4 실패
+		assertThat(cb.tryAcquire()).isFalse();
+
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(cb.tryAcquire()).isTrue();
+		assertThat(cb.tryAcquire()).isTrue();
+		assertThat(cb.tryAcquire()).isFalse(); // 시험 호출 2개만 허용
+		cb.record(false);
+		cb.record(false);
+
+		assertThat(cb.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+	}
+
+	@Test
+	@DisplayName("시험 호출이 실패하면 다시 열리고 열림 시간이 새로 시작됨")
+	void halfOpenFailureReopens() {
+		AtomicLong now = new AtomicLong();
+		CircuitBreaker cb = new CircuitBreaker(2, 2, 0.5, Duration.ofSeconds(10), 1, now::get, null);
+		cb.tryAcquire();
+		cb.record(true);
+		cb.tryAcquire();
+		cb.record(true);
+
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(cb.tryAcquire()).isTrue();
+		cb.record(true);
+
+		assertThat(cb.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		now.addAndGet(Duration.ofSeconds(5).toNanos());
+		assertThat(cb.tryAcquire()).isFalse();
+	}
+
+	@Test
+	@DisplayName("AIMD: 제한의 절반 이상 사용 중 성공하면 +1, drop 이면 backoff 비율로 감소 (최소값 유지)")
+	void aimdLimit() {
+		AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(4, 1, 5, 0.5);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(limiter.tryAcquire()).isTrue();
+		}
+		assertThat(limiter.tryAcquire()).isFalse();
+		limiter.release(false); // 사용 중 4 >= 4/2
+		assertThat(limiter.limit()).isEqualTo(5);
+		limiter.release(false);
+		assertThat(limiter.limit()).isEqualTo(5); // 최대값
+
+		limiter.release(true);
+		assertThat(limiter.limit()).isEqualTo(2);
+		limiter.release(true);
+		assertThat(limiter.limit()).isEqualTo(1);
+		assertThat(limiter.inFlight()).isZero();
+
+		assertThat(limiter.tryAcquire()).isTrue();
+		limiter.release(true);
+		assertThat(limiter.limit()).isEqualTo(1); // 최소값
+	}
+
+	@Test
+	@DisplayName("서킷이 열리면 호출을 실행하지 않고 CallRejectedException(circuit_open)")
+	void guardRejectsWhenOpen() {
+		ResilienceGuard guard = new ResilienceGuard("test", new ResilienceGuard.Settings(
+			true, Duration.ofSeconds(1), 2, 2, 0.5, Duration.ofMinutes(1), 1, 4, 1, 8, 0.9
+		), new SimpleMeterRegistry());
+		AtomicLong calls = new AtomicLong();
+
+		for (int i = 0; i < 2; i++) {
+			assertThatThrownBy(() -> guard.execute(() -> {
+				calls.incrementAndGet();
+				throw new IllegalStateException("engine down");
+			})).isInstanceOf(IllegalStateException.class);
+		}
+
+		assertThatThrownBy(() -> guard.execute(calls::incrementAndGet))
+			.isInstanceOf(CallRejectedException.class);
+		assertThat(calls.get()).isEqualTo(2L);
+		assertThat(guard.state()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+}
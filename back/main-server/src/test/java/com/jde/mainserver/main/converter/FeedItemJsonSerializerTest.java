@@ -0,0 +1,154 @@
+package com.jde.mainserver.main.converter;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.jde.mainserver.main.web.dto.response.FeedResponse;
+import com.jde.mainserver.main.web.dto.response.FeedResponse.RestaurantItem;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FeedItemJsonSerializer 가 기본 record 직렬화와 같은 JSON 을 내는지(필드 구성, ObjectMapper 포함 규칙),
+ * 정적 필드 값이 같을 때만 정적 부분을 재사용하는지 검증한다.
+ */
+class FeedItemJsonSerializerTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private FeedItemJsonSerializer serializer;
+	private ObjectMapper plain;
+	private ObjectMapper cached;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		serializer = new FeedItemJsonSerializer(meterRegistry, true, 100);
+		plain = new ObjectMapper();
+		cached = new ObjectMapper()
+			.registerModule(new SimpleModule().addSerializer(RestaurantItem.class, serializer));
+	}
+
+	@Test
+	@DisplayName("요청별 필드가 달라도 기본 직렬화와 같은 JSON (null, 한글, debug 맵 포함)")
+	void matchesDefaultSerialization() throws Exception {
+		Map<String, Object> debug = new LinkedHashMap<>();
+		debug.put("final", 0.1127);
+		List<RestaurantItem> items = List.of(
+			item(1L, 250, true, null, null),
+			item(1L, 1200, false, true, debug),
+			item(2L, null, null, null, null));
+		FeedResponse response = new FeedResponse(items, "10");
+
+		assertThat(cached.writeValueAsString(response)).isEqualTo(plain.writeValueAsString(response));
+	}
+
+	@Test
+	@DisplayName("필드 구간은 기본 직렬화의 필드 순서와 같고, 요청별 필드 외에는 모두 정적 구간에 포함")
+	void layoutFollowsBeanSerializer() throws Exception {
+		FeedItemJsonSerializer.Layout layout =
+			FeedItemJsonSerializer.Layout.of(plain.getSerializerProviderInstance());
+
+		List<String> names = new ArrayList<>();
+		for (FeedItemJsonSerializer.Segment segment : layout.segments()) {
+			segment.properties().forEach(property -> {
+				names.add(property.getName());
+				assertThat(FeedItemJsonSerializer.DYNAMIC.contains(property.getName()))
+					.isEqualTo(segment.dynamic() != null);
+			});
+		}
+		List<String> expected = new ArrayList<>();
+		plain.readTree(plain.writeValueAsString(item(1L, 250, true, true, Map.of("final", 0.1))))
+			.fieldNames().forEachRemaining(expected::add);
+
+		assertThat(names).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	@DisplayName("ObjectMapper 포함 규칙(NON_NULL)도 기본 직렬화와 같게 적용")
+	void followsMapperInclusion() throws Exception {
+		ObjectMapper nonNull = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		ObjectMapper nonNullCached = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+			.registerModule(new SimpleModule().addSerializer(RestaurantItem.class,
+				new FeedItemJsonSerializer(new SimpleMeterRegistry(), true, 100)));
+		FeedResponse response = new FeedResponse(List.of(
+			item(1L, 250, true, null, null),
+			item(1L, null, null, true, null)), "10");
+
+		assertThat(nonNullCached.writeValueAsString(response)).isEqualTo(nonNull.writeValueAsString(response));
+		assertThat(nonNullCached.writeValueAsString(response)).doesNotContain("\"phone\"");
+	}
+
+	@Test
+	@DisplayName("정적 필드 값이 같으면 재사용, 이름/영업시간/메뉴가 바뀌면 다시 직렬화, 식당 ID가 없으면 캐시하지 않음")
+	void reusesFragmentWhileStaticValuesMatch() throws Exception {
+		cached.writeValueAsString(item(1L, 100, true, null, null));
+		cached.writeValueAsString(item(1L, 200, false, null, null));
+		assertThat(count("miss")).isEqualTo(1.0);
+		assertThat(count("hit")).isEqualTo(1.0);
+
+		RestaurantItem renamed = withName(item(1L, 200, false, null, null), "새 이름");
+		assertThat(cached.writeValueAsString(renamed)).contains("\"name\":\"새 이름\"");
+		assertThat(count("miss")).isEqualTo(2.0);
+
+		// updated_at 이 바뀌지 않는 변경 (영업시간 테이블, JSONB 일괄 갱신)
+		RestaurantItem rehoured = withHours(renamed,
+			List.of(new RestaurantItem.HourItem(1, "17:00:00", "02:00:00", null, null, false)));
+		assertThat(cached.writeValueAsString(rehoured)).contains("\"open\":\"17:00:00\"");
+		RestaurantItem repriced = withMenu(rehoured, List.of(Map.of("name", "생연어회", "price", 28000)));
+		assertThat(cached.writeValueAsString(repriced)).contains("\"price\":28000");
+		assertThat(count("miss")).isEqualTo(4.0);
+
+		cached.writeValueAsString(withMenu(rehoured, List.of(Map.of("name", "생연어회", "price", 28000))));
+		assertThat(count("hit")).isEqualTo(2.0);
+
+		cached.writeValueAsString(item(null, 300, true, null, null));
+		assertThat(count("bypass")).isEqualTo(1.0);
+		assertThat(serializer.size()).isEqualTo(1);
+	}
+
+	private double count(String result) {
+		return meterRegistry.get("feed.fragment.requests").tag("result", result).counter().count();
+	}
+
+	private static RestaurantItem item(Long id, Integer distanceM, Boolean isOpen, Boolean bookmarked,
+		Map<String, Object> debug) {
+		return new RestaurantItem(id, 27347714L, "아리네술상", "서울 강남구 논현로94길 11", "서울 강남구 역삼동 669-16",
+			null, Map.of("title", "감성 이자카야 \"술상\""), "음식점", "술집", "실내포장마차",
+			"http://place.map.kakao.com/27347714", 4.1f, 10, 27, "MEDIUM",
+			List.of("http://t1.daumcdn.net/a.jpg"), List.of(Map.of("name", "생연어회", "price", 26000)), false, true,
+			List.of(new RestaurantItem.HourItem(1, "18:00:00", "02:00:00", null, null, false)),
+			distanceM, isOpen, bookmarked, debug);
+	}
+
+	private static RestaurantItem withName(RestaurantItem item, String name) {
+		return copy(item, name, item.menu(), item.hours());
+	}
+
+	private static RestaurantItem withHours(RestaurantItem item, List<RestaurantItem.HourItem> hours) {
+		return copy(item, item.name(), item.menu(), hours);
+	}
+
+	private static RestaurantItem withMenu(RestaurantItem item, Object menu) {
+		return copy(item, item.name(), menu, item.hours());
+	}
+
+	private static RestaurantItem copy(RestaurantItem item, String name, Object menu,
+		List<RestaurantItem.HourItem> hours) {
+		return new RestaurantItem(item.restaurantId(), item.kakaoId(), name, item.address(), item.addressLot(),
+			item.phone(), item.kakaoSummary(), item.category1(), item.category2(), item.category3(), item.kakaoUrl(),
+			item.kakaoRating(), item.kakaoReviewCnt(), item.blogReviewCnt(), item.priceRange(), item.image(),
+			menu, item.isParking(), item.isReservation(), hours, item.distanceM(), item.isOpen(),
+			item.bookmarked(), item.debug());
+	}
+}
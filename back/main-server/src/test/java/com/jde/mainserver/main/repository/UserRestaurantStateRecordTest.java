@@ -0,0 +1,376 @@
+package com.jde.mainserver.main.repository;
+
+import com.jde.mainserver.main.entity.enums.InteractionCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserRestaurantStateRepository.recordSwipe / recordBookmark / recordView / recordShare / recordVisitFeedback 단일 문장이 이전 구현(상태 조회 후 upsert, 태그마다 upsertIncrement)과
+ * 같은 결과를 내는지 PostGIS 컨테이너에서 검증한다 (Docker 가 없으면 건너뜀).
+ * - 쿼리 문자열은 @Query 에서 그대로 읽어 실행
+ * - 선호 점수 -10.000 ~ +10.000, 태그 점수 -3.00 ~ +3.00, 태그 신뢰도 ~ 1.00 클램프
+ * - 이미 즐겨찾기한 식당 재추가는 아무것도 쓰지 않음 (applied = false)
+ * - 상세 조회/공유 증분 단계(첫 회, repeatMax 회까지, 그 이후 0)와 방문 피드백 쿨다운 유지
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserRestaurantStateRecordTest {
+
+	private static final long USER = 1L;
+	private static final long RESTAURANT = 10L;
+
+	@Container
+	private static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+		DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+	private static NamedParameterJdbcTemplate jdbc;
+
+	@BeforeAll
+	static void setUpSchema() {
+		jdbc = new NamedParameterJdbcTemplate(
+			new DriverManagerDataSource(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(), POSTGIS.getPassword()));
+		// Hibernate(ddl-auto) 가 만드는 테이블 중 쿼리에 쓰이는 컬럼만 (정밀도는 엔티티와 동일)
+		jdbc.getJdbcTemplate().execute("""
+			CREATE TABLE restaurant (restaurant_id BIGINT PRIMARY KEY);
+			CREATE TABLE restaurant_tag (restaurant_id BIGINT NOT NULL, tag_id BIGINT NOT NULL,
+			    PRIMARY KEY (restaurant_id, tag_id));
+			CREATE TABLE user_restaurant_event (
+			    event_id BIGSERIAL PRIMARY KEY,
+			    user_id BIGINT NOT NULL, restaurant_id BIGINT NOT NULL, event_type VARCHAR(16) NOT NULL,
+			    created_at TIMESTAMPTZ, updated_at TIMESTAMPTZ);
+			CREATE TABLE user_restaurant_state (
+			    user_id BIGINT NOT NULL, restaurant_id BIGINT NOT NULL,
+			    is_saved BOOLEAN NOT NULL, last_swipe VARCHAR(16), last_swipe_at TIMESTAMPTZ, cooldown_until TIMESTAMPTZ,
+			    view_count INTEGER NOT NULL, share_count INTEGER NOT NULL, pref_score NUMERIC(6, 3) NOT NULL,
+			    is_visited BOOLEAN, created_at TIMESTAMPTZ, updated_at TIMESTAMPTZ,
+			    PRIMARY KEY (user_id, restaurant_id));
+			CREATE TABLE user_tag_pref (
+			    user_id BIGINT NOT NULL, tag_id BIGINT NOT NULL,
+			    score NUMERIC(4, 2) NOT NULL, confidence NUMERIC(3, 2) NOT NULL,
+			    created_at TIMESTAMPTZ, updated_at TIMESTAMPTZ,
+			    PRIMARY KEY (user_id, tag_id));
+			""");
+	}
+
+	@BeforeEach
+	void setUp() {
+		jdbc.getJdbcTemplate().execute("""
+			TRUNCATE restaurant, restaurant_tag, user_restaurant_event, user_restaurant_state, user_tag_pref;
+			INSERT INTO restaurant VALUES (10);
+			INSERT INTO restaurant_tag VALUES (10, 100), (10, 101);
+			""");
+	}
+
+	@Test
+	@DisplayName("스와이프: 선호 점수는 +10.000, 태그 점수는 +3.00, 태그 신뢰도는 1.00 에서 멈춤")
+	void swipe_clampsUpper() {
+		state(false, "9.500");
+		tagPref(100, "2.90", "0.90");
+
+		Map<String, Object> result = swipe("SELECT", new BigDecimal("0.800"), new BigDecimal("0.800"), null,
+			new BigDecimal("0.15"), new BigDecimal("0.30"));
+
+		assertThat((BigDecimal)result.get("prefScore")).isEqualByComparingTo("10.000");
+		assertThat(prefScore()).isEqualByComparingTo("10.000");
+		assertThat(tagPref(100)).containsExactly(new BigDecimal("3.00"), new BigDecimal("1.00"));
+		// 없던 태그는 증분이 초기값
+		assertThat(tagPref(101)).containsExactly(new BigDecimal("0.15"), new BigDecimal("0.30"));
+		assertThat(eventCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("스와이프: 선호 점수는 -10.000, 태그 점수는 -3.00 에서 멈추고 DISLIKE 쿨다운 설정")
+	void swipe_clampsLower() {
+		state(false, "-9.500");
+		tagPref(100, "-2.90", "0.10");
+		Instant cooldownUntil = Instant.parse("2030-01-01T00:00:00Z");
+
+		swipe("DISLIKE", new BigDecimal("-1.000"), new BigDecimal("-1.000"), cooldownUntil,
+			new BigDecimal("-0.20"), new BigDecimal("0.20"));
+
+		assertThat(prefScore()).isEqualByComparingTo("-10.000");
+		assertThat(tagPref(100)).containsExactly(new BigDecimal("-3.00"), new BigDecimal("0.30"));
+		assertThat(jdbc.getJdbcTemplate().queryForObject(
+			"SELECT cooldown_until FROM user_restaurant_state", Timestamp.class).toInstant()).isEqualTo(cooldownUntil);
+	}
+
+	@Test
+	@DisplayName("스와이프: 없는 식당이면 아무것도 쓰지 않음")
+	void swipe_unknownRestaurant() {
+		List<Map<String, Object>> rows = jdbc.queryForList(query("recordSwipe"),
+			swipeParams(99L, "SELECT", new BigDecimal("0.800"), new BigDecimal("0.880"), null,
+				new BigDecimal("0.15"), new BigDecimal("0.30")));
+
+		assertThat(rows).isEmpty();
+		assertThat(eventCount()).isZero();
+		assertThat(jdbc.getJdbcTemplate().queryForObject("SELECT count(*) FROM user_tag_pref", Integer.class)).isZero();
+	}
+
+	@Test
+	@DisplayName("즐겨찾기: 이미 추가된 식당 재추가는 applied = false, 선호/태그 선호 그대로")
+	void bookmark_alreadySaved_noop() {
+		state(true, "1.000");
+		tagPref(100, "0.50", "0.50");
+
+		Map<String, Object> result = bookmark(true);
+
+		assertThat(result.get("applied")).isEqualTo(false);
+		assertThat(result.get("prefScore")).isNull();
+		assertThat(result.get("tagIds")).isNull();
+		assertThat(prefScore()).isEqualByComparingTo("1.000");
+		assertThat(tagPref(100)).containsExactly(new BigDecimal("0.50"), new BigDecimal("0.50"));
+		assertThat(jdbc.getJdbcTemplate().queryForObject("SELECT count(*) FROM user_tag_pref", Integer.class))
+			.isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("즐겨찾기: 추가하면 선호 점수 +10.000, 태그 점수 +3.00, 태그 신뢰도 1.00 에서 멈춤")
+	void bookmark_clamps() {
+		state(false, "9.800");
+		tagPref(100, "2.95", "0.95");
+
+		Map<String, Object> result = bookmark(true);
+
+		assertThat(result.get("applied")).isEqualTo(true);
+		assertThat(prefScore()).isEqualByComparingTo("10.000");
+		assertThat(tagPref(100)).containsExactly(new BigDecimal("3.00"), new BigDecimal("1.00"));
+		assertThat(jdbc.getJdbcTemplate().queryForObject("SELECT is_saved FROM user_restaurant_state", Boolean.class))
+			.isTrue();
+	}
+
+	@Test
+	@DisplayName("즐겨찾기: 상태가 없는 식당 해제는 applied = false (기본값이 해제 상태)")
+	void bookmark_removeWithoutState_noop() {
+		Map<String, Object> result = bookmark(false);
+
+		assertThat(result.get("applied")).isEqualTo(false);
+		assertThat(jdbc.getJdbcTemplate().queryForObject("SELECT count(*) FROM user_restaurant_state", Integer.class))
+			.isZero();
+	}
+
+	@Test
+	@DisplayName("상세 조회: 첫 조회 firstDelta, repeatMax 회까지 repeatDelta, 그 이후 0 (태그 선호도 증분이 있을 때만)")
+	void view_tiers() {
+		List<Map<String, Object>> results = List.of(
+			counted("recordView", InteractionCounter.VIEW),
+			counted("recordView", InteractionCounter.VIEW),
+			counted("recordView", InteractionCounter.VIEW),
+			counted("recordView", InteractionCounter.VIEW));
+
+		assertThat(results).extracting(r -> (BigDecimal)r.get("prefDelta"))
+			.usingElementComparator(BigDecimal::compareTo)
+			.containsExactly(new BigDecimal("0.10"), new BigDecimal("0.03"), new BigDecimal("0.03"), BigDecimal.ZERO);
+		assertThat(results).extracting(r -> r.get("tagIds"))
+			.containsExactly("100,101", "100,101", "100,101", null);
+		assertThat(prefScore()).isEqualByComparingTo("0.160");
+		assertThat(count("view_count")).isEqualTo(4);
+		// 0.05 + 0.015 + 0.015, 0.03 + 0.009 + 0.009 (컬럼 정밀도로 매번 반올림)
+		assertThat(tagPref(100)).containsExactly(new BigDecimal("0.09"), new BigDecimal("0.05"));
+	}
+
+	@Test
+	@DisplayName("공유: 상세 조회로 만든 상태에도 첫 공유는 firstDelta, view_count 는 그대로")
+	void share_firstOnExistingState() {
+		counted("recordView", InteractionCounter.VIEW);
+
+		Map<String, Object> result = counted("recordShare", InteractionCounter.SHARE);
+
+		assertThat((BigDecimal)result.get("prefDelta")).isEqualByComparingTo("0.3");
+		assertThat((BigDecimal)result.get("prefScore")).isEqualByComparingTo("0.400");
+		assertThat(count("view_count")).isEqualTo(1);
+		assertThat(count("share_count")).isEqualTo(1);
+		// 0.05 + 0.24, 0.03 + 0.18
+		assertThat(tagPref(100)).containsExactly(new BigDecimal("0.29"), new BigDecimal("0.21"));
+	}
+
+	@Test
+	@DisplayName("공유: repeatMax 를 넘긴 공유는 선호/태그 선호를 바꾸지 않고 횟수만 증가")
+	void share_beyondLimit() {
+		for (int i = 0; i <= InteractionCounter.SHARE.getRepeatMax(); i++) {
+			counted("recordShare", InteractionCounter.SHARE);
+		}
+		BigDecimal before = prefScore();
+		List<BigDecimal> tagBefore = tagPref(100);
+
+		Map<String, Object> result = counted("recordShare", InteractionCounter.SHARE);
+
+		assertThat((BigDecimal)result.get("prefDelta")).isEqualByComparingTo("0");
+		assertThat(result.get("tagIds")).isNull();
+		assertThat(prefScore()).isEqualByComparingTo(before);
+		assertThat(tagPref(100)).isEqualTo(tagBefore);
+		assertThat(count("share_count")).isEqualTo(InteractionCounter.SHARE.getRepeatMax() + 2);
+	}
+
+	@Test
+	@DisplayName("상세 조회: 없는 식당이면 아무것도 쓰지 않음")
+	void view_unknownRestaurant() {
+		List<Map<String, Object>> rows = jdbc.queryForList(query("recordView"),
+			counterParams(99L, InteractionCounter.VIEW));
+
+		assertThat(rows).isEmpty();
+		assertThat(jdbc.getJdbcTemplate().queryForObject("SELECT count(*) FROM user_restaurant_state", Integer.class))
+			.isZero();
+	}
+
+	@Test
+	@DisplayName("방문 피드백: 별로였어요는 쿨다운 설정, 이후 그냥 그랬어요는 쿨다운 유지")
+	void visitFeedback_dislikeCooldown() {
+		Instant cooldownUntil = Instant.parse("2030-01-01T00:00:00Z");
+
+		Map<String, Object> dislike = visitFeedback(true, new BigDecimal("-1.0"), cooldownUntil, true,
+			new BigDecimal("-0.20"), new BigDecimal("0.20"));
+		visitFeedback(true, new BigDecimal("0.1"), null, true, new BigDecimal("0.02"), BigDecimal.ZERO);
+
+		assertThat((BigDecimal)dislike.get("prefScore")).isEqualByComparingTo("-1.000");
+		assertThat(dislike.get("tagIds")).isEqualTo("100,101");
+		assertThat(prefScore()).isEqualByComparingTo("-0.900");
+		assertThat(tagPref(100)).containsExactly(new BigDecimal("-0.18"), new BigDecimal("0.20"));
+		assertThat(jdbc.getJdbcTemplate().queryForObject(
+			"SELECT cooldown_until FROM user_restaurant_state", Timestamp.class).toInstant()).isEqualTo(cooldownUntil);
+	}
+
+	@Test
+	@DisplayName("방문 피드백: 방문 안 함은 is_visited = false, 점수/태그 선호 변화 없음")
+	void visitFeedback_notVisited() {
+		state(false, "1.000");
+
+		Map<String, Object> result = visitFeedback(false, BigDecimal.ZERO, null, false,
+			BigDecimal.ZERO, BigDecimal.ZERO);
+
+		assertThat(result.get("tagIds")).isNull();
+		assertThat(prefScore()).isEqualByComparingTo("1.000");
+		assertThat(jdbc.getJdbcTemplate().queryForObject("SELECT is_visited FROM user_restaurant_state", Boolean.class))
+			.isFalse();
+		assertThat(jdbc.getJdbcTemplate().queryForObject("SELECT count(*) FROM user_tag_pref", Integer.class)).isZero();
+	}
+
+	private Map<String, Object> swipe(String action, BigDecimal prefDelta, BigDecimal recentPrefDelta,
+		Instant cooldownUntil, BigDecimal tagDeltaScore, BigDecimal tagDeltaConf) {
+		return jdbc.queryForMap(query("recordSwipe"),
+			swipeParams(RESTAURANT, action, prefDelta, recentPrefDelta, cooldownUntil, tagDeltaScore, tagDeltaConf));
+	}
+
+	private static MapSqlParameterSource swipeParams(long restaurantId, String action, BigDecimal prefDelta,
+		BigDecimal recentPrefDelta, Instant cooldownUntil, BigDecimal tagDeltaScore, BigDecimal tagDeltaConf) {
+		Instant now = Instant.now();
+		return new MapSqlParameterSource()
+			.addValue("userId", USER)
+			.addValue("restaurantId", restaurantId)
+			.addValue("action", action)
+			.addValue("logEvent", true)
+			.addValue("now", Timestamp.from(now))
+			.addValue("recentSince", Timestamp.from(now.minus(Duration.ofDays(7))))
+			.addValue("prefDelta", prefDelta)
+			.addValue("recentPrefDelta", recentPrefDelta)
+			.addValue("cooldownUntil", cooldownUntil != null ? Timestamp.from(cooldownUntil) : null, Types.TIMESTAMP)
+			.addValue("tagDeltaScore", tagDeltaScore)
+			.addValue("tagDeltaConf", tagDeltaConf);
+	}
+
+	// MainCommandServiceImpl.updateBookmark 의 증분
+	private Map<String, Object> bookmark(boolean isSaved) {
+		return jdbc.queryForMap(query("recordBookmark"), new MapSqlParameterSource()
+			.addValue("userId", USER)
+			.addValue("restaurantId", RESTAURANT)
+			.addValue("isSaved", isSaved)
+			.addValue("now", Timestamp.from(Instant.now()))
+			.addValue("prefDelta", new BigDecimal(isSaved ? "0.500" : "-0.3"))
+			.addValue("tagDeltaScore", new BigDecimal(isSaved ? "0.10" : "-0.10"))
+			.addValue("tagDeltaConf", new BigDecimal(isSaved ? "0.20" : "0.10")));
+	}
+
+	// MainCommandServiceImpl.handleView / handleShare 와 같은 증분
+	private Map<String, Object> counted(String method, InteractionCounter counter) {
+		return jdbc.queryForMap(query(method), counterParams(RESTAURANT, counter));
+	}
+
+	private static MapSqlParameterSource counterParams(long restaurantId, InteractionCounter counter) {
+		return new MapSqlParameterSource()
+			.addValue("userId", USER)
+			.addValue("restaurantId", restaurantId)
+			.addValue("firstDelta", counter.getFirstDelta())
+			.addValue("repeatDelta", counter.getRepeatDelta())
+			.addValue("repeatMax", counter.getRepeatMax())
+			.addValue("tagScoreRatio", counter.getTagScoreRatio())
+			.addValue("tagConfRatio", counter.getTagConfRatio());
+	}
+
+	private Map<String, Object> visitFeedback(boolean isVisited, BigDecimal prefDelta, Instant cooldownUntil,
+		boolean applyTags, BigDecimal tagDeltaScore, BigDecimal tagDeltaConf) {
+		return jdbc.queryForMap(query("recordVisitFeedback"), new MapSqlParameterSource()
+			.addValue("userId", USER)
+			.addValue("restaurantId", RESTAURANT)
+			.addValue("isVisited", isVisited)
+			.addValue("prefDelta", prefDelta)
+			.addValue("cooldownUntil", cooldownUntil != null ? Timestamp.from(cooldownUntil) : null, Types.TIMESTAMP)
+			.addValue("applyTags", applyTags)
+			.addValue("tagDeltaScore", tagDeltaScore)
+			.addValue("tagDeltaConf", tagDeltaConf));
+	}
+
+	private static String query(String method) {
+		for (var m : UserRestaurantStateRepository.class.getMethods()) {
+			if (m.getName().equals(method)) {
+				return m.getAnnotation(Query.class).value();
+			}
+		}
+		throw new IllegalArgumentException(method);
+	}
+
+	private static void state(boolean isSaved, String prefScore) {
+		jdbc.update("""
+			INSERT INTO user_restaurant_state (user_id, restaurant_id, is_saved, view_count, share_count, pref_score)
+			VALUES (:userId, :restaurantId, :isSaved, 0, 0, :prefScore)
+			""", new MapSqlParameterSource()
+			.addValue("userId", USER)
+			.addValue("restaurantId", RESTAURANT)
+			.addValue("isSaved", isSaved)
+			.addValue("prefScore", new BigDecimal(prefScore)));
+	}
+
+	private static void tagPref(long tagId, String score, String confidence) {
+		jdbc.update("INSERT INTO user_tag_pref (user_id, tag_id, score, confidence) VALUES (:userId, :tagId, :score, :conf)",
+			new MapSqlParameterSource()
+				.addValue("userId", USER)
+				.addValue("tagId", tagId)
+				.addValue("score", new BigDecimal(score))
+				.addValue("conf", new BigDecimal(confidence)));
+	}
+
+	private static List<BigDecimal> tagPref(long tagId) {
+		return jdbc.queryForObject("SELECT score, confidence FROM user_tag_pref WHERE user_id = :userId AND tag_id = :tagId",
+			new MapSqlParameterSource().addValue("userId", USER).addValue("tagId", tagId),
+			(rs, i) -> List.of(rs.getBigDecimal(1), rs.getBigDecimal(2)));
+	}
+
+	private static BigDecimal prefScore() {
+		return jdbc.getJdbcTemplate().queryForObject("SELECT pref_score FROM user_restaurant_state", BigDecimal.class);
+	}
+
+	private static int count(String column) {
+		return jdbc.getJdbcTemplate().queryForObject("SELECT " + column + " FROM user_restaurant_state", Integer.class);
+	}
+
+	private static int eventCount() {
+		return jdbc.getJdbcTemplate().queryForObject("SELECT count(*) FROM user_restaurant_event", Integer.class);
+	}
+}
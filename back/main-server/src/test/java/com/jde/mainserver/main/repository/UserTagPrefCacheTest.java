@@ -0,0 +1,114 @@
+package com.jde.mainserver.main.repository;
+
+import com.jde.mainserver.main.entity.UserTagPref;
+import com.jde.mainserver.main.repository.redis.UserTagPrefVersionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserTagPrefCache 단위 테스트.
+ * - 버전이 같으면 DB 를 다시 읽지 않는지, 커밋 후 증분이 upsertIncrement 와 같은 클램프/반올림으로
+ *   반영되는지, 다른 인스턴스의 쓰기(버전 건너뜀) 뒤에는 다시 적재하는지 검증한다.
+ */
+class UserTagPrefCacheTest {
+
+	private static final long USER_ID = 7L;
+
+	private UserTagPrefRepository userTagPrefRepository;
+	private UserTagPrefVersionRepository versionRepository;
+	private UserTagPrefCache sut;
+
+	@BeforeEach
+	void setUp() {
+		userTagPrefRepository = mock(UserTagPrefRepository.class);
+		versionRepository = mock(UserTagPrefVersionRepository.class);
+		sut = new UserTagPrefCache(userTagPrefRepository, versionRepository, new SimpleMeterRegistry(), true, 100, 600_000);
+		List<UserTagPref> rows = List.of(
+			row(30L, "2.95", "0.90"),
+			row(10L, "-1.00", "0.40")
+		);
+		when(userTagPrefRepository.findByUserId(USER_ID)).thenReturn(rows);
+		when(versionRepository.current(USER_ID)).thenReturn(3L);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("같은 버전이면 DB 를 한 번만 조회하고 태그 ID 순서로 반환")
+	void get_cachedPerVersion() {
+		UserTagPrefCache.TagPrefs first = sut.get(USER_ID);
+		UserTagPrefCache.TagPrefs second = sut.get(USER_ID);
+
+		assertThat(second).isSameAs(first);
+		assertThat(first.tagId(0)).isEqualTo(10L);
+		assertThat(first.score(0)).isEqualTo(-1.0f);
+		assertThat(first.confidence(1)).isEqualTo(0.9f);
+		verify(userTagPrefRepository, times(1)).findByUserId(USER_ID);
+	}
+
+	@Test
+	@DisplayName("커밋 후 증분 적용: 기존 태그는 클램프, 새 태그는 초기값, 새 버전으로 DB 조회 없이 반환")
+	void recordIncrement_writeThrough() {
+		sut.get(USER_ID);
+		when(versionRepository.bump(USER_ID)).thenReturn(4L);
+		when(versionRepository.current(USER_ID)).thenReturn(4L);
+
+		commit(() -> sut.recordIncrement(USER_ID, List.of(30L, 20L),
+			new BigDecimal("0.125"), new BigDecimal("0.2"), new BigDecimal("0.125"), new BigDecimal("0.2")));
+		UserTagPrefCache.TagPrefs prefs = sut.get(USER_ID);
+
+		assertThat(prefs.size()).isEqualTo(3);
+		assertThat(prefs.tagId(1)).isEqualTo(20L);
+		assertThat(prefs.score(1)).isEqualTo(0.13f);
+		assertThat(prefs.score(2)).isEqualTo(3.0f);
+		assertThat(prefs.confidence(2)).isEqualTo(1.0f);
+		verify(userTagPrefRepository, times(1)).findByUserId(USER_ID);
+	}
+
+	@Test
+	@DisplayName("그 사이 다른 인스턴스가 버전을 올렸으면 증분 대신 다시 적재")
+	void recordIncrement_versionGapReloads() {
+		sut.get(USER_ID);
+		when(versionRepository.bump(USER_ID)).thenReturn(5L);
+		when(versionRepository.current(USER_ID)).thenReturn(5L);
+
+		commit(() -> sut.recordIncrement(USER_ID, List.of(10L),
+			BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE));
+		sut.get(USER_ID);
+
+		verify(userTagPrefRepository, times(2)).findByUserId(USER_ID);
+	}
+
+	private static void commit(Runnable work) {
+		TransactionSynchronizationManager.initSynchronization();
+		work.run();
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+	}
+
+	private static UserTagPref row(long tagId, String score, String confidence) {
+		UserTagPref pref = mock(UserTagPref.class);
+		when(pref.getTagId()).thenReturn(tagId);
+		when(pref.getScore()).thenReturn(new BigDecimal(score));
+		when(pref.getConfidence()).thenReturn(new BigDecimal(confidence));
+		return pref;
+	}
+}
@@ -0,0 +1,120 @@
+package com.jde.mainserver.main.repository.buffer;
+
+import com.jde.mainserver.main.entity.enums.InteractionCounter;
+import com.jde.mainserver.main.entity.enums.SwipeAction;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
+import com.jde.mainserver.main.repository.redis.UserSegmentRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * InteractionWriteBuffer 단위 테스트.
+ * - 상세 조회/공유가 (사용자, 식당)별로 합쳐지는지, 재기동 시 저널에서 다시 적재되는지,
+ *   flushPending 이 요청한 사용자만 반영하는지, 가득 차면 새 항목만 거절하는지,
+ *   반영 실패 시 다음 주기에 다시 반영하는지 검증한다.
+ */
+class InteractionWriteBufferTest {
+
+	@TempDir
+	Path journalDir;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+	}
+
+	@Test
+	@DisplayName("재기동 시 저널을 다시 적재하고, 같은 (사용자, 식당)의 조회/공유는 한 행으로 합쳐 반영")
+	void replayAndCoalesce() {
+		InteractionWriteBuffer first = buffer(100);
+		first.offerCounter(1L, 10L, InteractionCounter.VIEW);
+		first.offerCounter(1L, 10L, InteractionCounter.VIEW);
+		first.offerCounter(1L, 10L, InteractionCounter.SHARE);
+		first.offerCounter(1L, 11L, InteractionCounter.VIEW);
+		first.offerEventAfterCommit(2L, 10L, SwipeAction.SELECT, Instant.ofEpochMilli(1_000));
+
+		first.flushPending(3L);
+		verifyNoInteractions(jdbcTemplate);
+
+		InteractionWriteBuffer restarted = buffer(100);
+		restarted.flush();
+
+		verify(jdbcTemplate).update(contains("user_restaurant_event"), eq(2L), eq(10L), eq("SELECT"), any());
+		verify(jdbcTemplate).queryForList(contains("user_restaurant_state"), eq(Long.class),
+			eq(1L), eq(10L), eq(2), eq(1), eq(1L), eq(11L), eq(1), eq(0));
+	}
+
+	@Test
+	@DisplayName("flushPending 은 요청한 사용자의 조회/공유만 반영하고, 재적재 시 이미 반영한 횟수는 빼고 적재")
+	void flushPending_onlyRequestedUsers() {
+		InteractionWriteBuffer first = buffer(100);
+		first.offerCounter(1L, 10L, InteractionCounter.VIEW);
+		first.offerCounter(2L, 10L, InteractionCounter.VIEW);
+		first.offerEventAfterCommit(3L, 10L, SwipeAction.SELECT, Instant.ofEpochMilli(1_000));
+
+		first.flushPending(1L);
+
+		verify(jdbcTemplate).queryForList(contains("user_restaurant_state"), eq(Long.class),
+			eq(1L), eq(10L), eq(1), eq(0));
+		verifyNoMoreInteractions(jdbcTemplate);
+
+		// 반영 후에 들어온 같은 사용자 기록은 재적재 대상
+		first.offerCounter(1L, 10L, InteractionCounter.SHARE);
+		clearInvocations(jdbcTemplate);
+		InteractionWriteBuffer restarted = buffer(100);
+		restarted.flush();
+
+		verify(jdbcTemplate).update(contains("user_restaurant_event"), eq(3L), eq(10L), eq("SELECT"), any());
+		verify(jdbcTemplate).queryForList(contains("user_restaurant_state"), eq(Long.class),
+			eq(2L), eq(10L), eq(1), eq(0), eq(1L), eq(10L), eq(0), eq(1));
+	}
+
+	@Test
+	@DisplayName("가득 차면 새 (사용자, 식당)만 거절하고 기존 항목 횟수에는 합침")
+	void full_rejectsOnlyNewEntries() {
+		InteractionWriteBuffer sut = buffer(1);
+
+		assertThat(sut.offerCounter(5L, 1L, InteractionCounter.VIEW)).isTrue();
+		assertThat(sut.offerCounter(5L, 2L, InteractionCounter.VIEW)).isFalse();
+		assertThat(sut.offerCounter(5L, 1L, InteractionCounter.SHARE)).isTrue();
+	}
+
+	@Test
+	@DisplayName("반영에 실패하면 버퍼에 되돌려 다음 주기에 다시 반영")
+	void flushFailure_retried() {
+		InteractionWriteBuffer sut = buffer(100);
+		sut.offerCounter(5L, 1L, InteractionCounter.VIEW);
+		doThrow(new DataAccessResourceFailureException("down"))
+			.doReturn(List.of())
+			.when(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(5L), eq(1L), eq(1), eq(0));
+
+		sut.flush();
+		sut.flush();
+		sut.flush();
+
+		verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), eq(5L), eq(1L), eq(1), eq(0));
+	}
+
+	private InteractionWriteBuffer buffer(int maxEntries) {
+		return new InteractionWriteBuffer(jdbcTemplate, mock(PlatformTransactionManager.class),
+			mock(UserTagPrefCache.class), mock(UserSegmentRepository.class), new SimpleMeterRegistry(),
+			true, maxEntries, journalDir.toString(), false);
+	}
+}
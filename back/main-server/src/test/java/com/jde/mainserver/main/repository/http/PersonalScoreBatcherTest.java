@@ -0,0 +1,141 @@
+package com.jde.mainserver.main.repository.http;
+
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PersonalScoreBatcher 배칭/결과 분배 단위 테스트.
+ * - 동시 요청이 한 번의 배치 호출로 묶이고, 결과가 요청 순서대로 각 호출자에게 돌아가며,
+ *   배치 실패 시 단건 재호출 없이 모든 호출자가 실패하고, 개별 실패 항목만 단건 호출로 폴백되는지 검증한다.
+ */
+class PersonalScoreBatcherTest {
+
+	/** 호출자가 배치 실패 예외("batch down")를 받은 경우의 결과 */
+	private static final long FAILED = -1L;
+
+	@Test
+	@DisplayName("window 내 동시 요청은 한 번의 배치 호출로 묶이고 각 호출자는 자기 결과를 받음")
+	void batchesConcurrentCalls() throws Exception {
+		StubClient client = new StubClient(false, -1);
+		List<Long> results = runConcurrently(client, 4);
+
+		assertThat(results).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+		assertThat(client.batchSizes).containsExactly(4);
+		assertThat(client.singleCalls.get()).isZero();
+	}
+
+	@Test
+	@DisplayName("배치 전송 실패 시 단건으로 다시 보내지 않고 모든 호출자가 같은 예외로 실패")
+	void failsAllCallersWhenBatchFails() throws Exception {
+		StubClient client = new StubClient(true, -1);
+		List<Long> results = runConcurrently(client, 3);
+
+		assertThat(results).containsExactly(FAILED, FAILED, FAILED);
+		assertThat(client.batchSizes).containsExactly(3);
+		assertThat(client.singleCalls.get()).isZero();
+	}
+
+	@Test
+	@DisplayName("엔진에서 개별 실패한 항목만 단건 호출로 폴백")
+	void fallsBackOnlyFailedItem() throws Exception {
+		StubClient client = new StubClient(false, 2L);
+		List<Long> results = runConcurrently(client, 3);
+
+		assertThat(results).containsExactlyInAnyOrder(1L, 2L, 3L);
+		assertThat(client.singleCalls.get()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("배치 크기 구간 매핑")
+	void sizeBucket() {
+		assertThat(PersonalScoreBatcher.sizeBucket(1)).isZero();
+		assertThat(PersonalScoreBatcher.sizeBucket(4)).isEqualTo(1);
+		assertThat(PersonalScoreBatcher.sizeBucket(5)).isEqualTo(2);
+		assertThat(PersonalScoreBatcher.sizeBucket(16)).isEqualTo(3);
+		assertThat(PersonalScoreBatcher.sizeBucket(17)).isEqualTo(4);
+	}
+
+	/** 요청 n 개를 동시에 보내고 각 호출자가 받은 응답의 첫 식당 ID (= 요청 userId, 배치 실패 예외면 FAILED) 를 반환 */
+	private static List<Long> runConcurrently(StubClient client, int n) throws Exception {
+		PersonalScoreBatcher batcher = new PersonalScoreBatcher(
+			client, new SimpleMeterRegistry(), true, 200, n, 2, 64, 5_000);
+		ExecutorService pool = Executors.newFixedThreadPool(n);
+		try {
+			List<Callable<Long>> calls = new ArrayList<>();
+			for (long userId = 1; userId <= n; userId++) {
+				PersonalScoreRequest req = PersonalScoreRequest.of(userId, Map.of(), List.of());
+				calls.add(() -> {
+					try {
+						return batcher.score(req, "ml_v1", false).items().get(0).restaurantId();
+					} catch (RuntimeException e) {
+						assertThat(e).hasMessage("batch down");
+						return FAILED;
+					}
+				});
+			}
+			List<Long> results = new ArrayList<>();
+			for (Future<Long> f : pool.invokeAll(calls)) {
+				results.add(f.get());
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+			batcher.shutdown();
+		}
+	}
+
+	/** userId 를 식당 ID 로 돌려주는 점수 엔진 대역 */
+	private static final class StubClient extends ScoreEngineHttpClient {
+		private final boolean failBatch;
+		private final long failUserId;
+		private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+		private final AtomicInteger singleCalls = new AtomicInteger();
+
+		StubClient(boolean failBatch, long failUserId) {
+			super(new ObjectMapper(), new SimpleMeterRegistry(), ScoreEngineGuards.disabled(new SimpleMeterRegistry()),
+				"http://localhost:0", false, 0L);
+			this.failBatch = failBatch;
+			this.failUserId = failUserId;
+		}
+
+		@Override
+		public PersonalScoreResponse score(PersonalScoreRequest req, String algo, boolean debug) {
+			singleCalls.incrementAndGet();
+			return responseFor(req);
+		}
+
+		@Override
+		public List<PersonalScoreResponse> scoreBatch(List<PersonalScoreRequest> reqs, String algo, boolean debug) {
+			batchSizes.add(reqs.size());
+			if (failBatch) {
+				throw new RuntimeException("batch down");
+			}
+			List<PersonalScoreResponse> results = new ArrayList<>();
+			for (PersonalScoreRequest req : reqs) {
+				results.add(req.userId() == failUserId ? null : responseFor(req));
+			}
+			return results;
+		}
+
+		private static PersonalScoreResponse responseFor(PersonalScoreRequest req) {
+			return new PersonalScoreResponse(
+				List.of(new PersonalScoreResponse.ScoredItem(req.userId(), 1.0, null)), Map.of());
+		}
+	}
+}
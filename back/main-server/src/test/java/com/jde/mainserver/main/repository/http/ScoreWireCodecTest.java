@@ -0,0 +1,130 @@
+package com.jde.mainserver.main.repository.http;
+
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ScoreWireCodec 바이너리 형식 단위 테스트.
+ * - 요청이 app/schemas/score_wire.py 와 같은 컬럼 배치로 기록되고,
+ *   응답/배치 응답이 식당 ID / 점수 배열로 읽히는지 검증한다.
+ */
+class ScoreWireCodecTest {
+
+	@Test
+	@DisplayName("개인 요청: 헤더, 사용자 태그, 후보 컬럼, 후보 태그 순서로 기록 (null 은 NaN / -1)")
+	void encodePersonal_layout() {
+		Map<Long, PersonalScoreRequest.TagPreference> userPref = new LinkedHashMap<>();
+		userPref.put(7L, new PersonalScoreRequest.TagPreference(1.5f, 0.8f));
+		Map<Long, PersonalScoreRequest.TagPreference> tags = new LinkedHashMap<>();
+		tags.put(3L, new PersonalScoreRequest.TagPreference(0.9f, 0.4f));
+		tags.put(7L, new PersonalScoreRequest.TagPreference(-0.5f, 1.0f));
+		PersonalScoreRequest req = PersonalScoreRequest.of(42L, userPref, List.of(
+			new PersonalScoreRequest.Candidate(1001L, tags, 350f, true, null, 0.7f, true, null),
+			new PersonalScoreRequest.Candidate(1002L, null, null, null, null, null, null, 0.1f)
+		));
+
+		byte[] bytes = ScoreWireCodec.encodePersonal(req, true);
+		assertThat(bytes).hasSize(ScoreWireCodec.personalSize(req));
+
+		ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		assertThat(buf.getInt()).isEqualTo(ScoreWireCodec.REQUEST_MAGIC);
+		assertThat(buf.get()).isEqualTo((byte)ScoreWireCodec.VERSION);
+		assertThat(buf.get()).isEqualTo((byte)ScoreWireCodec.FLAG_DEBUG);
+		buf.getShort();
+		assertThat(buf.getLong()).isEqualTo(42L);
+
+		assertThat(buf.getInt()).isEqualTo(1);
+		assertThat(buf.getInt()).isEqualTo(7);
+		assertThat(buf.getFloat()).isEqualTo(1.5f);
+		assertThat(buf.getFloat()).isEqualTo(0.8f);
+
+		assertThat(buf.getInt()).isEqualTo(2);
+		assertThat(buf.getLong()).isEqualTo(1001L);
+		assertThat(buf.getLong()).isEqualTo(1002L);
+		assertThat(buf.getFloat()).isEqualTo(350f);
+		assertThat(buf.getFloat()).isEqualTo(0f);   // distance null → 0
+		assertThat(buf.getFloat()).isEqualTo(0.7f);
+		assertThat(buf.getFloat()).isNaN();         // pref_score null
+		assertThat(buf.getFloat()).isNaN();         // engagement_boost null
+		assertThat(buf.getFloat()).isEqualTo(0.1f);
+		assertThat(buf.get()).isEqualTo((byte)1);
+		assertThat(buf.get()).isEqualTo((byte)-1);  // has_interaction_recent null
+		assertThat(buf.getInt()).isEqualTo(2);
+		assertThat(buf.getInt()).isZero();
+
+		assertThat(buf.getInt()).isEqualTo(2);
+		assertThat(buf.getInt()).isEqualTo(3);
+		assertThat(buf.getInt()).isEqualTo(7);
+		assertThat(buf.getFloat()).isEqualTo(0.9f);
+		assertThat(buf.getFloat()).isEqualTo(-0.5f);
+		assertThat(buf.getFloat()).isEqualTo(0.4f);
+		assertThat(buf.getFloat()).isEqualTo(1.0f);
+		assertThat(buf.hasRemaining()).isFalse();
+	}
+
+	@Test
+	@DisplayName("개인 응답: 식당 ID / 점수 배열, 알고리즘 버전, debug JSON 읽기")
+	void decodePersonal() {
+		byte[] frame = responseFrame("ml_v1", 12, new long[] {5L, 9L}, new float[] {0.9f, 0.25f}, "[{},{}]");
+
+		ScoreWireCodec.ScoreArrays arrays = ScoreWireCodec.decodePersonal(frame);
+
+		assertThat(arrays.restaurantIds()).containsExactly(5L, 9L);
+		assertThat(arrays.scores()).containsExactly(0.9f, 0.25f);
+		assertThat(arrays.algoVersion()).isEqualTo("ml_v1");
+		assertThat(arrays.elapsedMs()).isEqualTo(12);
+		assertThat(new String(arrays.debugJson(), StandardCharsets.UTF_8)).isEqualTo("[{},{}]");
+	}
+
+	@Test
+	@DisplayName("배치 응답: 길이 0 프레임은 null, 잘린 본문은 예외")
+	void decodePersonalBatch() {
+		byte[] ok = responseFrame("cbf_v1.2", 3, new long[] {1L}, new float[] {0.5f}, null);
+		ByteBuffer buf = ByteBuffer.allocate(8 + 4 + 4 + 4 + ok.length + 4).order(ByteOrder.LITTLE_ENDIAN);
+		buf.putInt(ScoreWireCodec.BATCH_RESPONSE_MAGIC).put((byte)ScoreWireCodec.VERSION).put((byte)0).putShort((short)0);
+		buf.putInt(20).putInt(2);
+		buf.putInt(ok.length).put(ok);
+		buf.putInt(0);
+
+		List<ScoreWireCodec.ScoreArrays> results = ScoreWireCodec.decodePersonalBatch(buf.array());
+
+		assertThat(results).hasSize(2);
+		assertThat(results.get(0).restaurantIds()).containsExactly(1L);
+		assertThat(results.get(0).debugJson()).isNull();
+		assertThat(results.get(1)).isNull();
+
+		byte[] truncated = Arrays.copyOf(buf.array(), buf.array().length - 10);
+		assertThatThrownBy(() -> ScoreWireCodec.decodePersonalBatch(truncated))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static byte[] responseFrame(String algo, int elapsedMs, long[] ids, float[] scores, String debugJson) {
+		byte[] algoBytes = algo.getBytes(StandardCharsets.UTF_8);
+		byte[] debug = debugJson != null ? debugJson.getBytes(StandardCharsets.UTF_8) : new byte[0];
+		ByteBuffer buf = ByteBuffer.allocate(8 + 4 + algoBytes.length + 4 + ids.length * 12 + 4 + debug.length)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		buf.putInt(ScoreWireCodec.RESPONSE_MAGIC).put((byte)ScoreWireCodec.VERSION).put((byte)algoBytes.length)
+			.putShort((short)0);
+		buf.putInt(elapsedMs).put(algoBytes).putInt(ids.length);
+		for (long id : ids) {
+			buf.putLong(id);
+		}
+		for (float s : scores) {
+			buf.putFloat(s);
+		}
+		buf.putInt(debug.length).put(debug);
+		return buf.array();
+	}
+}
@@ -0,0 +1,139 @@
+package com.jde.mainserver.main.repository.local;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * CbfV12ScoringEngine 과 FastAPI cbf_v1.2 응답 일치 테스트.
+ * - score/cbf_v1_2_parity.json 은 FastAPI /score/personal?algo=cbf_v1.2 (debug=true) 요청/응답 기록
+ *   (요청은 FastAPI 스키마 그대로, 후보 태그 weight 는 Candidate TagPreference.score 로 옮겨 입력)
+ * - 요청 값이 float 로 전달되므로 점수는 1e-6, 4자리 반올림된 debug 값은 1e-4 이내 차이 허용
+ */
+class CbfV12ScoringEngineTest {
+
+	private static final double SCORE_TOLERANCE = 1e-6;
+	private static final double DEBUG_TOLERANCE = 1.0001e-4;
+
+	private final CbfV12ScoringEngine engine = new CbfV12ScoringEngine();
+
+	@Test
+	@DisplayName("기록된 FastAPI 응답과 후보 순서, 점수, debug 항목이 일치")
+	void parityWithRecordedFastApiResponses() throws IOException {
+		JsonNode fixture = readFixture();
+
+		for (JsonNode testCase : fixture.get("cases")) {
+			String name = testCase.get("name").asText();
+			PersonalScoreResponse res = engine.score(toRequest(testCase.get("request")), "cbf_v1.2", true);
+			JsonNode expected = testCase.get("response").get("scores");
+
+			assertThat(res.items()).as(name).hasSize(expected.size());
+			assertThat(res.debug().get("algo_version")).isEqualTo(testCase.get("response").get("algo_version").asText());
+			for (int i = 0; i < expected.size(); i++) {
+				JsonNode exp = expected.get(i);
+				PersonalScoreResponse.ScoredItem item = res.items().get(i);
+				String label = name + " / restaurant_id=" + exp.get("restaurant_id").asLong();
+
+				assertThat(item.restaurantId()).as(label).isEqualTo(exp.get("restaurant_id").asLong());
+				assertThat(item.score()).as(label).isCloseTo(exp.get("score").asDouble(), within(SCORE_TOLERANCE));
+
+				JsonNode expDebug = exp.get("debug");
+				assertThat(item.reasons().keySet()).as(label).containsExactlyElementsOf(fieldNames(expDebug));
+				for (String key : fieldNames(expDebug)) {
+					JsonNode v = expDebug.get(key);
+					Object actual = item.reasons().get(key);
+					if (v.isNull()) {
+						assertThat(actual).as(label + " " + key).isNull();
+					} else if (v.isBoolean()) {
+						assertThat(actual).as(label + " " + key).isEqualTo(v.booleanValue());
+					} else {
+						assertThat(((Number)actual).doubleValue()).as(label + " " + key)
+							.isCloseTo(v.asDouble(), within(DEBUG_TOLERANCE));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("debug 미요청 시 reasons 없음, 지원 알고리즘은 cbf_v1.2 만")
+	void withoutDebug() {
+		PersonalScoreRequest req = PersonalScoreRequest.of(1L, Map.of(), List.of(
+			new PersonalScoreRequest.Candidate(10L, null, null, null, null, null, false, null)
+		));
+
+		PersonalScoreResponse res = engine.score(req, "cbf_v1.2", false);
+
+		assertThat(res.items()).hasSize(1);
+		assertThat(res.items().get(0).score()).isCloseTo(0.0085, within(1e-12)); // 정보 없음 0.01 * 콜드스타트 0.85
+		assertThat(res.items().get(0).reasons()).isNull();
+		assertThat(engine.supports("cbf_v1.2")).isTrue();
+		assertThat(engine.supports("ml_v1")).isFalse();
+	}
+
+	private static JsonNode readFixture() throws IOException {
+		try (InputStream in = CbfV12ScoringEngineTest.class.getResourceAsStream("/score/cbf_v1_2_parity.json")) {
+			assertThat(in).isNotNull();
+			return new ObjectMapper().readTree(in);
+		}
+	}
+
+	/** FastAPI 요청 JSON → PersonalScoreRequest (MainConverter.convertToFastApiSchema 의 역변환) */
+	private static PersonalScoreRequest toRequest(JsonNode json) {
+		Map<Long, PersonalScoreRequest.TagPreference> userPref = new LinkedHashMap<>();
+		JsonNode userTags = json.get("user").get("tag_pref");
+		for (String tagId : fieldNames(userTags)) {
+			JsonNode p = userTags.get(tagId);
+			userPref.put(Long.valueOf(tagId), new PersonalScoreRequest.TagPreference(
+				(float)p.get("score").asDouble(), (float)p.get("confidence").asDouble()));
+		}
+
+		List<PersonalScoreRequest.Candidate> candidates = new ArrayList<>();
+		for (JsonNode c : json.get("candidates")) {
+			Map<Long, PersonalScoreRequest.TagPreference> tags = new LinkedHashMap<>();
+			JsonNode candTags = c.get("tag_pref");
+			for (String tagId : fieldNames(candTags)) {
+				JsonNode p = candTags.get(tagId);
+				tags.put(Long.valueOf(tagId), new PersonalScoreRequest.TagPreference(
+					(float)p.get("weight").asDouble(), (float)p.get("confidence").asDouble()));
+			}
+			candidates.add(new PersonalScoreRequest.Candidate(
+				c.get("restaurant_id").asLong(),
+				tags,
+				(float)c.get("distance_m").asDouble(),
+				null,
+				null,
+				nullableFloat(c.get("pref_score")),
+				c.get("has_interaction_recent").isNull() ? null : c.get("has_interaction_recent").booleanValue(),
+				nullableFloat(c.get("engagement_boost"))
+			));
+		}
+		return PersonalScoreRequest.of(json.get("user").get("user_id").asLong(), userPref, candidates);
+	}
+
+	private static Float nullableFloat(JsonNode v) {
+		return v == null || v.isNull() ? null : (float)v.asDouble();
+	}
+
+	private static List<String> fieldNames(JsonNode node) {
+		List<String> names = new ArrayList<>();
+		for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+			names.add(it.next());
+		}
+		return names;
+	}
+}
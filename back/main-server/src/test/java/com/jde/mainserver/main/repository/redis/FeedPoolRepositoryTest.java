@@ -0,0 +1,27 @@
+package com.jde.mainserver.main.repository.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FeedPoolRepository 엔트리 인코딩 단위 테스트.
+ * - 고정 길이(13 byte) 레이아웃과 null 거리/영업 여부 표현을 검증한다.
+ */
+class FeedPoolRepositoryTest {
+
+	@Test
+	@DisplayName("엔트리 인코딩/디코딩: 고정 길이, 값 및 null 유지")
+	void encodeDecode_roundTrip() {
+		FeedPoolRepository.Entry full = new FeedPoolRepository.Entry(1234567890123L, 850, true);
+		FeedPoolRepository.Entry closed = new FeedPoolRepository.Entry(7L, 0, false);
+		FeedPoolRepository.Entry unknown = new FeedPoolRepository.Entry(8L, null, null);
+
+		for (FeedPoolRepository.Entry entry : new FeedPoolRepository.Entry[] {full, closed, unknown}) {
+			byte[] bytes = FeedPoolRepository.encode(entry);
+			assertThat(bytes).hasSize(FeedPoolRepository.ENTRY_BYTES);
+			assertThat(FeedPoolRepository.decode(bytes)).isEqualTo(entry);
+		}
+	}
+}
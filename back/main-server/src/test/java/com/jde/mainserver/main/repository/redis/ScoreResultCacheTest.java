@@ -0,0 +1,104 @@
+package com.jde.mainserver.main.repository.redis;
+
+import com.jde.mainserver.main.web.dto.request.PersonalScoreRequest;
+import com.jde.mainserver.main.web.dto.response.PersonalScoreResponse;
+import com.jde.mainserver.plan.web.dto.request.GroupScoreReqeust;
+import com.jde.mainserver.plan.web.dto.response.GroupScoreResponse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ScoreResultCache 키/값 단위 테스트.
+ * - 입력 지문이 태그/참여자 순서에 무관하고 요청에 실린 태그 선호/후보 feature 변경에는 달라지는지,
+ *   점수 결과 인코딩이 값과 순서를 유지하는지 검증한다.
+ */
+class ScoreResultCacheTest {
+
+	@Test
+	@DisplayName("개인 지문: 태그 순서 무관, 사용자 태그 선호/알고리즘/후보 feature 가 바뀌면 다른 키")
+	void personalFingerprint() {
+		PersonalScoreRequest base = personalRequest(0.8f, false, 0.5f);
+		PersonalScoreRequest reordered = personalRequest(0.8f, true, 0.5f);
+		String key = ScoreResultCache.personalFingerprint(base, "ml_v1");
+
+		assertThat(key).hasSize(32);
+		assertThat(ScoreResultCache.personalFingerprint(reordered, "ml_v1")).isEqualTo(key);
+		assertThat(ScoreResultCache.personalFingerprint(personalRequest(0.8f, false, 0.6f), "ml_v1")).isNotEqualTo(key);
+		assertThat(ScoreResultCache.personalFingerprint(base, "cbf_v1.2")).isNotEqualTo(key);
+		assertThat(ScoreResultCache.personalFingerprint(personalRequest(0.9f, false, 0.5f), "ml_v1")).isNotEqualTo(key);
+	}
+
+	@Test
+	@DisplayName("그룹 지문: 참여자 순서 무관, 참여자 태그 선호가 바뀌면 다른 키")
+	void groupFingerprint() {
+		String key = ScoreResultCache.groupFingerprint(groupRequest(List.of(member(1L, 0.5f), member(2L, -0.2f))));
+
+		assertThat(ScoreResultCache.groupFingerprint(groupRequest(List.of(member(2L, -0.2f), member(1L, 0.5f)))))
+			.isEqualTo(key);
+		assertThat(ScoreResultCache.groupFingerprint(groupRequest(List.of(member(1L, 0.5f), member(2L, -0.1f)))))
+			.isNotEqualTo(key);
+	}
+
+	@Test
+	@DisplayName("결과 인코딩/디코딩: 순서, 점수, 알고리즘 버전, null 그룹 점수 유지")
+	void encodeDecode_roundTrip() {
+		PersonalScoreResponse personal = new PersonalScoreResponse(
+			List.of(
+				new PersonalScoreResponse.ScoredItem(30L, 0.91, null),
+				new PersonalScoreResponse.ScoredItem(10L, -0.25, null)
+			),
+			Map.of("algo_version", "ml_v1", "elapsed_ms", 12)
+		);
+		PersonalScoreResponse decoded = ScoreResultCache.decodePersonal(ScoreResultCache.encodePersonal(personal, "ml_v1"));
+
+		assertThat(decoded.items()).containsExactlyElementsOf(personal.items());
+		assertThat(decoded.debug()).containsEntry("algo_version", "ml_v1");
+
+		Map<Long, Float> scores = new HashMap<>();
+		scores.put(1L, 0.5f);
+		scores.put(2L, null);
+		GroupScoreResponse group = ScoreResultCache.decodeGroup(
+			ScoreResultCache.encodeGroup(GroupScoreResponse.builder().scores(scores).build()));
+
+		assertThat(group.getScores()).isEqualTo(scores);
+		assertThat(ScoreResultCache.decodePersonal(new byte[] {0, 5})).isNull();
+	}
+
+	private static PersonalScoreRequest personalRequest(float prefScore, boolean reversedTags, float userPref) {
+		Map<Long, PersonalScoreRequest.TagPreference> tags = new LinkedHashMap<>();
+		List<Long> tagIds = reversedTags ? List.of(3L, 2L, 1L) : List.of(1L, 2L, 3L);
+		for (Long tagId : tagIds) {
+			tags.put(tagId, new PersonalScoreRequest.TagPreference(tagId * 0.1f, 1f));
+		}
+		PersonalScoreRequest.Candidate candidate = new PersonalScoreRequest.Candidate(
+			10L, tags, 350f, true, "MEDIUM", prefScore, false, 0.1f);
+		return PersonalScoreRequest.of(7L, Map.of(1L, new PersonalScoreRequest.TagPreference(userPref, 0.4f)),
+			List.of(candidate));
+	}
+
+	private static GroupScoreReqeust groupRequest(List<GroupScoreReqeust.UserPrefFeature> members) {
+		return GroupScoreReqeust.builder()
+			.members(members)
+			.candidates(List.of(GroupScoreReqeust.CandidateFeature.builder()
+				.restaurantId(10L)
+				.distanceM(120f)
+				.tagPref(Map.of(1L, GroupScoreReqeust.TagPreference.builder().weight(1f).confidence(1f).build()))
+				.build()))
+			.build();
+	}
+
+	private static GroupScoreReqeust.UserPrefFeature member(long userId, float score) {
+		return GroupScoreReqeust.UserPrefFeature.builder()
+			.userId(userId)
+			.tagPref(Map.of(1L, GroupScoreReqeust.TagPreference.builder().score(score).confidence(0.5f).build()))
+			.build();
+	}
+}
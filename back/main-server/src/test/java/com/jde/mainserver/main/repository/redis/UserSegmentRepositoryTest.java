@@ -0,0 +1,69 @@
+package com.jde.mainserver.main.repository.redis;
+
+import com.jde.mainserver.main.entity.enums.UserSegment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserSegmentRepository 단위 테스트.
+ * - 기록이 없을 때만 DB 확인을 호출하는지, 기존 회원은 이후 Redis 조회 없이 구분되는지,
+ *   신규 회원은 SET NX 로만 기록되는지 검증한다.
+ */
+class UserSegmentRepositoryTest {
+
+	private ValueOperations<String, String> ops;
+	private UserSegmentRepository sut;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		StringRedisTemplate template = mock(StringRedisTemplate.class);
+		ops = mock(ValueOperations.class);
+		when(template.opsForValue()).thenReturn(ops);
+		sut = new UserSegmentRepository(template, 600_000, 100);
+	}
+
+	@Test
+	@DisplayName("비회원은 GUEST, 기록된 NEW 는 DB 확인 없이 NEW")
+	void guestAndStoredNew() {
+		when(ops.get("user:segment:1")).thenReturn("NEW");
+
+		assertThat(sut.classify(null, () -> true)).isEqualTo(UserSegment.GUEST);
+		assertThat(sut.classify(1L, () -> {
+			throw new AssertionError("DB 확인 호출됨");
+		})).isEqualTo(UserSegment.NEW);
+	}
+
+	@Test
+	@DisplayName("기록이 없고 선호가 있으면 EXISTING 기록, 이후 Redis/DB 조회 없이 EXISTING")
+	void existingIsMaterialized() {
+		AtomicInteger checks = new AtomicInteger();
+
+		assertThat(sut.classify(2L, () -> checks.incrementAndGet() > 0)).isEqualTo(UserSegment.EXISTING);
+		assertThat(sut.classify(2L, () -> checks.incrementAndGet() > 0)).isEqualTo(UserSegment.EXISTING);
+
+		assertThat(checks.get()).isEqualTo(1);
+		verify(ops, times(1)).get("user:segment:2");
+		verify(ops).set(eq("user:segment:2"), eq("EXISTING"), any(Duration.class));
+	}
+
+	@Test
+	@DisplayName("기록이 없고 선호가 없으면 NEW 를 SET NX 로 기록")
+	void newIsStoredIfAbsent() {
+		assertThat(sut.classify(3L, () -> false)).isEqualTo(UserSegment.NEW);
+
+		verify(ops).setIfAbsent(eq("user:segment:3"), eq("NEW"), any(Duration.class));
+		verify(ops, never()).set(anyString(), anyString(), any(Duration.class));
+	}
+}
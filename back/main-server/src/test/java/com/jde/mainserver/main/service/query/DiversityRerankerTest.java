@@ -0,0 +1,92 @@
+package com.jde.mainserver.main.service.query;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DiversityReranker 가 기존 selectNextItem / selectNextItemForGuest 와 같은 순서를 내는지 검증한다.
+ * - 무작위 풀(카테고리/태그 분포, 동점, 음수/0 점수, 정보 없는 식당 포함)을 기존 구현 사본과 비교
+ */
+class DiversityRerankerTest {
+
+	private static final int BATCH_SIZE = 10;
+	private static final String[] CATEGORY1 = {"음식점", "카페"};
+	private static final String[] CATEGORY2 = {"한식", "일식", "중식", "양식", "분식", "술집", "카페"};
+	private static final String[] CATEGORY3 = {"국밥", "초밥", "짜장면", "파스타", "떡볶이", "이자카야", null};
+
+	@Test
+	@DisplayName("개인화/비회원 재배치: 무작위 풀에서 기존 구현과 순서 동일")
+	void matchesLegacyOrdering() {
+		Random random = new Random(20251121L);
+		for (int round = 0; round < 300; round++) {
+			int size = 1 + random.nextInt(round < 200 ? 60 : 400);
+			List<LegacyDiversityReranker.Item> items = randomPool(random, size);
+			DiversityReranker reranker = toReranker(items);
+
+			assertThat(reranker.reorderPersonal(BATCH_SIZE))
+				.as("personal round=%d size=%d", round, size)
+				.containsExactly(LegacyDiversityReranker.reorderPersonal(items, BATCH_SIZE));
+			assertThat(reranker.reorderGuest(BATCH_SIZE))
+				.as("guest round=%d size=%d", round, size)
+				.containsExactly(LegacyDiversityReranker.reorderGuest(items, BATCH_SIZE));
+		}
+	}
+
+	@Test
+	@DisplayName("개인화 재배치: 카테고리가 겹치면 건너뛰고 윈도우를 벗어나면 다시 선택 가능")
+	void personal_skipsOverlappingCategory() {
+		DiversityReranker reranker = new DiversityReranker()
+			.add(0.9, null, "한식", null, Set.of(1L))
+			.add(0.8, null, "한식", null, Set.of(2L))
+			.add(0.7, null, "일식", null, Set.of(3L))
+			.add(0.6, null, "중식", null, Set.of(1L, 3L));
+
+		// 윈도우 2: 한식(0) -> 일식(2) -> 한식은 카테고리, 중식은 태그 1,3 이 겹쳐 모두 제외 -> 남은 첫 번째(1) -> 중식(3)
+		assertThat(reranker.reorderPersonal(2)).containsExactly(0, 2, 1, 3);
+	}
+
+	static DiversityReranker toReranker(List<LegacyDiversityReranker.Item> items) {
+		DiversityReranker reranker = new DiversityReranker();
+		for (LegacyDiversityReranker.Item item : items) {
+			LegacyDiversityReranker.Info info = item.info();
+			if (info == null) {
+				reranker.addWithoutInfo(item.score());
+			} else {
+				reranker.add(item.score(), info.category1(), info.category2(), info.category3(), info.tagIds());
+			}
+		}
+		return reranker;
+	}
+
+	static List<LegacyDiversityReranker.Item> randomPool(Random random, int size) {
+		List<LegacyDiversityReranker.Item> items = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			// 점수: 소수점 1자리로 동점 유도, 일부 음수/0
+			double score = Math.round((random.nextDouble() * 3.0 - 0.5) * 10) / 10.0;
+			if (random.nextInt(20) == 0) {
+				items.add(new LegacyDiversityReranker.Item(i, score, null));
+				continue;
+			}
+			Set<Long> tags = new HashSet<>();
+			int tagCount = random.nextInt(6);
+			for (int t = 0; t < tagCount; t++) {
+				tags.add((long)random.nextInt(25));
+			}
+			items.add(new LegacyDiversityReranker.Item(i, score, new LegacyDiversityReranker.Info(
+				random.nextInt(4) == 0 ? null : CATEGORY1[random.nextInt(CATEGORY1.length)],
+				CATEGORY2[random.nextInt(CATEGORY2.length)],
+				CATEGORY3[random.nextInt(CATEGORY3.length)],
+				tags
+			)));
+		}
+		return items;
+	}
+}
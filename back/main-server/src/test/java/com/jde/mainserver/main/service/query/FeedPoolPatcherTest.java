@@ -0,0 +1,65 @@
+package com.jde.mainserver.main.service.query;
+
+import com.jde.mainserver.main.repository.redis.FeedPoolRepository.Entry;
+import com.jde.mainserver.restaurants.catalog.RestaurantCatalogSnapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FeedPoolPatcher 미노출 구간 재정렬 단위 테스트.
+ * - DISLIKE 식당 제거, 겹치는 태그 친화도에 따른 이동 방향, 이동 없는 식당의 순서 유지를 검증한다.
+ */
+class FeedPoolPatcherTest {
+
+	private static final RestaurantCatalogSnapshot CATALOG = new RestaurantCatalogSnapshot.Builder()
+		.addRestaurant(1, null, null, null, null, null, null, null, null, null)
+		.addRestaurant(2, null, null, null, null, null, null, null, null, null)
+		.addRestaurant(3, null, null, null, null, null, null, null, null, null)
+		.addRestaurant(4, null, null, null, null, null, null, null, null, null)
+		.addRestaurant(9, null, null, null, null, null, null, null, null, null)
+		.addTag(9, 100, 1.0f, 1.0f)
+		.addTag(9, 200, 1.0f, 1.0f)
+		.addTag(4, 100, 1.0f, 1.0f)
+		.addTag(4, 200, 1.0f, 1.0f)
+		.addTag(2, 300, 1.0f, 1.0f)
+		.build();
+
+	@Test
+	@DisplayName("DISLIKE: 스와이프 식당 제거, 태그가 겹치는 식당은 뒤로 이동")
+	void dislikeDropsAndPushesBack() {
+		List<Entry> unserved = List.of(entry(4), entry(9), entry(1), entry(2), entry(3));
+
+		List<Entry> patched = FeedPoolPatcher.reorder(unserved, 9, true, -0.20, 15, CATALOG);
+
+		// 4: 0 - (-0.4 x 15) = 6 -> 태그가 겹치지 않는 1(2), 2(3), 3(4) 뒤
+		assertThat(patched).extracting(Entry::restaurantId).containsExactly(1L, 2L, 3L, 4L);
+	}
+
+	@Test
+	@DisplayName("SELECT: 태그가 겹치는 식당은 앞으로 이동, 스와이프 식당은 유지")
+	void selectPullsForward() {
+		List<Entry> unserved = List.of(entry(1), entry(2), entry(3), entry(9), entry(4));
+
+		List<Entry> patched = FeedPoolPatcher.reorder(unserved, 9, false, 0.15, 10, CATALOG);
+
+		// 9: 3 - 0.3 x 10 = 0, 4: 4 - 3 = 1 -> 같은 위치는 기존 순서 유지 (1 -> 9, 2 -> 4)
+		assertThat(patched).extracting(Entry::restaurantId).containsExactly(1L, 9L, 2L, 4L, 3L);
+	}
+
+	@Test
+	@DisplayName("스냅샷에 없는 식당을 스와이프하면 순서 변경 없음")
+	void unknownRestaurantKeepsOrder() {
+		List<Entry> unserved = List.of(entry(1), entry(4), entry(2));
+
+		assertThat(FeedPoolPatcher.reorder(unserved, 77, false, 0.15, 10, CATALOG)).isEqualTo(unserved);
+	}
+
+	private static Entry entry(long restaurantId) {
+		return new Entry(restaurantId, 100, true);
+	}
+}
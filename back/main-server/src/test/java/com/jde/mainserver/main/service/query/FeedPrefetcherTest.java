@@ -0,0 +1,73 @@
+package com.jde.mainserver.main.service.query;
+
+import com.jde.mainserver.main.web.dto.response.FeedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FeedPrefetcher 슬롯 동작 단위 테스트.
+ * - 같은 offset/debug 요청만 꺼낼 수 있고, 한 번 꺼내면 제거되며, 무효화/비활성 시 미리 준비를 쓰지 않는지 검증한다.
+ */
+class FeedPrefetcherTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final FeedPrefetcher prefetcher = new FeedPrefetcher(registry, true, 1, 4, 30_000, 100);
+
+	@AfterEach
+	void tearDown() {
+		prefetcher.shutdown();
+	}
+
+	@Test
+	@DisplayName("다음 배치 준비 후 같은 offset/debug 요청 1회만 hit")
+	void scheduleAndTake() throws InterruptedException {
+		FeedResponse next = new FeedResponse(List.of(), "20");
+		prefetcher.schedule("feed:pool:user:1", 1L, 10, false, () -> next);
+
+		assertThat(awaitTake("feed:pool:user:1", 10, false)).isSameAs(next);
+		assertThat(prefetcher.take("feed:pool:user:1", 10, false)).isNull(); // 이미 꺼냄
+
+		prefetcher.schedule("feed:pool:user:1", 1L, 10, false, () -> next);
+		Thread.sleep(100);
+		assertThat(prefetcher.take("feed:pool:user:1", 20, false)).isNull(); // offset 다름
+		assertThat(prefetcher.take("feed:pool:user:1", 10, true)).isNull();  // debug 다름
+		assertThat(registry.counter("feed.prefetch.requests", "result", "hit").count()).isEqualTo(1.0);
+	}
+
+	@Test
+	@DisplayName("회원 무효화 후에는 준비된 배치를 쓰지 않음")
+	void invalidateUser() throws InterruptedException {
+		prefetcher.schedule("feed:pool:user:2", 2L, 10, false, () -> new FeedResponse(List.of(), null));
+		Thread.sleep(100);
+		prefetcher.invalidateUser(2L);
+
+		assertThat(prefetcher.take("feed:pool:user:2", 10, false)).isNull();
+	}
+
+	@Test
+	@DisplayName("비활성 상태면 예약/조회 모두 무시")
+	void disabled() {
+		FeedPrefetcher off = new FeedPrefetcher(new SimpleMeterRegistry(), false, 1, 4, 30_000, 100);
+		off.schedule("feed:pool:user:3", 3L, 10, false, () -> new FeedResponse(List.of(), null));
+
+		assertThat(off.take("feed:pool:user:3", 10, false)).isNull();
+		off.shutdown();
+	}
+
+	private FeedResponse awaitTake(String key, int offset, boolean debug) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			FeedResponse r = prefetcher.take(key, offset, debug);
+			if (r != null) {
+				return r;
+			}
+			Thread.sleep(10);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,55 @@
+package com.jde.mainserver.main.service.query;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GuestFeedCursor 인코딩/해석 단위 테스트.
+ */
+class GuestFeedCursorTest {
+
+	@Test
+	@DisplayName("인코딩 후 해석하면 주기/시드/인덱스/요약값 유지 (음수 시드/요약값 포함)")
+	void encodeAndParse() {
+		GuestFeedCursor cursor = new GuestFeedCursor(2_948_112L, -8_123_456_789_012L, 30, Long.MIN_VALUE + 7);
+
+		assertThat(GuestFeedCursor.parse(cursor.encode())).isEqualTo(cursor);
+		assertThat(cursor.encode()).doesNotContain("=", "+", "/");
+	}
+
+	@Test
+	@DisplayName("숫자 커서/깨진 커서/음수 인덱스는 null (첫 요청으로 처리)")
+	void invalidCursor() {
+		assertThat(GuestFeedCursor.parse(null)).isNull();
+		assertThat(GuestFeedCursor.parse("")).isNull();
+		assertThat(GuestFeedCursor.parse("10")).isNull();
+		assertThat(GuestFeedCursor.parse("!!not-base64")).isNull();
+		assertThat(GuestFeedCursor.parse(new GuestFeedCursor(1L, 1L, -10, 0L).encode())).isNull();
+	}
+
+	@Test
+	@DisplayName("이전 형식(g1, 요약값 없음) 커서는 null")
+	void legacyCursor() {
+		String legacy = Base64.getUrlEncoder().withoutPadding()
+			.encodeToString("g1.1.1.10".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(GuestFeedCursor.parse(legacy)).isNull();
+	}
+
+	@Test
+	@DisplayName("요약값은 노출 순서와 식당 ID가 같을 때만 같음")
+	void digestFollowsOrder() {
+		long served = GuestFeedCursor.digest(List.of(10L, 20L, 30L));
+
+		assertThat(GuestFeedCursor.digest(List.of(10L, 20L, 30L))).isEqualTo(served);
+		assertThat(GuestFeedCursor.digest(List.of(20L, 10L, 30L))).isNotEqualTo(served);
+		assertThat(GuestFeedCursor.digest(List.of(10L, 20L, 31L))).isNotEqualTo(served);
+		assertThat(GuestFeedCursor.digest(List.of(10L, 20L))).isNotEqualTo(served);
+	}
+}
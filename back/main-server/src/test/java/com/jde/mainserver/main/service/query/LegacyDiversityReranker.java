@@ -0,0 +1,132 @@
+package com.jde.mainserver.main.service.query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 기존 MainQueryServiceImpl.selectNextItem / selectNextItemForGuest 구현 사본 (동등성 테스트, JMH 비교용).
+ * - 아이템은 입력 인덱스로 다루며, info 가 null 이면 식당 정보 없음
+ */
+final class LegacyDiversityReranker {
+
+	record Info(String category1, String category2, String category3, Set<Long> tagIds) {
+	}
+
+	record Item(int index, double score, Info info) {
+	}
+
+	private LegacyDiversityReranker() {
+	}
+
+	static int[] reorderPersonal(List<Item> items, int batchSize) {
+		List<Item> result = new ArrayList<>();
+		List<Item> remaining = new ArrayList<>(items);
+		while (!remaining.isEmpty()) {
+			Item selected = selectNextItem(remaining, result, batchSize);
+			result.add(selected);
+			remaining.remove(selected);
+		}
+		return result.stream().mapToInt(Item::index).toArray();
+	}
+
+	static int[] reorderGuest(List<Item> items, int batchSize) {
+		List<Item> result = new ArrayList<>();
+		List<Item> remaining = new ArrayList<>(items);
+		while (!remaining.isEmpty()) {
+			Item selected = selectNextItemForGuest(remaining, result, batchSize);
+			if (selected == null) {
+				selected = remaining.get(0);
+			}
+			result.add(selected);
+			remaining.remove(selected);
+		}
+		return result.stream().mapToInt(Item::index).toArray();
+	}
+
+	private static Item selectNextItemForGuest(List<Item> candidates, List<Item> selected, int batchSize) {
+		if (candidates.isEmpty()) {
+			return null;
+		}
+		int lookbackSize = Math.min(batchSize, selected.size());
+		Set<String> recentCategories = new HashSet<>();
+		for (int i = selected.size() - lookbackSize; i < selected.size(); i++) {
+			if (i >= 0) {
+				Info info = selected.get(i).info();
+				if (info != null) {
+					if (info.category1() != null)
+						recentCategories.add(info.category1());
+					if (info.category2() != null)
+						recentCategories.add(info.category2());
+					if (info.category3() != null)
+						recentCategories.add(info.category3());
+				}
+			}
+		}
+		for (Item item : candidates) {
+			Info info = item.info();
+			if (info == null)
+				continue;
+			if (!overlaps(info, recentCategories) && item.score() > 0.0) {
+				return item;
+			}
+		}
+		for (Item item : candidates) {
+			Info info = item.info();
+			if (info == null)
+				continue;
+			if (!overlaps(info, recentCategories)) {
+				return item;
+			}
+		}
+		return candidates.get(0);
+	}
+
+	private static Item selectNextItem(List<Item> candidates, List<Item> selected, int batchSize) {
+		int lookbackSize = Math.min(batchSize, selected.size());
+		Set<String> recentCategories = new HashSet<>();
+		Set<Long> recentTagIds = new HashSet<>();
+		for (int i = selected.size() - lookbackSize; i < selected.size(); i++) {
+			if (i >= 0) {
+				Info info = selected.get(i).info();
+				if (info != null) {
+					if (info.category1() != null)
+						recentCategories.add(info.category1());
+					if (info.category2() != null)
+						recentCategories.add(info.category2());
+					if (info.category3() != null)
+						recentCategories.add(info.category3());
+					recentTagIds.addAll(info.tagIds());
+				}
+			}
+		}
+		Item bestDiverseItem = null;
+		double bestDiverseScore = Double.NEGATIVE_INFINITY;
+		for (Item item : candidates) {
+			Info info = item.info();
+			if (info == null) {
+				continue;
+			}
+			long tagOverlapCount = info.tagIds().stream()
+				.filter(recentTagIds::contains)
+				.count();
+			if (!overlaps(info, recentCategories) && tagOverlapCount < 2) {
+				if (item.score() > bestDiverseScore) {
+					bestDiverseScore = item.score();
+					bestDiverseItem = item;
+				}
+			}
+		}
+		if (bestDiverseItem != null) {
+			return bestDiverseItem;
+		}
+		return candidates.get(0);
+	}
+
+	private static boolean overlaps(Info info, Set<String> recentCategories) {
+		return (info.category1() != null && recentCategories.contains(info.category1()))
+			|| (info.category2() != null && recentCategories.contains(info.category2()))
+			|| (info.category3() != null && recentCategories.contains(info.category3()));
+	}
+}
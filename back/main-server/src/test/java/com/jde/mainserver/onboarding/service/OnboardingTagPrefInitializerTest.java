@@ -2,7 +2,9 @@ package com.jde.mainserver.onboarding.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jde.mainserver.onboarding.OnboardingSurveyStore;
+import com.jde.mainserver.main.repository.UserTagPrefCache;
 import com.jde.mainserver.main.repository.UserTagPrefRepository;
+import com.jde.mainserver.main.repository.redis.UserSegmentRepository;
 import com.jde.mainserver.restaurants.entity.Tag;
 import com.jde.mainserver.restaurants.entity.Tag.TagType;
 import com.jde.mainserver.restaurants.repository.TagRepository;
@@ -28,6 +30,8 @@ class OnboardingTagPrefInitializerTest {
 	private OnboardingSurveyStore store;
 	private TagRepository tagRepository;
 	private UserTagPrefRepository userTagPrefRepository;
+	private UserTagPrefCache userTagPrefCache;
+	private UserSegmentRepository userSegmentRepository;
 	private ObjectMapper objectMapper;
 	private OnboardingTagPrefInitializer sut;
 
@@ -36,8 +40,10 @@ class OnboardingTagPrefInitializerTest {
 		store = mock(OnboardingSurveyStore.class);
 		tagRepository = mock(TagRepository.class);
 		userTagPrefRepository = mock(UserTagPrefRepository.class);
+		userTagPrefCache = mock(UserTagPrefCache.class);
+		userSegmentRepository = mock(UserSegmentRepository.class);
 		objectMapper = new ObjectMapper();
-		sut = new OnboardingTagPrefInitializer(store, tagRepository, userTagPrefRepository, objectMapper);
+		sut = new OnboardingTagPrefInitializer(store, tagRepository, userTagPrefRepository, userTagPrefCache, userSegmentRepository, objectMapper);
 	}
 
 	@Test
@@ -0,0 +1,55 @@
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.entity.enums.PriceRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NearbyRestaurantCursor 링 확장 단위 테스트 (공간 인덱스 기반).
+ * - 링 결과를 이어 붙이면 마지막 반경/수량으로 한 번 조회한 결과와 같아야 한다.
+ */
+class NearbyRestaurantCursorTest {
+
+	private static final double LAT = 37.5;
+	private static final double LNG = 127.0;
+
+	@Test
+	@DisplayName("링 확장: 이미 반환한 식당은 제외, 누적 결과는 단일 조회와 동일")
+	void expand_ringsMatchSingleQuery() {
+		RestaurantCatalogSnapshot.Builder builder = new RestaurantCatalogSnapshot.Builder();
+		for (long id = 1; id <= 40; id++) {
+			// 약 0.25km 간격으로 북쪽으로 배치 (id 21, 22 는 같은 좌표)
+			double lat = LAT + 0.00225 * (id == 22 ? 21 : id);
+			builder.addRestaurant(id, lat, LNG, null, null, "음식점", id % 2 == 0 ? "한식" : "일식", null,
+				PriceRange.LOW, null);
+		}
+		RestaurantCatalogSnapshot snapshot = builder.build();
+		RestaurantSpatialIndex index = new RestaurantSpatialIndex();
+		index.apply(RestaurantCatalogSnapshot.EMPTY, snapshot);
+
+		NearbyRestaurantCursor cursor = NearbyRestaurantCursor.ofIndex(index, snapshot, LAT, LNG);
+		List<NearbyRestaurant> rings = new ArrayList<>();
+		List<NearbyRestaurant> first = cursor.expand(1000, 10);
+		rings.addAll(first);
+		rings.addAll(cursor.expand(2000, 25));
+		rings.addAll(cursor.expand(8000, 30));
+
+		assertThat(first).extracting(NearbyRestaurant::restaurantId).containsExactly(1L, 2L, 3L);
+		assertThat(first.get(1).category2()).isEqualTo("한식");
+		assertThat(first.get(1).priceRange()).isEqualTo("LOW");
+		assertThat(cursor.fetchedCount()).isEqualTo(30);
+
+		List<Long> single = index.withinRadius(LAT, LNG, 8000, 30).stream()
+			.map(RestaurantSpatialIndex.Hit::restaurantId)
+			.toList();
+		assertThat(rings).extracting(NearbyRestaurant::restaurantId).containsExactlyElementsOf(single);
+
+		// 누적 한도 도달 후에는 조회하지 않음
+		assertThat(cursor.expand(16000, 30)).isEmpty();
+	}
+}
@@ -0,0 +1,54 @@
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.service.WeeklySchedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.function.LongPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OpenSlotIndex 단위 테스트.
+ * - 슬롯 안에서 한 번이라도 영업하는 식당만 통과하는지, 심야 영업이 다음 날 슬롯에 반영되는지,
+ *   영업시간이 없거나 스냅샷에 없는 식당은 통과하는지 검증한다.
+ */
+class OpenSlotIndexTest {
+
+	@Test
+	@DisplayName("슬롯 단위 영업 식당 필터: 부분 겹침 포함, 심야 영업은 다음 날 새벽 슬롯까지")
+	void slotsFollowSchedules() {
+		RestaurantCatalogSnapshot.Builder builder = new RestaurantCatalogSnapshot.Builder();
+		for (long id = 1; id <= 3; id++) {
+			builder.addRestaurant(id, null, null, null, null, null, null, null, null, null);
+		}
+		// 1: 월 11:10 ~ 14:00, 2: 월 22:00 ~ 화 02:00, 3: 영업시간 없음
+		builder.addHour(1, 1, sec("11:10"), sec("14:00"), null, null, false);
+		builder.addHour(2, 1, sec("22:00"), sec("02:00"), null, null, false);
+		OpenSlotIndex index = new OpenSlotIndex();
+		assertThat(index.isReady()).isFalse();
+		assertThat(index.mayBeOpenAt(0)).isNull();
+
+		index.rebuild(builder.build());
+
+		LongPredicate monday1100 = index.mayBeOpenAt(at(1, "11:00"));
+		assertThat(monday1100.test(1)).isTrue();   // 11:00~11:15 슬롯 안에서 11:10 부터 영업
+		assertThat(monday1100.test(2)).isFalse();
+		assertThat(monday1100.test(3)).isTrue();   // 영업시간 없음 -> 필터 통과
+		assertThat(monday1100.test(99)).isTrue();  // 스냅샷에 없음 -> 호출부 판정
+
+		assertThat(index.mayBeOpenAt(at(1, "14:00")).test(1)).isFalse();
+		assertThat(index.mayBeOpenAt(at(2, "01:45")).test(2)).isTrue();
+		assertThat(index.mayBeOpenAt(at(2, "02:00")).test(2)).isFalse();
+	}
+
+	private static int at(int dow, String time) {
+		return (dow - 1) * WeeklySchedule.SECONDS_PER_DAY + sec(time);
+	}
+
+	private static int sec(String time) {
+		return LocalTime.parse(time).toSecondOfDay();
+	}
+}
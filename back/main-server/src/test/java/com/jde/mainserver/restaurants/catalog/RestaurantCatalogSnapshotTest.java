@@ -0,0 +1,84 @@
+package com.jde.mainserver.restaurants.catalog;
+
+import com.jde.mainserver.restaurants.entity.enums.PriceRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RestaurantCatalogSnapshot 파일 기록/mmap 읽기 단위 테스트.
+ * - ordinal 조회, null 표현, 태그/영업시간 CSR 구간을 검증한다.
+ */
+class RestaurantCatalogSnapshotTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName("파일 기록 후 mmap: 식당 ID 오름차순 ordinal, 컬럼 값 및 null 표현 유지")
+	void writeAndOpen_roundTrip() {
+		RestaurantCatalogSnapshot snapshot = new RestaurantCatalogSnapshot.Builder()
+			.fingerprint("3:2025-11-20")
+			.addRestaurant(30L, 37.5, 127.0, 4.1, 12, "음식점", "한식", "국밥", PriceRange.LOW, 1000L)
+			.addRestaurant(10L, null, null, null, null, "음식점", "술집", null, null, null)
+			.addRestaurant(20L, 37.6, 127.1, 0.0, 0, "음식점", "한식", null, PriceRange.HIGH, 2000L)
+			.addTag(30L, 7L, 1.5f, 0.8f)
+			.addTag(30L, 3L, -0.5f, 0.4f)
+			.addTag(99L, 1L, 1.0f, 1.0f) // 존재하지 않는 식당 → 무시
+			.addHour(30L, 1, 11 * 3600, 22 * 3600, 15 * 3600, 16 * 3600, false)
+			.addHour(30L, 0, null, null, null, null, true)
+			.writeTo(tempDir.resolve("catalog.bin"));
+
+		assertThat(snapshot.size()).isEqualTo(3);
+		assertThat(snapshot.fingerprint()).isEqualTo("3:2025-11-20");
+		assertThat(snapshot.ordinalOf(10L)).isZero();
+		assertThat(snapshot.ordinalOf(20L)).isEqualTo(1);
+		assertThat(snapshot.ordinalOf(30L)).isEqualTo(2);
+		assertThat(snapshot.ordinalOf(15L)).isEqualTo(-1);
+
+		int ord = snapshot.ordinalOf(30L);
+		assertThat(snapshot.rating(ord)).isEqualTo(4.1);
+		assertThat(snapshot.reviewCount(ord)).isEqualTo(12);
+		assertThat(snapshot.category2(ord)).isEqualTo("한식");
+		assertThat(snapshot.category3(ord)).isEqualTo("국밥");
+		assertThat(snapshot.priceRange(ord)).isEqualTo(PriceRange.LOW);
+		assertThat(snapshot.hasRatingOrReview(ord)).isTrue();
+
+		// 태그는 tag_id 오름차순
+		assertThat(snapshot.tagEnd(ord) - snapshot.tagStart(ord)).isEqualTo(2);
+		assertThat(snapshot.tagId(snapshot.tagStart(ord))).isEqualTo(3L);
+		assertThat(snapshot.tagWeight(snapshot.tagStart(ord))).isEqualTo(-0.5f);
+
+		// 영업시간은 입력 순서 유지, null 은 -1
+		int hourRow = snapshot.hourStart(ord);
+		assertThat(snapshot.hourEnd(ord) - hourRow).isEqualTo(2);
+		assertThat(snapshot.hourBreakOpen(hourRow)).isEqualTo(15 * 3600);
+		assertThat(snapshot.hourOpen(hourRow + 1)).isEqualTo(-1);
+		assertThat(snapshot.hourHoliday(hourRow + 1)).isEqualTo(1);
+
+		int nullOrd = snapshot.ordinalOf(10L);
+		assertThat(snapshot.hasLocation(nullOrd)).isFalse();
+		assertThat(snapshot.rating(nullOrd)).isNaN();
+		assertThat(snapshot.reviewCount(nullOrd)).isEqualTo(-1);
+		assertThat(snapshot.category3(nullOrd)).isNull();
+		assertThat(snapshot.priceRange(nullOrd)).isNull();
+		assertThat(snapshot.hasRatingOrReview(nullOrd)).isFalse();
+		assertThat(snapshot.tagStart(nullOrd)).isEqualTo(snapshot.tagEnd(nullOrd));
+
+		// 평점 0, 리뷰 0 → 정보 없음
+		assertThat(snapshot.hasRatingOrReview(snapshot.ordinalOf(20L))).isFalse();
+		assertThat(snapshot.categoryCodeOf("한식")).isEqualTo(snapshot.categoryCode(ord, 2));
+	}
+
+	@Test
+	@DisplayName("빈 스냅샷: 모든 조회가 -1 반환")
+	void empty() {
+		assertThat(RestaurantCatalogSnapshot.EMPTY.size()).isZero();
+		assertThat(RestaurantCatalogSnapshot.EMPTY.ordinalOf(1L)).isEqualTo(-1);
+		assertThat(RestaurantCatalogSnapshot.EMPTY.fingerprint()).isEmpty();
+	}
+}
@@ -0,0 +1,105 @@
+package com.jde.mainserver.restaurants.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RestaurantSpatialIndex 반경 검색 및 증분 갱신 단위 테스트.
+ */
+class RestaurantSpatialIndexTest {
+
+	private static final double LAT = 37.5;
+	private static final double LNG = 127.0;
+
+	@Test
+	@DisplayName("반경 검색: 거리순 정렬, 반경 밖/좌표 없는 식당 제외, 키셋 이어 조회")
+	void withinRadius() {
+		RestaurantSpatialIndex index = new RestaurantSpatialIndex();
+		RestaurantCatalogSnapshot snapshot = new RestaurantCatalogSnapshot.Builder()
+			.addRestaurant(1L, LAT + 0.003, LNG, null, null, null, null, null, null, null)  // 약 334m
+			.addRestaurant(2L, LAT + 0.001, LNG, null, null, null, null, null, null, null)  // 약 111m
+			.addRestaurant(3L, LAT + 0.02, LNG, null, null, null, null, null, null, null)   // 약 2.2km
+			.addRestaurant(4L, null, null, null, null, null, null, null, null, null)
+			.build();
+
+		assertThat(index.isReady()).isFalse();
+		index.apply(RestaurantCatalogSnapshot.EMPTY, snapshot);
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.size()).isEqualTo(3);
+
+		List<RestaurantSpatialIndex.Hit> hits = index.withinRadius(LAT, LNG, 1000, 10);
+		assertThat(hits).extracting(RestaurantSpatialIndex.Hit::restaurantId).containsExactly(2L, 1L);
+		assertThat(hits.get(0).distanceM()).isBetween(110.0, 112.0);
+
+		RestaurantSpatialIndex.Hit first = hits.get(0);
+		assertThat(index.withinAnnulus(LAT, LNG, first.distanceM(), first.restaurantId(), 5000, 10))
+			.extracting(RestaurantSpatialIndex.Hit::restaurantId)
+			.containsExactly(1L, 3L);
+	}
+
+	@Test
+	@DisplayName("증분 갱신: 삭제/이동/추가된 식당만 반영")
+	void apply_incremental() {
+		RestaurantSpatialIndex index = new RestaurantSpatialIndex();
+		RestaurantCatalogSnapshot before = new RestaurantCatalogSnapshot.Builder()
+			.addRestaurant(1L, LAT + 0.001, LNG, null, null, null, null, null, null, null)
+			.addRestaurant(2L, LAT + 0.002, LNG, null, null, null, null, null, null, null)
+			.build();
+		RestaurantCatalogSnapshot after = new RestaurantCatalogSnapshot.Builder()
+			.addRestaurant(2L, LAT + 0.05, LNG, null, null, null, null, null, null, null) // 이동 (반경 밖)
+			.addRestaurant(5L, LAT + 0.0005, LNG, null, null, null, null, null, null, null) // 추가
+			.build(); // 1번 삭제
+
+		index.apply(RestaurantCatalogSnapshot.EMPTY, before);
+		index.apply(before, after);
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.withinRadius(LAT, LNG, 1000, 10))
+			.extracting(RestaurantSpatialIndex.Hit::restaurantId)
+			.containsExactly(5L);
+	}
+
+	@Test
+	@DisplayName("셀을 옮기는 갱신 중에도 조회 결과에 식당이 정확히 한 번만 나옴")
+	void apply_moveAcrossCellsIsAtomic() {
+		RestaurantSpatialIndex index = new RestaurantSpatialIndex();
+		RestaurantCatalogSnapshot near = snapshotAt(LAT + 0.001); // 셀 7500
+		RestaurantCatalogSnapshot far = snapshotAt(LAT + 0.006);  // 셀 7501 (둘 다 반경 안)
+		index.apply(RestaurantCatalogSnapshot.EMPTY, near);
+
+		AtomicBoolean done = new AtomicBoolean();
+		CompletableFuture<Integer> reader = CompletableFuture.supplyAsync(() -> {
+			int bad = 0;
+			while (!done.get()) {
+				long count = index.withinRadius(LAT, LNG, 1000, 10).stream()
+					.filter(hit -> hit.restaurantId() == 1L)
+					.count();
+				if (count != 1) {
+					bad++;
+				}
+			}
+			return bad;
+		});
+		RestaurantCatalogSnapshot current = near;
+		for (int i = 0; i < 5_000; i++) {
+			RestaurantCatalogSnapshot next = current == near ? far : near;
+			index.apply(current, next);
+			current = next;
+		}
+		done.set(true);
+
+		assertThat(reader.join()).isZero();
+	}
+
+	private static RestaurantCatalogSnapshot snapshotAt(double lat) {
+		return new RestaurantCatalogSnapshot.Builder()
+			.addRestaurant(1L, lat, LNG, null, null, null, null, null, null, null)
+			.build();
+	}
+}
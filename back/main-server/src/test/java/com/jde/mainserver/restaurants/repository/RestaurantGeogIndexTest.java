@@ -0,0 +1,147 @@
+package com.jde.mainserver.restaurants.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * back/db_script/05_restaurant_geog.sql 마이그레이션의 geog 컬럼/GiST 인덱스를 RestaurantRepository 반경/KNN 쿼리가 실제로 사용하는지
+ * PostGIS 컨테이너에서 EXPLAIN 으로 검증한다 (Docker 가 없으면 건너뜀).
+ * - 쿼리 문자열은 RestaurantRepository 의 @Query 에서 그대로 읽어 파라미터만 값으로 치환
+ * - 서울 근교 무작위 좌표 20만 건, 반경 3km
+ * - 마이그레이션은 psql 처럼 자동 커밋 연결에서 실행 (CREATE INDEX CONCURRENTLY 는 트랜잭션 밖에서만 가능)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RestaurantGeogIndexTest {
+
+	private static final String INDEX = "idx_restaurant_geog";
+	private static final FileSystemResource MIGRATION = new FileSystemResource("../db_script/05_restaurant_geog.sql");
+
+	@Container
+	private static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+		DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+	@BeforeAll
+	static void setUpSchema() throws SQLException {
+		try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+			// Hibernate(ddl-auto) 가 만드는 restaurant 중 쿼리에 쓰이는 컬럼만
+			statement.execute("""
+				CREATE TABLE restaurant (
+				    restaurant_id BIGSERIAL PRIMARY KEY,
+				    name VARCHAR(200) NOT NULL,
+				    geom geometry(Point, 4326),
+				    price_range VARCHAR(10),
+				    category2 VARCHAR(255),
+				    kakao_rating NUMERIC(2, 1),
+				    kakao_review_cnt INTEGER
+				)
+				""");
+			statement.execute("""
+				CREATE TABLE user_restaurant_state (
+				    user_id BIGINT NOT NULL,
+				    restaurant_id BIGINT NOT NULL,
+				    is_saved BOOLEAN,
+				    PRIMARY KEY (user_id, restaurant_id)
+				)
+				""");
+			statement.execute("""
+				INSERT INTO restaurant (name, geom, price_range, category2)
+				SELECT 'r' || i,
+				       ST_SetSRID(ST_MakePoint(126.8 + random() * 0.4, 37.4 + random() * 0.3), 4326),
+				       'MEDIUM', '한식'
+				FROM generate_series(1, 200000) AS i
+				""");
+			ScriptUtils.executeSqlScript(connection, MIGRATION);
+			// 다시 실행해도 변경 없어야 함
+			ScriptUtils.executeSqlScript(connection, MIGRATION);
+		}
+	}
+
+	@Test
+	@DisplayName("마이그레이션: CONCURRENTLY 로 만든 인덱스가 유효(indisvalid)")
+	void migrationBuildsValidIndex() throws Exception {
+		try (Connection connection = connect();
+			 Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("""
+				 SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+				 WHERE c.relname = 'idx_restaurant_geog'
+				 """)) {
+			assertThat(rs.next()).isTrue();
+			assertThat(rs.getBoolean(1)).isTrue();
+		}
+	}
+
+	@Test
+	@DisplayName("KNN Slice 조회: geog GiST 인덱스로 거리순 스캔")
+	void knnSliceUsesIndex() throws Exception {
+		String sql = query("findNearestSliceWithinMeters", double.class, double.class, double.class, Pageable.class)
+			+ " LIMIT 21";
+
+		assertUsesIndex(sql);
+	}
+
+	@Test
+	@DisplayName("반경 페이지/키셋 커서/인기 식당 조회: 반경 필터에 geog GiST 인덱스 사용")
+	void radiusQueriesUseIndex() throws Exception {
+		String page = query("findNearestWithinMeters", double.class, double.class, double.class, Pageable.class)
+			+ " LIMIT 20";
+		String keyset = query("findNearestWithinMetersAfter", double.class, double.class, double.class,
+			double.class, long.class, int.class)
+			.replace(":afterDistance", "-1").replace(":afterId", "-1").replace(":limit", "100");
+		String popular = query("findPopularRestaurantsByLocationOptionalCategory", double.class, double.class,
+			double.class, int.class, boolean.class, java.util.List.class)
+			.replace(":limit", "100").replace(":useCategory", "false").replace("(:category2List)", "('한식')");
+
+		assertUsesIndex(page);
+		assertUsesIndex(keyset);
+		assertUsesIndex(popular);
+	}
+
+	// 실패 메시지에 계획 전체를 담음
+	private static void assertUsesIndex(String sql) throws SQLException {
+		String plan = explain(sql);
+		assertThat(plan).as(plan).contains(INDEX);
+	}
+
+	// @Query 네이티브 쿼리에서 중심/반경 파라미터를 값으로 치환
+	private static String query(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+		Query query = RestaurantRepository.class.getMethod(method, parameterTypes).getAnnotation(Query.class);
+		return query.value()
+			.replace(":lng", "127.0276")
+			.replace(":lat", "37.4979")
+			.replace(":meters", "3000");
+	}
+
+	private static String explain(String sql) throws SQLException {
+		try (Connection connection = connect();
+			 Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+			StringJoiner plan = new StringJoiner("\n");
+			while (rs.next()) {
+				plan.add(rs.getString(1));
+			}
+			return plan.toString();
+		}
+	}
+
+	private static Connection connect() throws SQLException {
+		return DriverManager.getConnection(POSTGIS.getJdbcUrl(), POSTGIS.getUsername(), POSTGIS.getPassword());
+	}
+}
@@ -0,0 +1,81 @@
+package com.jde.mainserver.restaurants.service;
+
+import com.jde.mainserver.restaurants.entity.enums.OpenStatus;
+import com.jde.mainserver.restaurants.service.WeeklySchedule.HourRow;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WeeklySchedule 단위 테스트.
+ * - 컴파일한 구간표가 한 주 전체에서 판정 규칙(evaluate)과 같은 결과를 내는지,
+ *   심야 영업/브레이크/휴무 요일/공휴일 행이 구간표에 반영되는지 검증한다.
+ */
+class WeeklyScheduleTest {
+
+	private static final int NONE = -1;
+
+	// 월~목 11:00~21:00 (15:00~16:30 브레이크), 금 18:00~02:00 심야, 일 휴무, 공휴일 행 10:00~12:00
+	private static final List<HourRow> ROWS = List.of(
+		row(1, "11:00", "21:00", "15:00", "16:30", false),
+		row(2, "11:00", "21:00", "15:00", "16:30", false),
+		row(3, "11:00", "21:00", "15:00", "16:30", false),
+		row(4, "11:00", "21:00", "15:00", "16:30", false),
+		row(5, "18:00", "02:00", null, null, false),
+		row(7, null, null, null, null, true),
+		row(0, "10:00", "12:00", null, null, false)
+	);
+
+	@Test
+	@DisplayName("한 주 모든 분에서 구간표 조회 결과가 판정 규칙과 같음")
+	void compiledMatchesEvaluateEveryMinute() {
+		WeeklySchedule schedule = WeeklySchedule.compile(ROWS);
+
+		for (int second = 0; second < WeeklySchedule.SECONDS_PER_WEEK; second += 60) {
+			for (int probe : new int[] {second, second + 59}) {
+				int dow = probe / WeeklySchedule.SECONDS_PER_DAY + 1;
+				int secondOfDay = probe % WeeklySchedule.SECONDS_PER_DAY;
+				assertThat(schedule.statusAt(probe))
+					.as("second-of-week %d", probe)
+					.isEqualTo(WeeklySchedule.evaluate(ROWS, dow, secondOfDay));
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("심야 영업은 다음 날 새벽까지, 브레이크/휴무/공휴일 행 반영")
+	void overnightBreakHoliday() {
+		WeeklySchedule schedule = WeeklySchedule.compile(ROWS);
+
+		assertThat(schedule.statusAt(at(1, "15:30"))).isEqualTo(OpenStatus.BREAK);
+		assertThat(schedule.statusAt(at(1, "21:00"))).isEqualTo(OpenStatus.CLOSED);
+		assertThat(schedule.statusAt(at(6, "01:59"))).isEqualTo(OpenStatus.OPEN);  // 금 심야 영업이 토 새벽까지
+		assertThat(schedule.statusAt(at(6, "02:00"))).isEqualTo(OpenStatus.CLOSED);
+		assertThat(schedule.statusAt(at(7, "11:00"))).isEqualTo(OpenStatus.OPEN);  // 공휴일 행이 휴무보다 우선
+		assertThat(schedule.statusAt(at(7, "13:00"))).isEqualTo(OpenStatus.CLOSED);
+	}
+
+	@Test
+	@DisplayName("영업시간 행이 없으면 UNKNOWN")
+	void emptyIsUnknown() {
+		assertThat(WeeklySchedule.compile(List.of()).statusAt(at(3, "12:00"))).isEqualTo(OpenStatus.UNKNOWN);
+	}
+
+	private static int at(int dow, String time) {
+		return (dow - 1) * WeeklySchedule.SECONDS_PER_DAY + LocalTime.parse(time).toSecondOfDay();
+	}
+
+	private static HourRow row(int dow, String open, String close, String breakOpen, String breakClose,
+		boolean holiday) {
+		return new HourRow(dow, second(open), second(close), second(breakOpen), second(breakClose), holiday);
+	}
+
+	private static int second(String time) {
+		return time != null ? LocalTime.parse(time).toSecondOfDay() : NONE;
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * global/geo/VectorGeoDistance.java
+ * GeoDistanceKernel 의 Vector API 경로 (jdk.incubator.vector)
+ * Author: Jang
+ * Date: 2025-11-25
+ *
+ * - CPU 선호 폭(SPECIES_PREFERRED)만큼 좌표를 묶어 sin/cos/atan2 를 lane 단위로 계산
+ * - 마지막 묶음도 마스크로 같은 경로에서 계산 (배열 안 위치와 무관하게 같은 좌표는 같은 거리)
+ * - opt-in 빌드(-PvectorGeo)에서만 컴파일/포함되고, 모듈이 로드된 경우에만 GeoDistanceKernel 이 리플렉션으로 생성
+ */
+
+package com.jde.mainserver.global.geo;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorGeoDistance implements GeoDistanceKernel.Batch {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	VectorGeoDistance() {
+	}
+
+	@Override
+	public int lanes() {
+		return SPECIES.length();
+	}
+
+	@Override
+	public void distances(double lat, double lng, double[] lats, double[] lngs, int length, double[] out) {
+		double cosLat = Math.cos(lat * GeoDistanceKernel.DEG_TO_RAD);
+		double halfDegToRad = GeoDistanceKernel.DEG_TO_RAD * 0.5;
+		for (int i = 0; i < length; i += SPECIES.length()) {
+			VectorMask<Double> mask = SPECIES.indexInRange(i, length);
+			DoubleVector lat2 = DoubleVector.fromArray(SPECIES, lats, i, mask);
+			DoubleVector lng2 = DoubleVector.fromArray(SPECIES, lngs, i, mask);
+
+			DoubleVector sinHalfDLat = lat2.sub(lat).mul(halfDegToRad).lanewise(VectorOperators.SIN);
+			DoubleVector sinHalfDLng = lng2.sub(lng).mul(halfDegToRad).lanewise(VectorOperators.SIN);
+			DoubleVector cosLat2 = lat2.mul(GeoDistanceKernel.DEG_TO_RAD).lanewise(VectorOperators.COS);
+			DoubleVector a = sinHalfDLat.mul(sinHalfDLat)
+				.add(cosLat2.mul(cosLat).mul(sinHalfDLng).mul(sinHalfDLng));
+			DoubleVector c = a.sqrt().lanewise(VectorOperators.ATAN2, a.neg().add(1.0).sqrt());
+			c.mul(2 * GeoDistanceKernel.EARTH_RADIUS_M).intoArray(out, i, mask);
+		}
+	}
+}
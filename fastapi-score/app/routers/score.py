@@ -5,11 +5,15 @@
 
 import logging
 import json
-from fastapi import APIRouter, Query
+from fastapi import APIRouter, Query, Request, Response
+from fastapi.responses import PlainTextResponse
+from fastapi.routing import APIRoute
+from starlette.concurrency import run_in_threadpool
 from time import perf_counter
-from typing import Dict, Any, List, Optional
+from typing import Callable, Dict, Any, List, Optional, Tuple
 
-from app.schemas.personal_score import PersonalScoreRequest, PersonalScoreResponse
+from app.schemas.personal_score import PersonalScoreRequest, PersonalScoreResponse, PersonalScoreBatchRequest
+from app.schemas import score_wire
 from app.schemas.group_score import GroupScoreRequest, GroupScoreResponse, PerCandidateGroupScore
 from app.services.scoring import score_personal, score_group, ALGO_VERSION
 from app.services.ml_scoring import score_personal_ml, load_ml_model
@@ -17,7 +21,35 @@ from app.services.ml_scoring import score_personal_ml, load_ml_model
 # 로거 설정
 logger = logging.getLogger(__name__)
 
-router = APIRouter(tags=["score"])
+class ScoreWireRoute(APIRoute):
+    """
+    Content-Type 으로 본문 형식 선택
+    - application/x-jde-score-v1: _BINARY_HANDLERS 의 바이너리 핸들러 (없으면 415)
+    - 그 외: 기존 JSON 핸들러 (pydantic 검증)
+    """
+    def get_route_handler(self) -> Callable:
+        json_handler = super().get_route_handler()
+        path = self.path
+
+        async def route_handler(request: Request) -> Response:
+            content_type = request.headers.get("content-type", "").split(";")[0].strip().lower()
+            if content_type != score_wire.CONTENT_TYPE:
+                return await json_handler(request)
+            binary_handler = _BINARY_HANDLERS.get(path)
+            if binary_handler is None:
+                return PlainTextResponse(f"unsupported content type: {content_type}", status_code=415)
+            body = await request.body()
+            algo = request.query_params.get("algo", "cbf_v1.2")
+            try:
+                payload = await run_in_threadpool(binary_handler, body, algo)
+            except score_wire.WireFormatError as e:
+                logger.warning(f"API_SCORE_WIRE_INVALID: path={path}, error={e}")
+                return PlainTextResponse(str(e), status_code=400)
+            return Response(content=payload, media_type=score_wire.CONTENT_TYPE)
+
+        return route_handler
+
+router = APIRouter(tags=["score"], route_class=ScoreWireRoute)
 
 # ML 모델 사용 가능 여부 (지연 로드)
 ML_AVAILABLE = None
@@ -39,6 +71,76 @@ def personal_score(
     req: PersonalScoreRequest,
     algo: Optional[str] = Query("cbf_v1.2", description="알고리즘 버전: cbf_v1.2 (규칙) 또는 ml_v1 (ML 결합)")
 ) -> Dict[str, Any]:
+    return _score_personal_one(req, algo)
+
+@router.post("/score/personal/batch", response_model=None)
+def personal_score_batch(
+    req: PersonalScoreBatchRequest,
+    algo: Optional[str] = Query("cbf_v1.2", description="알고리즘 버전: cbf_v1.2 (규칙) 또는 ml_v1 (ML 결합)")
+) -> Dict[str, Any]:
+    """
+    여러 사용자의 개인 점수 요청을 한 번에 처리 (메인 서버 마이크로 배칭용)
+    - results[i]는 requests[i]의 /score/personal 응답과 동일한 형식
+    - 개별 요청 실패 시 해당 항목만 {"error": ...}로 반환 (나머지 요청은 정상 응답)
+    """
+    t0 = perf_counter()
+    results: List[Dict[str, Any]] = []
+    for item in req.requests:
+        try:
+            results.append(_score_personal_one(item, algo))
+        except Exception as e:
+            user_id = item.user.user_id if hasattr(item.user, 'user_id') else None
+            logger.error(f"API_SCORE_BATCH_ITEM_FAILED: user_id={user_id}, error={e}")
+            results.append({"error": str(e)})
+    elapsed = int((perf_counter() - t0) * 1000)
+    logger.debug(f"API_SCORE_BATCH: algo={algo}, batch_size={len(req.requests)}, elapsed_ms={elapsed}")
+    return {
+        "results": results,
+        "elapsed_ms": elapsed,
+    }
+
+def _score_personal_one(req: PersonalScoreRequest, algo: Optional[str]) -> Dict[str, Any]:
+    """개인 점수 계산 1건 JSON 응답 (단건/배치 엔드포인트 공용)"""
+    scored, algo_version, elapsed = _run_personal(req, algo)
+    return {
+        "scores": [
+            {"restaurant_id": rid, "score": float(s), "debug": dbg}
+            for rid, s, dbg in scored
+        ],
+        "algo_version": algo_version,
+        "elapsed_ms": elapsed,
+    }
+
+def _personal_binary(body: bytes, algo: Optional[str]) -> bytes:
+    """/score/personal 바이너리 요청 처리"""
+    req = score_wire.decode_personal_request(body)
+    scored, algo_version, elapsed = _run_personal(req, algo)
+    return score_wire.encode_personal_response(scored, algo_version, elapsed, bool(req.debug))
+
+def _personal_batch_binary(body: bytes, algo: Optional[str]) -> bytes:
+    """/score/personal/batch 바이너리 요청 처리 (개별 실패는 길이 0 프레임)"""
+    t0 = perf_counter()
+    requests = score_wire.decode_personal_batch_request(body)
+    frames: List[Optional[bytes]] = []
+    for item in requests:
+        try:
+            scored, algo_version, elapsed = _run_personal(item, algo)
+            frames.append(score_wire.encode_personal_response(scored, algo_version, elapsed, bool(item.debug)))
+        except Exception as e:
+            logger.error(f"API_SCORE_BATCH_ITEM_FAILED: user_id={item.user.user_id}, error={e}")
+            frames.append(None)
+    elapsed = int((perf_counter() - t0) * 1000)
+    logger.debug(f"API_SCORE_BATCH: algo={algo}, batch_size={len(requests)}, elapsed_ms={elapsed}, wire=binary")
+    return score_wire.encode_personal_batch_response(frames, elapsed)
+
+# 경로별 바이너리 핸들러 (ScoreWireRoute 에서 요청 시점에 조회)
+_BINARY_HANDLERS: Dict[str, Callable[[bytes, Optional[str]], bytes]] = {
+    "/score/personal": _personal_binary,
+    "/score/personal/batch": _personal_batch_binary,
+}
+
+def _run_personal(req: PersonalScoreRequest, algo: Optional[str]) -> Tuple[List[Tuple[int, float, Optional[dict]]], str, int]:
+    """개인 점수 계산 (알고리즘 선택 + 로깅), (scored, algo_version, elapsed_ms) 반환"""
     t0 = perf_counter()
     
     user_id = req.user.user_id if hasattr(req.user, 'user_id') else None
@@ -70,14 +172,7 @@ def personal_score(
         # 정상 응답은 간단히만 로깅 (DEBUG 레벨로 변경하여 INFO 레벨에서 대용량 로그 방지)
         logger.debug(f"API_SCORE: algo={algo_version}, num_candidates={num_candidates}, elapsed_ms={elapsed}")
 
-    return {
-        "scores": [
-            {"restaurant_id": rid, "score": float(s), "debug": dbg}
-            for rid, s, dbg in scored
-        ],
-        "algo_version": algo_version,
-        "elapsed_ms": elapsed,
-    }
+    return scored, algo_version, elapsed
 
 @router.post("/score/group", response_model=GroupScoreResponse)
 def group_score(req: GroupScoreRequest) -> Dict[str, Any]:
@@ -31,3 +31,10 @@ class PersonalScoreResponse(BaseModel):
     scores: List[Score] = Field(min_length=1)
     algo_version: str
     elapsed_ms: int
+
+class PersonalScoreBatchRequest(BaseModel):
+    """
+    개인 추천 점수 배치 요청 DTO (여러 사용자 요청 묶음)
+    - requests: 개별 PersonalScoreRequest 목록 (응답 results는 같은 순서)
+    """
+    requests: List[PersonalScoreRequest] = Field(min_length=1)
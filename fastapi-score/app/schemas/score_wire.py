@@ -0,0 +1,211 @@
+# app/schemas/score_wire.py
+# 개인 점수 바이너리 와이어 포맷 (Content-Type: application/x-jde-score-v1)
+# Author: Jang
+# Date: 2025-11-23
+#
+# - 모든 정수/실수는 little-endian, 후보 필드는 컬럼 단위(같은 필드끼리 연속)로 배치
+# - float32 의 NaN 은 null, has_interaction_recent 는 int8 (-1 = null)
+# - JSON 경로와 같은 PersonalScoreRequest 를 만들어 점수 함수는 그대로 사용 (검증은 생략, model_construct)
+#
+# 개인 요청 (JDQ1)
+#   magic[4] u8 version u8 flags(bit0=debug) u16 reserved
+#   i64 user_id
+#   u32 U, i32[U] tag_id, f32[U] score, f32[U] confidence
+#   u32 N, i64[N] restaurant_id, f32[N] distance_m, f32[N] pref_score, f32[N] engagement_boost,
+#          i8[N] has_interaction_recent, u32[N] tag_count
+#   u32 T, i32[T] tag_id, f32[T] weight, f32[T] confidence   (후보 순서대로 tag_count 개씩)
+#
+# 개인 응답 (JDP1)
+#   magic[4] u8 version u8 algo_len u16 reserved u32 elapsed_ms algo[algo_len]
+#   u32 N, i64[N] restaurant_id, f32[N] score
+#   u32 debug_len, debug[debug_len]  (debug 요청 시 후보 순서의 debug dict 목록 JSON, 아니면 0)
+#
+# 배치 요청 (JDB1): magic[4] u8 version u8 flags u16 reserved u32 count, (u32 len, 개인 요청)[count]
+# 배치 응답 (JDC1): magic[4] u8 version u8[3] reserved u32 elapsed_ms u32 count, (u32 len, 개인 응답)[count]
+#                   len 이 0 이면 해당 요청 실패
+
+import struct
+from typing import List, Optional, Tuple
+
+import numpy as np
+import orjson
+
+from .features import CandidateFeature, TagPreference, UserPrefFeature
+from .personal_score import PersonalScoreRequest
+
+CONTENT_TYPE = "application/x-jde-score-v1"
+
+VERSION = 1
+FLAG_DEBUG = 0x01
+
+REQUEST_MAGIC = b"JDQ1"
+RESPONSE_MAGIC = b"JDP1"
+BATCH_REQUEST_MAGIC = b"JDB1"
+BATCH_RESPONSE_MAGIC = b"JDC1"
+
+_HEADER = struct.Struct("<4sBBH")
+_U32 = struct.Struct("<I")
+_I64 = struct.Struct("<q")
+
+
+class WireFormatError(ValueError):
+    """바이너리 본문 형식 오류 (400 으로 응답)"""
+
+
+class _Reader:
+    def __init__(self, data: bytes):
+        self._buf = memoryview(data)
+        self.pos = 0
+
+    def take(self, n: int) -> memoryview:
+        end = self.pos + n
+        if n < 0 or end > len(self._buf):
+            raise WireFormatError(f"본문이 잘렸습니다: pos={self.pos}, need={n}, size={len(self._buf)}")
+        view = self._buf[self.pos:end]
+        self.pos = end
+        return view
+
+    def header(self, magic: bytes) -> int:
+        got, version, flags, _ = _HEADER.unpack(self.take(_HEADER.size))
+        if got != magic:
+            raise WireFormatError(f"magic 불일치: expected={magic!r}, got={bytes(got)!r}")
+        if version != VERSION:
+            raise WireFormatError(f"지원하지 않는 버전: {version}")
+        return flags
+
+    def u32(self) -> int:
+        return _U32.unpack(self.take(4))[0]
+
+    def i64(self) -> int:
+        return _I64.unpack(self.take(8))[0]
+
+    def array(self, dtype: str, n: int) -> np.ndarray:
+        dt = np.dtype(dtype)
+        return np.frombuffer(self.take(n * dt.itemsize), dtype=dt)
+
+    def done(self) -> bool:
+        return self.pos == len(self._buf)
+
+
+def _nullable(v: float) -> Optional[float]:
+    return None if v != v else v
+
+
+def _read_personal(r: _Reader) -> PersonalScoreRequest:
+    flags = r.header(REQUEST_MAGIC)
+    user_id = r.i64()
+
+    u = r.u32()
+    u_ids = r.array("<i4", u).tolist()
+    u_scores = r.array("<f4", u).tolist()
+    u_confs = r.array("<f4", u).tolist()
+
+    n = r.u32()
+    if n == 0:
+        raise WireFormatError("candidates는 최소 1개 이상 필요합니다")
+    ids = r.array("<i8", n).tolist()
+    distances = r.array("<f4", n).tolist()
+    pref_scores = r.array("<f4", n).tolist()
+    boosts = r.array("<f4", n).tolist()
+    interactions = r.array("i1", n).tolist()
+    tag_counts = r.array("<u4", n)
+
+    t = r.u32()
+    if int(tag_counts.sum()) != t:
+        raise WireFormatError(f"태그 개수 불일치: sum(tag_count)={int(tag_counts.sum())}, T={t}")
+    t_ids = r.array("<i4", t).tolist()
+    t_weights = r.array("<f4", t).tolist()
+    t_confs = r.array("<f4", t).tolist()
+
+    user = UserPrefFeature.model_construct(
+        user_id=user_id,
+        tag_pref={
+            tid: TagPreference.model_construct(score=s, weight=None, confidence=c)
+            for tid, s, c in zip(u_ids, u_scores, u_confs)
+        },
+    )
+
+    candidates: List[CandidateFeature] = []
+    pos = 0
+    for i, count in enumerate(tag_counts.tolist()):
+        end = pos + count
+        candidates.append(CandidateFeature.model_construct(
+            restaurant_id=ids[i],
+            distance_m=distances[i],
+            tag_pref={
+                t_ids[k]: TagPreference.model_construct(score=None, weight=t_weights[k], confidence=t_confs[k])
+                for k in range(pos, end)
+            },
+            pref_score=_nullable(pref_scores[i]),
+            has_interaction_recent=None if interactions[i] < 0 else interactions[i] == 1,
+            engagement_boost=_nullable(boosts[i]),
+        ))
+        pos = end
+
+    return PersonalScoreRequest.model_construct(
+        user=user,
+        candidates=candidates,
+        debug=bool(flags & FLAG_DEBUG),
+    )
+
+
+def decode_personal_request(data: bytes) -> PersonalScoreRequest:
+    r = _Reader(data)
+    req = _read_personal(r)
+    if not r.done():
+        raise WireFormatError("본문 끝에 남은 바이트가 있습니다")
+    return req
+
+
+def decode_personal_batch_request(data: bytes) -> List[PersonalScoreRequest]:
+    r = _Reader(data)
+    r.header(BATCH_REQUEST_MAGIC)
+    count = r.u32()
+    if count == 0:
+        raise WireFormatError("requests는 최소 1개 이상 필요합니다")
+    requests = []
+    for _ in range(count):
+        length = r.u32()
+        requests.append(decode_personal_request(bytes(r.take(length))))
+    if not r.done():
+        raise WireFormatError("본문 끝에 남은 바이트가 있습니다")
+    return requests
+
+
+def encode_personal_response(
+    scored: List[Tuple[int, float, Optional[dict]]],
+    algo_version: str,
+    elapsed_ms: int,
+    debug: bool,
+) -> bytes:
+    n = len(scored)
+    algo = algo_version.encode("utf-8")[:255]
+    ids = np.fromiter((rid for rid, _, _ in scored), dtype="<i8", count=n)
+    scores = np.fromiter((s for _, s, _ in scored), dtype="<f4", count=n)
+    debug_json = orjson.dumps([dbg for _, _, dbg in scored], option=orjson.OPT_NON_STR_KEYS | orjson.OPT_SERIALIZE_NUMPY) if debug else b""
+    return b"".join((
+        _HEADER.pack(RESPONSE_MAGIC, VERSION, len(algo), 0),
+        _U32.pack(elapsed_ms),
+        algo,
+        _U32.pack(n),
+        ids.tobytes(),
+        scores.tobytes(),
+        _U32.pack(len(debug_json)),
+        debug_json,
+    ))
+
+
+def encode_personal_batch_response(results: List[Optional[bytes]], elapsed_ms: int) -> bytes:
+    """results[i] 는 encode_personal_response 결과, 실패한 요청은 None"""
+    parts = [
+        _HEADER.pack(BATCH_RESPONSE_MAGIC, VERSION, 0, 0),
+        _U32.pack(elapsed_ms),
+        _U32.pack(len(results)),
+    ]
+    for frame in results:
+        if frame is None:
+            parts.append(_U32.pack(0))
+        else:
+            parts.append(_U32.pack(len(frame)))
+            parts.append(frame)
+    return b"".join(parts)
@@ -0,0 +1,78 @@
+# tests/test_score_wire.py
+# 바이너리 와이어 포맷 인코딩/디코딩 최소 테스트
+# Author: Jang
+# Date: 2025-11-23
+
+import struct
+
+import pytest
+
+from app.schemas import score_wire as w
+
+
+def _request_bytes(debug: bool) -> bytes:
+    """후보 2개 (첫 후보만 태그 2개), 두 번째 후보는 pref_score/has_interaction_recent null"""
+    parts = [
+        struct.pack("<4sBBH", w.REQUEST_MAGIC, w.VERSION, w.FLAG_DEBUG if debug else 0, 0),
+        struct.pack("<q", 42),
+        struct.pack("<I", 1), struct.pack("<i", 7), struct.pack("<f", 1.5), struct.pack("<f", 0.5),
+        struct.pack("<I", 2),
+        struct.pack("<2q", 1001, 1002),
+        struct.pack("<2f", 350.0, 1200.0),
+        struct.pack("<2f", 0.25, float("nan")),
+        struct.pack("<2f", float("nan"), 0.125),
+        struct.pack("<2b", 1, -1),
+        struct.pack("<2I", 2, 0),
+        struct.pack("<I", 2), struct.pack("<2i", 3, 7), struct.pack("<2f", 0.5, -0.5), struct.pack("<2f", 1.0, 0.25),
+    ]
+    return b"".join(parts)
+
+
+def test_decode_personal_request():
+    req = w.decode_personal_request(_request_bytes(debug=True))
+    assert req.debug is True
+    assert req.user.user_id == 42
+    assert req.user.tag_pref[7].score == 1.5 and req.user.tag_pref[7].confidence == 0.5
+
+    first, second = req.candidates
+    assert first.restaurant_id == 1001 and first.distance_m == 350.0
+    assert first.pref_score == 0.25 and first.engagement_boost is None and first.has_interaction_recent is True
+    assert first.tag_pref[3].get_value() == 0.5 and first.tag_pref[7].confidence == 0.25
+    assert second.pref_score is None and second.engagement_boost == 0.125
+    assert second.has_interaction_recent is None and second.tag_pref == {}
+
+
+def test_decode_rejects_truncated_or_trailing_bytes():
+    body = _request_bytes(debug=False)
+    with pytest.raises(w.WireFormatError):
+        w.decode_personal_request(body[:-4])
+    with pytest.raises(w.WireFormatError):
+        w.decode_personal_request(body + b"\x00")
+
+
+def test_encode_personal_response_layout():
+    frame = w.encode_personal_response([(1002, 0.75, None), (1001, 0.5, None)], "ml_v1", 7, debug=False)
+    magic, version, algo_len, _ = struct.unpack_from("<4sBBH", frame, 0)
+    assert magic == w.RESPONSE_MAGIC and version == w.VERSION and algo_len == 5
+    elapsed, = struct.unpack_from("<I", frame, 8)
+    assert elapsed == 7 and frame[12:17] == b"ml_v1"
+    n, = struct.unpack_from("<I", frame, 17)
+    assert n == 2
+    assert struct.unpack_from("<2q", frame, 21) == (1002, 1001)
+    assert struct.unpack_from("<2f", frame, 37) == (0.75, 0.5)
+    assert struct.unpack_from("<I", frame, 45) == (0,) and len(frame) == 49
+
+
+def test_batch_roundtrip_with_failed_item():
+    body = struct.pack("<4sBBHI", w.BATCH_REQUEST_MAGIC, w.VERSION, 0, 0, 1)
+    one = _request_bytes(debug=False)
+    body += struct.pack("<I", len(one)) + one
+    assert [r.user.user_id for r in w.decode_personal_batch_request(body)] == [42]
+
+    ok = w.encode_personal_response([(5, 0.25, None)], "cbf_v1.2", 1, debug=False)
+    out = w.encode_personal_batch_response([ok, None], 9)
+    assert out[:4] == w.BATCH_RESPONSE_MAGIC
+    assert struct.unpack_from("<II", out, 8) == (9, 2)
+    assert struct.unpack_from("<I", out, 16) == (len(ok),)
+    assert out[20:20 + len(ok)] == ok
+    assert struct.unpack_from("<I", out, 20 + len(ok)) == (0,)